@@ -0,0 +1,104 @@
+package steamboxd.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import steamboxd.model.ItemBiblioteca;
+import steamboxd.model.Jogo;
+import steamboxd.model.Usuario;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura de gêneros, plataformas e biblioteca pelas visões sem cópia
+ * ({@link Jogo#visaoGeneros()}, {@link Jogo#visaoPlataformas()},
+ * {@link Usuario#visaoBiblioteca()}) contra as cópias devolvidas pelos
+ * getters, como as linhas das tabelas e as listagens faziam.
+ *
+ * <p>O que interessa é a alocação: rode com {@code -prof gc} e compare o
+ * {@code gc.alloc.rate.norm} (bytes alocados por operação). Uma operação
+ * percorre todos os jogos do catálogo, ou todos os itens da biblioteca.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class AlocacaoLeituraBenchmark {
+
+    @Param("10000")
+    public int titulos;
+
+    private List<Jogo> catalogo;
+    private Usuario usuario;
+
+    @Setup
+    public void preparar() {
+        catalogo = new CatalogoSintetico(24).jogos(titulos);
+        usuario = new Usuario("Usuário", "usuario@steamboxd.com");
+        for (Jogo jogo : catalogo) {
+            usuario.adicionarNaBiblioteca(new ItemBiblioteca(jogo, jogo.getNota(), jogo.getPreco()));
+        }
+    }
+
+    @Benchmark
+    public int linhasComVisao() {
+        int caracteres = 0;
+        for (Jogo jogo : catalogo) {
+            caracteres += contar(jogo.visaoGeneros()) + contar(jogo.visaoPlataformas());
+        }
+        return caracteres;
+    }
+
+    @Benchmark
+    public int linhasComCopia() {
+        int caracteres = 0;
+        for (Jogo jogo : catalogo) {
+            caracteres += contar(jogo.getGeneros()) + contar(jogo.getPlataformas());
+        }
+        return caracteres;
+    }
+
+    @Benchmark
+    public double bibliotecaComVisao() {
+        double soma = 0;
+        for (ItemBiblioteca item : usuario.visaoBiblioteca()) {
+            soma += item.getNota();
+        }
+        return soma;
+    }
+
+    /**
+     * A cópia que a listagem da biblioteca fazia antes da visão.
+     */
+    @Benchmark
+    public double bibliotecaComCopia() {
+        double soma = 0;
+        for (ItemBiblioteca item : new ArrayList<>(usuario.visaoBiblioteca())) {
+            soma += item.getNota();
+        }
+        return soma;
+    }
+
+    private static int contar(List<String> rotulos) {
+        if (rotulos.isEmpty()) {
+            return 0;
+        }
+        int caracteres = 0;
+        for (String rotulo : rotulos) {
+            caracteres += rotulo.length();
+        }
+        return caracteres;
+    }
+}
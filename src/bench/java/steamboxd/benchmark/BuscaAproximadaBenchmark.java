@@ -0,0 +1,111 @@
+package steamboxd.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import steamboxd.model.Jogo;
+import steamboxd.repository.indice.IndiceTrigramas;
+import steamboxd.repository.indice.ResultadoAproximado;
+import steamboxd.util.ChaveUtil;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca aproximada de títulos digitados com um erro, a cada chamada um
+ * título diferente: pelo {@link IndiceTrigramas} (só os candidatos que
+ * compartilham trigramas com o texto são avaliados) contra a distância de
+ * edição calculada para todos os títulos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BuscaAproximadaBenchmark {
+
+    private static final int CONSULTAS = 1024;
+    private static final int LIMITE = 5;
+
+    @Param("500000")
+    public int titulos;
+
+    private IndiceTrigramas indice;
+    private String[] chaves;
+    private String[] consultas;
+    private int proxima;
+
+    @Setup
+    public void preparar() {
+        CatalogoSintetico catalogo = new CatalogoSintetico(15);
+        List<Jogo> jogos = catalogo.jogos(titulos);
+        indice = new IndiceTrigramas();
+        chaves = new String[jogos.size()];
+        for (int i = 0; i < jogos.size(); i++) {
+            indice.aoIncluir(jogos.get(i));
+            chaves[i] = ChaveUtil.normalizar(jogos.get(i).getTitulo());
+        }
+        consultas = new String[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            String titulo = jogos.get(catalogo.getAleatorio().nextInt(jogos.size())).getTitulo();
+            consultas[i] = catalogo.comErro(titulo);
+        }
+    }
+
+    @Benchmark
+    public List<ResultadoAproximado> indiceDeTrigramas() {
+        return indice.buscar(proximaConsulta(), LIMITE);
+    }
+
+    /**
+     * O título mais próximo pela distância de edição, comparando com todos.
+     */
+    @Benchmark
+    public String distanciaContraTodos() {
+        String consulta = ChaveUtil.normalizar(proximaConsulta());
+        String melhor = null;
+        int menorDistancia = Integer.MAX_VALUE;
+        for (String chave : chaves) {
+            int distancia = distancia(consulta, chave);
+            if (distancia < menorDistancia) {
+                menorDistancia = distancia;
+                melhor = chave;
+            }
+        }
+        return melhor;
+    }
+
+    private String proximaConsulta() {
+        String consulta = consultas[proxima];
+        proxima = (proxima + 1) % CONSULTAS;
+        return consulta;
+    }
+
+    private static int distancia(String a, String b) {
+        int[] anterior = new int[b.length() + 1];
+        int[] atual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            atual[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int troca = anterior[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                atual[j] = Math.min(troca, Math.min(anterior[j], atual[j - 1]) + 1);
+            }
+            int[] auxiliar = anterior;
+            anterior = atual;
+            atual = auxiliar;
+        }
+        return anterior[b.length()];
+    }
+}
@@ -0,0 +1,119 @@
+package steamboxd.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import steamboxd.model.Jogo;
+import steamboxd.repository.JogoRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code buscar}, {@code existe} e {@code adicionar} pela chave: o
+ * {@link JogoRepository} indexado contra a lista percorrida com
+ * {@code equalsIgnoreCase}, como os repositórios faziam, em catálogos de
+ * tamanhos diferentes. No índice o tempo não deve crescer com o catálogo.
+ *
+ * <p>As buscas usam o título em maiúsculas (a comparação não diferencia
+ * maiúsculas de minúsculas); {@code existe} procura títulos que não estão
+ * no catálogo (o pior caso da lista). {@code adicionarERemover} inclui um
+ * jogo novo e o retira em seguida, para o catálogo não crescer.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BuscaPorChaveBenchmark {
+
+    private static final int CONSULTAS = 1024;
+
+    @Param({"1000", "10000", "100000", "200000"})
+    public int titulos;
+
+    @Param({"indice", "varredura"})
+    public String variante;
+
+    private boolean varredura;
+    private JogoRepository repository;
+    // A lista da variante sem índice
+    private List<Jogo> jogos;
+    private String[] existentes;
+    private String[] ausentes;
+    private Jogo[] novos;
+    private int proxima;
+
+    @Setup
+    public void preparar() {
+        varredura = variante.equals("varredura");
+        CatalogoSintetico catalogo = new CatalogoSintetico(1);
+        List<Jogo> catalogoInteiro = catalogo.jogos(titulos);
+        if (varredura) {
+            jogos = new ArrayList<>(catalogoInteiro);
+        } else {
+            repository = new JogoRepository();
+            repository.adicionarTodos(catalogoInteiro);
+        }
+        existentes = new String[CONSULTAS];
+        ausentes = new String[CONSULTAS];
+        novos = new Jogo[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            existentes[i] = catalogoInteiro.get(catalogo.getAleatorio().nextInt(titulos)).getTitulo()
+                    .toUpperCase(Locale.ROOT);
+            ausentes[i] = catalogo.titulo();
+            novos[i] = new Jogo(catalogo.titulo());
+        }
+    }
+
+    @Benchmark
+    public Jogo buscar() {
+        String titulo = existentes[proxima()];
+        return varredura ? buscarNaLista(titulo) : repository.buscar(titulo);
+    }
+
+    @Benchmark
+    public boolean existe() {
+        String titulo = ausentes[proxima()];
+        return varredura ? buscarNaLista(titulo) != null : repository.existe(titulo);
+    }
+
+    @Benchmark
+    public boolean adicionarERemover() {
+        Jogo jogo = novos[proxima()];
+        if (varredura) {
+            // Como era: confere se existe, inclui e remove percorrendo a lista
+            if (buscarNaLista(jogo.getTitulo()) != null) {
+                return false;
+            }
+            jogos.add(jogo);
+            return jogos.removeIf(j -> j.getTitulo().equalsIgnoreCase(jogo.getTitulo()));
+        }
+        return repository.adicionar(jogo) && repository.remover(jogo.getTitulo());
+    }
+
+    private Jogo buscarNaLista(String titulo) {
+        for (Jogo jogo : jogos) {
+            if (jogo.getTitulo().equalsIgnoreCase(titulo)) {
+                return jogo;
+            }
+        }
+        return null;
+    }
+
+    private int proxima() {
+        proxima = (proxima + 1) & (CONSULTAS - 1);
+        return proxima;
+    }
+}
@@ -0,0 +1,96 @@
+package steamboxd.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import steamboxd.data.DadosSistema;
+import steamboxd.data.dao.TxtDAO;
+import steamboxd.data.dao.TxtMapeadoDAO;
+import steamboxd.model.DLC;
+import steamboxd.model.ItemBiblioteca;
+import steamboxd.model.Jogo;
+import steamboxd.model.Midia;
+import steamboxd.model.Usuario;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo para carregar um save TXT com muitos usuários, cada um com
+ * {@value #ITENS_POR_USUARIO} itens na biblioteca (linhas
+ * {@code BIBLIOTECA}, que apontam para o dono e para o jogo da loja): pelo
+ * {@link TxtDAO} (leitura linha a linha) e pelo {@link TxtMapeadoDAO}
+ * (arquivo mapeado, lido em partes em paralelo).
+ *
+ * <p>O save é gerado uma vez, antes das medições. Cada operação carrega o
+ * arquivo inteiro; o tempo deve crescer na proporção do número de linhas.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CargaTxtBenchmark {
+
+    private static final int ITENS_POR_USUARIO = 4;
+
+    @Param({"10000", "100000", "1000000"})
+    public int usuarios;
+
+    @Param("20000")
+    public int titulos;
+
+    private Path arquivo;
+
+    @Setup
+    public void preparar() throws Exception {
+        CatalogoSintetico catalogo = new CatalogoSintetico(3);
+        List<Jogo> jogos = catalogo.jogos(titulos);
+        List<DLC> dlcs = catalogo.dlcs(titulos / 10, jogos);
+        List<Midia> loja = new ArrayList<>(jogos);
+        loja.addAll(dlcs);
+
+        Random aleatorio = catalogo.getAleatorio();
+        List<Usuario> lista = new ArrayList<>(usuarios);
+        for (int u = 0; u < usuarios; u++) {
+            Usuario usuario = new Usuario("Usuário", "usuario" + u + "@gmail.com");
+            while (usuario.tamanhoBiblioteca() < ITENS_POR_USUARIO) {
+                Midia midia = loja.get(aleatorio.nextInt(loja.size()));
+                usuario.adicionarNaBiblioteca(new ItemBiblioteca(midia, aleatorio.nextInt(11), midia.getPreco()));
+            }
+            lista.add(usuario);
+        }
+
+        arquivo = Files.createTempFile("steamboxd-carga", ".txt");
+        new TxtDAO().salvar(new DadosSistema(jogos, dlcs, lista), arquivo.toString());
+    }
+
+    @TearDown
+    public void apagar() throws Exception {
+        Files.deleteIfExists(arquivo);
+    }
+
+    @Benchmark
+    public DadosSistema txtDAO() throws Exception {
+        return new TxtDAO().carregar(arquivo.toString());
+    }
+
+    @Benchmark
+    public DadosSistema txtMapeadoDAO() throws Exception {
+        return new TxtMapeadoDAO().carregar(arquivo.toString());
+    }
+}
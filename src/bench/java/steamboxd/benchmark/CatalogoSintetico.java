@@ -0,0 +1,155 @@
+package steamboxd.benchmark;
+
+import steamboxd.model.DLC;
+import steamboxd.model.Jogo;
+import steamboxd.util.ChaveUtil;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Catálogo gerado para os benchmarks: títulos, desenvolvedoras, gêneros,
+ * plataformas, preços, anos e notas ao acaso, mas sempre os mesmos para a
+ * mesma semente.
+ *
+ * <p>Os títulos são formados por duas a quatro palavras de um vocabulário
+ * inventado (sílabas sorteadas), para que a busca aproximada trabalhe com
+ * textos parecidos com títulos de verdade, e são únicos sem diferenciar
+ * acentos nem maiúsculas.</p>
+ */
+public final class CatalogoSintetico {
+
+    public static final String[] GENEROS = {
+            "Ação", "Aventura", "RPG", "Estratégia", "Simulação", "Esporte", "Corrida", "Puzzle",
+            "Plataforma", "Metroidvania", "Roguelike", "Terror", "Luta", "Tiro", "Sobrevivência", "Indie"
+    };
+    public static final String[] PLATAFORMAS = {
+            "PC", "PS5", "PS4", "Xbox Series", "Xbox One", "Switch", "Mac", "Linux"
+    };
+
+    private static final String[] INICIOS = {
+            "b", "c", "d", "f", "g", "h", "j", "k", "l", "m", "n", "p", "r", "s", "t", "v", "w", "x", "z",
+            "br", "cr", "dr", "fl", "gr", "kn", "pl", "qu", "sh", "sk", "st", "th", "tr", "ch", "ph", ""
+    };
+    private static final String[] VOGAIS = {"a", "e", "i", "o", "u", "y", "ai", "ea", "ou", "ee", "oo"};
+    private static final String[] FINAIS = {"", "", "", "n", "r", "s", "t", "l", "x", "ck", "ng", "rd", "st", "wn"};
+    private static final int PALAVRAS = 20_000;
+
+    private final Random aleatorio;
+    private final Set<String> chavesUsadas = new HashSet<>();
+    // Vocabulário dos títulos e das desenvolvedoras
+    private final String[] palavras = new String[PALAVRAS];
+
+    public CatalogoSintetico(long semente) {
+        this.aleatorio = new Random(semente);
+        Set<String> distintas = new HashSet<>();
+        while (distintas.size() < PALAVRAS) {
+            StringBuilder palavra = new StringBuilder();
+            int silabas = 1 + aleatorio.nextInt(3);
+            for (int s = 0; s < silabas; s++) {
+                palavra.append(INICIOS[aleatorio.nextInt(INICIOS.length)])
+                        .append(VOGAIS[aleatorio.nextInt(VOGAIS.length)])
+                        .append(FINAIS[aleatorio.nextInt(FINAIS.length)]);
+            }
+            if (palavra.length() >= 3 && distintas.add(palavra.toString())) {
+                palavra.setCharAt(0, Character.toUpperCase(palavra.charAt(0)));
+                palavras[distintas.size() - 1] = palavra.toString();
+            }
+        }
+    }
+
+    public List<Jogo> jogos(int quantidade) {
+        List<Jogo> jogos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            jogos.add(new Jogo(titulo(), sortear(GENEROS, 3), nota(), ano(), sortear(PLATAFORMAS, 3),
+                    nome(2), aleatorio.nextBoolean(), preco()));
+        }
+        return jogos;
+    }
+
+    /**
+     * DLCs de jogos sorteados entre os informados.
+     */
+    public List<DLC> dlcs(int quantidade, List<Jogo> jogosBase) {
+        List<DLC> dlcs = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Jogo base = jogosBase.get(aleatorio.nextInt(jogosBase.size()));
+            dlcs.add(new DLC(titulo(), sortear(GENEROS, 2), nota(), ano(), sortear(PLATAFORMAS, 2),
+                    base.getTitulo(), aleatorio.nextBoolean(), preco()));
+        }
+        return dlcs;
+    }
+
+    /**
+     * Um título ainda não sorteado por este catálogo.
+     */
+    public String titulo() {
+        while (true) {
+            String titulo = nome(2 + aleatorio.nextInt(3));
+            if (chavesUsadas.add(ChaveUtil.normalizar(titulo))) {
+                return titulo;
+            }
+        }
+    }
+
+    /**
+     * O texto com um erro de digitação: uma letra trocada, apagada ou repetida.
+     */
+    public String comErro(String texto) {
+        StringBuilder resultado = new StringBuilder(texto);
+        int posicao = aleatorio.nextInt(texto.length());
+        switch (aleatorio.nextInt(3)) {
+            case 0:
+                resultado.setCharAt(posicao, (char) ('a' + aleatorio.nextInt(26)));
+                break;
+            case 1:
+                resultado.deleteCharAt(posicao);
+                break;
+            default:
+                resultado.insert(posicao, texto.charAt(posicao));
+        }
+        return resultado.toString();
+    }
+
+    public Random getAleatorio() {
+        return aleatorio;
+    }
+
+    private String nome(int quantidade) {
+        StringBuilder nome = new StringBuilder();
+        for (int p = 0; p < quantidade; p++) {
+            if (p > 0) {
+                nome.append(' ');
+            }
+            nome.append(palavras[aleatorio.nextInt(palavras.length)]);
+        }
+        return nome.toString();
+    }
+
+    private List<String> sortear(String[] opcoes, int maximo) {
+        int quantidade = 1 + aleatorio.nextInt(maximo);
+        List<String> sorteados = new ArrayList<>(quantidade);
+        while (sorteados.size() < quantidade) {
+            String opcao = opcoes[aleatorio.nextInt(opcoes.length)];
+            if (!sorteados.contains(opcao)) {
+                sorteados.add(opcao);
+            }
+        }
+        return sorteados;
+    }
+
+    private double preco() {
+        return Math.round(aleatorio.nextDouble() * 30_000) / 100.0;
+    }
+
+    private int ano() {
+        return 1990 + aleatorio.nextInt(36);
+    }
+
+    private double nota() {
+        return Math.round(aleatorio.nextDouble() * 100) / 10.0;
+    }
+}
@@ -0,0 +1,78 @@
+package steamboxd.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import steamboxd.model.Jogo;
+import steamboxd.repository.CampoNumerico;
+import steamboxd.repository.Consulta;
+import steamboxd.repository.JogoRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Jogos abaixo de R$ 50 lançados entre 2015 e 2020, do mais barato ao
+ * mais caro": consulta pelos índices ordenados
+ * ({@link JogoRepository#consultar}) contra a cópia, o filtro e a
+ * ordenação da lista inteira, como era feito antes dos índices.
+ *
+ * <p>{@code limite} é o tamanho da página pedida; 0 devolve todos os
+ * jogos que atendem aos critérios.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConsultaIntervaloBenchmark {
+
+    @Param("1000000")
+    public int titulos;
+
+    @Param({"20", "0"})
+    public int limite;
+
+    private JogoRepository repository;
+
+    @Setup
+    public void preparar() {
+        repository = new JogoRepository();
+        repository.adicionarTodos(new CatalogoSintetico(12).jogos(titulos));
+    }
+
+    @Benchmark
+    public List<Jogo> consultaPorIndices() {
+        Consulta<Jogo> consulta = new Consulta<Jogo>()
+                .entre(CampoNumerico.PRECO, null, 49.99)
+                .entre(CampoNumerico.ANO_LANCAMENTO, 2015.0, 2020.0)
+                .ordenarPor(CampoNumerico.PRECO, false);
+        if (limite > 0) {
+            consulta.limitar(limite);
+        }
+        return repository.consultar(consulta);
+    }
+
+    @Benchmark
+    public List<Jogo> varreduraEOrdenacao() {
+        List<Jogo> resultado = new ArrayList<>();
+        for (Jogo jogo : new ArrayList<>(repository.listarTodos())) {
+            if (jogo.getPreco() <= 49.99 && jogo.getAnoLancamento() >= 2015 && jogo.getAnoLancamento() <= 2020) {
+                resultado.add(jogo);
+            }
+        }
+        resultado.sort(Comparator.comparingDouble(Jogo::getPreco));
+        return limite > 0 && resultado.size() > limite ? resultado.subList(0, limite) : resultado;
+    }
+}
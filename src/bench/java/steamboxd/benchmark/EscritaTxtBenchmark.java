@@ -0,0 +1,153 @@
+package steamboxd.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import steamboxd.data.DadosSistema;
+import steamboxd.data.dao.EscritorTxt;
+import steamboxd.data.dao.TxtDAO;
+import steamboxd.model.ItemBiblioteca;
+import steamboxd.model.Jogo;
+import steamboxd.model.Usuario;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão da gravação do save TXT: o {@link TxtDAO} (com o
+ * {@link EscritorTxt}) contra o {@code PrintWriter.printf} que ele
+ * substituiu, com {@code String.join} para as listas.
+ *
+ * <p>O save tem {@code registros} linhas: um quinto de jogos, um quinto
+ * de usuários e o restante de itens das bibliotecas. O número que interessa
+ * é o contador {@code bytes}, em bytes gravados por segundo. Antes das
+ * medições, os dois arquivos são comparados byte a byte.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class EscritaTxtBenchmark {
+
+    private static final String SEPARADOR = ";";
+
+    @Param("1000000")
+    public int registros;
+
+    private DadosSistema dados;
+    private Path arquivo;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Gravados {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void preparar() throws Exception {
+        CatalogoSintetico catalogo = new CatalogoSintetico(6);
+        List<Jogo> jogos = catalogo.jogos(registros / 5);
+        Random aleatorio = catalogo.getAleatorio();
+        List<Usuario> usuarios = new ArrayList<>();
+        int itens = registros - 2 * jogos.size();
+        for (int u = 0; u < registros / 5; u++) {
+            Usuario usuario = new Usuario("Usuário", "usuario" + u + "@gmail.com");
+            int meta = itens * (u + 1) / (registros / 5) - itens * u / (registros / 5);
+            while (usuario.tamanhoBiblioteca() < meta) {
+                Jogo jogo = jogos.get(aleatorio.nextInt(jogos.size()));
+                usuario.adicionarNaBiblioteca(new ItemBiblioteca(jogo, aleatorio.nextInt(11), jogo.getPreco()));
+            }
+            usuarios.add(usuario);
+        }
+        dados = new DadosSistema(jogos, new ArrayList<>(), usuarios);
+        arquivo = Files.createTempFile("steamboxd-escrita", ".txt");
+
+        Path comPrintf = Files.createTempFile("steamboxd-printf", ".txt");
+        try {
+            new TxtDAO().salvar(dados, arquivo.toString());
+            salvarComPrintf(comPrintf);
+            if (Files.mismatch(arquivo, comPrintf) != -1) {
+                throw new IllegalStateException("O EscritorTxt e o printf gravaram textos diferentes.");
+            }
+        } finally {
+            Files.delete(comPrintf);
+        }
+    }
+
+    @TearDown
+    public void apagar() throws IOException {
+        Files.deleteIfExists(arquivo);
+    }
+
+    @Benchmark
+    public void escritorTxt(Gravados gravados) throws Exception {
+        new TxtDAO().salvar(dados, arquivo.toString());
+        gravados.bytes += Files.size(arquivo);
+    }
+
+    @Benchmark
+    public void printf(Gravados gravados) throws Exception {
+        salvarComPrintf(arquivo);
+        gravados.bytes += Files.size(arquivo);
+    }
+
+    /**
+     * A gravação como era antes do {@link EscritorTxt}.
+     */
+    private void salvarComPrintf(Path destino) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(destino.toString()))) {
+            for (Jogo j : dados.getJogos()) {
+                String generos = String.join(",", j.getGeneros());
+                String plataformas = String.join(",", j.getPlataformas());
+
+                writer.printf("JOGO%s%s%s%d%s%.2f%s%s%s%b%s%s%s%s%n",
+                        SEPARADOR, j.getTitulo(),
+                        SEPARADOR, j.getAnoLancamento(),
+                        SEPARADOR, j.getPreco(),
+                        SEPARADOR, j.getDesenvolvedora(),
+                        SEPARADOR, j.isMultiplayer(),
+                        SEPARADOR, generos,
+                        SEPARADOR, plataformas);
+            }
+            for (Usuario u : dados.getUsuarios()) {
+                writer.printf("USUARIO%s%s%s%s%n", SEPARADOR, u.getNome(), SEPARADOR, u.getEmail());
+
+                for (ItemBiblioteca item : u.visaoBiblioteca()) {
+                    writer.printf("BIBLIOTECA%s%s%s%s%s%.2f%s%d%s%.2f%s%s%n",
+                            SEPARADOR, u.getEmail(),
+                            SEPARADOR, item.getTitulo(),
+                            SEPARADOR, item.getNota(),
+                            SEPARADOR, item.getMidia().getAnoLancamento(),
+                            SEPARADOR, item.getPrecoPago(),
+                            SEPARADOR, item.getTipo());
+                }
+            }
+        }
+    }
+}
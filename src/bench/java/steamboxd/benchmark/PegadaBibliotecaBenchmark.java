@@ -0,0 +1,114 @@
+package steamboxd.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import steamboxd.model.Biblioteca;
+import steamboxd.model.ItemBiblioteca;
+import steamboxd.model.Jogo;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memória ocupada pelas bibliotecas dos usuários: itens que apontam para o
+ * jogo da loja (como o {@link ItemBiblioteca} faz) contra itens com uma
+ * cópia do jogo (como era antes).
+ *
+ * <p>O número que interessa é o contador {@code bytesPorItem}: a diferença
+ * do heap usado, depois de uma coleta, entre antes e depois de montar as
+ * bibliotecas, dividida pelo número de itens. O tempo de cada rodada inclui
+ * as coletas e não deve ser comparado. Há uma única rodada medida, pois o
+ * JMH soma os contadores de todas as rodadas.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-XX:+UseSerialGC"})
+public class PegadaBibliotecaBenchmark {
+
+    @Param("20000")
+    public int titulos;
+
+    @Param("2000")
+    public int usuarios;
+
+    @Param("50")
+    public int jogosPorUsuario;
+
+    private List<Jogo> catalogo;
+    // Mantém as bibliotecas vivas até a próxima rodada
+    private Biblioteca[] bibliotecas;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Memoria {
+
+        public long bytesPorItem;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            bytesPorItem = 0;
+        }
+    }
+
+    @Setup
+    public void preparar() {
+        catalogo = new CatalogoSintetico(21).jogos(titulos);
+    }
+
+    @Setup(Level.Iteration)
+    public void liberar() {
+        bibliotecas = null;
+    }
+
+    @Benchmark
+    public Biblioteca[] referenciaAoCatalogo(Memoria memoria) {
+        return montar(memoria, false);
+    }
+
+    @Benchmark
+    public Biblioteca[] copiaDoJogo(Memoria memoria) {
+        return montar(memoria, true);
+    }
+
+    private Biblioteca[] montar(Memoria memoria, boolean copiar) {
+        long antes = heapUsado();
+        Random aleatorio = new Random(21);
+        bibliotecas = new Biblioteca[usuarios];
+        for (int u = 0; u < usuarios; u++) {
+            Biblioteca biblioteca = new Biblioteca();
+            while (biblioteca.tamanho() < jogosPorUsuario) {
+                Jogo jogo = catalogo.get(aleatorio.nextInt(catalogo.size()));
+                biblioteca.adicionar(new ItemBiblioteca(copiar ? new Jogo(jogo) : jogo,
+                        aleatorio.nextInt(11), jogo.getPreco()));
+            }
+            bibliotecas[u] = biblioteca;
+        }
+        memoria.bytesPorItem = (heapUsado() - antes) / ((long) usuarios * jogosPorUsuario);
+        return bibliotecas;
+    }
+
+    private static long heapUsado() {
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+}
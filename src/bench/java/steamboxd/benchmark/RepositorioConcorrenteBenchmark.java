@@ -0,0 +1,107 @@
+package steamboxd.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import steamboxd.model.Jogo;
+import steamboxd.repository.JogoRepository;
+import steamboxd.repository.JogoRepositoryConcorrente;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de várias threads usando o mesmo repositório de jogos: o
+ * {@link JogoRepositoryConcorrente} (leituras sem trava, alterações com
+ * trava por faixa de título) contra o {@link JogoRepository} sequencial
+ * protegido por uma trava única, como seria preciso sem a variante
+ * concorrente.
+ *
+ * <p>O grupo {@code leitura} só busca títulos; o grupo {@code misto} tem
+ * três threads buscando e uma alterando preços (o que mexe nos índices
+ * ordenados). Os números de cada thread aparecem separados no resultado.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RepositorioConcorrenteBenchmark {
+
+    @Param("100000")
+    public int titulos;
+
+    @Param({"concorrente", "travaUnica"})
+    public String variante;
+
+    private JogoRepository repository;
+    private boolean travaUnica;
+    private final Object trava = new Object();
+    private String[] chaves;
+
+    @Setup
+    public void preparar() {
+        travaUnica = variante.equals("travaUnica");
+        repository = travaUnica ? new JogoRepository() : new JogoRepositoryConcorrente();
+        List<Jogo> jogos = new CatalogoSintetico(17).jogos(titulos);
+        repository.adicionarTodos(jogos);
+        chaves = new String[jogos.size()];
+        for (int i = 0; i < jogos.size(); i++) {
+            chaves[i] = jogos.get(i).getTitulo();
+        }
+    }
+
+    @Benchmark
+    @Group("leitura")
+    @GroupThreads(4)
+    public Jogo somenteBusca() {
+        return buscar();
+    }
+
+    @Benchmark
+    @Group("misto")
+    @GroupThreads(3)
+    public Jogo busca() {
+        return buscar();
+    }
+
+    @Benchmark
+    @Group("misto")
+    @GroupThreads(1)
+    public Jogo alteracaoDePreco() {
+        String chave = sortearChave();
+        double preco = ThreadLocalRandom.current().nextInt(30_000) / 100.0;
+        if (travaUnica) {
+            synchronized (trava) {
+                return repository.atualizar(chave, jogo -> jogo.setPreco(preco));
+            }
+        }
+        return repository.atualizar(chave, jogo -> jogo.setPreco(preco));
+    }
+
+    private Jogo buscar() {
+        String chave = sortearChave();
+        if (travaUnica) {
+            synchronized (trava) {
+                return repository.buscar(chave);
+            }
+        }
+        return repository.buscar(chave);
+    }
+
+    private String sortearChave() {
+        return chaves[ThreadLocalRandom.current().nextInt(chaves.length)];
+    }
+}
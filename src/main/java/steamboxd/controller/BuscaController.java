@@ -0,0 +1,52 @@
+package steamboxd.controller;
+
+import steamboxd.model.Midia;
+import steamboxd.repository.CampoNumerico;
+import steamboxd.repository.indice.EstatisticasColuna;
+import steamboxd.repository.indice.FiltroColunar;
+import steamboxd.repository.indice.ResultadoAproximado;
+import steamboxd.repository.indice.ResultadoRelevancia;
+import steamboxd.service.BuscaService;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller para as buscas que cobrem o catálogo inteiro (jogos e DLCs).
+ *
+ * <p>Faz a ponte entre a View e o {@link BuscaService}.</p>
+ */
+public class BuscaController {
+
+    private final BuscaService buscaService = new BuscaService();
+
+    public BuscaController() {
+    }
+
+    public List<Midia> sugerirTitulos(String prefixo, int limite) {
+        return buscaService.sugerirTitulos(prefixo, limite);
+    }
+
+    public List<ResultadoAproximado> buscarAproximado(String texto, int limite) {
+        return buscaService.buscarAproximado(texto, limite);
+    }
+
+    public List<ResultadoRelevancia> buscarTexto(String consulta, int limite) {
+        return buscaService.buscarTexto(consulta, limite);
+    }
+
+    public int contar(FiltroColunar filtro) {
+        return buscaService.contar(filtro);
+    }
+
+    public EstatisticasColuna estatisticas(CampoNumerico campo, FiltroColunar filtro) {
+        return buscaService.estatisticas(campo, filtro);
+    }
+
+    public Map<String, Integer> contarPorGenero(FiltroColunar filtro) {
+        return buscaService.contarPorGenero(filtro);
+    }
+
+    public Midia buscarMidia(String titulo) {
+        return buscaService.buscarMidia(titulo);
+    }
+}
@@ -1,6 +1,9 @@
 package steamboxd.controller;
 
 import steamboxd.model.DLC;
+import steamboxd.repository.Consulta;
+import steamboxd.repository.Pagina;
+import steamboxd.repository.RelatorioLote;
 import steamboxd.service.DLCService;
 import java.util.List;
 
@@ -25,13 +28,22 @@ public class DLCController {
     /**
      * Cria um novo objeto DLC a partir dos dados brutos da View
      * e o envia para a camada de serviço para adição.
+     *
+     * @return {@code false} se já existir uma DLC com o mesmo título.
      */
-    public void adicionarDLC(String titulo, double nota, int ano, List<String> generos,
+    public boolean adicionarDLC(String titulo, double nota, int ano, List<String> generos,
                              List<String> plataformas, String jogoBaseTitulo, boolean expansao, double preco) {
 
         DLC dlc = new DLC(titulo, generos, nota, ano, plataformas, jogoBaseTitulo, expansao, preco);
 
-        dlcService.adicionar(dlc);
+        return dlcService.adicionar(dlc);
+    }
+
+    /**
+     * Importa várias DLCs de uma só vez (ver {@link DLCService#adicionarTodos}).
+     */
+    public RelatorioLote adicionarDLCs(List<DLC> dlcs) {
+        return dlcService.adicionarTodos(dlcs);
     }
 
     public boolean removerDLC(String titulo) {
@@ -46,6 +58,14 @@ public class DLCController {
         return dlcService.listarTodos();
     }
 
+    public Pagina<DLC> listarDLCsPagina(String cursor, int tamanho) {
+        return dlcService.listarPagina(cursor, tamanho);
+    }
+
+    public List<DLC> consultar(Consulta<DLC> consulta) {
+        return dlcService.consultar(consulta);
+    }
+
     public boolean editarJogoBase(String tituloDlc, String novoJogoBase) {
         return dlcService.editarJogoBase(tituloDlc, novoJogoBase);
     }
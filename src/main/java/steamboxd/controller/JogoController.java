@@ -1,6 +1,9 @@
 package steamboxd.controller;
 
 import steamboxd.model.Jogo;
+import steamboxd.repository.Consulta;
+import steamboxd.repository.Pagina;
+import steamboxd.repository.RelatorioLote;
 import steamboxd.service.JogoService;
 import java.util.List;
 
@@ -25,13 +28,22 @@ public class JogoController {
     /**
      * Cria um novo objeto Jogo a partir dos dados brutos da View
      * e o envia para a camada de serviço para adição.
+     *
+     * @return {@code false} se já existir um jogo com o mesmo título.
      */
-    public void adicionarJogo(String titulo, double nota, int ano, List<String> generos, List<String> plataformas,
+    public boolean adicionarJogo(String titulo, double nota, int ano, List<String> generos, List<String> plataformas,
                               String desenvolvedora, boolean multiplayer, double preco) {
 
         Jogo jogo = new Jogo(titulo, generos, nota, ano, plataformas, desenvolvedora, multiplayer, preco);
 
-        jogoService.adicionar(jogo);
+        return jogoService.adicionar(jogo);
+    }
+
+    /**
+     * Importa vários jogos de uma só vez (ver {@link JogoService#adicionarTodos}).
+     */
+    public RelatorioLote adicionarJogos(List<Jogo> jogos) {
+        return jogoService.adicionarTodos(jogos);
     }
 
     public boolean removerJogo(String titulo) {
@@ -46,6 +58,14 @@ public class JogoController {
         return jogoService.listarTodos();
     }
 
+    public Pagina<Jogo> listarJogosPagina(String cursor, int tamanho) {
+        return jogoService.listarPagina(cursor, tamanho);
+    }
+
+    public List<Jogo> consultar(Consulta<Jogo> consulta) {
+        return jogoService.consultar(consulta);
+    }
+
     public boolean editarDesenvolvedora(String titulo, String novaDev) {
         return jogoService.editarDesenvolvedora(titulo, novaDev);
     }
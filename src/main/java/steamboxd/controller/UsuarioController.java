@@ -1,8 +1,12 @@
 package steamboxd.controller;
 
+import steamboxd.model.ItemBiblioteca;
 import steamboxd.model.Midia;
 import steamboxd.model.Usuario;
+import steamboxd.repository.Pagina;
+import steamboxd.repository.RelatorioLote;
 import steamboxd.service.UsuarioService;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -30,6 +34,13 @@ public class UsuarioController {
         return usuarioService.adicionarUsuario(usuario);
     }
 
+    /**
+     * Importa vários usuários de uma só vez (ver {@link UsuarioService#adicionarUsuarios}).
+     */
+    public RelatorioLote adicionarUsuarios(List<Usuario> usuarios) {
+        return usuarioService.adicionarUsuarios(usuarios);
+    }
+
     public Usuario buscarUsuario(String email) {
         return usuarioService.buscarUsuario(email);
     }
@@ -42,6 +53,10 @@ public class UsuarioController {
         return usuarioService.listarUsuarios();
     }
 
+    public Pagina<Usuario> listarUsuariosPagina(String cursor, int tamanho) {
+        return usuarioService.listarUsuariosPagina(cursor, tamanho);
+    }
+
     public boolean editarUsuario(String emailAtual, String novoNome, String novoEmail) {
         return usuarioService.editarUsuario(emailAtual, novoNome, novoEmail);
     }
@@ -56,7 +71,7 @@ public class UsuarioController {
         return usuarioService.removerMidia(emailUsuario, tituloMidia);
     }
 
-    public Midia buscarMidiaDoUsuario(String emailUsuario, String tituloMidia) {
+    public ItemBiblioteca buscarMidiaDoUsuario(String emailUsuario, String tituloMidia) {
         return usuarioService.buscarMidia(emailUsuario, tituloMidia);
     }
 
@@ -64,7 +79,7 @@ public class UsuarioController {
         return usuarioService.editarMidia(emailUsuario, titulo, novaNota);
     }
 
-    public List<Midia> listarBibliotecaUsuario(String emailUsuario) {
+    public Collection<ItemBiblioteca> listarBibliotecaUsuario(String emailUsuario) {
         return usuarioService.listarBiblioteca(emailUsuario);
     }
 }
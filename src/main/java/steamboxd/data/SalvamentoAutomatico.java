@@ -0,0 +1,182 @@
+package steamboxd.data;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Agendador do salvamento automático.
+ *
+ * <p>Cada alteração marca os dados como "alterados" e reinicia a contagem
+ * de um período de silêncio. O salvamento só acontece quando esse período
+ * passa sem novas alterações, então uma rajada de edições vira uma única
+ * gravação. A gravação roda em uma thread própria, fora da interface.</p>
+ *
+ * <p>Há no máximo uma tarefa agendada: uma alteração só adia o prazo, e a
+ * tarefa, ao acordar antes dele, volta a dormir pelo tempo que falta. Se
+ * o salvamento falhar (ou não puder ser feito agora), os dados continuam
+ * marcados como alterados e uma nova tentativa é agendada, com espera
+ * dobrada a cada falha seguida.</p>
+ */
+public class SalvamentoAutomatico {
+
+    private static final long ESPERA_MINIMA_TENTATIVA_MS = 1000;
+    private static final long ESPERA_MAXIMA_TENTATIVA_MS = 60_000;
+
+    private final BooleanSupplier salvar;
+    private final ScheduledThreadPoolExecutor agendador;
+    private final AtomicBoolean alterado = new AtomicBoolean(false);
+
+    private volatile long periodoSilencioMs = 2000;
+    private volatile boolean ativo = true;
+    // Quando o período de silêncio termina (System.nanoTime)
+    private volatile long prazoNs;
+    private ScheduledFuture<?> agendado;
+    // Usado só pela thread do agendador
+    private int falhasSeguidas;
+
+    // Métricas
+    private volatile long totalSalvamentos;
+    private volatile long ultimoSalvamentoMs = -1;
+
+    /**
+     * @param salvar A ação de salvamento (executada na thread do agendador).
+     * Devolve {@code false} se nada pôde ser salvo agora.
+     */
+    public SalvamentoAutomatico(BooleanSupplier salvar) {
+        this.salvar = salvar;
+        this.agendador = new ScheduledThreadPoolExecutor(1, tarefa -> {
+            Thread thread = new Thread(tarefa, "steamboxd-salvamento");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.agendador.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Marca os dados como alterados e adia o salvamento para depois do
+     * período de silêncio.
+     */
+    public synchronized void marcarAlterado() {
+        alterado.set(true);
+        if (!ativo || agendador.isShutdown()) {
+            return;
+        }
+        prazoNs = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(periodoSilencioMs);
+        if (agendado == null) {
+            agendado = agendador.schedule(this::executar, periodoSilencioMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Os dados foram salvos por outro caminho (ex: botão "Salvar").
+     */
+    public void marcarSalvo() {
+        alterado.set(false);
+    }
+
+    public boolean isAlterado() {
+        return alterado.get();
+    }
+
+    private void executar() {
+        synchronized (this) {
+            long restante = prazoNs - System.nanoTime();
+            if (restante > 0) {
+                // Houve alterações depois do agendamento: espera o que falta do silêncio
+                agendado = agendador.schedule(this::executar, restante, TimeUnit.NANOSECONDS);
+                return;
+            }
+            agendado = null;
+        }
+
+        // Desmarca antes de salvar: uma alteração durante o salvamento agenda outro
+        if (!alterado.getAndSet(false)) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        boolean salvo = false;
+        try {
+            salvo = salvar.getAsBoolean();
+        } catch (RuntimeException e) {
+            System.err.println("Erro no salvamento automático: " + e.getMessage());
+        }
+
+        if (salvo) {
+            falhasSeguidas = 0;
+            totalSalvamentos++;
+            ultimoSalvamentoMs = (System.nanoTime() - inicio) / 1_000_000;
+        } else {
+            alterado.set(true);
+            agendarNovaTentativa();
+        }
+    }
+
+    /**
+     * Agenda outra tentativa depois de uma falha, a não ser que uma
+     * alteração feita durante o salvamento já tenha agendado uma.
+     */
+    private synchronized void agendarNovaTentativa() {
+        falhasSeguidas++;
+        if (!ativo || agendador.isShutdown() || agendado != null) {
+            return;
+        }
+        long espera = Math.max(periodoSilencioMs, ESPERA_MINIMA_TENTATIVA_MS) << Math.min(falhasSeguidas - 1, 6);
+        agendado = agendador.schedule(this::executar, Math.min(espera, ESPERA_MAXIMA_TENTATIVA_MS),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancela o agendamento e encerra a thread (sem salvar o que estiver pendente).
+     */
+    public synchronized void encerrar() {
+        cancelarAgendado();
+        agendador.shutdown();
+    }
+
+    private void cancelarAgendado() {
+        if (agendado != null) {
+            agendado.cancel(false);
+            agendado = null;
+        }
+    }
+
+    // --- Configuração ---
+
+    public boolean isAtivo() {
+        return ativo;
+    }
+
+    public synchronized void setAtivo(boolean ativo) {
+        this.ativo = ativo;
+        if (!ativo) {
+            cancelarAgendado();
+        }
+    }
+
+    public long getPeriodoSilencioMs() {
+        return periodoSilencioMs;
+    }
+
+    public void setPeriodoSilencioMs(long periodoSilencioMs) {
+        if (periodoSilencioMs < 0) {
+            throw new IllegalArgumentException("O período de silêncio não pode ser negativo.");
+        }
+        this.periodoSilencioMs = periodoSilencioMs;
+    }
+
+    // --- Métricas ---
+
+    public long getTotalSalvamentos() {
+        return totalSalvamentos;
+    }
+
+    /**
+     * @return A duração do último salvamento automático, ou -1.
+     */
+    public long getUltimoSalvamentoMs() {
+        return ultimoSalvamentoMs;
+    }
+}
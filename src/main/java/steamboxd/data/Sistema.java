@@ -1,11 +1,24 @@
 package steamboxd.data;
 
+import steamboxd.data.dao.BinarioDAO;
 import steamboxd.data.dao.PersistenciaDAO;
-import steamboxd.data.dao.TxtDAO;
+import steamboxd.data.dao.TxtMapeadoDAO;
+import steamboxd.data.diario.CompactadorDiario;
+import steamboxd.data.diario.Diario;
+import steamboxd.data.diario.Mutacao;
+import steamboxd.data.diario.OuvinteMutacoes;
+import steamboxd.data.diario.ReprodutorDiario;
 import steamboxd.repository.DLCRepository;
 import steamboxd.repository.JogoRepository;
 import steamboxd.repository.UsuarioRepository;
+import steamboxd.repository.indice.CatalogoColunar;
+import steamboxd.repository.indice.IndiceTextual;
+import steamboxd.repository.indice.IndiceTitulos;
+import steamboxd.repository.indice.IndiceTrigramas;
+import steamboxd.util.ArquivoUtil;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Padrão Singleton para centralizar o acesso aos dados.
@@ -21,8 +34,32 @@ public class Sistema {
     private final DLCRepository dlcRepository;
     private final UsuarioRepository usuarioRepository;
 
-    private final PersistenciaDAO dao;
-    private String arquivoAtual = "steamboxd.txt";
+    // Títulos de jogos e DLCs, para as sugestões e a busca aproximada
+    private final IndiceTitulos indiceTitulos;
+    private final IndiceTrigramas indiceTrigramas;
+    private final IndiceTextual indiceTextual;
+    // Cópia em colunas do catálogo, para filtros e totais por varredura
+    private final CatalogoColunar catalogoColunar;
+
+    // Arquivos novos com esta extensão são salvos no formato binário
+    public static final String EXTENSAO_BINARIA = ".sbxd";
+
+    // Lidos também pela thread do salvamento automático
+    private volatile PersistenciaDAO dao;
+    private volatile String arquivoAtual = "steamboxd.txt";
+
+    // Alterações feitas desde o último salvamento completo
+    private final Diario diario;
+    private final CompactadorDiario compactador;
+
+    // Salvamentos (manual e automático) e trocas de arquivo não se misturam
+    private final Object travaSalvamento = new Object();
+    private final SalvamentoAutomatico salvamentoAutomatico;
+    private final OuvinteMutacoes ouvinteMutacoes;
+
+    // O diário contém todas as alterações desde os repositórios vazios
+    // (então uma base vazia + o diário reconstroem o estado atual)
+    private volatile boolean diarioDesdeVazio = true;
 
     /**
      * Construtor privado para impedir a criação de novas instâncias
@@ -32,7 +69,27 @@ public class Sistema {
         this.jogoRepository = new JogoRepository();
         this.dlcRepository = new DLCRepository();
         this.usuarioRepository = new UsuarioRepository();
-        this.dao = new TxtDAO();
+        this.indiceTitulos = new IndiceTitulos();
+        this.jogoRepository.adicionarOuvinte(indiceTitulos);
+        this.dlcRepository.adicionarOuvinte(indiceTitulos);
+        this.indiceTrigramas = new IndiceTrigramas();
+        this.jogoRepository.adicionarOuvinte(indiceTrigramas);
+        this.dlcRepository.adicionarOuvinte(indiceTrigramas);
+        this.indiceTextual = new IndiceTextual();
+        this.jogoRepository.adicionarOuvinte(indiceTextual);
+        this.dlcRepository.adicionarOuvinte(indiceTextual);
+        this.catalogoColunar = new CatalogoColunar();
+        this.jogoRepository.adicionarOuvinte(catalogoColunar);
+        this.dlcRepository.adicionarOuvinte(catalogoColunar);
+        this.dao = escolherDAO(arquivoAtual);
+        this.diario = new Diario();
+        this.diario.abrir(arquivoAtual);
+        this.compactador = new CompactadorDiario(diario);
+        this.salvamentoAutomatico = new SalvamentoAutomatico(this::salvarEmSegundoPlano);
+        this.ouvinteMutacoes = mutacao -> {
+            diario.aoMutar(mutacao);
+            salvamentoAutomatico.marcarAlterado();
+        };
     }
 
     /**
@@ -49,21 +106,41 @@ public class Sistema {
     // --- MÉTODOS DE PERSISTÊNCIA ---
 
     public void setArquivoAtual(String caminho) {
-        this.arquivoAtual = caminho;
+        synchronized (travaSalvamento) {
+            this.arquivoAtual = caminho;
+            this.dao = escolherDAO(caminho);
+            this.diario.abrir(caminho);
+            this.diarioDesdeVazio = jogoRepository.listarTodos().isEmpty()
+                    && dlcRepository.listarTodos().isEmpty()
+                    && usuarioRepository.listarTodos().isEmpty();
+        }
     }
 
     /**
-     * Coleta todos os dados dos repositórios,
-     * empacota e solicita ao DAO para salvar.
+     * Escolhe o DAO pelo conteúdo do arquivo: a assinatura no início
+     * identifica o formato binário. Se o arquivo ainda não existe,
+     * decide pela extensão.
+     */
+    private static PersistenciaDAO escolherDAO(String caminho) {
+        File arquivo = new File(caminho);
+        if (arquivo.exists() ? BinarioDAO.ehBinario(caminho) : caminho.endsWith(EXTENSAO_BINARIA)) {
+            return new BinarioDAO();
+        }
+        return new TxtMapeadoDAO();
+    }
+
+    /**
+     * Salva as alterações feitas desde o último salvamento.
+     *
+     * <p>Se o arquivo base já existe, apenas as alterações pendentes são
+     * acrescentadas ao diário (custo proporcional ao que mudou). Se ainda
+     * não existe, coleta todos os dados dos repositórios, empacota e
+     * solicita ao DAO para salvar a base completa.</p>
      */
     public void salvarDados() {
         try {
-            DadosSistema dados = new DadosSistema(
-                    jogoRepository.listarTodos(),
-                    dlcRepository.listarTodos(),
-                    usuarioRepository.listarTodos()
-            );
-            dao.salvar(dados, arquivoAtual);
+            salvar(false);
+            salvamentoAutomatico.marcarSalvo();
             System.out.println("Dados salvos com sucesso em " + arquivoAtual);
 
         } catch (Exception e) {
@@ -72,6 +149,70 @@ public class Sistema {
         }
     }
 
+    /**
+     * Chamado pelo {@link SalvamentoAutomatico}, fora da thread da interface.
+     *
+     * @return {@code false} se nada pôde ser salvo agora.
+     */
+    private boolean salvarEmSegundoPlano() {
+        try {
+            // Se só um salvamento completo resolve, as alterações continuam
+            // pendentes no diário até o próximo salvamento manual
+            return salvar(true);
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Núcleo comum dos salvamentos.
+     *
+     * <p>Em segundo plano os repositórios nunca são lidos (eles pertencem
+     * à thread da interface): só o diário é gravado. Por isso, sem base,
+     * o salvamento automático cria uma base vazia e deixa a compactação
+     * juntar o diário nela, o que só vale se o diário contém tudo desde
+     * os repositórios vazios.</p>
+     *
+     * @param emSegundoPlano Se a chamada vem do salvamento automático.
+     * @return {@code false} se nada pôde ser salvo agora.
+     */
+    private boolean salvar(boolean emSegundoPlano) throws Exception {
+        synchronized (travaSalvamento) {
+            String caminho = arquivoAtual;
+            PersistenciaDAO dao = this.dao;
+
+            if (new File(caminho).exists()) {
+                diario.gravarPendentes();
+                compactador.verificar(caminho, dao);
+            } else if (diarioDesdeVazio) {
+                ArquivoUtil.escreverAtomicamente(caminho, temporario -> dao.salvar(
+                        new DadosSistema(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()), temporario));
+                diario.iniciarNovaBase(false);
+                diario.gravarPendentes();
+                compactador.agendar(caminho, dao);
+            } else if (emSegundoPlano) {
+                return false;
+            } else {
+                salvarBaseCompleta(caminho, dao);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Reescreve a base inteira com o estado atual e recomeça o diário.
+     * A base é gravada em um temporário e só então substitui o arquivo.
+     */
+    private void salvarBaseCompleta(String caminho, PersistenciaDAO dao) throws Exception {
+        DadosSistema dados = new DadosSistema(
+                jogoRepository.listarTodos(),
+                dlcRepository.listarTodos(),
+                usuarioRepository.listarTodos()
+        );
+        ArquivoUtil.escreverAtomicamente(caminho, temporario -> dao.salvar(dados, temporario));
+        diario.iniciarNovaBase(true);
+    }
+
     /**
      * Usa o arquivo padrão ou o último utilizado.
      */
@@ -83,9 +224,11 @@ public class Sistema {
      * Solicita ao DAO para carregar os dados
      * e os distribui para os repositórios.
      * Carrega de um caminho específico.
+     *
+     * <p>Depois da base, reaplica as alterações registradas no diário.</p>
      */
     public void carregarDados(String caminho) {
-        this.arquivoAtual = caminho;
+        setArquivoAtual(caminho);
         File arquivo = new File(caminho);
 
         // Lida com o cenário de "primeira execução":
@@ -93,6 +236,12 @@ public class Sistema {
         // Apenas starto o sistema com os repositórios vazios.
         if (!arquivo.exists()) {
             System.out.println("Arquivo de save (" + caminho + ") não encontrado. Começando com dados vazios.");
+            jogoRepository.carregarDados(new ArrayList<>());
+            dlcRepository.carregarDados(new ArrayList<>());
+            usuarioRepository.carregarDados(new ArrayList<>());
+            synchronized (travaSalvamento) {
+                diarioDesdeVazio = true;
+            }
             return;
         }
         try {
@@ -101,6 +250,18 @@ public class Sistema {
             jogoRepository.carregarDados(dados.getJogos());
             dlcRepository.carregarDados(dados.getDlcs());
             usuarioRepository.carregarDados(dados.getUsuarios());
+            synchronized (travaSalvamento) {
+                diarioDesdeVazio = false;
+            }
+
+            List<Mutacao> alteracoes = diario.recuperar();
+            if (!alteracoes.isEmpty()) {
+                long inicio = System.nanoTime();
+                new ReprodutorDiario(jogoRepository, dlcRepository, usuarioRepository).reproduzir(alteracoes);
+                compactador.registrarReproducao((System.nanoTime() - inicio) / 1_000_000);
+                System.out.println(alteracoes.size() + " alterações reaplicadas do diário.");
+                compactador.verificar(caminho, dao);
+            }
 
             System.out.println("Dados carregados com sucesso de " + caminho);
 
@@ -123,4 +284,46 @@ public class Sistema {
     public UsuarioRepository getUsuarioRepository() {
         return usuarioRepository;
     }
+
+    public IndiceTitulos getIndiceTitulos() {
+        return indiceTitulos;
+    }
+
+    public IndiceTrigramas getIndiceTrigramas() {
+        return indiceTrigramas;
+    }
+
+    public IndiceTextual getIndiceTextual() {
+        return indiceTextual;
+    }
+
+    public CatalogoColunar getCatalogoColunar() {
+        return catalogoColunar;
+    }
+
+    /**
+     * Ouvinte das alterações feitas pelos Services: registra no diário e
+     * agenda o salvamento automático.
+     */
+    public OuvinteMutacoes getOuvinteMutacoes() {
+        return ouvinteMutacoes;
+    }
+
+    public Diario getDiario() {
+        return diario;
+    }
+
+    /**
+     * Dá acesso à configuração e às métricas do salvamento automático.
+     */
+    public SalvamentoAutomatico getSalvamentoAutomatico() {
+        return salvamentoAutomatico;
+    }
+
+    /**
+     * Dá acesso aos limites e às métricas da compactação do diário.
+     */
+    public CompactadorDiario getCompactador() {
+        return compactador;
+    }
 }
\ No newline at end of file
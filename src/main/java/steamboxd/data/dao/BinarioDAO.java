@@ -0,0 +1,534 @@
+package steamboxd.data.dao;
+
+import steamboxd.data.DadosSistema;
+import steamboxd.model.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementação binária e compacta do {@link PersistenciaDAO}.
+ *
+ * <p>Formato do arquivo (inteiros em "varint", 7 bits por byte):</p>
+ * <pre>
+ * "SBXD" | versão (1 byte)
+ * dicionário: quantidade, e cada String em UTF-8 (tamanho + bytes)
+ * jogos:      quantidade, e cada registro (tamanho + conteúdo)
+ * DLCs:       quantidade, e cada registro (tamanho + conteúdo)
+ * usuários:   quantidade, e cada registro (tamanho + conteúdo)
+ * </pre>
+ *
+ * <p>Todo texto (títulos, gêneros, plataformas, desenvolvedoras, emails...)
+ * é guardado uma única vez no dicionário e referenciado pelo seu id.
+ * Preços e notas com até duas casas viram centavos inteiros.</p>
+ *
+ * <p>Os itens da biblioteca que apontam para uma mídia da loja são
+ * gravados pelo índice dela, com a nota do usuário e, se diferir do atual,
+ * o preço pago. Os demais são gravados por completo.</p>
+ *
+ * <p>Cada registro tem o seu tamanho antes do conteúdo, então versões
+ * futuras podem acrescentar campos no final sem quebrar a leitura.</p>
+ */
+public class BinarioDAO implements PersistenciaDAO {
+
+    private static final byte[] ASSINATURA = {'S', 'B', 'X', 'D'};
+    private static final int VERSAO = 1;
+
+    // Marcadores de um item da biblioteca
+    private static final int ITEM_DLC = 1;
+    private static final int ITEM_REFERENCIA = 1 << 1;
+    // Só em arquivos antigos (o ano de um item vem sempre da loja)
+    private static final int ITEM_ANO_PROPRIO = 1 << 2;
+    private static final int ITEM_PRECO_PROPRIO = 1 << 3;
+
+    /**
+     * Verifica pela assinatura no início do arquivo se ele está neste formato.
+     *
+     * @return {@code false} se o arquivo não existir ou não for binário.
+     */
+    public static boolean ehBinario(String nomeArquivo) {
+        try (InputStream entrada = new FileInputStream(nomeArquivo)) {
+            return Arrays.equals(entrada.readNBytes(ASSINATURA.length), ASSINATURA);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void salvar(DadosSistema dados, String nomeArquivo) throws Exception {
+        Map<String, Integer> idsPorTexto = new HashMap<>();
+        List<String> dicionario = new ArrayList<>();
+        Saida corpo = new Saida(idsPorTexto, dicionario);
+        Saida registro = new Saida(idsPorTexto, dicionario);
+
+        // Índice de cada título na loja (vale a primeira ocorrência)
+        Map<String, Integer> indiceJogos = new HashMap<>();
+        Map<String, Integer> indiceDlcs = new HashMap<>();
+
+        // As listas podem não ter acesso direto barato: percorre com iterador
+        List<Jogo> jogos = dados.getJogos();
+        List<DLC> dlcs = dados.getDlcs();
+        Jogo[] originaisJogos = new Jogo[jogos.size()];
+        DLC[] originaisDlcs = new DLC[dlcs.size()];
+
+        corpo.varint(jogos.size());
+        int i = 0;
+        for (Jogo j : jogos) {
+            originaisJogos[i] = j;
+            indiceJogos.putIfAbsent(j.getTitulo(), i++);
+
+            registro.limpar();
+            registro.texto(j.getTitulo());
+            registro.inteiro(j.getAnoLancamento());
+            registro.decimal(j.getPreco());
+            registro.texto(j.getDesenvolvedora());
+            registro.booleano(j.isMultiplayer());
+            registro.lista(j.visaoGeneros());
+            registro.lista(j.visaoPlataformas());
+            corpo.registro(registro);
+        }
+
+        corpo.varint(dlcs.size());
+        i = 0;
+        for (DLC d : dlcs) {
+            originaisDlcs[i] = d;
+            indiceDlcs.putIfAbsent(d.getTitulo(), i++);
+
+            registro.limpar();
+            registro.texto(d.getTitulo());
+            registro.inteiro(d.getAnoLancamento());
+            registro.decimal(d.getPreco());
+            registro.texto(d.getJogoBaseTitulo());
+            registro.booleano(d.isExpansao());
+            registro.lista(d.visaoGeneros());
+            registro.lista(d.visaoPlataformas());
+            corpo.registro(registro);
+        }
+
+        corpo.varint(dados.getUsuarios().size());
+        for (Usuario u : dados.getUsuarios()) {
+            Collection<ItemBiblioteca> biblioteca = u.visaoBiblioteca();
+
+            registro.limpar();
+            registro.texto(u.getNome());
+            registro.texto(u.getEmail());
+            registro.varint(biblioteca.size());
+            for (ItemBiblioteca item : biblioteca) {
+                if (item.getMidia() instanceof DLC) {
+                    Integer indice = indiceDlcs.get(item.getTitulo());
+                    Midia original = indice != null ? originaisDlcs[indice] : null;
+                    escreverItem(registro, item, original, indice, ITEM_DLC);
+                } else {
+                    Integer indice = indiceJogos.get(item.getTitulo());
+                    Midia original = indice != null ? originaisJogos[indice] : null;
+                    escreverItem(registro, item, original, indice, 0);
+                }
+            }
+            corpo.registro(registro);
+        }
+
+        try (DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(nomeArquivo)))) {
+            saida.write(ASSINATURA);
+            saida.writeByte(VERSAO);
+
+            Saida cabecalho = new Saida(idsPorTexto, dicionario);
+            cabecalho.varint(dicionario.size());
+            for (String texto : dicionario) {
+                byte[] utf8 = texto.getBytes(StandardCharsets.UTF_8);
+                cabecalho.varint(utf8.length);
+                cabecalho.bytes(utf8, utf8.length);
+            }
+            cabecalho.copiarPara(saida);
+            corpo.copiarPara(saida);
+        }
+    }
+
+    private void escreverItem(Saida registro, ItemBiblioteca item, Midia original, Integer indice, int tipo) {
+        Midia m = item.getMidia();
+        if (original != null && (m == original || mesmosDadosDaLoja(m, original))) {
+            int marcador = tipo | ITEM_REFERENCIA;
+            boolean precoProprio = Double.doubleToLongBits(item.getPrecoPago()) != Double.doubleToLongBits(original.getPreco());
+            if (precoProprio) marcador |= ITEM_PRECO_PROPRIO;
+
+            registro.varint(marcador);
+            registro.varint(indice);
+            registro.decimal(item.getNota());
+            if (precoProprio) registro.decimal(item.getPrecoPago());
+            return;
+        }
+
+        registro.varint(tipo);
+        registro.texto(m.getTitulo());
+        registro.decimal(item.getNota());
+        registro.inteiro(m.getAnoLancamento());
+        registro.decimal(item.getPrecoPago());
+        if (m instanceof DLC) {
+            registro.texto(((DLC) m).getJogoBaseTitulo());
+            registro.booleano(((DLC) m).isExpansao());
+        } else {
+            registro.texto(((Jogo) m).getDesenvolvedora());
+            registro.booleano(((Jogo) m).isMultiplayer());
+        }
+        registro.lista(m.visaoGeneros());
+        registro.lista(m.visaoPlataformas());
+    }
+
+    /**
+     * Um item com mídia própria também pode apontar para a loja se, tirando
+     * nota, ano e preço, ela for igual à mídia original.
+     */
+    private boolean mesmosDadosDaLoja(Midia m, Midia original) {
+        if (!m.visaoGeneros().equals(original.visaoGeneros()) || !m.visaoPlataformas().equals(original.visaoPlataformas())) {
+            return false;
+        }
+        if (m instanceof DLC) {
+            DLC d = (DLC) m;
+            DLC o = (DLC) original;
+            return d.getJogoBaseTitulo().equals(o.getJogoBaseTitulo()) && d.isExpansao() == o.isExpansao();
+        }
+        Jogo j = (Jogo) m;
+        Jogo o = (Jogo) original;
+        return j.getDesenvolvedora().equals(o.getDesenvolvedora()) && j.isMultiplayer() == o.isMultiplayer();
+    }
+
+    @Override
+    public DadosSistema carregar(String nomeArquivo) throws Exception {
+        Entrada entrada = new Entrada(Files.readAllBytes(Path.of(nomeArquivo)));
+
+        if (!entrada.assinatura(ASSINATURA)) {
+            throw new IOException("O arquivo " + nomeArquivo + " não está no formato binário do SteamBoxd.");
+        }
+        int versao = entrada.byteSemSinal();
+        if (versao > VERSAO) {
+            throw new IOException("Versão do arquivo binário não suportada: " + versao);
+        }
+
+        int tamanhoDicionario = entrada.varint();
+        String[] dicionario = new String[tamanhoDicionario];
+        for (int i = 0; i < tamanhoDicionario; i++) {
+            dicionario[i] = entrada.utf8(entrada.varint());
+        }
+        entrada.dicionario = dicionario;
+
+        int quantidade = entrada.varint();
+        List<Jogo> jogos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            int fim = entrada.inicioRegistro();
+            String titulo = entrada.texto();
+            int ano = entrada.inteiro();
+            double preco = entrada.decimal();
+            String dev = entrada.texto();
+            boolean multi = entrada.booleano();
+            List<String> generos = entrada.lista();
+            List<String> plataformas = entrada.lista();
+            jogos.add(new Jogo(titulo, generos, 0.0, ano, plataformas, dev, multi, preco));
+            entrada.fimRegistro(fim);
+        }
+
+        quantidade = entrada.varint();
+        List<DLC> dlcs = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            int fim = entrada.inicioRegistro();
+            String titulo = entrada.texto();
+            int ano = entrada.inteiro();
+            double preco = entrada.decimal();
+            String jogoBase = entrada.texto();
+            boolean exp = entrada.booleano();
+            List<String> generos = entrada.lista();
+            List<String> plataformas = entrada.lista();
+            dlcs.add(new DLC(titulo, generos, 0.0, ano, plataformas, jogoBase, exp, preco));
+            entrada.fimRegistro(fim);
+        }
+
+        quantidade = entrada.varint();
+        List<Usuario> usuarios = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            int fim = entrada.inicioRegistro();
+            Usuario usuario = new Usuario(entrada.texto(), entrada.texto());
+            int itens = entrada.varint();
+            for (int k = 0; k < itens; k++) {
+                usuario.adicionarNaBiblioteca(lerItem(entrada, jogos, dlcs));
+            }
+            usuarios.add(usuario);
+            entrada.fimRegistro(fim);
+        }
+
+        return new DadosSistema(jogos, dlcs, usuarios);
+    }
+
+    private ItemBiblioteca lerItem(Entrada entrada, List<Jogo> jogos, List<DLC> dlcs) throws IOException {
+        int marcador = entrada.varint();
+        boolean ehDlc = (marcador & ITEM_DLC) != 0;
+
+        if ((marcador & ITEM_REFERENCIA) != 0) {
+            int indice = entrada.varint();
+            Midia original = ehDlc ? entrada.elemento(dlcs, indice) : entrada.elemento(jogos, indice);
+            double nota = entrada.decimal();
+            if ((marcador & ITEM_ANO_PROPRIO) != 0) {
+                entrada.inteiro();
+            }
+            double preco = (marcador & ITEM_PRECO_PROPRIO) != 0 ? entrada.decimal() : original.getPreco();
+            return new ItemBiblioteca(original, nota, preco);
+        }
+
+        String titulo = entrada.texto();
+        double nota = entrada.decimal();
+        int ano = entrada.inteiro();
+        double preco = entrada.decimal();
+        String extra = entrada.texto();
+        boolean flag = entrada.booleano();
+        List<String> generos = entrada.lista();
+        List<String> plataformas = entrada.lista();
+        Midia propria = ehDlc
+                ? new DLC(titulo, generos, nota, ano, plataformas, extra, flag, preco)
+                : new Jogo(titulo, generos, nota, ano, plataformas, extra, flag, preco);
+        return new ItemBiblioteca(propria, nota, preco);
+    }
+
+    // --- Codificação ---
+
+    /**
+     * Buffer de bytes crescente, com as primitivas do formato.
+     * Os textos são registrados no dicionário à medida que são escritos.
+     */
+    private static class Saida {
+        private final Map<String, Integer> idsPorTexto;
+        private final List<String> dicionario;
+        private byte[] dados = new byte[1024];
+        private int tamanho;
+
+        Saida(Map<String, Integer> idsPorTexto, List<String> dicionario) {
+            this.idsPorTexto = idsPorTexto;
+            this.dicionario = dicionario;
+        }
+
+        void limpar() {
+            tamanho = 0;
+        }
+
+        void varint(long valor) {
+            garantir(10);
+            while ((valor & ~0x7FL) != 0) {
+                dados[tamanho++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            dados[tamanho++] = (byte) valor;
+        }
+
+        // "ZigZag": números negativos pequenos continuam ocupando poucos bytes
+        void inteiro(int valor) {
+            varint(((valor << 1) ^ (valor >> 31)) & 0xFFFFFFFFL);
+        }
+
+        /**
+         * Valores com até duas casas decimais são gravados como centavos
+         * (bit 0 = 0); os demais, com os 8 bytes do double (bit 0 = 1).
+         */
+        void decimal(double valor) {
+            long centavos = Math.round(valor * 100);
+            if (Math.abs(valor) < 1e13 && centavos / 100.0 == valor
+                    && Double.doubleToRawLongBits(valor) != Double.doubleToRawLongBits(-0.0)) {
+                varint(((centavos << 1) ^ (centavos >> 63)) << 1);
+            } else {
+                varint(1);
+                long bits = Double.doubleToRawLongBits(valor);
+                garantir(8);
+                for (int i = 0; i < 8; i++) {
+                    dados[tamanho++] = (byte) (bits >>> (8 * i));
+                }
+            }
+        }
+
+        void booleano(boolean valor) {
+            garantir(1);
+            dados[tamanho++] = (byte) (valor ? 1 : 0);
+        }
+
+        // 0 = null; os demais são o id no dicionário + 1
+        void texto(String texto) {
+            if (texto == null) {
+                varint(0);
+                return;
+            }
+            Integer id = idsPorTexto.get(texto);
+            if (id == null) {
+                id = dicionario.size();
+                idsPorTexto.put(texto, id);
+                dicionario.add(texto);
+            }
+            varint(id + 1L);
+        }
+
+        void lista(List<String> itens) {
+            varint(itens.size());
+            for (String item : itens) {
+                texto(item);
+            }
+        }
+
+        void bytes(byte[] origem, int quantidade) {
+            garantir(quantidade);
+            System.arraycopy(origem, 0, dados, tamanho, quantidade);
+            tamanho += quantidade;
+        }
+
+        void registro(Saida registro) {
+            varint(registro.tamanho);
+            bytes(registro.dados, registro.tamanho);
+        }
+
+        void copiarPara(OutputStream saida) throws IOException {
+            saida.write(dados, 0, tamanho);
+        }
+
+        private void garantir(int extra) {
+            if (tamanho + extra > dados.length) {
+                dados = Arrays.copyOf(dados, Math.max(dados.length * 2, tamanho + extra));
+            }
+        }
+    }
+
+    // --- Decodificação ---
+
+    /**
+     * Cursor sobre o conteúdo do arquivo, com as primitivas do formato.
+     */
+    private static class Entrada {
+        private final byte[] dados;
+        private int posicao;
+        private String[] dicionario;
+
+        Entrada(byte[] dados) {
+            this.dados = dados;
+        }
+
+        boolean assinatura(byte[] esperada) {
+            if (dados.length < esperada.length) {
+                return false;
+            }
+            for (int i = 0; i < esperada.length; i++) {
+                if (dados[posicao++] != esperada[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int byteSemSinal() throws IOException {
+            exigir(1);
+            return dados[posicao++] & 0xFF;
+        }
+
+        long varlong() throws IOException {
+            long valor = 0;
+            for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+                int b = byteSemSinal();
+                valor |= (long) (b & 0x7F) << deslocamento;
+                if ((b & 0x80) == 0) {
+                    return valor;
+                }
+            }
+            throw new IOException("Número mal formado no arquivo binário.");
+        }
+
+        int varint() throws IOException {
+            long valor = varlong();
+            if (valor < 0 || valor > Integer.MAX_VALUE) {
+                throw new IOException("Número fora do limite no arquivo binário.");
+            }
+            return (int) valor;
+        }
+
+        int inteiro() throws IOException {
+            long valor = varlong();
+            return (int) ((valor >>> 1) ^ -(valor & 1));
+        }
+
+        double decimal() throws IOException {
+            long valor = varlong();
+            if ((valor & 1) == 0) {
+                long zigzag = valor >>> 1;
+                long centavos = (zigzag >>> 1) ^ -(zigzag & 1);
+                return centavos / 100.0;
+            }
+            exigir(8);
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits |= (long) (dados[posicao++] & 0xFF) << (8 * i);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        boolean booleano() throws IOException {
+            return byteSemSinal() != 0;
+        }
+
+        String texto() throws IOException {
+            int id = varint();
+            if (id == 0) {
+                return null;
+            }
+            if (id > dicionario.length) {
+                throw new IOException("Referência inválida ao dicionário: " + (id - 1));
+            }
+            return dicionario[id - 1];
+        }
+
+        List<String> lista() throws IOException {
+            int quantidade = varint();
+            List<String> itens = new ArrayList<>(Math.min(quantidade, 16));
+            for (int i = 0; i < quantidade; i++) {
+                itens.add(texto());
+            }
+            return itens;
+        }
+
+        String utf8(int quantidade) throws IOException {
+            exigir(quantidade);
+            String texto = new String(dados, posicao, quantidade, StandardCharsets.UTF_8);
+            posicao += quantidade;
+            return texto;
+        }
+
+        <T> T elemento(List<T> lista, int indice) throws IOException {
+            if (indice >= lista.size()) {
+                throw new IOException("Referência inválida à loja: " + indice);
+            }
+            return lista.get(indice);
+        }
+
+        /**
+         * Lê o tamanho do registro.
+         * @return A posição onde o registro termina.
+         */
+        int inicioRegistro() throws IOException {
+            int tamanho = varint();
+            exigir(tamanho);
+            return posicao + tamanho;
+        }
+
+        /**
+         * Pula campos desconhecidos (de versões futuras) no fim do registro.
+         */
+        void fimRegistro(int fim) throws IOException {
+            if (posicao > fim) {
+                throw new IOException("Registro corrompido no arquivo binário.");
+            }
+            posicao = fim;
+        }
+
+        private void exigir(int quantidade) throws IOException {
+            if (quantidade > dados.length - posicao) {
+                throw new EOFException("Fim inesperado do arquivo binário.");
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package steamboxd.data.dao;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.DecimalFormatSymbols;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Escritor das linhas do arquivo de save em TXT.
+ *
+ * <p>Substitui o {@code PrintWriter.printf}: os campos são escritos direto
+ * em um buffer de caracteres reaproveitado, codificados em um buffer de bytes
+ * também reaproveitado e gravados por um {@link FileChannel}. Não há
+ * {@code Formatter}, números "boxed" nem {@code String.join}.</p>
+ *
+ * <p>O texto gerado é idêntico ao do {@code printf}: o mesmo charset padrão
+ * (com {@code '?'} para caracteres não representáveis), o mesmo separador
+ * decimal do {@code Locale} de formatação e a mesma quebra de linha do
+ * sistema ({@code %n}). Valores que o caminho rápido não cobre com
+ * segurança (negativos, dígitos não ASCII, muitas casas) são delegados ao
+ * {@link String#format}.</p>
+ *
+ * <p>Não é thread-safe.</p>
+ */
+public class EscritorTxt implements Closeable {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final String SEPARADOR_LISTA = ",";
+    // Acima disso a divisão por 100 deixa de separar bem os centavos
+    private static final double MAIOR_DECIMAL_RAPIDO = 1e13;
+
+    private final FileChannel canal;
+    private final CharsetEncoder codificador;
+    private final CharBuffer caracteres;
+    private final ByteBuffer bytes;
+
+    private final Locale locale;
+    private final char separadorDecimal;
+    private final boolean digitosAscii;
+    private final String quebraLinha;
+
+    public EscritorTxt(String nomeArquivo) throws IOException {
+        this.canal = FileChannel.open(Path.of(nomeArquivo),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        // Mesma política do FileWriter
+        this.codificador = Charset.defaultCharset().newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.caracteres = CharBuffer.allocate(TAMANHO_BUFFER);
+        this.bytes = ByteBuffer.allocate((int) (TAMANHO_BUFFER * codificador.maxBytesPerChar()));
+
+        this.locale = Locale.getDefault(Locale.Category.FORMAT);
+        DecimalFormatSymbols simbolos = DecimalFormatSymbols.getInstance(locale);
+        this.separadorDecimal = simbolos.getDecimalSeparator();
+        this.digitosAscii = simbolos.getZeroDigit() == '0';
+        this.quebraLinha = System.lineSeparator();
+    }
+
+    /**
+     * Escreve um texto como o {@code %s} ({@code null} vira "null").
+     */
+    public EscritorTxt texto(String texto) throws IOException {
+        String valor = String.valueOf(texto);
+        int tamanho = valor.length();
+        int copiados = 0;
+        while (copiados < tamanho) {
+            if (!caracteres.hasRemaining()) {
+                codificar(false);
+            }
+            int parte = Math.min(caracteres.remaining(), tamanho - copiados);
+            caracteres.put(valor, copiados, copiados + parte);
+            copiados += parte;
+        }
+        return this;
+    }
+
+    /**
+     * Escreve o separador de campos do formato.
+     */
+    public EscritorTxt separador() throws IOException {
+        return caractere(';');
+    }
+
+    /**
+     * Escreve um inteiro como o {@code %d}.
+     */
+    public EscritorTxt inteiro(int valor) throws IOException {
+        if (valor < 0 || !digitosAscii) {
+            return texto(String.format(locale, "%d", valor));
+        }
+        return digitos(valor);
+    }
+
+    /**
+     * Escreve um decimal como o {@code %.2f}.
+     *
+     * <p>O caminho rápido só é usado quando o valor é exatamente o double
+     * mais próximo de um número com até duas casas (ex: 244.9). Nesse caso
+     * o arredondamento do {@code Formatter} não altera nada e basta escrever
+     * os centavos.</p>
+     */
+    public EscritorTxt decimal(double valor) throws IOException {
+        if (digitosAscii && valor >= 0 && valor < MAIOR_DECIMAL_RAPIDO
+                && Double.doubleToRawLongBits(valor) != Double.doubleToRawLongBits(-0.0)) {
+            long centavos = Math.round(valor * 100);
+            if (centavos / 100.0 == valor) {
+                digitos(centavos / 100);
+                caractere(separadorDecimal);
+                long resto = centavos % 100;
+                caractere((char) ('0' + resto / 10));
+                return caractere((char) ('0' + resto % 10));
+            }
+        }
+        return texto(String.format(locale, "%.2f", valor));
+    }
+
+    /**
+     * Escreve um booleano como o {@code %b}.
+     */
+    public EscritorTxt booleano(boolean valor) throws IOException {
+        return texto(valor ? "true" : "false");
+    }
+
+    /**
+     * Escreve os itens separados por vírgula, como o {@code String.join(",", itens)}.
+     */
+    public EscritorTxt lista(List<String> itens) throws IOException {
+        for (int i = 0; i < itens.size(); i++) {
+            if (i > 0) {
+                texto(SEPARADOR_LISTA);
+            }
+            texto(itens.get(i));
+        }
+        return this;
+    }
+
+    /**
+     * Termina a linha atual, como o {@code %n}.
+     */
+    public EscritorTxt fimDeLinha() throws IOException {
+        return texto(quebraLinha);
+    }
+
+    /**
+     * Grava o que falta no buffer e fecha o arquivo.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            codificar(true);
+            bytes.clear();
+            codificador.flush(bytes);
+            gravar();
+        } finally {
+            canal.close();
+        }
+    }
+
+    // --- Métodos internos ---
+
+    private EscritorTxt caractere(char c) throws IOException {
+        if (!caracteres.hasRemaining()) {
+            codificar(false);
+        }
+        caracteres.put(c);
+        return this;
+    }
+
+    private EscritorTxt digitos(long valor) throws IOException {
+        if (caracteres.remaining() < 20) {
+            codificar(false);
+        }
+        int inicio = caracteres.position();
+        do {
+            caracteres.put((char) ('0' + valor % 10));
+            valor /= 10;
+        } while (valor > 0);
+
+        // Os dígitos foram escritos ao contrário
+        for (int i = inicio, j = caracteres.position() - 1; i < j; i++, j--) {
+            char c = caracteres.get(i);
+            caracteres.put(i, caracteres.get(j));
+            caracteres.put(j, c);
+        }
+        return this;
+    }
+
+    /**
+     * Codifica os caracteres acumulados e grava os bytes no canal.
+     * Um par surrogate incompleto no fim do buffer fica para a próxima vez.
+     */
+    private void codificar(boolean fimDaEntrada) throws IOException {
+        caracteres.flip();
+        while (true) {
+            bytes.clear();
+            CoderResult resultado = codificador.encode(caracteres, bytes, fimDaEntrada);
+            gravar();
+            if (resultado.isUnderflow()) {
+                break;
+            }
+            if (resultado.isError()) {
+                resultado.throwException();
+            }
+        }
+        caracteres.compact();
+    }
+
+    private void gravar() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            canal.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package steamboxd.data.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de campos para as linhas do arquivo de save em TXT.
+ *
+ * <p>Percorre a linha uma única vez, campo a campo (separados por {@code ';'}),
+ * e converte inteiros, decimais com vírgula e booleanos diretamente sobre os
+ * caracteres, sem {@code split}, sem expressões regulares e sem criar
+ * {@code String[]} ou valores "boxed". Só os campos de texto geram Strings.</p>
+ *
+ * <p>Segue exatamente as regras do formato antigo ({@code split(";", -1)}):
+ * uma linha com N separadores tem N + 1 campos, campos vazios são mantidos e
+ * campos ausentes valem vazio (ou zero).</p>
+ *
+ * <p>Uma mesma instância pode ser reaproveitada para todas as linhas através
+ * de {@link #reiniciar(CharSequence, int, int)}. Não é thread-safe.</p>
+ */
+public class TokenizadorLinha {
+
+    public static final String TIPO_JOGO = "JOGO";
+    public static final String TIPO_DLC = "DLC";
+    public static final String TIPO_USUARIO = "USUARIO";
+    public static final String TIPO_BIBLIOTECA = "BIBLIOTECA";
+
+    private static final char SEPARADOR = ';';
+    private static final char SEPARADOR_LISTA = ',';
+
+    // Potências de 10 exatamente representáveis em double
+    private static final double[] POTENCIAS_DE_DEZ = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAIOR_MANTISSA_EXATA = 1L << 53;
+
+    private CharSequence linha;
+    private int posicao;
+    private int fim;
+    private int indiceCampo;
+
+    // Limites do último campo lido
+    private int inicioCampo;
+    private int fimCampo;
+
+    /**
+     * Prepara o tokenizador para ler uma linha inteira.
+     */
+    public void reiniciar(CharSequence linha) {
+        reiniciar(linha, 0, linha.length());
+    }
+
+    /**
+     * Prepara o tokenizador para ler o trecho {@code [inicio, fim)} de um texto
+     * (o trecho não deve conter a quebra de linha).
+     */
+    public void reiniciar(CharSequence texto, int inicio, int fim) {
+        this.linha = texto;
+        this.posicao = inicio;
+        this.fim = fim;
+        this.indiceCampo = 0;
+    }
+
+    /**
+     * @return {@code true} se ainda existe algum campo a ler nesta linha.
+     */
+    public boolean possuiCampo() {
+        return posicao <= fim;
+    }
+
+    /**
+     * Lê o primeiro campo e o compara com os tipos de registro conhecidos.
+     *
+     * @return A constante do tipo ({@link #TIPO_JOGO}, {@link #TIPO_DLC},
+     * {@link #TIPO_USUARIO} ou {@link #TIPO_BIBLIOTECA}), ou {@code null}
+     * se o tipo for desconhecido.
+     */
+    public String proximoTipo() {
+        if (!avancar()) {
+            return null;
+        }
+        if (campoIgual(TIPO_JOGO)) return TIPO_JOGO;
+        if (campoIgual(TIPO_DLC)) return TIPO_DLC;
+        if (campoIgual(TIPO_USUARIO)) return TIPO_USUARIO;
+        if (campoIgual(TIPO_BIBLIOTECA)) return TIPO_BIBLIOTECA;
+        return null;
+    }
+
+    /**
+     * Lê o próximo campo como texto.
+     * @return O texto do campo, ou {@code ""} se o campo não existir.
+     */
+    public String proximoTexto() {
+        if (!avancar()) {
+            return "";
+        }
+        return textoDoCampo();
+    }
+
+    /**
+     * Lê o próximo campo como inteiro.
+     * @return O valor, ou 0 se o campo não existir ou for inválido.
+     */
+    public int proximoInt() {
+        if (!avancar()) {
+            return 0;
+        }
+        return converterInt();
+    }
+
+    /**
+     * Lê o próximo campo como decimal, aceitando vírgula ou ponto.
+     * @return O valor, ou 0.0 se o campo não existir ou for inválido.
+     */
+    public double proximoDouble() {
+        if (!avancar()) {
+            return 0.0;
+        }
+        return converterDouble();
+    }
+
+    /**
+     * Lê o próximo campo como booleano (mesma regra de {@link Boolean#parseBoolean(String)}).
+     */
+    public boolean proximoBoolean() {
+        if (!avancar()) {
+            return false;
+        }
+        return campoIgualIgnorandoCaixa("true");
+    }
+
+    /**
+     * Lê o próximo campo como uma lista separada por vírgulas.
+     *
+     * <p>Os itens são aparados ({@code trim}) e itens vazios são descartados.
+     * Um campo vazio ou {@code "N/A"} gera uma lista vazia.</p>
+     */
+    public List<String> proximaLista() {
+        List<String> itens = new ArrayList<>();
+        if (!avancar() || inicioCampo == fimCampo || campoIgual("N/A")) {
+            return itens;
+        }
+
+        int inicioItem = inicioCampo;
+        for (int i = inicioCampo; i <= fimCampo; i++) {
+            if (i == fimCampo || linha.charAt(i) == SEPARADOR_LISTA) {
+                int a = inicioItem;
+                int b = i;
+                while (a < b && linha.charAt(a) <= ' ') a++;
+                while (b > a && linha.charAt(b - 1) <= ' ') b--;
+                if (a < b) {
+                    itens.add(linha.subSequence(a, b).toString());
+                }
+                inicioItem = i + 1;
+            }
+        }
+        return itens;
+    }
+
+    /**
+     * Como {@link #proximoTexto()}, mas o campo é obrigatório.
+     * @throws IllegalArgumentException Se o campo não existir.
+     */
+    public String exigirTexto() {
+        exigirCampo();
+        return proximoTexto();
+    }
+
+    /**
+     * Como {@link #proximoInt()}, mas o campo é obrigatório.
+     * @throws IllegalArgumentException Se o campo não existir.
+     */
+    public int exigirInt() {
+        exigirCampo();
+        return proximoInt();
+    }
+
+    /**
+     * Como {@link #proximoDouble()}, mas o campo é obrigatório.
+     * @throws IllegalArgumentException Se o campo não existir.
+     */
+    public double exigirDouble() {
+        exigirCampo();
+        return proximoDouble();
+    }
+
+    // --- Métodos internos ---
+
+    private void exigirCampo() {
+        if (!possuiCampo()) {
+            throw new IllegalArgumentException("Campo " + indiceCampo + " ausente.");
+        }
+    }
+
+    /**
+     * Delimita o próximo campo e avança a posição para depois do separador.
+     */
+    private boolean avancar() {
+        if (posicao > fim) {
+            return false;
+        }
+        int i = posicao;
+        while (i < fim && linha.charAt(i) != SEPARADOR) {
+            i++;
+        }
+        inicioCampo = posicao;
+        fimCampo = i;
+        // Se não achou separador, a linha acabou: posicao passa de 'fim'
+        posicao = i + 1;
+        indiceCampo++;
+        return true;
+    }
+
+    private String textoDoCampo() {
+        return linha.subSequence(inicioCampo, fimCampo).toString();
+    }
+
+    private boolean campoIgual(String esperado) {
+        int tamanho = fimCampo - inicioCampo;
+        if (tamanho != esperado.length()) {
+            return false;
+        }
+        for (int i = 0; i < tamanho; i++) {
+            if (linha.charAt(inicioCampo + i) != esperado.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean campoIgualIgnorandoCaixa(String esperado) {
+        int tamanho = fimCampo - inicioCampo;
+        if (tamanho != esperado.length()) {
+            return false;
+        }
+        for (int i = 0; i < tamanho; i++) {
+            char c = linha.charAt(inicioCampo + i);
+            char e = esperado.charAt(i);
+            if (c != e && Character.toLowerCase(Character.toUpperCase(c)) != e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int converterInt() {
+        int i = inicioCampo;
+        if (i == fimCampo) {
+            return 0;
+        }
+
+        boolean negativo = false;
+        char c = linha.charAt(i);
+        if (c == '-' || c == '+') {
+            negativo = c == '-';
+            i++;
+        }
+
+        // Caminho rápido: até 9 dígitos ASCII nunca estouram um int
+        int digitos = fimCampo - i;
+        if (digitos > 0 && digitos <= 9) {
+            int valor = 0;
+            for (; i < fimCampo; i++) {
+                int d = linha.charAt(i) - '0';
+                if (d < 0 || d > 9) {
+                    return converterIntLento();
+                }
+                valor = valor * 10 + d;
+            }
+            return negativo ? -valor : valor;
+        }
+        return converterIntLento();
+    }
+
+    private int converterIntLento() {
+        try {
+            return Integer.parseInt(textoDoCampo());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private double converterDouble() {
+        int i = inicioCampo;
+        if (i == fimCampo) {
+            return 0.0;
+        }
+
+        boolean negativo = false;
+        char c = linha.charAt(i);
+        if (c == '-' || c == '+') {
+            negativo = c == '-';
+            i++;
+        }
+
+        // Caminho rápido: "123", "123,45" ou "123.45". A mantissa e a potência
+        // de 10 são exatas em double, então uma única divisão dá o mesmo
+        // resultado (corretamente arredondado) que Double.parseDouble.
+        long mantissa = 0;
+        int digitos = 0;
+        int casasDecimais = -1;
+        for (; i < fimCampo; i++) {
+            c = linha.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (mantissa >= MAIOR_MANTISSA_EXATA / 10) {
+                    return converterDoubleLento();
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                digitos++;
+                if (casasDecimais >= 0) {
+                    casasDecimais++;
+                }
+            } else if ((c == ',' || c == '.') && casasDecimais < 0) {
+                casasDecimais = 0;
+            } else {
+                return converterDoubleLento();
+            }
+        }
+
+        if (digitos == 0 || casasDecimais >= POTENCIAS_DE_DEZ.length) {
+            return converterDoubleLento();
+        }
+
+        double valor = casasDecimais > 0 ? mantissa / POTENCIAS_DE_DEZ[casasDecimais] : mantissa;
+        return negativo ? -valor : valor;
+    }
+
+    private double converterDoubleLento() {
+        try {
+            return Double.parseDouble(textoDoCampo().replace(",", "."));
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+}
@@ -2,63 +2,64 @@ package steamboxd.data.dao;
 
 import steamboxd.data.DadosSistema;
 import steamboxd.model.*;
+import steamboxd.util.ChaveUtil;
 
 import java.io.*;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Function;
 
 public class TxtDAO implements PersistenciaDAO {
 
-    private static final String SEPARADOR = ";";
-
     @Override
     public void salvar(DadosSistema dados, String nomeArquivo) throws Exception {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(nomeArquivo))) {
+        // Mesmo texto que o antigo printf, mas sem Formatter e sem Strings temporárias
+        try (EscritorTxt writer = new EscritorTxt(nomeArquivo)) {
 
             // 1. Salvar Jogos
             for (Jogo j : dados.getJogos()) {
-                String generos = String.join(",", j.getGeneros());
-                String plataformas = String.join(",", j.getPlataformas());
-
-                writer.printf("JOGO%s%s%s%d%s%.2f%s%s%s%b%s%s%s%s%n",
-                        SEPARADOR, j.getTitulo(),
-                        SEPARADOR, j.getAnoLancamento(),
-                        SEPARADOR, j.getPreco(),
-                        SEPARADOR, j.getDesenvolvedora(),
-                        SEPARADOR, j.isMultiplayer(),
-                        SEPARADOR, generos,
-                        SEPARADOR, plataformas);
+                writer.texto("JOGO")
+                        .separador().texto(j.getTitulo())
+                        .separador().inteiro(j.getAnoLancamento())
+                        .separador().decimal(j.getPreco())
+                        .separador().texto(j.getDesenvolvedora())
+                        .separador().booleano(j.isMultiplayer())
+                        .separador().lista(j.visaoGeneros())
+                        .separador().lista(j.visaoPlataformas())
+                        .fimDeLinha();
             }
 
             // 2. Salvar DLCs
             for (DLC d : dados.getDlcs()) {
-                String generos = String.join(",", d.getGeneros());
-                String plataformas = String.join(",", d.getPlataformas());
-
-                writer.printf("DLC%s%s%s%d%s%.2f%s%s%s%b%s%s%s%s%n",
-                        SEPARADOR, d.getTitulo(),
-                        SEPARADOR, d.getAnoLancamento(),
-                        SEPARADOR, d.getPreco(),
-                        SEPARADOR, d.getJogoBaseTitulo(),
-                        SEPARADOR, d.isExpansao(),
-                        SEPARADOR, generos,
-                        SEPARADOR, plataformas);
+                writer.texto("DLC")
+                        .separador().texto(d.getTitulo())
+                        .separador().inteiro(d.getAnoLancamento())
+                        .separador().decimal(d.getPreco())
+                        .separador().texto(d.getJogoBaseTitulo())
+                        .separador().booleano(d.isExpansao())
+                        .separador().lista(d.visaoGeneros())
+                        .separador().lista(d.visaoPlataformas())
+                        .fimDeLinha();
             }
 
             // 3. Salvar Usuários
             for (Usuario u : dados.getUsuarios()) {
-                writer.printf("USUARIO%s%s%s%s%n", SEPARADOR, u.getNome(), SEPARADOR, u.getEmail());
-
-                for (Midia m : u.getBiblioteca()) {
-                    writer.printf("BIBLIOTECA%s%s%s%s%s%.2f%s%d%s%.2f%s%s%n",
-                            SEPARADOR, u.getEmail(),
-                            SEPARADOR, m.getTitulo(),
-                            SEPARADOR, m.getNota(),
-                            SEPARADOR, m.getAnoLancamento(),
-                            SEPARADOR, m.getPreco(),
-                            SEPARADOR, m.getTipo());
+                writer.texto("USUARIO")
+                        .separador().texto(u.getNome())
+                        .separador().texto(u.getEmail())
+                        .fimDeLinha();
+
+                for (ItemBiblioteca item : u.visaoBiblioteca()) {
+                    writer.texto("BIBLIOTECA")
+                            .separador().texto(u.getEmail())
+                            .separador().texto(item.getTitulo())
+                            .separador().decimal(item.getNota())
+                            .separador().inteiro(item.getMidia().getAnoLancamento())
+                            .separador().decimal(item.getPrecoPago())
+                            .separador().texto(item.getTipo())
+                            .fimDeLinha();
                 }
             }
         }
@@ -70,82 +71,50 @@ public class TxtDAO implements PersistenciaDAO {
         List<DLC> dlcs = new ArrayList<>();
         List<Usuario> usuarios = new ArrayList<>();
 
+        // Índices montados durante a leitura, para resolver as linhas
+        // BIBLIOTECA em O(1) (vale a primeira ocorrência, como na busca linear)
+        Map<String, Jogo> jogosPorTitulo = new HashMap<>();
+        Map<String, DLC> dlcsPorTitulo = new HashMap<>();
+        Map<String, Usuario> usuariosPorEmail = new HashMap<>();
+
         try (BufferedReader reader = new BufferedReader(new FileReader(nomeArquivo))) {
+            // Um único tokenizador, reaproveitado para todas as linhas
+            TokenizadorLinha campos = new TokenizadorLinha();
             String linha;
             while ((linha = reader.readLine()) != null) {
-                // Split com -1 para manter campos vazios
-                String[] partes = linha.split(SEPARADOR, -1);
-                String tipo = partes[0];
+                campos.reiniciar(linha);
+                String tipo = campos.proximoTipo();
+                if (tipo == null) {
+                    continue;
+                }
 
                 try {
                     switch (tipo) {
-                        case "JOGO":
-                            String tituloJ = getCampo(partes, 1);
-                            int anoJ = parseInt(getCampo(partes, 2));
-                            double precoJ = parseDouble(getCampo(partes, 3));
-                            String dev = getCampo(partes, 4);
-                            boolean multi = Boolean.parseBoolean(getCampo(partes, 5));
-                            List<String> gensJ = parseLista(getCampo(partes, 6));
-                            List<String> platsJ = parseLista(getCampo(partes, 7));
-
-                            jogos.add(new Jogo(tituloJ, gensJ, 0.0, anoJ, platsJ, dev, multi, precoJ));
+                        case TokenizadorLinha.TIPO_JOGO:
+                            Jogo jogo = lerJogo(campos);
+                            jogos.add(jogo);
+                            jogosPorTitulo.putIfAbsent(jogo.getTitulo(), jogo);
                             break;
 
-                        case "DLC":
-                            String tituloD = getCampo(partes, 1);
-                            int anoD = parseInt(getCampo(partes, 2));
-                            double precoD = parseDouble(getCampo(partes, 3));
-                            String jogoBase = getCampo(partes, 4);
-                            boolean exp = Boolean.parseBoolean(getCampo(partes, 5));
-                            List<String> gensD = parseLista(getCampo(partes, 6));
-                            List<String> platsD = parseLista(getCampo(partes, 7));
-
-                            dlcs.add(new DLC(tituloD, gensD, 0.0, anoD, platsD, jogoBase, exp, precoD));
+                        case TokenizadorLinha.TIPO_DLC:
+                            DLC dlc = lerDLC(campos);
+                            dlcs.add(dlc);
+                            dlcsPorTitulo.putIfAbsent(dlc.getTitulo(), dlc);
                             break;
 
-                        case "USUARIO":
-                            usuarios.add(new Usuario(partes[1], partes[2]));
+                        case TokenizadorLinha.TIPO_USUARIO:
+                            Usuario usuario = lerUsuario(campos);
+                            usuarios.add(usuario);
+                            usuariosPorEmail.putIfAbsent(usuario.getChave(), usuario);
                             break;
 
-                        case "BIBLIOTECA":
-                            String email = partes[1];
-                            String tituloM = partes[2];
-                            double nota = parseDouble(partes[3]);
-                            int anoM = parseInt(partes[4]);
-                            double precoM = parseDouble(partes[5]);
-                            String tipoM = partes[6];
-
-                            Usuario dono = usuarios.stream()
-                                    .filter(u -> u.getEmail().equalsIgnoreCase(email))
-                                    .findFirst().orElse(null);
+                        case TokenizadorLinha.TIPO_BIBLIOTECA:
+                            String email = campos.exigirTexto();
+                            Usuario dono = usuariosPorEmail.get(ChaveUtil.normalizar(email));
 
                             if (dono != null) {
-                                Midia m;
-                                if (tipoM.equals("Jogo")) {
-                                    m = new Jogo(tituloM, new ArrayList<>(), nota, anoM, new ArrayList<>(), "", false, precoM);
-                                    // Tenta recuperar dados extras se o jogo existir na loja carregada
-                                    Jogo original = jogos.stream().filter(j -> j.getTitulo().equals(tituloM)).findFirst().orElse(null);
-                                    if(original != null) {
-                                        m.setGeneros(original.getGeneros());
-                                        m.setPlataformas(original.getPlataformas());
-                                        ((Jogo)m).setDesenvolvedora(original.getDesenvolvedora());
-                                        ((Jogo)m).setMultiplayer(original.isMultiplayer());
-                                    }
-                                } else {
-                                    m = new DLC(tituloM, new ArrayList<>(), nota, anoM, new ArrayList<>(), "", false, precoM);
-                                    DLC original = dlcs.stream().filter(d -> d.getTitulo().equals(tituloM)).findFirst().orElse(null);
-                                    if(original != null) {
-                                        m.setGeneros(original.getGeneros());
-                                        m.setPlataformas(original.getPlataformas());
-                                        ((DLC)m).setJogoBaseTitulo(original.getJogoBaseTitulo());
-                                        ((DLC)m).setExpansao(original.isExpansao());
-                                    }
-                                }
-
                                 // Adiciona na lista interna do usuário
-                                List<Midia> lib = dono.getBiblioteca();
-                                lib.add(m);
-                                dono.setBiblioteca(lib);
+                                dono.adicionarNaBiblioteca(lerItemBiblioteca(campos, jogosPorTitulo, dlcsPorTitulo));
                             }
                             break;
                     }
@@ -157,26 +126,73 @@ public class TxtDAO implements PersistenciaDAO {
         return new DadosSistema(jogos, dlcs, usuarios);
     }
 
-    // Métodos auxiliares para evitar erros de parse
-    private String getCampo(String[] partes, int indice) {
-        return (indice < partes.length) ? partes[indice] : "";
+    // Métodos auxiliares: montam cada registro a partir dos campos da linha.
+    // O tokenizador já trata campos ausentes ou inválidos (valem vazio ou zero).
+
+    static Jogo lerJogo(TokenizadorLinha campos) {
+        String titulo = campos.proximoTexto();
+        int ano = campos.proximoInt();
+        double preco = campos.proximoDouble();
+        String dev = campos.proximoTexto();
+        boolean multi = campos.proximoBoolean();
+        List<String> generos = campos.proximaLista();
+        List<String> plataformas = campos.proximaLista();
+
+        return new Jogo(titulo, generos, 0.0, ano, plataformas, dev, multi, preco);
+    }
+
+    static DLC lerDLC(TokenizadorLinha campos) {
+        String titulo = campos.proximoTexto();
+        int ano = campos.proximoInt();
+        double preco = campos.proximoDouble();
+        String jogoBase = campos.proximoTexto();
+        boolean exp = campos.proximoBoolean();
+        List<String> generos = campos.proximaLista();
+        List<String> plataformas = campos.proximaLista();
+
+        return new DLC(titulo, generos, 0.0, ano, plataformas, jogoBase, exp, preco);
     }
 
-    private int parseInt(String s) {
-        if (s == null || s.isEmpty()) return 0;
-        try { return Integer.parseInt(s); } catch (NumberFormatException e) { return 0; }
+    static Usuario lerUsuario(TokenizadorLinha campos) {
+        String nome = campos.exigirTexto();
+        String email = campos.exigirTexto();
+        return new Usuario(nome, email);
     }
 
-    private double parseDouble(String s) {
-        if (s == null || s.isEmpty()) return 0.0;
-        try { return Double.parseDouble(s.replace(",", ".")); } catch (NumberFormatException e) { return 0.0; }
+    /**
+     * Monta o item de uma linha BIBLIOTECA (o email do dono já foi lido).
+     */
+    static ItemBiblioteca lerItemBiblioteca(TokenizadorLinha campos, Map<String, Jogo> jogosPorTitulo, Map<String, DLC> dlcsPorTitulo) {
+        String titulo = campos.exigirTexto();
+        double nota = campos.exigirDouble();
+        int ano = campos.exigirInt();
+        double preco = campos.exigirDouble();
+        String tipo = campos.exigirTexto();
+
+        return montarItemBiblioteca(titulo, nota, ano, preco, tipo, jogosPorTitulo::get, dlcsPorTitulo::get);
     }
 
-    private List<String> parseLista(String dados) {
-        if (dados == null || dados.isEmpty() || dados.equals("N/A")) return new ArrayList<>();
-        return Arrays.stream(dados.split(","))
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .collect(Collectors.toList());
+    /**
+     * Cria o item da biblioteca a partir dos campos já lidos.
+     *
+     * <p>Se a mídia existir na loja carregada, o item aponta para ela (o ano
+     * da linha é ignorado: vale o da loja). Senão, o item fica com uma mídia
+     * própria, montada só com os campos da linha.</p>
+     */
+    static ItemBiblioteca montarItemBiblioteca(String titulo, double nota, int ano, double preco, String tipo,
+                                               Function<String, Jogo> jogosPorTitulo, Function<String, DLC> dlcsPorTitulo) {
+        Midia midia;
+        if (tipo.equals("Jogo")) {
+            midia = jogosPorTitulo.apply(titulo);
+            if (midia == null) {
+                midia = new Jogo(titulo, new ArrayList<>(), nota, ano, new ArrayList<>(), "", false, preco);
+            }
+        } else {
+            midia = dlcsPorTitulo.apply(titulo);
+            if (midia == null) {
+                midia = new DLC(titulo, new ArrayList<>(), nota, ano, new ArrayList<>(), "", false, preco);
+            }
+        }
+        return new ItemBiblioteca(midia, nota, preco);
     }
 }
\ No newline at end of file
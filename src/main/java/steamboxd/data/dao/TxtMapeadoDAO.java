@@ -0,0 +1,415 @@
+package steamboxd.data.dao;
+
+import steamboxd.data.DadosSistema;
+import steamboxd.model.*;
+import steamboxd.util.ChaveUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Implementação do {@link PersistenciaDAO} para o mesmo formato TXT do
+ * {@link TxtDAO}, otimizada para arquivos grandes.
+ *
+ * <p>O carregamento mapeia o arquivo em memória ({@link FileChannel#map}),
+ * divide-o em partes que terminam sempre numa quebra de linha e interpreta
+ * as partes em paralelo num {@link ForkJoinPool}. No fim, os registros
+ * JOGO/DLC/USUARIO/BIBLIOTECA são juntados na ordem do arquivo.</p>
+ *
+ * <p>Uma linha BIBLIOTECA pode estar numa parte diferente da linha USUARIO
+ * do seu dono (ou da linha JOGO/DLC da mídia). Por isso essas linhas só
+ * são resolvidas depois que todas as partes foram lidas, respeitando a
+ * regra do carregamento sequencial: vale a primeira ocorrência
+ * <strong>anterior</strong> à linha BIBLIOTECA.</p>
+ *
+ * <p>O salvamento é delegado ao {@link TxtDAO}.</p>
+ */
+public class TxtMapeadoDAO implements PersistenciaDAO {
+
+    private static final long TAMANHO_PARTE = 16L * 1024 * 1024;
+    private static final int TAMANHO_JANELA = 8 * 1024;
+
+    private final TxtDAO txtDAO = new TxtDAO();
+    private final long tamanhoParte;
+
+    public TxtMapeadoDAO() {
+        this(TAMANHO_PARTE);
+    }
+
+    /**
+     * @param tamanhoParte Tamanho aproximado, em bytes, de cada parte lida em paralelo.
+     */
+    TxtMapeadoDAO(long tamanhoParte) {
+        if (tamanhoParte <= 0) {
+            throw new IllegalArgumentException("O tamanho da parte deve ser positivo.");
+        }
+        this.tamanhoParte = tamanhoParte;
+    }
+
+    @Override
+    public void salvar(DadosSistema dados, String nomeArquivo) throws Exception {
+        txtDAO.salvar(dados, nomeArquivo);
+    }
+
+    @Override
+    public DadosSistema carregar(String nomeArquivo) throws Exception {
+        try (FileChannel canal = FileChannel.open(Path.of(nomeArquivo), StandardOpenOption.READ)) {
+            List<long[]> limites = dividirEmPartes(canal);
+            Parte[] partes = new Parte[limites.size()];
+            for (int i = 0; i < partes.length; i++) {
+                partes[i] = new Parte(i, limites.get(i)[0], limites.get(i)[1]);
+            }
+
+            ForkJoinPool.commonPool().invoke(new LerPartes(canal, partes, 0, partes.length));
+            for (Parte parte : partes) {
+                if (parte.falha != null) {
+                    throw parte.falha;
+                }
+            }
+
+            return juntar(partes);
+        }
+    }
+
+    // --- Divisão do arquivo ---
+
+    /**
+     * Calcula os intervalos {@code [inicio, fim)} das partes.
+     * Cada parte termina logo depois de um {@code '\n'} (ou no fim do arquivo).
+     */
+    private List<long[]> dividirEmPartes(FileChannel canal) throws IOException {
+        List<long[]> limites = new ArrayList<>();
+        long tamanho = canal.size();
+        long inicio = 0;
+        ByteBuffer janela = ByteBuffer.allocate(TAMANHO_JANELA);
+
+        while (inicio < tamanho) {
+            long fim = Math.min(inicio + tamanhoParte, tamanho);
+            if (fim < tamanho) {
+                fim = proximoFimDeLinha(canal, fim, tamanho, janela);
+            }
+            limites.add(new long[]{inicio, fim});
+            inicio = fim;
+        }
+        return limites;
+    }
+
+    private long proximoFimDeLinha(FileChannel canal, long posicao, long tamanho, ByteBuffer janela) throws IOException {
+        while (posicao < tamanho) {
+            janela.clear();
+            int lidos = canal.read(janela, posicao);
+            if (lidos <= 0) {
+                break;
+            }
+            for (int i = 0; i < lidos; i++) {
+                if (janela.get(i) == '\n') {
+                    return posicao + i + 1;
+                }
+            }
+            posicao += lidos;
+        }
+        return tamanho;
+    }
+
+    // --- Leitura paralela ---
+
+    /**
+     * Lê um intervalo de partes, dividindo o trabalho ao meio até sobrar uma só.
+     */
+    private static class LerPartes extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel canal;
+        private final Parte[] partes;
+        private final int de;
+        private final int ate;
+
+        LerPartes(FileChannel canal, Parte[] partes, int de, int ate) {
+            this.canal = canal;
+            this.partes = partes;
+            this.de = de;
+            this.ate = ate;
+        }
+
+        @Override
+        protected void compute() {
+            if (ate - de == 1) {
+                partes[de].ler(canal);
+            } else if (ate > de) {
+                int meio = (de + ate) >>> 1;
+                invokeAll(new LerPartes(canal, partes, de, meio), new LerPartes(canal, partes, meio, ate));
+            }
+        }
+    }
+
+    /**
+     * Resolve as linhas BIBLIOTECA de um intervalo de partes, também em paralelo.
+     * Os mapas já estão completos e são apenas lidos.
+     */
+    private static class ResolverBibliotecas extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Parte[] partes;
+        private final int de;
+        private final int ate;
+        private final Indices indices;
+
+        ResolverBibliotecas(Parte[] partes, int de, int ate, Indices indices) {
+            this.partes = partes;
+            this.de = de;
+            this.ate = ate;
+            this.indices = indices;
+        }
+
+        @Override
+        protected void compute() {
+            if (ate - de == 1) {
+                partes[de].resolverBibliotecas(indices);
+            } else if (ate > de) {
+                int meio = (de + ate) >>> 1;
+                invokeAll(new ResolverBibliotecas(partes, de, meio, indices), new ResolverBibliotecas(partes, meio, ate, indices));
+            }
+        }
+    }
+
+    /**
+     * Resultado da leitura de uma parte do arquivo.
+     *
+     * <p>A ordem de cada registro no arquivo é guardada como
+     * {@code (índice da parte << 32) | número da linha na parte}.</p>
+     */
+    private static class Parte {
+        private final int indice;
+        private final long inicio;
+        private final long fim;
+
+        private final List<Jogo> jogos = new ArrayList<>();
+        private final List<DLC> dlcs = new ArrayList<>();
+        private final List<Usuario> usuarios = new ArrayList<>();
+        private final List<Long> ordemJogos = new ArrayList<>();
+        private final List<Long> ordemDlcs = new ArrayList<>();
+        private final List<Long> ordemUsuarios = new ArrayList<>();
+        private final List<ItemPendente> itens = new ArrayList<>();
+
+        private Exception falha;
+
+        Parte(int indice, long inicio, long fim) {
+            this.indice = indice;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        void ler(FileChannel canal) {
+            try {
+                MappedByteBuffer bytes = canal.map(FileChannel.MapMode.READ_ONLY, inicio, fim - inicio);
+                // Mesmo charset e mesma política de erro do FileReader usado pelo TxtDAO
+                CharBuffer texto = Charset.defaultCharset().newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                        .decode(bytes);
+                lerLinhas(texto);
+            } catch (IOException e) {
+                falha = e;
+            }
+        }
+
+        /**
+         * Percorre as linhas com as mesmas regras do {@code BufferedReader.readLine}:
+         * {@code "\n"}, {@code "\r"} e {@code "\r\n"} terminam uma linha.
+         */
+        private void lerLinhas(CharBuffer texto) {
+            TokenizadorLinha campos = new TokenizadorLinha();
+            int tamanho = texto.length();
+            int inicioLinha = 0;
+            long numeroLinha = 0;
+
+            for (int i = 0; i < tamanho; i++) {
+                char c = texto.charAt(i);
+                if (c == '\n' || c == '\r') {
+                    lerLinha(campos, texto, inicioLinha, i, numeroLinha++);
+                    if (c == '\r' && i + 1 < tamanho && texto.charAt(i + 1) == '\n') {
+                        i++;
+                    }
+                    inicioLinha = i + 1;
+                }
+            }
+            if (inicioLinha < tamanho) {
+                lerLinha(campos, texto, inicioLinha, tamanho, numeroLinha);
+            }
+        }
+
+        private void lerLinha(TokenizadorLinha campos, CharBuffer texto, int inicioLinha, int fimLinha, long numeroLinha) {
+            campos.reiniciar(texto, inicioLinha, fimLinha);
+            String tipo = campos.proximoTipo();
+            if (tipo == null) {
+                return;
+            }
+            long ordem = ((long) indice << 32) | numeroLinha;
+
+            try {
+                switch (tipo) {
+                    case TokenizadorLinha.TIPO_JOGO:
+                        jogos.add(TxtDAO.lerJogo(campos));
+                        ordemJogos.add(ordem);
+                        break;
+
+                    case TokenizadorLinha.TIPO_DLC:
+                        dlcs.add(TxtDAO.lerDLC(campos));
+                        ordemDlcs.add(ordem);
+                        break;
+
+                    case TokenizadorLinha.TIPO_USUARIO:
+                        usuarios.add(TxtDAO.lerUsuario(campos));
+                        ordemUsuarios.add(ordem);
+                        break;
+
+                    case TokenizadorLinha.TIPO_BIBLIOTECA:
+                        itens.add(lerItemPendente(campos, texto, inicioLinha, fimLinha, ordem));
+                        break;
+                }
+            } catch (Exception e) {
+                System.err.println("Erro ao ler linha: " + texto.subSequence(inicioLinha, fimLinha) + " -> " + e.getMessage());
+            }
+        }
+
+        private ItemPendente lerItemPendente(TokenizadorLinha campos, CharBuffer texto, int inicioLinha, int fimLinha, long ordem) {
+            ItemPendente item = new ItemPendente();
+            item.ordem = ordem;
+            item.email = campos.exigirTexto();
+            try {
+                item.titulo = campos.exigirTexto();
+                item.nota = campos.exigirDouble();
+                item.ano = campos.exigirInt();
+                item.preco = campos.exigirDouble();
+                item.tipo = campos.exigirTexto();
+            } catch (IllegalArgumentException e) {
+                // Assim como no TxtDAO, o erro só é reportado se o dono existir
+                item.erro = "Erro ao ler linha: " + texto.subSequence(inicioLinha, fimLinha) + " -> " + e.getMessage();
+            }
+            return item;
+        }
+
+        void resolverBibliotecas(Indices indices) {
+            for (ItemPendente item : itens) {
+                item.dono = indices.usuarioAnterior(item.email, item.ordem);
+                if (item.dono == null) {
+                    continue;
+                }
+                if (item.erro != null) {
+                    System.err.println(item.erro);
+                    item.dono = null;
+                    continue;
+                }
+                item.itemBiblioteca = TxtDAO.montarItemBiblioteca(item.titulo, item.nota, item.ano, item.preco, item.tipo,
+                        titulo -> indices.jogoAnterior(titulo, item.ordem),
+                        titulo -> indices.dlcAnterior(titulo, item.ordem));
+            }
+        }
+    }
+
+    /**
+     * Uma linha BIBLIOTECA lida, aguardando a resolução do dono e da mídia original.
+     */
+    private static class ItemPendente {
+        private long ordem;
+        private String email;
+        private String titulo;
+        private double nota;
+        private int ano;
+        private double preco;
+        private String tipo;
+        private String erro;
+
+        private Usuario dono;
+        private ItemBiblioteca itemBiblioteca;
+    }
+
+    /**
+     * Primeira ocorrência de cada chave no arquivo inteiro, com a sua posição.
+     */
+    private static class Indices {
+        private final Map<String, Jogo> jogos = new HashMap<>();
+        private final Map<String, DLC> dlcs = new HashMap<>();
+        private final Map<String, Usuario> usuarios = new HashMap<>();
+        private final Map<Object, Long> ordens = new IdentityHashMap<>();
+
+        <T> void registrar(Map<String, T> mapa, String chave, T valor, long ordem) {
+            if (mapa.putIfAbsent(chave, valor) == null) {
+                ordens.put(valor, ordem);
+            }
+        }
+
+        Usuario usuarioAnterior(String email, long ordem) {
+            return anterior(usuarios.get(ChaveUtil.normalizar(email)), ordem);
+        }
+
+        Jogo jogoAnterior(String titulo, long ordem) {
+            return anterior(jogos.get(titulo), ordem);
+        }
+
+        DLC dlcAnterior(String titulo, long ordem) {
+            return anterior(dlcs.get(titulo), ordem);
+        }
+
+        // Se a primeira ocorrência vem depois da linha, nenhuma veio antes dela
+        private <T> T anterior(T valor, long ordem) {
+            return valor != null && ordens.get(valor) < ordem ? valor : null;
+        }
+    }
+
+    // --- Junção dos resultados ---
+
+    private DadosSistema juntar(Parte[] partes) {
+        List<Jogo> jogos = new ArrayList<>();
+        List<DLC> dlcs = new ArrayList<>();
+        List<Usuario> usuarios = new ArrayList<>();
+        Indices indices = new Indices();
+
+        for (Parte parte : partes) {
+            for (int i = 0; i < parte.jogos.size(); i++) {
+                Jogo jogo = parte.jogos.get(i);
+                jogos.add(jogo);
+                indices.registrar(indices.jogos, jogo.getTitulo(), jogo, parte.ordemJogos.get(i));
+            }
+            for (int i = 0; i < parte.dlcs.size(); i++) {
+                DLC dlc = parte.dlcs.get(i);
+                dlcs.add(dlc);
+                indices.registrar(indices.dlcs, dlc.getTitulo(), dlc, parte.ordemDlcs.get(i));
+            }
+            for (int i = 0; i < parte.usuarios.size(); i++) {
+                Usuario usuario = parte.usuarios.get(i);
+                usuarios.add(usuario);
+                indices.registrar(indices.usuarios, usuario.getChave(), usuario, parte.ordemUsuarios.get(i));
+            }
+        }
+
+        if (partes.length > 0) {
+            ForkJoinPool.commonPool().invoke(new ResolverBibliotecas(partes, 0, partes.length, indices));
+        }
+
+        // A inserção nas bibliotecas é sequencial, para manter a ordem do arquivo
+        for (Parte parte : partes) {
+            for (ItemPendente item : parte.itens) {
+                if (item.dono != null) {
+                    item.dono.adicionarNaBiblioteca(item.itemBiblioteca);
+                }
+            }
+        }
+
+        return new DadosSistema(jogos, dlcs, usuarios);
+    }
+}
@@ -0,0 +1,201 @@
+package steamboxd.data.diario;
+
+import steamboxd.data.DadosSistema;
+import steamboxd.data.dao.PersistenciaDAO;
+import steamboxd.repository.DLCRepository;
+import steamboxd.repository.JogoRepository;
+import steamboxd.repository.UsuarioRepository;
+import steamboxd.util.ArquivoUtil;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Compacta o {@link Diario} em segundo plano: gera uma nova base com as
+ * alterações já gravadas e as remove do diário.
+ *
+ * <p>A foto ("snapshot") é montada sem tocar nos repositórios do sistema:
+ * a base atual é lida em repositórios novos e o trecho do diário já
+ * gravado é reaplicado neles. O resultado é exatamente o estado daquele
+ * ponto do diário, e as edições em andamento não são bloqueadas.
+ * Alterações gravadas durante a compactação continuam no diário.</p>
+ *
+ * <p>A compactação é disparada quando o diário passa de
+ * {@link #setLimiteBytes(long)} ou quando a última reaplicação demorou mais
+ * que {@link #setLimiteReproducaoMs(long)}. As durações ficam disponíveis
+ * nos getters, como métricas.</p>
+ */
+public class CompactadorDiario {
+
+    private static final String EXTENSAO_TEMPORARIA = ".compactando";
+
+    private final Diario diario;
+    private final ExecutorService executor;
+    private final AtomicBoolean emAndamento = new AtomicBoolean(false);
+
+    private volatile long limiteBytes = 4L * 1024 * 1024;
+    private volatile long limiteReproducaoMs = 500;
+    // A última reaplicação foi lenta e ainda não houve compactação depois dela
+    private volatile boolean reproducaoLenta;
+
+    // Métricas
+    private volatile long ultimaReproducaoMs = -1;
+    private volatile long ultimaCompactacaoMs = -1;
+    private volatile long totalCompactacoes;
+    private volatile long alteracoesCompactadas;
+
+    public CompactadorDiario(Diario diario) {
+        this.diario = diario;
+        this.executor = Executors.newSingleThreadExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "steamboxd-compactacao");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Registra quanto tempo levou a reaplicação do diário ao carregar.
+     */
+    public void registrarReproducao(long duracaoMs) {
+        this.ultimaReproducaoMs = duracaoMs;
+        this.reproducaoLenta = duracaoMs > limiteReproducaoMs;
+    }
+
+    /**
+     * Agenda uma compactação se algum limite foi ultrapassado.
+     *
+     * @param caminhoBase O arquivo base atual.
+     * @param dao O DAO do formato da base.
+     * @return {@code true} se uma compactação foi agendada.
+     */
+    public boolean verificar(String caminhoBase, PersistenciaDAO dao) {
+        try {
+            boolean diarioGrande = diario.tamanho() > limiteBytes;
+            if (diarioGrande || reproducaoLenta) {
+                return agendar(caminhoBase, dao);
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao verificar o diário: " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Agenda uma compactação em segundo plano (se nenhuma estiver em andamento).
+     */
+    public boolean agendar(String caminhoBase, PersistenciaDAO dao) {
+        if (!emAndamento.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                compactar(caminhoBase, dao);
+            } catch (Exception e) {
+                System.err.println("Erro ao compactar o diário: " + e.getMessage());
+            } finally {
+                emAndamento.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Executa a compactação na thread atual.
+     *
+     * @return {@code false} se não havia o que compactar ou se o arquivo
+     * atual mudou durante a compactação.
+     */
+    public boolean compactar(String caminhoBase, PersistenciaDAO dao) throws Exception {
+        long inicio = System.nanoTime();
+
+        Diario.Prefixo prefixo = diario.lerPrefixo();
+        if (prefixo == null || prefixo.getMutacoes().isEmpty()) {
+            return false;
+        }
+
+        // Estado do ponto lido do diário, em repositórios separados
+        DadosSistema base = dao.carregar(caminhoBase);
+        JogoRepository jogos = new JogoRepository();
+        DLCRepository dlcs = new DLCRepository();
+        UsuarioRepository usuarios = new UsuarioRepository();
+        jogos.carregarDados(base.getJogos());
+        dlcs.carregarDados(base.getDlcs());
+        usuarios.carregarDados(base.getUsuarios());
+        new ReprodutorDiario(jogos, dlcs, usuarios).reproduzir(prefixo.getMutacoes());
+
+        Path novaBase = Path.of(caminhoBase + EXTENSAO_TEMPORARIA);
+        dao.salvar(new DadosSistema(jogos.listarTodos(), dlcs.listarTodos(), usuarios.listarTodos()), novaBase.toString());
+        ArquivoUtil.sincronizar(novaBase);
+
+        boolean trocou = diario.trocarBase(novaBase, prefixo);
+        if (trocou) {
+            reproducaoLenta = false;
+            ultimaCompactacaoMs = (System.nanoTime() - inicio) / 1_000_000;
+            totalCompactacoes++;
+            alteracoesCompactadas += prefixo.getMutacoes().size();
+        }
+        return trocou;
+    }
+
+    /**
+     * Interrompe a thread de compactação (a compactação em andamento termina antes).
+     */
+    public void encerrar() {
+        executor.shutdown();
+    }
+
+    public boolean isEmAndamento() {
+        return emAndamento.get();
+    }
+
+    // --- Configuração ---
+
+    public long getLimiteBytes() {
+        return limiteBytes;
+    }
+
+    public void setLimiteBytes(long limiteBytes) {
+        if (limiteBytes < 0) {
+            throw new IllegalArgumentException("O limite de tamanho do diário não pode ser negativo.");
+        }
+        this.limiteBytes = limiteBytes;
+    }
+
+    public long getLimiteReproducaoMs() {
+        return limiteReproducaoMs;
+    }
+
+    public void setLimiteReproducaoMs(long limiteReproducaoMs) {
+        if (limiteReproducaoMs < 0) {
+            throw new IllegalArgumentException("O limite de tempo de reaplicação não pode ser negativo.");
+        }
+        this.limiteReproducaoMs = limiteReproducaoMs;
+    }
+
+    // --- Métricas ---
+
+    /**
+     * @return A duração da última reaplicação do diário ao carregar, ou -1.
+     */
+    public long getUltimaReproducaoMs() {
+        return ultimaReproducaoMs;
+    }
+
+    /**
+     * @return A duração da última compactação concluída, ou -1.
+     */
+    public long getUltimaCompactacaoMs() {
+        return ultimaCompactacaoMs;
+    }
+
+    public long getTotalCompactacoes() {
+        return totalCompactacoes;
+    }
+
+    public long getAlteracoesCompactadas() {
+        return alteracoesCompactadas;
+    }
+}
@@ -0,0 +1,409 @@
+package steamboxd.data.diario;
+
+import steamboxd.util.ArquivoUtil;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Diário de alterações ("write-ahead log") do arquivo de dados.
+ *
+ * <p>Em vez de reescrever o arquivo inteiro (a "base") a cada salvamento,
+ * as alterações feitas pelos Services são acrescentadas no fim de um
+ * arquivo ao lado dela ({@code <base>.diario}). Ao carregar, o sistema lê
+ * a base e reaplica o diário por cima. Assim, salvar custa proporcional ao
+ * tamanho da alteração, e não ao tamanho dos dados.</p>
+ *
+ * <p>Formato do arquivo:</p>
+ * <pre>
+ * cabeçalho: "SBXJ" | versão (int) | tamanho da base (long) | CRC32 da base (long)
+ * registros: tamanho (int) | CRC32 do conteúdo (int) | conteúdo ({@link Mutacao#codificar()})
+ * </pre>
+ *
+ * <p>O cabeçalho identifica a base à qual o diário pertence: se a base for
+ * trocada ou reescrita por fora, o diário antigo é descartado. Um registro
+ * incompleto ou corrompido no fim (ex: o programa caiu no meio da escrita)
+ * é cortado, e os registros anteriores continuam valendo.</p>
+ *
+ * <p>As alterações ficam pendentes em memória até {@link #gravarPendentes()},
+ * chamado pelo salvamento automático pouco depois da última alteração (e
+ * pelo salvamento manual e ao sair). Portanto não há como descartá-las ao
+ * sair: o que já foi gravado fica no diário. As pendentes têm uma trava
+ * própria, para que os Services nunca esperem por operações em disco.</p>
+ */
+public class Diario implements OuvinteMutacoes {
+
+    public static final String EXTENSAO = ".diario";
+    private static final String EXTENSAO_TEMPORARIA = ".tmp";
+
+    private static final byte[] ASSINATURA = {'S', 'B', 'X', 'J'};
+    private static final int VERSAO = 1;
+    private static final int TAMANHO_CABECALHO = ASSINATURA.length + Integer.BYTES + 2 * Long.BYTES;
+    private static final int TAMANHO_CABECALHO_REGISTRO = 2 * Integer.BYTES;
+
+    private String caminhoBase;
+    // Incrementada a cada troca de arquivo, para invalidar compactações em andamento
+    private long geracao;
+    // Tamanho e CRC32 da base, depois de conferidos (null = ainda não calculados)
+    private long[] impressaoBase;
+
+    private final Object travaPendentes = new Object();
+    private final List<byte[]> pendentes = new ArrayList<>();
+
+    /**
+     * Trecho inicial do diário, lido para a compactação.
+     */
+    public static class Prefixo {
+        private final long geracao;
+        private final long fim;
+        private final List<Mutacao> mutacoes;
+
+        Prefixo(long geracao, long fim, List<Mutacao> mutacoes) {
+            this.geracao = geracao;
+            this.fim = fim;
+            this.mutacoes = mutacoes;
+        }
+
+        public List<Mutacao> getMutacoes() {
+            return mutacoes;
+        }
+    }
+
+    /**
+     * Associa o diário a um arquivo base, descartando as alterações pendentes.
+     */
+    public synchronized void abrir(String caminhoBase) {
+        this.caminhoBase = caminhoBase;
+        this.geracao++;
+        this.impressaoBase = null;
+        descartarPendentes();
+    }
+
+    public synchronized String getCaminho() {
+        return caminhoBase + EXTENSAO;
+    }
+
+    /**
+     * Guarda a alteração na memória até o próximo salvamento.
+     * A alteração é convertida para bytes na hora, pois os objetos
+     * recebidos podem mudar depois.
+     */
+    @Override
+    public void aoMutar(Mutacao mutacao) {
+        byte[] conteudo = mutacao.codificar();
+        synchronized (travaPendentes) {
+            pendentes.add(conteudo);
+        }
+    }
+
+    public boolean possuiPendentes() {
+        synchronized (travaPendentes) {
+            return !pendentes.isEmpty();
+        }
+    }
+
+    public synchronized void descartarPendentes() {
+        synchronized (travaPendentes) {
+            pendentes.clear();
+        }
+    }
+
+    /**
+     * @return O tamanho do diário em disco, em bytes (0 se não existir).
+     */
+    public synchronized long tamanho() throws IOException {
+        Path diario = Path.of(getCaminho());
+        return Files.exists(diario) ? Files.size(diario) : 0;
+    }
+
+    /**
+     * Lê as alterações válidas do diário da base atual.
+     *
+     * <p>Se o diário pertencer a outra base, ele é apagado. Se terminar
+     * com um registro incompleto ou corrompido, o arquivo é cortado no
+     * último registro válido. Uma compactação interrompida no meio da
+     * troca de arquivos é concluída aqui.</p>
+     *
+     * @return As alterações, na ordem em que foram feitas (vazia se não houver diário).
+     */
+    public synchronized List<Mutacao> recuperar() throws IOException {
+        Path diario = Path.of(getCaminho());
+        concluirTrocaInterrompida(diario);
+        if (!Files.exists(diario)) {
+            return new ArrayList<>();
+        }
+
+        byte[] dados = Files.readAllBytes(diario);
+        if (!cabecalhoValido(dados, impressaoDaBase())) {
+            System.err.println("Diário " + diario + " não pertence a " + caminhoBase + ". Ele será descartado.");
+            Files.delete(diario);
+            return new ArrayList<>();
+        }
+
+        List<Mutacao> mutacoes = new ArrayList<>();
+        int fimValido = lerRegistros(dados, dados.length, mutacoes);
+
+        if (fimValido < dados.length) {
+            System.err.println("Diário " + diario + " termina com um registro incompleto ou corrompido ("
+                    + (dados.length - fimValido) + " bytes). O trecho foi descartado.");
+            try (FileChannel canal = FileChannel.open(diario, StandardOpenOption.WRITE)) {
+                canal.truncate(fimValido);
+                canal.force(true);
+            }
+        }
+        return mutacoes;
+    }
+
+    /**
+     * Acrescenta as alterações pendentes ao fim do diário e força a
+     * gravação em disco. Cria o diário (com o cabeçalho da base) se
+     * ele ainda não existir.
+     *
+     * <p>Se a escrita falhar, o diário volta ao tamanho que tinha e as
+     * alterações continuam pendentes para a próxima tentativa.</p>
+     */
+    public synchronized void gravarPendentes() throws IOException {
+        List<byte[]> lote;
+        synchronized (travaPendentes) {
+            lote = new ArrayList<>(pendentes);
+        }
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        Path diario = Path.of(getCaminho());
+        if (!Files.exists(diario)) {
+            escreverCabecalho(diario, impressaoDaBase());
+        }
+
+        int total = 0;
+        for (byte[] conteudo : lote) {
+            total += TAMANHO_CABECALHO_REGISTRO + conteudo.length;
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(total);
+        for (byte[] conteudo : lote) {
+            bytes.putInt(conteudo.length);
+            bytes.putInt(crc32(conteudo, conteudo.length));
+            bytes.put(conteudo);
+        }
+        bytes.flip();
+
+        try (FileChannel canal = FileChannel.open(diario, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long fimAnterior = canal.size();
+            try {
+                escreverLote(canal, bytes);
+                canal.force(true);
+            } catch (IOException | RuntimeException e) {
+                // Um lote pela metade no meio do arquivo faria a recuperação
+                // descartar também os lotes gravados depois dele
+                try {
+                    canal.truncate(fimAnterior);
+                } catch (IOException desfazer) {
+                    e.addSuppressed(desfazer);
+                }
+                throw e;
+            }
+        }
+
+        // Só sai da fila o que foi gravado (novas alterações podem ter chegado)
+        synchronized (travaPendentes) {
+            pendentes.subList(0, lote.size()).clear();
+        }
+    }
+
+    /**
+     * Chamado depois que a base foi reescrita por inteiro: o diário em disco
+     * recomeça vazio, ligado à nova base.
+     *
+     * @param basePossuiPendentes Se a nova base já contém as alterações
+     * pendentes (salvamento completo), elas são descartadas; senão (base
+     * vazia), continuam esperando o próximo {@link #gravarPendentes()}.
+     */
+    public synchronized void iniciarNovaBase(boolean basePossuiPendentes) throws IOException {
+        if (basePossuiPendentes) {
+            descartarPendentes();
+        }
+        impressaoBase = null;
+        escreverCabecalho(Path.of(getCaminho()), impressaoDaBase());
+    }
+
+    // --- Compactação ---
+
+    /**
+     * Lê as alterações já gravadas no diário, marcando até onde foi lido.
+     *
+     * @return O prefixo lido, ou {@code null} se não houver diário válido.
+     */
+    public synchronized Prefixo lerPrefixo() throws IOException {
+        Path diario = Path.of(getCaminho());
+        if (!Files.exists(diario)) {
+            return null;
+        }
+        byte[] dados = Files.readAllBytes(diario);
+        if (!cabecalhoValido(dados, impressaoDaBase())) {
+            return null;
+        }
+        List<Mutacao> mutacoes = new ArrayList<>();
+        int fim = lerRegistros(dados, dados.length, mutacoes);
+        return new Prefixo(geracao, fim, mutacoes);
+    }
+
+    /**
+     * Substitui a base por uma nova, que já contém as alterações do
+     * prefixo, e remove esse prefixo do diário. As alterações gravadas
+     * depois da leitura do prefixo são mantidas.
+     *
+     * <p>Ordem das trocas, segura contra quedas: o novo diário é escrito em
+     * um arquivo temporário; a base é trocada; o diário é trocado. Se o
+     * programa cair entre as duas trocas, {@link #recuperar()} encontra o
+     * diário temporário (que pertence à nova base) e conclui a troca.</p>
+     *
+     * @param novaBase Arquivo temporário, já gravado em disco, com a nova base.
+     * @return {@code false} se o arquivo atual mudou desde a leitura do prefixo
+     * (nada é trocado e a nova base é apagada).
+     */
+    public synchronized boolean trocarBase(Path novaBase, Prefixo prefixo) throws IOException {
+        Path diario = Path.of(getCaminho());
+        if (prefixo.geracao != geracao || !Files.exists(diario)) {
+            Files.deleteIfExists(novaBase);
+            return false;
+        }
+
+        long[] novaImpressao = calcularImpressao(novaBase);
+        byte[] dados = Files.readAllBytes(diario);
+        Path diarioTemporario = Path.of(getCaminho() + EXTENSAO_TEMPORARIA);
+
+        escreverCabecalho(diarioTemporario, novaImpressao);
+        try (FileChannel canal = FileChannel.open(diarioTemporario, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer sufixo = ByteBuffer.wrap(dados, (int) prefixo.fim, dados.length - (int) prefixo.fim);
+            while (sufixo.hasRemaining()) {
+                canal.write(sufixo);
+            }
+            canal.force(true);
+        }
+
+        ArquivoUtil.mover(novaBase, Path.of(caminhoBase));
+        ArquivoUtil.mover(diarioTemporario, diario);
+        impressaoBase = novaImpressao;
+        return true;
+    }
+
+    // --- Métodos internos ---
+
+    /**
+     * Escreve um lote de registros no fim do diário (separado para que os
+     * testes simulem uma falha no meio da escrita).
+     */
+    void escreverLote(FileChannel canal, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            canal.write(bytes);
+        }
+    }
+
+    /**
+     * Lê os registros a partir do cabeçalho até {@code fim}.
+     * @return A posição logo depois do último registro válido.
+     */
+    private static int lerRegistros(byte[] dados, int fim, List<Mutacao> mutacoes) {
+        ByteBuffer leitor = ByteBuffer.wrap(dados, 0, fim);
+        leitor.position(TAMANHO_CABECALHO);
+        int fimValido = TAMANHO_CABECALHO;
+
+        while (leitor.remaining() >= TAMANHO_CABECALHO_REGISTRO) {
+            int tamanho = leitor.getInt();
+            int crc = leitor.getInt();
+            if (tamanho < 0 || tamanho > leitor.remaining()) {
+                break;
+            }
+            byte[] conteudo = new byte[tamanho];
+            leitor.get(conteudo);
+            if (crc32(conteudo, tamanho) != crc) {
+                break;
+            }
+            try {
+                mutacoes.add(Mutacao.decodificar(conteudo));
+            } catch (IOException e) {
+                break;
+            }
+            fimValido = leitor.position();
+        }
+        return fimValido;
+    }
+
+    private void concluirTrocaInterrompida(Path diario) throws IOException {
+        Path diarioTemporario = Path.of(getCaminho() + EXTENSAO_TEMPORARIA);
+        if (!Files.exists(diarioTemporario)) {
+            return;
+        }
+        if (cabecalhoValido(Files.readAllBytes(diarioTemporario), impressaoDaBase())) {
+            ArquivoUtil.mover(diarioTemporario, diario);
+        } else {
+            Files.delete(diarioTemporario);
+        }
+    }
+
+    private static void escreverCabecalho(Path diario, long[] impressao) throws IOException {
+        ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+        cabecalho.put(ASSINATURA).putInt(VERSAO).putLong(impressao[0]).putLong(impressao[1]);
+        cabecalho.flip();
+
+        try (FileChannel canal = FileChannel.open(diario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (cabecalho.hasRemaining()) {
+                canal.write(cabecalho);
+            }
+            canal.force(true);
+        }
+    }
+
+    private static boolean cabecalhoValido(byte[] dados, long[] impressao) {
+        if (dados.length < TAMANHO_CABECALHO
+                || !Arrays.equals(Arrays.copyOf(dados, ASSINATURA.length), ASSINATURA)) {
+            return false;
+        }
+        ByteBuffer cabecalho = ByteBuffer.wrap(dados, ASSINATURA.length, TAMANHO_CABECALHO - ASSINATURA.length);
+        if (cabecalho.getInt() != VERSAO) {
+            return false;
+        }
+        return cabecalho.getLong() == impressao[0] && cabecalho.getLong() == impressao[1];
+    }
+
+    /**
+     * Identifica o conteúdo da base pelo tamanho e pelo CRC32.
+     * O valor é guardado, pois só a compactação altera a base.
+     */
+    private long[] impressaoDaBase() throws IOException {
+        if (impressaoBase == null) {
+            impressaoBase = calcularImpressao(Path.of(caminhoBase));
+        }
+        return impressaoBase;
+    }
+
+    private static long[] calcularImpressao(Path arquivo) throws IOException {
+        CRC32 crc = new CRC32();
+        long tamanho = 0;
+        try (InputStream entrada = new BufferedInputStream(Files.newInputStream(arquivo))) {
+            byte[] bloco = new byte[64 * 1024];
+            int lidos;
+            while ((lidos = entrada.read(bloco)) != -1) {
+                crc.update(bloco, 0, lidos);
+                tamanho += lidos;
+            }
+        }
+        return new long[]{tamanho, crc.getValue()};
+    }
+
+    private static int crc32(byte[] dados, int tamanho) {
+        CRC32 crc = new CRC32();
+        crc.update(dados, 0, tamanho);
+        return (int) crc.getValue();
+    }
+}
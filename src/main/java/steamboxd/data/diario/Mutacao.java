@@ -0,0 +1,251 @@
+package steamboxd.data.diario;
+
+import steamboxd.model.DLC;
+import steamboxd.model.Jogo;
+import steamboxd.model.Midia;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Uma alteração feita por um Service: o tipo e os argumentos da chamada.
+ *
+ * <p>Reaplicar a mesma chamada, na mesma ordem e sobre o mesmo estado,
+ * produz o mesmo resultado. Por isso basta guardar os argumentos.</p>
+ *
+ * <p>Os argumentos podem ser {@code null}, {@link String}, {@link Integer},
+ * {@link Double}, {@link Boolean}, listas de Strings, {@link Jogo} ou
+ * {@link DLC}. Na forma binária, cada um leva uma marca do seu tipo.</p>
+ */
+public class Mutacao {
+
+    private static final int NULO = 0;
+    private static final int TEXTO = 1;
+    private static final int INTEIRO = 2;
+    private static final int DECIMAL = 3;
+    private static final int BOOLEANO = 4;
+    private static final int LISTA = 5;
+    private static final int JOGO = 6;
+    private static final int DLC_ = 7;
+
+    private final TipoMutacao tipo;
+    private final List<Object> argumentos;
+
+    public Mutacao(TipoMutacao tipo, Object... argumentos) {
+        this.tipo = tipo;
+        this.argumentos = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(argumentos)));
+    }
+
+    public TipoMutacao getTipo() {
+        return tipo;
+    }
+
+    public List<Object> getArgumentos() {
+        return argumentos;
+    }
+
+    public String getTexto(int indice) {
+        return (String) argumentos.get(indice);
+    }
+
+    public int getInteiro(int indice) {
+        return (Integer) argumentos.get(indice);
+    }
+
+    /**
+     * @return O decimal, ou {@code null} se o argumento for nulo.
+     */
+    public Double getDecimal(int indice) {
+        return (Double) argumentos.get(indice);
+    }
+
+    public boolean getBooleano(int indice) {
+        return (Boolean) argumentos.get(indice);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> getLista(int indice) {
+        return (List<String>) argumentos.get(indice);
+    }
+
+    public Midia getMidia(int indice) {
+        return (Midia) argumentos.get(indice);
+    }
+
+    // --- Forma binária ---
+
+    /**
+     * Converte a mutação para bytes (o conteúdo de um registro do diário).
+     */
+    public byte[] codificar() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream saida = new DataOutputStream(bytes);
+            saida.writeByte(tipo.getCodigo());
+            saida.writeByte(argumentos.size());
+            for (Object argumento : argumentos) {
+                escreverArgumento(saida, argumento);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // Não acontece ao escrever em memória
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reconstrói uma mutação a partir de {@link #codificar()}.
+     *
+     * @throws IOException Se os bytes estiverem incompletos ou corrompidos.
+     */
+    public static Mutacao decodificar(byte[] dados) throws IOException {
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(dados));
+        TipoMutacao tipo;
+        try {
+            tipo = TipoMutacao.porCodigo(entrada.readUnsignedByte());
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        Object[] argumentos = new Object[entrada.readUnsignedByte()];
+        for (int i = 0; i < argumentos.length; i++) {
+            argumentos[i] = lerArgumento(entrada);
+        }
+        return new Mutacao(tipo, argumentos);
+    }
+
+    private static void escreverArgumento(DataOutputStream saida, Object argumento) throws IOException {
+        if (argumento == null) {
+            saida.writeByte(NULO);
+        } else if (argumento instanceof String) {
+            saida.writeByte(TEXTO);
+            escreverTexto(saida, (String) argumento);
+        } else if (argumento instanceof Integer) {
+            saida.writeByte(INTEIRO);
+            saida.writeInt((Integer) argumento);
+        } else if (argumento instanceof Double) {
+            saida.writeByte(DECIMAL);
+            saida.writeDouble((Double) argumento);
+        } else if (argumento instanceof Boolean) {
+            saida.writeByte(BOOLEANO);
+            saida.writeBoolean((Boolean) argumento);
+        } else if (argumento instanceof List) {
+            saida.writeByte(LISTA);
+            escreverLista(saida, (List<?>) argumento);
+        } else if (argumento instanceof Jogo) {
+            Jogo jogo = (Jogo) argumento;
+            saida.writeByte(JOGO);
+            escreverMidia(saida, jogo);
+            escreverTexto(saida, jogo.getDesenvolvedora());
+            saida.writeBoolean(jogo.isMultiplayer());
+            escreverLista(saida, jogo.getDlcTitulos());
+        } else if (argumento instanceof DLC) {
+            DLC dlc = (DLC) argumento;
+            saida.writeByte(DLC_);
+            escreverMidia(saida, dlc);
+            escreverTexto(saida, dlc.getJogoBaseTitulo());
+            saida.writeBoolean(dlc.isExpansao());
+        } else {
+            throw new IllegalArgumentException("Argumento não suportado no diário: " + argumento.getClass());
+        }
+    }
+
+    private static Object lerArgumento(DataInputStream entrada) throws IOException {
+        int marca = entrada.readUnsignedByte();
+        switch (marca) {
+            case NULO:
+                return null;
+            case TEXTO:
+                return lerTexto(entrada);
+            case INTEIRO:
+                return entrada.readInt();
+            case DECIMAL:
+                return entrada.readDouble();
+            case BOOLEANO:
+                return entrada.readBoolean();
+            case LISTA:
+                return lerLista(entrada);
+            case JOGO: {
+                String titulo = lerTexto(entrada);
+                List<String> generos = lerLista(entrada);
+                double nota = entrada.readDouble();
+                int ano = entrada.readInt();
+                List<String> plataformas = lerLista(entrada);
+                double preco = entrada.readDouble();
+                Jogo jogo = new Jogo(titulo, generos, nota, ano, plataformas, lerTexto(entrada), entrada.readBoolean(), preco);
+                jogo.setDlcTitulos(lerLista(entrada));
+                return jogo;
+            }
+            case DLC_: {
+                String titulo = lerTexto(entrada);
+                List<String> generos = lerLista(entrada);
+                double nota = entrada.readDouble();
+                int ano = entrada.readInt();
+                List<String> plataformas = lerLista(entrada);
+                double preco = entrada.readDouble();
+                return new DLC(titulo, generos, nota, ano, plataformas, lerTexto(entrada), entrada.readBoolean(), preco);
+            }
+            default:
+                throw new IOException("Argumento desconhecido no diário: " + marca);
+        }
+    }
+
+    // Campos comuns de Midia
+    private static void escreverMidia(DataOutputStream saida, Midia midia) throws IOException {
+        escreverTexto(saida, midia.getTitulo());
+        escreverLista(saida, midia.visaoGeneros());
+        saida.writeDouble(midia.getNota());
+        saida.writeInt(midia.getAnoLancamento());
+        escreverLista(saida, midia.visaoPlataformas());
+        saida.writeDouble(midia.getPreco());
+    }
+
+    // Tamanho + UTF-8 (sem o limite de 64 KB do writeUTF); -1 = null
+    private static void escreverTexto(DataOutputStream saida, String texto) throws IOException {
+        if (texto == null) {
+            saida.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = texto.getBytes(StandardCharsets.UTF_8);
+        saida.writeInt(utf8.length);
+        saida.write(utf8);
+    }
+
+    private static String lerTexto(DataInputStream entrada) throws IOException {
+        int tamanho = entrada.readInt();
+        if (tamanho == -1) {
+            return null;
+        }
+        if (tamanho < 0 || tamanho > entrada.available()) {
+            throw new IOException("Texto corrompido no diário.");
+        }
+        return new String(entrada.readNBytes(tamanho), StandardCharsets.UTF_8);
+    }
+
+    private static void escreverLista(DataOutputStream saida, List<?> itens) throws IOException {
+        saida.writeInt(itens.size());
+        for (Object item : itens) {
+            escreverTexto(saida, (String) item);
+        }
+    }
+
+    private static List<String> lerLista(DataInputStream entrada) throws IOException {
+        int tamanho = entrada.readInt();
+        if (tamanho < 0 || tamanho > entrada.available()) {
+            throw new IOException("Lista corrompida no diário.");
+        }
+        List<String> itens = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            itens.add(lerTexto(entrada));
+        }
+        return itens;
+    }
+
+    @Override
+    public String toString() {
+        return tipo + argumentos.toString();
+    }
+}
@@ -0,0 +1,22 @@
+package steamboxd.data.diario;
+
+/**
+ * Recebe as alterações feitas pelos Services.
+ *
+ * <p>O {@link Diario} é o ouvinte usado pelo sistema. Ao reaplicar o diário,
+ * os Services usam {@link #NENHUM}, para que as alterações reaplicadas não
+ * sejam registradas de novo.</p>
+ */
+public interface OuvinteMutacoes {
+
+    /**
+     * Ouvinte que ignora todas as alterações.
+     */
+    OuvinteMutacoes NENHUM = mutacao -> {
+    };
+
+    /**
+     * Chamado depois que um Service altera os dados.
+     */
+    void aoMutar(Mutacao mutacao);
+}
@@ -0,0 +1,142 @@
+package steamboxd.data.diario;
+
+import steamboxd.model.DLC;
+import steamboxd.model.Jogo;
+import steamboxd.model.Usuario;
+import steamboxd.repository.DLCRepository;
+import steamboxd.repository.JogoRepository;
+import steamboxd.repository.UsuarioRepository;
+import steamboxd.service.DLCService;
+import steamboxd.service.JogoService;
+import steamboxd.service.UsuarioService;
+
+import java.util.List;
+
+/**
+ * Reaplica as alterações do {@link Diario} sobre um conjunto de repositórios.
+ *
+ * <p>Cada alteração é refeita pelo mesmo método de Service que a gerou,
+ * com as mesmas regras de negócio. Os Services usam
+ * {@link OuvinteMutacoes#NENHUM}, então nada é registrado de novo.</p>
+ */
+public class ReprodutorDiario {
+
+    private final JogoService jogoService;
+    private final DLCService dlcService;
+    private final UsuarioService usuarioService;
+
+    public ReprodutorDiario(JogoRepository jogos, DLCRepository dlcs, UsuarioRepository usuarios) {
+        this.jogoService = new JogoService(jogos, usuarios, OuvinteMutacoes.NENHUM);
+        this.dlcService = new DLCService(dlcs, jogos, usuarios, OuvinteMutacoes.NENHUM);
+        this.usuarioService = new UsuarioService(usuarios, jogos, dlcs, OuvinteMutacoes.NENHUM);
+    }
+
+    /**
+     * Reaplica as alterações em ordem.
+     *
+     * <p>Uma alteração que falhou na primeira vez (ex: edição parcial que
+     * lançou exceção) falha do mesmo jeito aqui, e a exceção é ignorada.
+     * Qualquer outra falha (ex: um registro com argumentos do tipo errado)
+     * também só pula a alteração, com um aviso, para que o restante do
+     * diário seja reaplicado.</p>
+     */
+    public void reproduzir(List<Mutacao> mutacoes) {
+        for (Mutacao mutacao : mutacoes) {
+            try {
+                aplicar(mutacao);
+            } catch (IllegalArgumentException e) {
+                // Mesma falha da execução original
+            } catch (RuntimeException e) {
+                System.err.println("Alteração do diário ignorada (" + mutacao.getTipo() + "): " + e);
+            }
+        }
+    }
+
+    private void aplicar(Mutacao m) {
+        switch (m.getTipo()) {
+            // --- Jogos ---
+            case ADICIONAR_JOGO:
+                jogoService.adicionar((Jogo) m.getMidia(0));
+                break;
+            case REMOVER_JOGO:
+                jogoService.remover(m.getTexto(0));
+                break;
+            case EDITAR_ANO_JOGO:
+                jogoService.editarAno(m.getTexto(0), m.getInteiro(1));
+                break;
+            case EDITAR_PRECO_JOGO:
+                jogoService.editarPreco(m.getTexto(0), m.getDecimal(1));
+                break;
+            case EDITAR_DESENVOLVEDORA:
+                jogoService.editarDesenvolvedora(m.getTexto(0), m.getTexto(1));
+                break;
+            case EDITAR_MULTIPLAYER:
+                jogoService.editarMultiplayer(m.getTexto(0), m.getBooleano(1));
+                break;
+            case ADICIONAR_GENERO_JOGO:
+                jogoService.adicionarGenero(m.getTexto(0), m.getTexto(1));
+                break;
+            case ADICIONAR_PLATAFORMA_JOGO:
+                jogoService.adicionarPlataforma(m.getTexto(0), m.getTexto(1));
+                break;
+            case ATUALIZAR_GENEROS_JOGO:
+                jogoService.atualizarGeneros(m.getTexto(0), m.getLista(1));
+                break;
+            case ATUALIZAR_PLATAFORMAS_JOGO:
+                jogoService.atualizarPlataformas(m.getTexto(0), m.getLista(1));
+                break;
+
+            // --- DLCs ---
+            case ADICIONAR_DLC:
+                dlcService.adicionar((DLC) m.getMidia(0));
+                break;
+            case REMOVER_DLC:
+                dlcService.remover(m.getTexto(0));
+                break;
+            case EDITAR_ANO_DLC:
+                dlcService.editarAno(m.getTexto(0), m.getInteiro(1));
+                break;
+            case EDITAR_PRECO_DLC:
+                dlcService.editarPreco(m.getTexto(0), m.getDecimal(1));
+                break;
+            case EDITAR_JOGO_BASE:
+                dlcService.editarJogoBase(m.getTexto(0), m.getTexto(1));
+                break;
+            case EDITAR_EXPANSAO:
+                dlcService.editarExpansao(m.getTexto(0), m.getBooleano(1));
+                break;
+            case ADICIONAR_GENERO_DLC:
+                dlcService.adicionarGenero(m.getTexto(0), m.getTexto(1));
+                break;
+            case ADICIONAR_PLATAFORMA_DLC:
+                dlcService.adicionarPlataforma(m.getTexto(0), m.getTexto(1));
+                break;
+            case ATUALIZAR_GENEROS_DLC:
+                dlcService.atualizarGeneros(m.getTexto(0), m.getLista(1));
+                break;
+            case ATUALIZAR_PLATAFORMAS_DLC:
+                dlcService.atualizarPlataformas(m.getTexto(0), m.getLista(1));
+                break;
+
+            // --- Usuários e bibliotecas ---
+            case ADICIONAR_USUARIO:
+                usuarioService.adicionarUsuario(new Usuario(m.getTexto(0), m.getTexto(1)));
+                break;
+            case REMOVER_USUARIO:
+                usuarioService.removerUsuario(m.getTexto(0));
+                break;
+            case EDITAR_USUARIO:
+                usuarioService.editarUsuario(m.getTexto(0), m.getTexto(1), m.getTexto(2));
+                break;
+            case ADICIONAR_MIDIA_USUARIO:
+                usuarioService.adicionarMidia(m.getTexto(0), m.getMidia(1));
+                break;
+            case REMOVER_MIDIA_USUARIO:
+                usuarioService.removerMidia(m.getTexto(0), m.getTexto(1));
+                break;
+            case EDITAR_MIDIA_USUARIO:
+                usuarioService.editarMidia(m.getTexto(0), m.getTexto(1), m.getDecimal(2));
+                break;
+        }
+    }
+}
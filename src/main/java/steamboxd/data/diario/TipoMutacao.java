@@ -0,0 +1,66 @@
+package steamboxd.data.diario;
+
+/**
+ * Tipos de alteração registrados no diário.
+ *
+ * <p>Cada tipo corresponde a um método de Service que altera dados. O código
+ * numérico é o que vai para o arquivo, então um código nunca deve ser
+ * reaproveitado ou alterado (apenas acrescentado).</p>
+ */
+public enum TipoMutacao {
+
+    // --- Jogos ---
+    ADICIONAR_JOGO(1),
+    REMOVER_JOGO(2),
+    EDITAR_ANO_JOGO(3),
+    EDITAR_PRECO_JOGO(4),
+    EDITAR_DESENVOLVEDORA(5),
+    EDITAR_MULTIPLAYER(6),
+    ADICIONAR_GENERO_JOGO(7),
+    ADICIONAR_PLATAFORMA_JOGO(8),
+    ATUALIZAR_GENEROS_JOGO(9),
+    ATUALIZAR_PLATAFORMAS_JOGO(10),
+
+    // --- DLCs ---
+    ADICIONAR_DLC(20),
+    REMOVER_DLC(21),
+    EDITAR_ANO_DLC(22),
+    EDITAR_PRECO_DLC(23),
+    EDITAR_JOGO_BASE(24),
+    EDITAR_EXPANSAO(25),
+    ADICIONAR_GENERO_DLC(26),
+    ADICIONAR_PLATAFORMA_DLC(27),
+    ATUALIZAR_GENEROS_DLC(28),
+    ATUALIZAR_PLATAFORMAS_DLC(29),
+
+    // --- Usuários e bibliotecas ---
+    ADICIONAR_USUARIO(40),
+    REMOVER_USUARIO(41),
+    EDITAR_USUARIO(42),
+    ADICIONAR_MIDIA_USUARIO(43),
+    REMOVER_MIDIA_USUARIO(44),
+    EDITAR_MIDIA_USUARIO(45);
+
+    private final int codigo;
+
+    TipoMutacao(int codigo) {
+        this.codigo = codigo;
+    }
+
+    public int getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * @return O tipo com o código informado.
+     * @throws IllegalArgumentException Se o código for desconhecido.
+     */
+    public static TipoMutacao porCodigo(int codigo) {
+        for (TipoMutacao tipo : values()) {
+            if (tipo.codigo == codigo) {
+                return tipo;
+            }
+        }
+        throw new IllegalArgumentException("Tipo de mutação desconhecido: " + codigo);
+    }
+}
@@ -0,0 +1,82 @@
+package steamboxd.model;
+
+import steamboxd.util.ChaveUtil;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A biblioteca de um {@link Usuario}: os seus itens, indexados pelo título
+ * da mídia.
+ *
+ * <p>Os títulos são comparados pela chave normalizada
+ * ({@link ChaveUtil#normalizar(String)}), então "Ação" e "acao" são a mesma
+ * mídia, e cada título aparece uma única vez. Incluir, buscar e remover
+ * custam O(1), e os itens são percorridos na ordem em que entraram.</p>
+ */
+public class Biblioteca implements Iterable<ItemBiblioteca>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, ItemBiblioteca> itens = new LinkedHashMap<>();
+
+    /**
+     * Inclui o item no fim da biblioteca.
+     *
+     * @return {@code false} se já houver um item com o mesmo título (nada muda).
+     */
+    public boolean adicionar(ItemBiblioteca item) {
+        if (item == null) {
+            throw new IllegalArgumentException("O item da biblioteca é obrigatório.");
+        }
+        return itens.putIfAbsent(item.getChave(), item) == null;
+    }
+
+    /**
+     * @return O item com o título (sem diferenciar acentos nem maiúsculas
+     * de minúsculas), ou {@code null} se não houver.
+     */
+    public ItemBiblioteca buscar(String titulo) {
+        String chave = ChaveUtil.normalizar(titulo);
+        return chave == null ? null : itens.get(chave);
+    }
+
+    public boolean contem(String titulo) {
+        return buscar(titulo) != null;
+    }
+
+    /**
+     * @return {@code true} se havia um item com o título.
+     */
+    public boolean remover(String titulo) {
+        String chave = ChaveUtil.normalizar(titulo);
+        return chave != null && itens.remove(chave) != null;
+    }
+
+    public int tamanho() {
+        return itens.size();
+    }
+
+    public boolean isVazia() {
+        return itens.isEmpty();
+    }
+
+    /**
+     * Os itens sem cópia, na ordem de inclusão: uma coleção somente
+     * leitura que acompanha as alterações da biblioteca.
+     */
+    public Collection<ItemBiblioteca> visao() {
+        return Collections.unmodifiableCollection(itens.values());
+    }
+
+    /**
+     * Percorre os itens na ordem de inclusão (sem permitir remoção).
+     */
+    @Override
+    public Iterator<ItemBiblioteca> iterator() {
+        return visao().iterator();
+    }
+}
@@ -0,0 +1,81 @@
+package steamboxd.model;
+
+import java.io.Serializable;
+
+/**
+ * Uma mídia na biblioteca de um {@link Usuario}.
+ *
+ * <p>O item não copia os dados da mídia: guarda uma referência para a
+ * {@link Midia} da loja (a mesma para todos os usuários que a possuem), a
+ * nota dada pelo usuário e o preço pago na compra. Título, gêneros,
+ * plataformas e demais dados são lidos da loja quando pedidos, então
+ * refletem sempre o catálogo atual.</p>
+ *
+ * <p>Uma mídia que não está na loja (ex: lida de um arquivo em que ela
+ * não existe mais) fica em uma {@link Midia} própria do item.</p>
+ */
+public class ItemBiblioteca implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Midia midia;
+    private double nota;
+    private final double precoPago;
+
+    /**
+     * @param midia     A mídia da loja (não é copiada).
+     * @param nota      A nota do usuário.
+     * @param precoPago O preço da mídia quando entrou na biblioteca.
+     */
+    public ItemBiblioteca(Midia midia, double nota, double precoPago) {
+        if (midia == null) {
+            throw new IllegalArgumentException("A mídia do item é obrigatória.");
+        }
+        this.midia = midia;
+        this.nota = nota;
+        this.precoPago = precoPago;
+    }
+
+    /**
+     * @return A mídia da loja (compartilhada: não deve ser alterada por aqui).
+     */
+    public Midia getMidia() {
+        return midia;
+    }
+
+    public String getTitulo() {
+        return midia.getTitulo();
+    }
+
+    /**
+     * @see Midia#getChave()
+     */
+    public String getChave() {
+        return midia.getChave();
+    }
+
+    public String getTipo() {
+        return midia.getTipo();
+    }
+
+    /**
+     * @return A nota dada pelo usuário (não a da loja).
+     */
+    public double getNota() {
+        return nota;
+    }
+
+    public void setNota(double nota) {
+        if (nota < 0 || nota > 10) {
+            throw new IllegalArgumentException("A nota deve ser entre 0 e 10.");
+        }
+        this.nota = nota;
+    }
+
+    /**
+     * @return O preço da mídia quando entrou na biblioteca (o atual está em {@link #getMidia()}).
+     */
+    public double getPrecoPago() {
+        return precoPago;
+    }
+}
@@ -1,8 +1,15 @@
 package steamboxd.model;
 
+import steamboxd.util.ChaveUtil;
+import steamboxd.util.DicionarioTags;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.RandomAccess;
 
 /**
  * Classe base abstrata para todas as mídias.
@@ -13,28 +20,35 @@ import java.util.ArrayList;
  * <p>Implementa {@link Serializable} para permitir que todos os seus
  * subtipos (Jogo, DLC) possam ser facilmente persistidos (salvos)
  * em arquivos.</p>
+ *
+ * <p>Gêneros e plataformas são guardados como ids dos dicionários globais
+ * ({@link DicionarioTags#GENEROS} e {@link DicionarioTags#PLATAFORMAS}),
+ * na ordem em que foram informados: o texto de cada rótulo existe uma
+ * única vez na memória, por mais mídias que o usem.</p>
  */
 public abstract class Midia implements Serializable {
 
     private String titulo;
-    private List<String> generos;
+    // Ids dos rótulos nos dicionários globais (nunca alterados, só trocados)
+    private transient Rotulos generos;
     private double nota;
     private int anoLancamento;
-    private List<String> plataformas;
+    private transient Rotulos plataformas;
+    // Título normalizado (sem acentos e maiúsculas), calculado uma vez por título
+    private transient String chave;
 
     /**
      * Construtor completo e principal da classe Midia.
      *
-     * <p>Garante a segurança contra nulos
-     * e cria <strong>cópias defensivas</strong> das listas para garantir
-     * o encapsulamento.</p>
+     * <p>Garante a segurança contra nulos. As listas não são guardadas:
+     * seus rótulos viram ids dos dicionários (nulos e vazios são ignorados).</p>
      */
     public Midia (String titulo, List<String> generos, double nota, int anoLancamento, List<String> plataformas) {
         this.titulo = titulo != null ? titulo : "Sem título";
-        this.generos = generos != null ? new ArrayList<>(generos) : new ArrayList<>();
+        this.generos = Rotulos.de(DicionarioTags.GENEROS, generos);
         this.nota = nota;
         this.anoLancamento = anoLancamento;
-        this.plataformas = plataformas != null ? new ArrayList<>(plataformas) : new ArrayList<>();
+        this.plataformas = Rotulos.de(DicionarioTags.PLATAFORMAS, plataformas);
     }
 
     /**
@@ -62,9 +76,14 @@ public abstract class Midia implements Serializable {
      * Construtor de Cópia (para clonagem).
      * Cria uma nova Mídia baseada em uma original.
      * É 'protected' para ser usado apenas pelas classes filhas (Jogo, DLC).
+     * Os rótulos são compartilhados, já que nunca são alterados.
      */
     protected Midia(Midia original) {
-        this(original.titulo, original.generos, original.nota, original.anoLancamento, original.plataformas);
+        this.titulo = original.titulo;
+        this.generos = original.generos;
+        this.nota = original.nota;
+        this.anoLancamento = original.anoLancamento;
+        this.plataformas = original.plataformas;
     }
 
     public String getTitulo() {
@@ -76,18 +95,62 @@ public abstract class Midia implements Serializable {
             throw new IllegalArgumentException("O título da mídia é obrigatório.");
         }
         this.titulo = titulo.trim();
+        this.chave = null;
+    }
+
+    /**
+     * Chave do título para índices e comparações (ver {@link ChaveUtil#normalizar(String)}).
+     * É calculada na primeira chamada e guardada até o título mudar.
+     */
+    public String getChave() {
+        if (chave == null) {
+            chave = ChaveUtil.normalizar(titulo);
+        }
+        return chave;
     }
 
+    /**
+     * @return Uma cópia dos gêneros, que pode ser alterada à vontade.
+     * Para só ler, prefira {@link #visaoGeneros()}.
+     */
     public List<String> getGeneros() {
-        return new ArrayList<>(generos);
+        return new ArrayList<>(visaoGeneros());
+    }
+
+    /**
+     * Os gêneros sem cópia: a própria lista somente leitura guardada na
+     * mídia. Uma alteração posterior dos gêneros não aparece nela (a mídia
+     * passa a guardar outra lista).
+     */
+    public List<String> visaoGeneros() {
+        return generos;
     }
 
     public void setGeneros(List<String> generos) {
-        if (generos == null) {
-            this.generos = new ArrayList<>();
-        } else {
-            this.generos = new ArrayList<>(generos);
-        }
+        this.generos = Rotulos.de(DicionarioTags.GENEROS, generos);
+    }
+
+    /**
+     * @return Cópia dos ids dos gêneros em {@link DicionarioTags#GENEROS}.
+     */
+    public int[] getIdsGeneros() {
+        return generos.ids.clone();
+    }
+
+    /**
+     * @param mascara Classes de gênero ({@link DicionarioTags#mascaraDeTodos}).
+     * @return Se a mídia tem todos os gêneros da máscara.
+     */
+    public boolean temGeneros(long[] mascara) {
+        return DicionarioTags.GENEROS.contemTodas(generos.ids, mascara);
+    }
+
+    /**
+     * @param mascara Classes de gênero ({@link DicionarioTags#mascaraDeAlgum}).
+     * @return Se a mídia tem pelo menos um dos gêneros da máscara.
+     */
+    public boolean temAlgumGenero(long[] mascara) {
+        return DicionarioTags.GENEROS.contemAlguma(generos.ids, mascara);
     }
 
     public double getNota() {
@@ -115,16 +178,99 @@ public abstract class Midia implements Serializable {
         this.anoLancamento = anoLancamento;
     }
 
+    /**
+     * @return Uma cópia das plataformas, que pode ser alterada à vontade.
+     * Para só ler, prefira {@link #visaoPlataformas()}.
+     */
     public List<String> getPlataformas() {
-        return new ArrayList<>(plataformas);
+        return new ArrayList<>(visaoPlataformas());
+    }
+
+    /**
+     * As plataformas sem cópia (ver {@link #visaoGeneros()}).
+     */
+    public List<String> visaoPlataformas() {
+        return plataformas;
     }
 
     public void setPlataformas(List<String> plataformas) {
-        if (plataformas == null) {
-            this.plataformas = new ArrayList<>();
-        } else {
-            this.plataformas = new ArrayList<>(plataformas);
+        this.plataformas = Rotulos.de(DicionarioTags.PLATAFORMAS, plataformas);
+    }
+
+    /**
+     * @return Cópia dos ids das plataformas em {@link DicionarioTags#PLATAFORMAS}.
+     */
+    public int[] getIdsPlataformas() {
+        return plataformas.ids.clone();
+    }
+
+    /**
+     * @param mascara Classes de plataforma ({@link DicionarioTags#mascaraDeTodos}).
+     * @return Se a mídia está em todas as plataformas da máscara.
+     */
+    public boolean temPlataformas(long[] mascara) {
+        return DicionarioTags.PLATAFORMAS.contemTodas(plataformas.ids, mascara);
+    }
+
+    /**
+     * @param mascara Classes de plataforma ({@link DicionarioTags#mascaraDeAlgum}).
+     * @return Se a mídia está em pelo menos uma das plataformas da máscara.
+     */
+    public boolean temAlgumaPlataforma(long[] mascara) {
+        return DicionarioTags.PLATAFORMAS.contemAlguma(plataformas.ids, mascara);
+    }
+
+    /**
+     * Lista somente leitura dos textos de um vetor de ids (que nunca é alterado).
+     */
+    private static final class Rotulos extends AbstractList<String> implements RandomAccess {
+
+        private static final Rotulos SEM_GENEROS = new Rotulos(DicionarioTags.GENEROS, new int[0]);
+        private static final Rotulos SEM_PLATAFORMAS = new Rotulos(DicionarioTags.PLATAFORMAS, new int[0]);
+
+        private final DicionarioTags dicionario;
+        private final int[] ids;
+
+        private Rotulos(DicionarioTags dicionario, int[] ids) {
+            this.dicionario = dicionario;
+            this.ids = ids;
+        }
+
+        /**
+         * Registra os rótulos no dicionário (listas vazias compartilham a mesma instância).
+         */
+        static Rotulos de(DicionarioTags dicionario, List<String> rotulos) {
+            int[] ids = dicionario.idsDe(rotulos);
+            if (ids.length == 0) {
+                return dicionario == DicionarioTags.GENEROS ? SEM_GENEROS : SEM_PLATAFORMAS;
+            }
+            return new Rotulos(dicionario, ids);
+        }
+
+        @Override
+        public String get(int indice) {
+            return dicionario.nome(ids[indice]);
         }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+    }
+
+    // Os ids só valem nesta execução: na serialização vão os textos
+
+    private void writeObject(ObjectOutputStream saida) throws IOException {
+        saida.defaultWriteObject();
+        saida.writeObject(getGeneros());
+        saida.writeObject(getPlataformas());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream entrada) throws IOException, ClassNotFoundException {
+        entrada.defaultReadObject();
+        setGeneros((List<String>) entrada.readObject());
+        setPlataformas((List<String>) entrada.readObject());
     }
 
     /**
@@ -1,14 +1,17 @@
 package steamboxd.model;
 
+import steamboxd.util.ChaveUtil;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
 
 /**
  * Modela um Usuário no sistema.
  *
  * <p>Esta classe armazena informações de identificação
- * e a coleção de mídias ({@link Midia}) que o usuário possui.</p>
+ * e a biblioteca do usuário: as mídias que ele possui, cada uma como um
+ * {@link ItemBiblioteca} que aponta para a mídia da loja, sem copiá-la.
+ * A biblioteca ({@link Biblioteca}) é indexada pelo título e só é
+ * acessada pelos métodos próprios desta classe, nunca como lista inteira.</p>
  *
  * <p>Implementa {@link Serializable} para permitir que objetos
  * de Usuário sejam facilmente salvos em disco (persistência de dados).</p>
@@ -17,31 +20,31 @@ public class Usuario implements Serializable {
 
     private String nome;
     private String email;
-    private List<Midia> biblioteca;
+    private final Biblioteca biblioteca = new Biblioteca();
+    // Email normalizado, calculado uma vez por email
+    private transient String chave;
 
     /**
      * Construtor completo para criar um Usuário com uma biblioteca pré-existente.
      *
-     * <p>Cria uma <strong>cópia defensiva</strong> da lista de biblioteca
-     * para proteger o encapsulamento. Modificações na lista original
-     * (passada como parâmetro) não afetarão este objeto.</p>
+     * <p>Os itens são incluídos um a um, na ordem dada; títulos repetidos
+     * ficam só com o primeiro item. Modificações posteriores na coleção
+     * original não afetam este objeto.</p>
      */
-    public Usuario(String nome, String email, List<Midia> biblioteca) {
+    public Usuario(String nome, String email, Collection<ItemBiblioteca> biblioteca) {
         this.nome = nome;
         this.email = email;
-        this.biblioteca = new ArrayList<>(biblioteca);
+        for (ItemBiblioteca item : biblioteca) {
+            this.biblioteca.adicionar(item);
+        }
     }
 
     /**
-     * Construtor parcial para criar um novo Usuário (sem biblioteca).
-     *
-     * <p>Inicializa a biblioteca como uma lista vazia para
-     * evitar {@link NullPointerException} em operações futuras.</p>
+     * Construtor parcial para criar um novo Usuário (com a biblioteca vazia).
      */
     public Usuario(String nome, String email) {
         this.nome = nome;
         this.email = email;
-        this.biblioteca = new ArrayList<>();
     }
 
     /**
@@ -53,7 +56,6 @@ public class Usuario implements Serializable {
     public Usuario() {
         this.nome = "";
         this.email = "";
-        this.biblioteca = new ArrayList<>();
     }
 
     public String getNome() {
@@ -102,31 +104,71 @@ public class Usuario implements Serializable {
         }
 
         this.email = email;
+        this.chave = null;
     }
 
     /**
-     * Retorna uma <strong>cópia</strong> da biblioteca de mídias do usuário.
-     *
-     * <p>A lista retornada é uma cópia defensiva. Modificações nela
-     * <strong>não</strong> afetarão a biblioteca interna
-     * do usuário, protegendo o encapsulamento.</p>
+     * Chave do email para índices e comparações (ver {@link ChaveUtil#normalizar(String)}).
+     * É calculada na primeira chamada e guardada até o email mudar.
+     */
+    public String getChave() {
+        if (chave == null) {
+            chave = ChaveUtil.normalizar(email);
+        }
+        return chave;
+    }
+
+    /**
+     * A biblioteca sem cópia, na ordem de inclusão: uma coleção somente
+     * leitura que acompanha as alterações da biblioteca. Não deve ser
+     * percorrida enquanto a biblioteca é alterada.
+     */
+    public Collection<ItemBiblioteca> visaoBiblioteca() {
+        return biblioteca.visao();
+    }
+
+    /**
+     * @return Quantos itens há na biblioteca.
+     */
+    public int tamanhoBiblioteca() {
+        return biblioteca.tamanho();
+    }
+
+    /**
+     * Acrescenta um item ao final da biblioteca (O(1)).
      *
-     * @return Uma cópia da lista da biblioteca.
+     * @param item O item a acrescentar.
+     * @return {@code false} se a biblioteca já tiver uma mídia com o mesmo título.
      */
-    public List<Midia> getBiblioteca() {
-        return new ArrayList<>(biblioteca);
+    public boolean adicionarNaBiblioteca(ItemBiblioteca item) {
+        return biblioteca.adicionar(item);
     }
 
     /**
-     * Define a biblioteca de mídias do usuário.
+     * Busca um item da biblioteca pelo título (sem diferenciar acentos nem
+     * maiúsculas de minúsculas), em O(1).
      *
-     * <p>Cria uma <strong>cópia defensiva</strong> da lista fornecida
-     * para garantir que modificações externas na lista original não afetem
-     * o estado interno do objeto.</p>
+     * @return O item, ou {@code null} se o usuário não tiver a mídia.
+     */
+    public ItemBiblioteca buscarNaBiblioteca(String titulo) {
+        return biblioteca.buscar(titulo);
+    }
+
+    /**
+     * @return Se o usuário tem uma mídia com o título.
+     */
+    public boolean temNaBiblioteca(String titulo) {
+        return biblioteca.contem(titulo);
+    }
+
+    /**
+     * Remove da biblioteca o item com o título informado (sem diferenciar
+     * acentos nem maiúsculas de minúsculas), em O(1).
      *
-     * @param biblioteca A nova lista de mídias.
+     * @param titulo O título da mídia a remover.
+     * @return {@code true} se alguma mídia foi removida.
      */
-    public void setBiblioteca(List<Midia> biblioteca) {
-        this.biblioteca = new ArrayList<>(biblioteca);
+    public boolean removerDaBiblioteca(String titulo) {
+        return biblioteca.remover(titulo);
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package steamboxd.repository;
+
+import java.util.function.ToDoubleFunction;
+import steamboxd.model.Midia;
+
+/**
+ * Atributos numéricos da {@link Midia} que têm índice ordenado no catálogo
+ * (ver {@link Consulta#entre} e {@link Consulta#ordenarPor}).
+ */
+public enum CampoNumerico {
+    PRECO(Midia::getPreco),
+    ANO_LANCAMENTO(Midia::getAnoLancamento),
+    NOTA(Midia::getNota);
+
+    private final ToDoubleFunction<Midia> extrator;
+
+    CampoNumerico(ToDoubleFunction<Midia> extrator) {
+        this.extrator = extrator;
+    }
+
+    public double valorDe(Midia midia) {
+        return extrator.applyAsDouble(midia);
+    }
+}
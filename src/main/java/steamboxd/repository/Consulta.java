@@ -0,0 +1,169 @@
+package steamboxd.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Critérios de uma consulta ao catálogo (ver {@link MidiaRepository#consultar(Consulta)}).
+ *
+ * <p>Gêneros, plataformas e desenvolvedora são respondidos pelos índices do
+ * repositório e combinados por interseção: o item precisa atender a todos.
+ * Com {@link #comAlgumGenero} e {@link #comAlgumaPlataforma}, basta ter um
+ * dos rótulos informados (união); cada chamada é um critério à parte.
+ * Intervalos de preço, ano e nota usam os índices ordenados, que também
+ * entregam o resultado já ordenado. O filtro de {@link #onde(Predicate)}
+ * é aplicado só aos itens que sobraram. Exemplos:</p>
+ *
+ * <pre>
+ * // Jogos multiplayer de Metroidvania no PC
+ * new Consulta&lt;Jogo&gt;()
+ *         .comGenero("Metroidvania")
+ *         .comPlataforma("PC")
+ *         .onde(Jogo::isMultiplayer);
+ *
+ * // Jogos abaixo de R$ 50 lançados entre 2015 e 2020, do mais barato ao mais caro
+ * new Consulta&lt;Jogo&gt;()
+ *         .entre(CampoNumerico.PRECO, null, 49.99)
+ *         .entre(CampoNumerico.ANO_LANCAMENTO, 2015.0, 2020.0)
+ *         .ordenarPor(CampoNumerico.PRECO, false);
+ * </pre>
+ *
+ * @param <T> O tipo da Mídia consultada.
+ */
+public class Consulta<T> {
+
+    private final List<String> generos = new ArrayList<>();
+    private final List<String> plataformas = new ArrayList<>();
+    private final List<List<String>> generosAlternativos = new ArrayList<>();
+    private final List<List<String>> plataformasAlternativas = new ArrayList<>();
+    private String desenvolvedora;
+    private final Map<CampoNumerico, Double[]> intervalos = new EnumMap<>(CampoNumerico.class);
+    private CampoNumerico ordenacao;
+    private boolean decrescente;
+    private int limite = Integer.MAX_VALUE;
+    private Predicate<? super T> filtro;
+
+    public Consulta<T> comGenero(String genero) {
+        generos.add(genero);
+        return this;
+    }
+
+    public Consulta<T> comPlataforma(String plataforma) {
+        plataformas.add(plataforma);
+        return this;
+    }
+
+    /**
+     * Exige pelo menos um dos gêneros (ex: "RPG" ou "Souls").
+     */
+    public Consulta<T> comAlgumGenero(String... generos) {
+        generosAlternativos.add(List.of(generos));
+        return this;
+    }
+
+    /**
+     * Exige pelo menos uma das plataformas (ex: "PS5" ou "Xbox").
+     */
+    public Consulta<T> comAlgumaPlataforma(String... plataformas) {
+        plataformasAlternativas.add(List.of(plataformas));
+        return this;
+    }
+
+    public Consulta<T> daDesenvolvedora(String desenvolvedora) {
+        this.desenvolvedora = desenvolvedora;
+        return this;
+    }
+
+    /**
+     * Restringe um atributo numérico a um intervalo (inclusive nas duas pontas).
+     *
+     * @param minimo O menor valor aceito, ou {@code null} para sem limite.
+     * @param maximo O maior valor aceito, ou {@code null} para sem limite.
+     */
+    public Consulta<T> entre(CampoNumerico campo, Double minimo, Double maximo) {
+        intervalos.put(campo, new Double[]{minimo, maximo});
+        return this;
+    }
+
+    /**
+     * Devolve o resultado ordenado pelo atributo (empates na ordem de inclusão).
+     */
+    public Consulta<T> ordenarPor(CampoNumerico campo, boolean decrescente) {
+        this.ordenacao = campo;
+        this.decrescente = decrescente;
+        return this;
+    }
+
+    /**
+     * Número máximo de itens no resultado. Com ordenação, a busca para
+     * assim que o limite é atingido.
+     */
+    public Consulta<T> limitar(int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("O limite não pode ser negativo.");
+        }
+        this.limite = limite;
+        return this;
+    }
+
+    /**
+     * Filtro adicional sobre atributos sem índice (ex: multiplayer).
+     */
+    public Consulta<T> onde(Predicate<? super T> filtro) {
+        this.filtro = filtro;
+        return this;
+    }
+
+    public List<String> getGeneros() {
+        return Collections.unmodifiableList(generos);
+    }
+
+    public List<String> getPlataformas() {
+        return Collections.unmodifiableList(plataformas);
+    }
+
+    /**
+     * @return Os critérios de {@link #comAlgumGenero}, um por chamada.
+     */
+    public List<List<String>> getGenerosAlternativos() {
+        return Collections.unmodifiableList(generosAlternativos);
+    }
+
+    /**
+     * @return Os critérios de {@link #comAlgumaPlataforma}, um por chamada.
+     */
+    public List<List<String>> getPlataformasAlternativas() {
+        return Collections.unmodifiableList(plataformasAlternativas);
+    }
+
+    public String getDesenvolvedora() {
+        return desenvolvedora;
+    }
+
+    /**
+     * @return Os intervalos por atributo, como {@code {minimo, maximo}} (nulo = sem limite).
+     */
+    public Map<CampoNumerico, Double[]> getIntervalos() {
+        return Collections.unmodifiableMap(intervalos);
+    }
+
+    public CampoNumerico getOrdenacao() {
+        return ordenacao;
+    }
+
+    public boolean isDecrescente() {
+        return decrescente;
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    public Predicate<? super T> getFiltro() {
+        return filtro;
+    }
+}
@@ -0,0 +1,17 @@
+package steamboxd.repository;
+
+import steamboxd.model.DLC;
+
+/**
+ * Variante do {@link DLCRepository} que pode ser usada por várias threads
+ * ao mesmo tempo.
+ *
+ * <p>Buscas, listagens e consultas nunca bloqueiam, e alterações de
+ * títulos diferentes não disputam trava (ver {@link RepositorioIndexado}).</p>
+ */
+public class DLCRepositoryConcorrente extends DLCRepository {
+
+    public DLCRepositoryConcorrente() {
+        super(true);
+    }
+}
@@ -1,58 +1,53 @@
 package steamboxd.repository;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Set;
 import steamboxd.model.Jogo;
+import steamboxd.repository.indice.IndiceInvertido;
 
 /**
  * Implementação concreta do {@link Repository} para gerenciar objetos {@link Jogo}.
  *
- * <p>Esta classe armazena os Jogos em uma lista em memória e é responsável
- * pelas operações de CRUD sobre essa lista</p>
+ * <p>Esta classe armazena os Jogos em memória, indexados pelo título,
+ * e é responsável pelas operações de CRUD sobre esses dados</p>
+ *
+ * <p>Além dos índices de {@link MidiaRepository}, indexa a desenvolvedora.</p>
  */
-public class JogoRepository implements Repository<Jogo> {
+public class JogoRepository extends MidiaRepository<Jogo> {
 
-    private List<Jogo> jogos;
+    private final IndiceInvertido<Jogo> porDesenvolvedora;
 
     public JogoRepository() {
-        this.jogos = new ArrayList<>();
+        this(false);
     }
 
-    @Override
-    public void adicionar(Jogo jogo) {
-        if (jogo != null && !existe(jogo.getTitulo())) {
-            jogos.add(jogo);
-        }
-    }
-
-    @Override
-    public boolean remover(String titulo) {
-        return jogos.removeIf(jogo -> jogo.getTitulo().equalsIgnoreCase(titulo));
+    /**
+     * @see JogoRepositoryConcorrente
+     */
+    protected JogoRepository(boolean concorrente) {
+        super(concorrente);
+        this.porDesenvolvedora = new IndiceInvertido<>(concorrente);
     }
 
     @Override
-    public Jogo buscar(String titulo) {
-        for (Jogo jogo : jogos) {
-            if (jogo.getTitulo().equalsIgnoreCase(titulo)) {
-                return jogo;
-            }
-        }
-        return null;
+    protected void indexar(Jogo jogo) {
+        super.indexar(jogo);
+        porDesenvolvedora.indexar(jogo, jogo.getDesenvolvedora());
     }
 
     @Override
-    public List<Jogo> listarTodos() {
-        return new ArrayList<>(jogos);
+    protected void desindexar(Jogo jogo) {
+        super.desindexar(jogo);
+        porDesenvolvedora.desindexar(jogo, jogo.getDesenvolvedora());
     }
 
     @Override
-    public boolean existe(String titulo) {
-        return buscar(titulo) != null;
+    protected void aoLimpar() {
+        super.aoLimpar();
+        porDesenvolvedora.limpar();
     }
 
     @Override
-    public void carregarDados(List<Jogo> novosDados) {
-        this.jogos.clear();
-        this.jogos.addAll(novosDados);
+    protected Set<Jogo> buscarPorDesenvolvedora(String desenvolvedora) {
+        return porDesenvolvedora.buscar(desenvolvedora);
     }
-}
\ No newline at end of file
+}
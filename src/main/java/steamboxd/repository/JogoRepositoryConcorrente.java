@@ -0,0 +1,18 @@
+package steamboxd.repository;
+
+import steamboxd.model.Jogo;
+
+/**
+ * Variante do {@link JogoRepository} que pode ser usada por várias threads
+ * ao mesmo tempo (por exemplo, por serviços que atendem requisições em
+ * paralelo).
+ *
+ * <p>Buscas, listagens e consultas nunca bloqueiam, e alterações de
+ * títulos diferentes não disputam trava (ver {@link RepositorioIndexado}).</p>
+ */
+public class JogoRepositoryConcorrente extends JogoRepository {
+
+    public JogoRepositoryConcorrente() {
+        super(true);
+    }
+}
@@ -0,0 +1,321 @@
+package steamboxd.repository;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lista imutável e persistente, ordenada por uma chave numérica
+ * (nos repositórios, a ordem de inserção).
+ *
+ * <p>É uma árvore balanceada (treap) que nunca é alterada: {@link #com} e
+ * {@link #sem} devolvem uma nova versão que copia só o caminho até o ponto
+ * alterado (O(log n) nós) e compartilha todo o resto com a versão
+ * anterior. Quem tem uma versão pode percorrê-la à vontade, sem cópia e
+ * sem trava, enquanto outras versões são criadas.</p>
+ *
+ * <p>{@code size()} custa O(1), {@code get(i)} O(log n) e a iteração O(n).
+ * Métodos que alterariam a lista lançam {@link UnsupportedOperationException}.</p>
+ *
+ * @param <T> O tipo dos itens.
+ */
+public final class ListaPersistente<T> extends AbstractList<T> {
+
+    private static final ListaPersistente<?> VAZIA = new ListaPersistente<>(null, 0);
+
+    private final No<T> raiz;
+    // Maior chave já incluída nesta versão ou nas anteriores, mais um
+    private final long proximaChave;
+
+    private static final class No<T> {
+
+        private final long chave;
+        private final T valor;
+        private final int prioridade;
+        private final int tamanho;
+        private final No<T> esquerda;
+        private final No<T> direita;
+
+        No(long chave, T valor, int prioridade, No<T> esquerda, No<T> direita) {
+            this.chave = chave;
+            this.valor = valor;
+            this.prioridade = prioridade;
+            this.esquerda = esquerda;
+            this.direita = direita;
+            this.tamanho = 1 + tamanho(esquerda) + tamanho(direita);
+        }
+
+        No<T> comFilhos(No<T> esquerda, No<T> direita) {
+            if (esquerda == this.esquerda && direita == this.direita) {
+                return this;
+            }
+            return new No<>(chave, valor, prioridade, esquerda, direita);
+        }
+    }
+
+    private ListaPersistente(No<T> raiz, long proximaChave) {
+        this.raiz = raiz;
+        this.proximaChave = proximaChave;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ListaPersistente<T> vazia() {
+        return (ListaPersistente<T>) VAZIA;
+    }
+
+    /**
+     * @return Uma nova versão com o item na posição da chave
+     * (a chave não pode estar na lista).
+     */
+    public ListaPersistente<T> com(long chave, T valor) {
+        return new ListaPersistente<>(inserir(raiz, new No<>(chave, valor, prioridade(chave), null, null)),
+                Math.max(proximaChave, chave + 1));
+    }
+
+    /**
+     * @return A chave seguinte à maior já incluída nesta versão ou nas
+     * anteriores. Não volta atrás quando os últimos itens são removidos,
+     * então nunca repete uma chave que um cursor possa ter visto.
+     */
+    public long proximaChave() {
+        return proximaChave;
+    }
+
+    /**
+     * Inclui vários itens no fim da lista de uma só vez, com as chaves
+     * {@code primeiraChave}, {@code primeiraChave + 1}, e assim por diante.
+     *
+     * <p>Como as chaves já vêm em ordem, a árvore dos novos itens é montada
+     * em O(k) e emendada à atual em O(log n), em vez de k inserções de
+     * O(log n) cada.</p>
+     *
+     * @param primeiraChave Deve ser maior que todas as chaves da lista.
+     * @return Uma nova versão com os itens (ou esta, se não houver itens).
+     */
+    public ListaPersistente<T> comTodos(long primeiraChave, List<T> valores) {
+        if (valores.isEmpty()) {
+            return this;
+        }
+        return new ListaPersistente<>(juntar(raiz, montar(primeiraChave, valores)),
+                Math.max(proximaChave, primeiraChave + valores.size()));
+    }
+
+    /**
+     * @return Uma nova versão sem o item da chave (ou esta, se a chave não estiver na lista).
+     */
+    public ListaPersistente<T> sem(long chave) {
+        No<T> nova = remover(raiz, chave);
+        return nova == raiz ? this : new ListaPersistente<>(nova, proximaChave);
+    }
+
+    @Override
+    public int size() {
+        return tamanho(raiz);
+    }
+
+    @Override
+    public T get(int indice) {
+        if (indice < 0 || indice >= size()) {
+            throw new IndexOutOfBoundsException("Índice: " + indice + ", tamanho: " + size());
+        }
+        No<T> no = raiz;
+        while (true) {
+            int esquerda = tamanho(no.esquerda);
+            if (indice < esquerda) {
+                no = no.esquerda;
+            } else if (indice == esquerda) {
+                return no.valor;
+            } else {
+                indice -= esquerda + 1;
+                no = no.direita;
+            }
+        }
+    }
+
+    /**
+     * Percorre em ordem com uma pilha (O(log n) de memória extra).
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+
+            private final Deque<No<T>> pilha = new ArrayDeque<>();
+
+            {
+                descer(raiz);
+            }
+
+            private void descer(No<T> no) {
+                while (no != null) {
+                    pilha.push(no);
+                    no = no.esquerda;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !pilha.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (pilha.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                No<T> no = pilha.pop();
+                descer(no.direita);
+                return no.valor;
+            }
+        };
+    }
+
+    /**
+     * Os itens com chave maior que {@code depoisDe}, em ordem, até o tamanho
+     * pedido. Custa O(log n + tamanho), não importa a posição.
+     */
+    Pagina<T> pagina(long depoisDe, int tamanho) {
+        // Pilha com o caminho até a primeira chave maior que depoisDe
+        Deque<No<T>> pilha = new ArrayDeque<>();
+        No<T> no = raiz;
+        while (no != null) {
+            if (no.chave > depoisDe) {
+                pilha.push(no);
+                no = no.esquerda;
+            } else {
+                no = no.direita;
+            }
+        }
+
+        List<T> itens = new ArrayList<>(Math.min(tamanho, size()));
+        long ultima = depoisDe;
+        while (itens.size() < tamanho && !pilha.isEmpty()) {
+            No<T> atual = pilha.pop();
+            itens.add(atual.valor);
+            ultima = atual.chave;
+            for (No<T> filho = atual.direita; filho != null; filho = filho.esquerda) {
+                pilha.push(filho);
+            }
+        }
+        return new Pagina<>(itens, pilha.isEmpty() ? null : Pagina.codificar(ultima));
+    }
+
+    // --- Árvore ---
+
+    private static <T> No<T> inserir(No<T> no, No<T> novo) {
+        if (no == null) {
+            return novo;
+        }
+        if (novo.prioridade > no.prioridade) {
+            No<T>[] partes = dividir(no, novo.chave);
+            return novo.comFilhos(partes[0], partes[1]);
+        }
+        if (novo.chave < no.chave) {
+            return no.comFilhos(inserir(no.esquerda, novo), no.direita);
+        }
+        return no.comFilhos(no.esquerda, inserir(no.direita, novo));
+    }
+
+    private static <T> No<T> remover(No<T> no, long chave) {
+        if (no == null) {
+            return null;
+        }
+        if (chave < no.chave) {
+            return no.comFilhos(remover(no.esquerda, chave), no.direita);
+        }
+        if (chave > no.chave) {
+            return no.comFilhos(no.esquerda, remover(no.direita, chave));
+        }
+        return juntar(no.esquerda, no.direita);
+    }
+
+    /**
+     * Divide a árvore em {chaves menores, chaves maiores ou iguais}.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> No<T>[] dividir(No<T> no, long chave) {
+        if (no == null) {
+            return (No<T>[]) new No<?>[]{null, null};
+        }
+        if (no.chave < chave) {
+            No<T>[] partes = dividir(no.direita, chave);
+            partes[0] = no.comFilhos(no.esquerda, partes[0]);
+            return partes;
+        }
+        No<T>[] partes = dividir(no.esquerda, chave);
+        partes[1] = no.comFilhos(partes[1], no.direita);
+        return partes;
+    }
+
+    /**
+     * Junta duas árvores em que todas as chaves de {@code a} são menores que as de {@code b}.
+     */
+    private static <T> No<T> juntar(No<T> a, No<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.prioridade >= b.prioridade) {
+            return a.comFilhos(a.esquerda, juntar(a.direita, b));
+        }
+        return b.comFilhos(juntar(a, b.esquerda), b.direita);
+    }
+
+    /**
+     * Monta a árvore de chaves consecutivas em O(k): percorre as chaves em
+     * ordem mantendo uma pilha com a borda direita da árvore (construção da
+     * árvore cartesiana) e só então cria os nós, de baixo para cima.
+     */
+    private static <T> No<T> montar(long primeiraChave, List<T> valores) {
+        int quantidade = valores.size();
+        int[] prioridades = new int[quantidade];
+        int[] esquerda = new int[quantidade];
+        int[] direita = new int[quantidade];
+        int[] pilha = new int[quantidade];
+        int topo = 0;
+
+        for (int i = 0; i < quantidade; i++) {
+            prioridades[i] = prioridade(primeiraChave + i);
+            direita[i] = -1;
+            int ultimoRetirado = -1;
+            while (topo > 0 && prioridades[pilha[topo - 1]] < prioridades[i]) {
+                ultimoRetirado = pilha[--topo];
+            }
+            esquerda[i] = ultimoRetirado;
+            if (topo > 0) {
+                direita[pilha[topo - 1]] = i;
+            }
+            pilha[topo++] = i;
+        }
+        return criarNos(pilha[0], primeiraChave, valores, prioridades, esquerda, direita);
+    }
+
+    private static <T> No<T> criarNos(int i, long primeiraChave, List<T> valores,
+                                      int[] prioridades, int[] esquerda, int[] direita) {
+        if (i < 0) {
+            return null;
+        }
+        No<T> filhoEsquerdo = criarNos(esquerda[i], primeiraChave, valores, prioridades, esquerda, direita);
+        No<T> filhoDireito = criarNos(direita[i], primeiraChave, valores, prioridades, esquerda, direita);
+        return new No<>(primeiraChave + i, valores.get(i), prioridades[i], filhoEsquerdo, filhoDireito);
+    }
+
+    private static int tamanho(No<?> no) {
+        return no == null ? 0 : no.tamanho;
+    }
+
+    /**
+     * Prioridade pseudoaleatória, mas fixa para cada chave (mistura do SplitMix64).
+     */
+    private static int prioridade(long chave) {
+        long z = chave + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (z ^ (z >>> 31));
+    }
+}
@@ -0,0 +1,275 @@
+package steamboxd.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import steamboxd.model.Midia;
+import steamboxd.repository.indice.IndiceInvertido;
+import steamboxd.repository.indice.IndiceOrdenado;
+import steamboxd.util.DicionarioTags;
+
+/**
+ * Base dos repositórios do catálogo ({@link JogoRepository} e {@link DLCRepository}).
+ *
+ * <p>Além do índice por título, mantém índices invertidos de gênero e de
+ * plataforma e índices ordenados de preço, ano e nota
+ * ({@link CampoNumerico}), atualizados pelos ganchos de inclusão e remoção.
+ * Alterações nesses atributos devem passar por {@link #atualizar}, para
+ * que o item seja reposicionado nos índices.</p>
+ *
+ * <p>No modo concorrente os índices também são concorrentes. Os ouvintes
+ * (em geral estruturas de uma thread só) recebem os avisos um de cada vez,
+ * sincronizados no próprio ouvinte.</p>
+ *
+ * @param <T> O tipo da Mídia que o repositório gerencia.
+ */
+public abstract class MidiaRepository<T extends Midia> extends RepositorioIndexado<T> {
+
+    private final IndiceInvertido<T> porGenero;
+    private final IndiceInvertido<T> porPlataforma;
+    private final Map<CampoNumerico, IndiceOrdenado<T>> porValor = new EnumMap<>(CampoNumerico.class);
+    private final List<OuvinteCatalogo> ouvintes = new CopyOnWriteArrayList<>();
+
+    // Com ordenação, se o menor conjunto dos índices invertidos for bem
+    // menor que o catálogo, ordenar esse conjunto sai mais barato que
+    // percorrer o índice ordenado inteiro
+    private static final int FATOR_SELETIVIDADE = 8;
+
+    protected MidiaRepository() {
+        this(false);
+    }
+
+    protected MidiaRepository(boolean concorrente) {
+        super(concorrente);
+        porGenero = new IndiceInvertido<>(concorrente);
+        porPlataforma = new IndiceInvertido<>(concorrente);
+        for (CampoNumerico campo : CampoNumerico.values()) {
+            porValor.put(campo, new IndiceOrdenado<>(campo::valorDe, concorrente));
+        }
+    }
+
+    @Override
+    protected String chaveDe(T midia) {
+        return midia.getChave();
+    }
+
+    /**
+     * Registra um ouvinte das entradas e saídas de mídias deste catálogo.
+     */
+    public void adicionarOuvinte(OuvinteCatalogo ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    @Override
+    protected void aoAdicionar(T midia) {
+        indexar(midia);
+        avisar(ouvinte -> ouvinte.aoIncluir(midia));
+    }
+
+    @Override
+    protected void aoRemover(T midia) {
+        desindexar(midia);
+        avisar(ouvinte -> ouvinte.aoExcluir(midia));
+    }
+
+    // Uma edição não muda o título: os índices internos são refeitos e os
+    // ouvintes só recebem o aviso de alteração
+
+    @Override
+    protected void antesDeAlterar(T midia) {
+        desindexar(midia);
+    }
+
+    @Override
+    protected void depoisDeAlterar(T midia) {
+        indexar(midia);
+        avisar(ouvinte -> ouvinte.aoAlterar(midia));
+    }
+
+    @Override
+    protected void aoLimpar() {
+        if (!ouvintes.isEmpty()) {
+            for (T midia : valores()) {
+                avisar(ouvinte -> ouvinte.aoExcluir(midia));
+            }
+        }
+        porGenero.limpar();
+        porPlataforma.limpar();
+        for (IndiceOrdenado<T> indice : porValor.values()) {
+            indice.limpar();
+        }
+    }
+
+    private void avisar(Consumer<OuvinteCatalogo> aviso) {
+        for (OuvinteCatalogo ouvinte : ouvintes) {
+            if (isConcorrente()) {
+                synchronized (ouvinte) {
+                    aviso.accept(ouvinte);
+                }
+            } else {
+                aviso.accept(ouvinte);
+            }
+        }
+    }
+
+    /**
+     * Inclui a mídia nos índices do repositório.
+     */
+    protected void indexar(T midia) {
+        porGenero.indexar(midia, midia.visaoGeneros());
+        porPlataforma.indexar(midia, midia.visaoPlataformas());
+        for (IndiceOrdenado<T> indice : porValor.values()) {
+            indice.indexar(midia);
+        }
+    }
+
+    /**
+     * Retira a mídia dos índices do repositório.
+     */
+    protected void desindexar(T midia) {
+        porGenero.desindexar(midia, midia.visaoGeneros());
+        porPlataforma.desindexar(midia, midia.visaoPlataformas());
+        for (IndiceOrdenado<T> indice : porValor.values()) {
+            indice.desindexar(midia);
+        }
+    }
+
+    /**
+     * Itens de uma desenvolvedora. Só o catálogo de jogos tem esse índice.
+     */
+    protected Set<T> buscarPorDesenvolvedora(String desenvolvedora) {
+        throw new IllegalArgumentException("Este catálogo não possui desenvolvedora.");
+    }
+
+    /**
+     * Responde a uma consulta combinando os índices.
+     *
+     * <p>Os candidatos saem de um único índice e cada um é conferido nos
+     * demais critérios (O(1) por conferência). Gêneros e plataformas são
+     * conferidos por máscaras de bits das classes dos rótulos
+     * ({@link DicionarioTags}), montadas uma vez por consulta:</p>
+     * <ul>
+     *     <li>com ordenação, do índice ordenado do atributo (restrito ao
+     *     intervalo pedido para ele), parando ao atingir o limite; ou do
+     *     menor conjunto dos índices invertidos, ordenado no fim, quando
+     *     ele é bem menor que o catálogo;</li>
+     *     <li>sem ordenação, do menor conjunto dos índices invertidos, ou
+     *     do primeiro intervalo pedido;</li>
+     *     <li>sem critério indexado, do catálogo inteiro, na ordem de inclusão.</li>
+     * </ul>
+     */
+    public List<T> consultar(Consulta<T> consulta) {
+        long[] generos = DicionarioTags.GENEROS.mascaraDeTodos(consulta.getGeneros());
+        long[] plataformas = DicionarioTags.PLATAFORMAS.mascaraDeTodos(consulta.getPlataformas());
+        if (generos == null || plataformas == null) {
+            // Algum rótulo exigido não existe em nenhuma mídia
+            return new ArrayList<>();
+        }
+        List<long[]> algumGenero = new ArrayList<>();
+        for (List<String> alternativas : consulta.getGenerosAlternativos()) {
+            algumGenero.add(DicionarioTags.GENEROS.mascaraDeAlgum(alternativas));
+        }
+        List<long[]> algumaPlataforma = new ArrayList<>();
+        for (List<String> alternativas : consulta.getPlataformasAlternativas()) {
+            algumaPlataforma.add(DicionarioTags.PLATAFORMAS.mascaraDeAlgum(alternativas));
+        }
+
+        List<Set<T>> conjuntos = new ArrayList<>();
+        for (String genero : consulta.getGeneros()) {
+            conjuntos.add(porGenero.buscar(genero));
+        }
+        for (String plataforma : consulta.getPlataformas()) {
+            conjuntos.add(porPlataforma.buscar(plataforma));
+        }
+        Set<T> daDesenvolvedora = null;
+        if (consulta.getDesenvolvedora() != null) {
+            daDesenvolvedora = buscarPorDesenvolvedora(consulta.getDesenvolvedora());
+            conjuntos.add(daDesenvolvedora);
+        }
+        conjuntos.sort(Comparator.comparingInt(Set::size));
+
+        Map<CampoNumerico, Double[]> intervalos = consulta.getIntervalos();
+        CampoNumerico ordenacao = consulta.getOrdenacao();
+
+        Iterable<T> candidatos;
+        boolean ordenarNoFim = false;
+        if (ordenacao != null) {
+            if (!conjuntos.isEmpty() && (long) conjuntos.get(0).size() * FATOR_SELETIVIDADE < tamanho()) {
+                candidatos = conjuntos.get(0);
+                ordenarNoFim = true;
+            } else {
+                candidatos = percorrer(ordenacao, intervalos.get(ordenacao), consulta.isDecrescente());
+            }
+        } else if (!conjuntos.isEmpty()) {
+            candidatos = conjuntos.get(0);
+        } else if (!intervalos.isEmpty()) {
+            Map.Entry<CampoNumerico, Double[]> primeiro = intervalos.entrySet().iterator().next();
+            candidatos = percorrer(primeiro.getKey(), primeiro.getValue(), false);
+        } else {
+            candidatos = valores();
+        }
+
+        Predicate<? super T> filtro = consulta.getFiltro();
+        int limite = ordenarNoFim ? Integer.MAX_VALUE : consulta.getLimite();
+        List<T> resultado = new ArrayList<>();
+        for (T item : candidatos) {
+            if (resultado.size() >= limite) {
+                break;
+            }
+            if (item.temGeneros(generos) && item.temPlataformas(plataformas)
+                    && temAlgum(item, algumGenero, algumaPlataforma)
+                    && (daDesenvolvedora == null || daDesenvolvedora.contains(item))
+                    && dentroDosIntervalos(item, intervalos)
+                    && (filtro == null || filtro.test(item))) {
+                resultado.add(item);
+            }
+        }
+
+        if (ordenarNoFim) {
+            Comparator<T> ordem = Comparator.comparingDouble(ordenacao::valorDe);
+            resultado.sort(consulta.isDecrescente() ? ordem.reversed() : ordem);
+            if (resultado.size() > consulta.getLimite()) {
+                resultado = new ArrayList<>(resultado.subList(0, consulta.getLimite()));
+            }
+        }
+        return resultado;
+    }
+
+    private Iterable<T> percorrer(CampoNumerico campo, Double[] intervalo, boolean decrescente) {
+        Double minimo = intervalo == null ? null : intervalo[0];
+        Double maximo = intervalo == null ? null : intervalo[1];
+        return porValor.get(campo).intervalo(minimo, maximo, decrescente);
+    }
+
+    private static boolean temAlgum(Midia item, List<long[]> algumGenero, List<long[]> algumaPlataforma) {
+        for (long[] mascara : algumGenero) {
+            if (!item.temAlgumGenero(mascara)) {
+                return false;
+            }
+        }
+        for (long[] mascara : algumaPlataforma) {
+            if (!item.temAlgumaPlataforma(mascara)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean dentroDosIntervalos(Midia item, Map<CampoNumerico, Double[]> intervalos) {
+        for (Map.Entry<CampoNumerico, Double[]> intervalo : intervalos.entrySet()) {
+            double valor = intervalo.getKey().valorDe(item);
+            Double minimo = intervalo.getValue()[0];
+            Double maximo = intervalo.getValue()[1];
+            if ((minimo != null && valor < minimo) || (maximo != null && valor > maximo)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
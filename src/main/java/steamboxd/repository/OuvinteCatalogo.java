@@ -0,0 +1,23 @@
+package steamboxd.repository;
+
+import steamboxd.model.Midia;
+
+/**
+ * Recebe as entradas e saídas de mídias de um {@link MidiaRepository}.
+ *
+ * <p>Permite manter estruturas que cobrem mais de um catálogo (ex: o
+ * índice de títulos de jogos e DLCs) sem que os repositórios se conheçam.</p>
+ */
+public interface OuvinteCatalogo {
+
+    void aoIncluir(Midia midia);
+
+    void aoExcluir(Midia midia);
+
+    /**
+     * Chamado depois de uma edição feita por {@code atualizar} (o título
+     * nunca muda numa edição). Por padrão, não faz nada.
+     */
+    default void aoAlterar(Midia midia) {
+    }
+}
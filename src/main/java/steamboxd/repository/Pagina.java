@@ -0,0 +1,73 @@
+package steamboxd.repository;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Uma página de uma listagem, com o cursor para pedir a próxima.
+ *
+ * <p>O cursor é opaco: quem lista só o devolve na chamada seguinte. Ele
+ * marca a posição do último item na ordem de inserção (e não um número
+ * de página), então inclusões e remoções entre uma página e outra não
+ * fazem itens se repetirem nem serem pulados: um item que existiu durante
+ * toda a listagem aparece exatamente uma vez, e itens incluídos no meio
+ * dela só podem aparecer no fim.</p>
+ *
+ * @param <T> O tipo dos itens.
+ */
+public class Pagina<T> {
+
+    private final List<T> itens;
+    private final String proximoCursor;
+
+    public Pagina(List<T> itens, String proximoCursor) {
+        this.itens = Collections.unmodifiableList(itens);
+        this.proximoCursor = proximoCursor;
+    }
+
+    /**
+     * @return Os itens da página (somente leitura).
+     */
+    public List<T> getItens() {
+        return itens;
+    }
+
+    /**
+     * @return O cursor da próxima página, ou {@code null} se esta for a última.
+     */
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public boolean isUltima() {
+        return proximoCursor == null;
+    }
+
+    // --- Cursor ---
+
+    static String codificar(long posicao) {
+        byte[] bytes = ByteBuffer.allocate(Long.BYTES).putLong(posicao).array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * @return A posição marcada pelo cursor, ou {@link Long#MIN_VALUE}
+     * (início da listagem) se o cursor for nulo ou vazio.
+     */
+    static long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor.trim());
+            if (bytes.length == Long.BYTES) {
+                return ByteBuffer.wrap(bytes).getLong();
+            }
+        } catch (IllegalArgumentException e) {
+            // Cai no erro abaixo
+        }
+        throw new IllegalArgumentException("Cursor de paginação inválido.");
+    }
+}
@@ -0,0 +1,76 @@
+package steamboxd.repository;
+
+/**
+ * Resultado de uma inclusão em lote: a situação de cada item, na mesma
+ * posição em que ele estava no lote, e o motivo quando ele não entrou.
+ */
+public class RelatorioLote {
+
+    private final SituacaoLote[] situacoes;
+    private final String[] mensagens;
+    private final int[] contagem = new int[SituacaoLote.values().length];
+
+    /**
+     * @param tamanho O número de itens do lote.
+     */
+    public RelatorioLote(int tamanho) {
+        this.situacoes = new SituacaoLote[tamanho];
+        this.mensagens = new String[tamanho];
+    }
+
+    /**
+     * Registra a situação do item na posição dada (substitui a anterior, se houver).
+     *
+     * @param mensagem O motivo, quando o item não foi adicionado.
+     */
+    public void registrar(int indice, SituacaoLote situacao, String mensagem) {
+        if (situacoes[indice] != null) {
+            contagem[situacoes[indice].ordinal()]--;
+        }
+        situacoes[indice] = situacao;
+        mensagens[indice] = mensagem;
+        contagem[situacao.ordinal()]++;
+    }
+
+    /**
+     * Copia para este relatório um relatório feito sobre parte do lote.
+     *
+     * @param parcial  O relatório da parte.
+     * @param posicoes A posição, neste lote, de cada item da parte.
+     */
+    public void incorporar(RelatorioLote parcial, int[] posicoes) {
+        for (int i = 0; i < parcial.tamanho(); i++) {
+            registrar(posicoes[i], parcial.getSituacao(i), parcial.getMensagem(i));
+        }
+    }
+
+    /**
+     * @return O número de itens do lote.
+     */
+    public int tamanho() {
+        return situacoes.length;
+    }
+
+    public SituacaoLote getSituacao(int indice) {
+        return situacoes[indice];
+    }
+
+    /**
+     * @return O motivo de o item não ter entrado, ou {@code null} se ele foi adicionado.
+     */
+    public String getMensagem(int indice) {
+        return mensagens[indice];
+    }
+
+    public int getAdicionados() {
+        return contagem[SituacaoLote.ADICIONADO.ordinal()];
+    }
+
+    public int getDuplicados() {
+        return contagem[SituacaoLote.DUPLICADO.ordinal()];
+    }
+
+    public int getInvalidos() {
+        return contagem[SituacaoLote.INVALIDO.ordinal()];
+    }
+}
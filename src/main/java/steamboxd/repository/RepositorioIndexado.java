@@ -0,0 +1,429 @@
+package steamboxd.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import steamboxd.util.ChaveUtil;
+
+/**
+ * Implementação base dos repositórios em memória, indexada por chave.
+ *
+ * <p>Os itens ficam em um {@link HashMap} cuja chave é a forma
+ * normalizada (ver {@link ChaveUtil#normalizar(String)}) do título ou do email.
+ * Assim, {@code buscar}, {@code existe}, {@code adicionar} e {@code remover}
+ * custam O(1), mantendo a comparação sem diferenciar acentos nem maiúsculas
+ * de minúsculas.</p>
+ *
+ * <p>A chave dos itens armazenados vem pronta das entidades, que a
+ * calculam uma única vez; só o texto procurado é normalizado.</p>
+ *
+ * <p>A listagem é publicada como uma {@link ListaPersistente} imutável, em
+ * ordem de inserção: {@link #listarTodos()} só devolve a versão atual
+ * (O(1), sem cópia), e cada inclusão ou remoção troca essa versão por uma
+ * nova que compartilha quase tudo com a anterior (O(log n)). Quem recebeu
+ * uma listagem pode percorrê-la mesmo com o repositório mudando.</p>
+ *
+ * <p>No modo concorrente ({@link #RepositorioIndexado(boolean)}), os itens
+ * ficam em um {@link ConcurrentHashMap} e leituras nunca bloqueiam. Cada
+ * alteração trava apenas a faixa ({@value #QUANTIDADE_TRAVAS} travas ao
+ * todo) da sua chave, então alterações de chaves diferentes quase nunca
+ * disputam a mesma trava, e os ganchos de um mesmo item nunca rodam ao mesmo
+ * tempo; a nova versão da listagem é publicada por compare-and-set. A
+ * posição de cada item na ordem de inserção é escolhida nesse mesmo
+ * compare-and-set ({@link ListaPersistente#proximaChave()}), então as
+ * posições aparecem na listagem em ordem crescente e uma página nunca
+ * deixa para trás um item incluído depois da anterior.
+ * {@link #carregarDados} não deve concorrer com outras operações.</p>
+ *
+ * @param <T> O tipo do Modelo que o repositório gerencia.
+ */
+public abstract class RepositorioIndexado<T> implements Repository<T> {
+
+    private static final int QUANTIDADE_TRAVAS = 64;
+
+    private final Map<String, Entrada<T>> itens;
+    // Travas por faixa de chave (nulo no modo sequencial)
+    private final ReentrantLock[] travas;
+
+    // Versão atual da listagem, indexada pela ordem de inserção
+    private final AtomicReference<ListaPersistente<T>> listagem = new AtomicReference<>(ListaPersistente.vazia());
+
+    /**
+     * Um item e a sua posição na ordem de inserção (definida ao publicar o
+     * item na listagem, sob a trava da sua chave).
+     */
+    private static final class Entrada<T> {
+
+        private final T item;
+        private long ordem;
+
+        Entrada(T item, long ordem) {
+            this.item = item;
+            this.ordem = ordem;
+        }
+    }
+
+    protected RepositorioIndexado() {
+        this(false);
+    }
+
+    /**
+     * @param concorrente Se o repositório será usado por várias threads.
+     */
+    protected RepositorioIndexado(boolean concorrente) {
+        if (concorrente) {
+            this.itens = new ConcurrentHashMap<>();
+            this.travas = new ReentrantLock[QUANTIDADE_TRAVAS];
+            for (int i = 0; i < travas.length; i++) {
+                travas[i] = new ReentrantLock();
+            }
+        } else {
+            this.itens = new HashMap<>();
+            this.travas = null;
+        }
+    }
+
+    /**
+     * @return Se o repositório pode ser usado por várias threads.
+     */
+    public boolean isConcorrente() {
+        return travas != null;
+    }
+
+    /**
+     * Define a chave do item, já normalizada (título ou email).
+     */
+    protected abstract String chaveDe(T item);
+
+    @Override
+    public boolean adicionar(T item) {
+        return item != null && incluir(item);
+    }
+
+    /**
+     * Inclui o lote em uma única passada: cada chave é conferida e reservada
+     * no índice uma vez (O(1)), e todos os itens aceitos entram na listagem
+     * de uma só vez ({@link ListaPersistente#comTodos}), em vez de uma nova
+     * versão da listagem por item. Itens nulos são recusados; vale o primeiro
+     * de cada chave.
+     *
+     * <p>No modo concorrente, outras threads podem estar incluindo ao mesmo
+     * tempo, então os itens entram um a um, cada qual sob a trava da sua
+     * faixa.</p>
+     */
+    @Override
+    public RelatorioLote adicionarTodos(List<T> lote) {
+        RelatorioLote relatorio = new RelatorioLote(lote.size());
+        if (travas != null) {
+            for (int i = 0; i < lote.size(); i++) {
+                T item = lote.get(i);
+                if (item == null) {
+                    relatorio.registrar(i, SituacaoLote.INVALIDO, "Item nulo.");
+                } else if (incluir(item)) {
+                    relatorio.registrar(i, SituacaoLote.ADICIONADO, null);
+                } else {
+                    relatorio.registrar(i, SituacaoLote.DUPLICADO, "Chave já cadastrada.");
+                }
+            }
+            return relatorio;
+        }
+
+        ListaPersistente<T> atual = listagem.get();
+        long primeira = atual.proximaChave();
+        List<T> aceitos = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            T item = lote.get(i);
+            if (item == null) {
+                relatorio.registrar(i, SituacaoLote.INVALIDO, "Item nulo.");
+                continue;
+            }
+            Entrada<T> existente = itens.putIfAbsent(chaveDe(item), new Entrada<>(item, primeira + aceitos.size()));
+            if (existente == null) {
+                aceitos.add(item);
+                relatorio.registrar(i, SituacaoLote.ADICIONADO, null);
+            } else if (existente.ordem >= primeira) {
+                relatorio.registrar(i, SituacaoLote.DUPLICADO, "Chave repetida no lote.");
+            } else {
+                relatorio.registrar(i, SituacaoLote.DUPLICADO, "Chave já cadastrada.");
+            }
+        }
+        listagem.set(atual.comTodos(primeira, aceitos));
+        for (T item : aceitos) {
+            aoAdicionar(item);
+        }
+        return relatorio;
+    }
+
+    /**
+     * @return {@code false} se já existir item com a mesma chave.
+     */
+    private boolean incluir(T item) {
+        String chave = chaveDe(item);
+        ReentrantLock trava = travar(chave);
+        try {
+            Entrada<T> entrada = new Entrada<>(item, -1);
+            if (itens.putIfAbsent(chave, entrada) != null) {
+                return false;
+            }
+            // A posição vem da versão em que o item é publicado: com uma
+            // posição reservada antes, outra thread poderia publicar uma
+            // posição maior primeiro, e quem pagina por cursor pularia este item
+            ListaPersistente<T> atual;
+            do {
+                atual = listagem.get();
+                entrada.ordem = atual.proximaChave();
+            } while (!listagem.compareAndSet(atual, atual.com(entrada.ordem, item)));
+            aoAdicionar(item);
+            return true;
+        } finally {
+            destravar(trava);
+        }
+    }
+
+    @Override
+    public boolean remover(String chave) {
+        if (chave == null) {
+            return false;
+        }
+        String normalizada = ChaveUtil.normalizar(chave);
+        ReentrantLock trava = travar(normalizada);
+        try {
+            Entrada<T> removida = itens.remove(normalizada);
+            if (removida == null) {
+                return false;
+            }
+            listagem.updateAndGet(lista -> lista.sem(removida.ordem));
+            aoRemover(removida.item);
+            return true;
+        } finally {
+            destravar(trava);
+        }
+    }
+
+    @Override
+    public T buscar(String chave) {
+        if (chave == null) {
+            return null;
+        }
+        Entrada<T> entrada = itens.get(ChaveUtil.normalizar(chave));
+        return entrada == null ? null : entrada.item;
+    }
+
+    /**
+     * @return A versão atual da listagem, em ordem de inserção. É imutável
+     * e não muda depois de devolvida (O(1), sem cópia).
+     */
+    @Override
+    public List<T> listarTodos() {
+        return listagem.get();
+    }
+
+    /**
+     * Página da versão atual da listagem, a partir da posição do cursor.
+     * Custa O(log n + tamanho).
+     */
+    @Override
+    public Pagina<T> listarPagina(String cursor, int tamanho) {
+        if (tamanho <= 0) {
+            throw new IllegalArgumentException("O tamanho da página deve ser positivo.");
+        }
+        return listagem.get().pagina(Pagina.decodificar(cursor), tamanho);
+    }
+
+    @Override
+    public boolean existe(String chave) {
+        if (chave == null) {
+            return false;
+        }
+        return itens.containsKey(ChaveUtil.normalizar(chave));
+    }
+
+    /**
+     * Altera um item já armazenado mantendo os índices auxiliares corretos.
+     *
+     * <p>O item sai dos índices ({@link #antesDeAlterar}), recebe a
+     * alteração e volta a eles ({@link #depoisDeAlterar}), mesmo que a
+     * alteração lance exceção no meio. A alteração não pode mudar a chave do item
+     * (para isso existe {@link #reindexar}).</p>
+     *
+     * @return O item alterado, ou {@code null} se não existir item com a chave.
+     */
+    public T atualizar(String chave, Consumer<T> alteracao) {
+        if (chave == null) {
+            return null;
+        }
+        String normalizada = ChaveUtil.normalizar(chave);
+        ReentrantLock trava = travar(normalizada);
+        try {
+            Entrada<T> entrada = itens.get(normalizada);
+            if (entrada == null) {
+                return null;
+            }
+            T item = entrada.item;
+            antesDeAlterar(item);
+            try {
+                alteracao.accept(item);
+            } finally {
+                depoisDeAlterar(item);
+            }
+            return item;
+        } finally {
+            destravar(trava);
+        }
+    }
+
+    /**
+     * Substitui todo o conteúdo do repositório.
+     *
+     * <p>Itens com chave repetida são descartados (vale o primeiro), pois o
+     * índice não comporta duas entradas com a mesma chave. A carga passa
+     * por {@link #adicionarTodos}, então custa uma única passada.</p>
+     */
+    @Override
+    public void carregarDados(List<T> novosDados) {
+        aoLimpar();
+        this.itens.clear();
+        listagem.set(ListaPersistente.vazia());
+        adicionarTodos(novosDados);
+    }
+
+    /**
+     * @return Quantos itens o repositório tem (O(1)).
+     */
+    protected int tamanho() {
+        return listagem.get().size();
+    }
+
+    /**
+     * Visão somente leitura dos itens, na ordem de inserção (sem cópia).
+     */
+    protected Collection<T> valores() {
+        return listagem.get();
+    }
+
+    /**
+     * Gancho chamado depois que um item entra no repositório.
+     * Subclasses o usam para manter índices auxiliares.
+     */
+    protected void aoAdicionar(T item) {
+    }
+
+    /**
+     * Gancho chamado depois que um item sai do repositório.
+     */
+    protected void aoRemover(T item) {
+    }
+
+    /**
+     * Gancho chamado quando todo o conteúdo do repositório vai ser
+     * descartado (os itens ainda estão em {@link #valores()}).
+     */
+    protected void aoLimpar() {
+    }
+
+    /**
+     * Gancho chamado antes de {@link #atualizar} alterar um item.
+     * Por padrão, equivale a retirar o item ({@link #aoRemover}).
+     */
+    protected void antesDeAlterar(T item) {
+        aoRemover(item);
+    }
+
+    /**
+     * Gancho chamado depois de {@link #atualizar} alterar um item.
+     * Por padrão, equivale a incluir o item ({@link #aoAdicionar}).
+     */
+    protected void depoisDeAlterar(T item) {
+        aoAdicionar(item);
+    }
+
+    /**
+     * Altera a chave de um item e o reposiciona no índice.
+     *
+     * <p>As faixas das duas chaves ficam travadas do começo ao fim: primeiro
+     * a nova chave é reservada ({@code putIfAbsent}), depois a alteração é
+     * aplicada e só então a chave antiga é liberada. Assim a nova chave
+     * nunca sobrescreve outro item, e quem lê nunca encontra o item sem
+     * chave nenhuma. Se a alteração lançar exceção, a reserva é desfeita.
+     * A posição na listagem é guardada junto do item, então basta
+     * movê-lo para a nova chave (O(1)).</p>
+     *
+     * @param chaveAtual A chave com a qual o item está indexado.
+     * @param novaChave A chave que o item terá depois da alteração.
+     * @param alteracao A alteração que troca a chave do item.
+     * @return {@code false} se não existir item com a chave atual ou se a
+     * nova chave já pertencer a outro item (nada é alterado).
+     */
+    protected boolean reindexar(String chaveAtual, String novaChave, Consumer<T> alteracao) {
+        String antiga = ChaveUtil.normalizar(chaveAtual);
+        String nova = ChaveUtil.normalizar(novaChave);
+        if (antiga == null || nova == null) {
+            return false;
+        }
+        // As duas faixas, sempre na mesma ordem, para não haver impasse
+        ReentrantLock primeira = null;
+        ReentrantLock segunda = null;
+        if (travas != null) {
+            primeira = travas[Math.min(faixa(antiga), faixa(nova))];
+            segunda = travas[Math.max(faixa(antiga), faixa(nova))];
+            primeira.lock();
+            segunda.lock();
+        }
+        try {
+            Entrada<T> entrada = itens.get(antiga);
+            if (entrada == null) {
+                return false;
+            }
+            boolean mudaChave = !nova.equals(antiga);
+            if (mudaChave && itens.putIfAbsent(nova, entrada) != null) {
+                return false;
+            }
+            try {
+                alteracao.accept(entrada.item);
+            } catch (RuntimeException e) {
+                if (mudaChave) {
+                    itens.remove(nova, entrada);
+                }
+                throw e;
+            }
+            if (mudaChave) {
+                itens.remove(antiga, entrada);
+            }
+            return true;
+        } finally {
+            destravar(segunda);
+            destravar(primeira);
+        }
+    }
+
+    /**
+     * Trava a faixa da chave (no modo sequencial, não faz nada).
+     *
+     * @return A trava obtida, a ser passada para {@link #destravar}.
+     */
+    private ReentrantLock travar(String chave) {
+        if (travas == null) {
+            return null;
+        }
+        ReentrantLock trava = travas[faixa(chave)];
+        trava.lock();
+        return trava;
+    }
+
+    private int faixa(String chave) {
+        int hash = chave.hashCode();
+        return (hash ^ (hash >>> 16)) & (travas.length - 1);
+    }
+
+    private static void destravar(ReentrantLock trava) {
+        if (trava != null) {
+            trava.unlock();
+        }
+    }
+}
@@ -13,7 +13,19 @@ import java.util.List;
  */
 public interface Repository<T> {
 
-    void adicionar(T item);
+    /**
+     * @return {@code false} se o item for nulo ou já existir item com a
+     * mesma chave (nada muda).
+     */
+    boolean adicionar(T item);
+
+    /**
+     * Inclui um lote de itens de uma só vez, sem repetir chaves (nem as já
+     * cadastradas nem as repetidas dentro do próprio lote: vale a primeira).
+     *
+     * @return A situação de cada item, na ordem do lote.
+     */
+    RelatorioLote adicionarTodos(List<T> itens);
 
     boolean remover(String chave);
 
@@ -21,6 +33,15 @@ public interface Repository<T> {
 
     List<T> listarTodos();
 
+    /**
+     * Lista os itens aos poucos, na mesma ordem de {@link #listarTodos()}.
+     *
+     * @param cursor O cursor devolvido pela página anterior, ou {@code null} para começar.
+     * @param tamanho O número máximo de itens na página.
+     * @throws IllegalArgumentException Se o cursor for inválido ou o tamanho não for positivo.
+     */
+    Pagina<T> listarPagina(String cursor, int tamanho);
+
     boolean existe(String chave);
 
     void carregarDados(List<T> novosDados);
@@ -0,0 +1,13 @@
+package steamboxd.repository;
+
+/**
+ * O que aconteceu com cada item de uma inclusão em lote (ver {@link RelatorioLote}).
+ */
+public enum SituacaoLote {
+    /** O item entrou no repositório. */
+    ADICIONADO,
+    /** Já havia um item com a mesma chave (no repositório ou antes, no próprio lote). */
+    DUPLICADO,
+    /** O item foi recusado pela validação. */
+    INVALIDO
+}
@@ -1,75 +1,117 @@
 package steamboxd.repository;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import steamboxd.model.ItemBiblioteca;
 import steamboxd.model.Usuario;
-import steamboxd.model.Midia;
+import steamboxd.util.ChaveUtil;
 
 /**
  * Implementação concreta do {@link Repository} para gerenciar objetos {@link Usuario}.
  *
- * <p>Esta classe armazena os Usuarios em uma lista em memória e é responsável
- * pelas operações de CRUD sobre essa lista</p>
+ * <p>Esta classe armazena os Usuarios em memória, indexados pelo email,
+ * e é responsável pelas operações de CRUD sobre esses dados</p>
+ *
+ * <p>Mantém também um índice reverso (título da mídia → donos), para que a
+ * remoção de uma mídia da loja visite apenas os usuários que a possuem.</p>
  */
-public class UsuarioRepository implements Repository<Usuario> {
+public class UsuarioRepository extends RepositorioIndexado<Usuario> {
 
-    private List<Usuario> usuarios;
+    private final Map<String, Set<Usuario>> donosPorTitulo;
 
     public UsuarioRepository() {
-        this.usuarios = new ArrayList<>();
+        this(false);
     }
 
-    @Override
-    public void adicionar(Usuario usuario) {
-        if (usuario != null && !existe(usuario.getEmail())) {
-            usuarios.add(usuario);
-        }
+    /**
+     * @see UsuarioRepositoryConcorrente
+     */
+    protected UsuarioRepository(boolean concorrente) {
+        super(concorrente);
+        this.donosPorTitulo = concorrente ? new ConcurrentHashMap<>() : new HashMap<>();
     }
 
     @Override
-    public boolean remover(String email) {
-        return usuarios.removeIf(usuario -> usuario.getEmail().equalsIgnoreCase(email));
+    protected String chaveDe(Usuario usuario) {
+        return usuario.getChave();
     }
 
     @Override
-    public Usuario buscar(String email) {
-        for (Usuario usuario : usuarios) {
-            if (usuario.getEmail().equalsIgnoreCase(email)) {
-                return usuario;
-            }
+    protected void aoAdicionar(Usuario usuario) {
+        for (ItemBiblioteca item : usuario.visaoBiblioteca()) {
+            registrarPosse(usuario, item);
         }
-        return null;
     }
 
     @Override
-    public List<Usuario> listarTodos() {
-        return new ArrayList<>(usuarios);
+    protected void aoRemover(Usuario usuario) {
+        for (ItemBiblioteca item : usuario.visaoBiblioteca()) {
+            removerPosse(usuario, item.getChave());
+        }
     }
 
     @Override
-    public boolean existe(String email) {
-        return buscar(email) != null;
+    protected void aoLimpar() {
+        donosPorTitulo.clear();
     }
 
-    @Override
-    public void carregarDados(List<Usuario> novosDados) {
-        this.usuarios.clear();
-        this.usuarios.addAll(novosDados);
+    /**
+     * Altera o email (chave) de um usuário, mantendo o índice consistente.
+     * O email só é trocado depois de a nova chave ser reservada (ver
+     * {@link #reindexar}), sob as travas das duas chaves.
+     *
+     * @return {@code false} se o usuário não existir ou se o novo email
+     * já pertencer a outro usuário.
+     */
+    public boolean alterarEmail(String emailAtual, String novoEmail) {
+        return reindexar(emailAtual, novoEmail, usuario -> usuario.setEmail(novoEmail));
+    }
+
+    /**
+     * Registra no índice reverso que o usuário possui a mídia do item.
+     * Deve ser chamado sempre que um item entra na biblioteca.
+     */
+    public void registrarPosse(Usuario usuario, ItemBiblioteca item) {
+        donosPorTitulo.compute(item.getChave(), (k, donos) -> {
+            if (donos == null) {
+                donos = isConcorrente() ? ConcurrentHashMap.newKeySet() : new HashSet<>();
+            }
+            donos.add(usuario);
+            return donos;
+        });
+    }
+
+    /**
+     * Retira do índice reverso a posse da mídia pelo usuário.
+     * Deve ser chamado sempre que uma mídia sai da biblioteca.
+     */
+    public void removerPosse(Usuario usuario, String tituloMidia) {
+        String chave = ChaveUtil.normalizar(tituloMidia);
+        if (chave == null) {
+            return;
+        }
+        donosPorTitulo.computeIfPresent(chave, (k, donos) -> {
+            donos.remove(usuario);
+            return donos.isEmpty() ? null : donos;
+        });
     }
 
     /**
      * Remove uma mídia (pelo título) da biblioteca de TODOS os usuários.
      * Usado quando uma mídia é deletada da loja.
+     *
+     * <p>Consulta o índice reverso, então só os donos da mídia são visitados.</p>
      */
     public void removerMidiaDeTodos(String tituloMidia) {
-        for (Usuario usuario : usuarios) {
-            List<Midia> biblioteca = usuario.getBiblioteca(); //
-
-            boolean alterou = biblioteca.removeIf(m -> m.getTitulo().equalsIgnoreCase(tituloMidia));
-
-            if (alterou) {
-                usuario.setBiblioteca(biblioteca); //
-            }
+        Set<Usuario> donos = donosPorTitulo.remove(ChaveUtil.normalizar(tituloMidia));
+        if (donos == null) {
+            return;
+        }
+        for (Usuario usuario : donos) {
+            usuario.removerDaBiblioteca(tituloMidia);
         }
     }
 }
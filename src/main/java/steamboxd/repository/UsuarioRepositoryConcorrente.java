@@ -0,0 +1,21 @@
+package steamboxd.repository;
+
+import steamboxd.model.Usuario;
+
+/**
+ * Variante do {@link UsuarioRepository} que pode ser usada por várias
+ * threads ao mesmo tempo.
+ *
+ * <p>Buscas e listagens nunca bloqueiam, alterações de emails diferentes
+ * não disputam trava (ver {@link RepositorioIndexado}) e o índice reverso
+ * de donos é um {@link java.util.concurrent.ConcurrentHashMap}. Já a
+ * {@link steamboxd.model.Biblioteca} de um mesmo {@link Usuario} é um
+ * mapa comum ({@link java.util.LinkedHashMap}): alterá-la por duas
+ * threads ao mesmo tempo exige sincronização de quem chama.</p>
+ */
+public class UsuarioRepositoryConcorrente extends UsuarioRepository {
+
+    public UsuarioRepositoryConcorrente() {
+        super(true);
+    }
+}
@@ -0,0 +1,395 @@
+package steamboxd.repository.indice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import steamboxd.model.DLC;
+import steamboxd.model.Jogo;
+import steamboxd.model.Midia;
+import steamboxd.repository.CampoNumerico;
+import steamboxd.repository.OuvinteCatalogo;
+import steamboxd.util.DicionarioTags;
+
+/**
+ * Cópia do catálogo (jogos e DLCs juntos) organizada por colunas, para
+ * filtros e totais que percorrem o catálogo inteiro.
+ *
+ * <p>Cada mídia ocupa uma linha. Preço, ano e nota ({@link CampoNumerico})
+ * ficam em vetores de {@code double}, um por atributo, e os demais
+ * atributos usados em filtros ficam em conjuntos de bits (um bit por
+ * linha): um para "é DLC", um para "destaque" (jogo multiplayer ou DLC
+ * que é expansão) e um por classe de gênero e de plataforma dos
+ * dicionários globais ({@link DicionarioTags}).</p>
+ *
+ * <p>Uma varredura monta uma máscara com uma palavra de 64 bits para
+ * cada 64 linhas: os critérios de tipo, gênero e plataforma custam um
+ * {@code AND} por palavra, e os intervalos numéricos leem os vetores em
+ * sequência, sem desvios por linha. Só no fim as linhas que sobraram são
+ * trocadas pelos objetos ({@link #listar}), que continuam sendo a fonte
+ * dos dados: os Services e repositórios trabalham com eles como antes.</p>
+ *
+ * <p>A remoção move a última linha para o lugar da removida (O(1)),
+ * então a ordem das linhas não é a de inserção. Edições feitas por
+ * {@code atualizar} chegam por {@link #aoAlterar(Midia)} e refazem só a
+ * linha da mídia. É mantido pelos repositórios como
+ * {@link OuvinteCatalogo} e deve ser usado por uma única thread.</p>
+ */
+public class CatalogoColunar implements OuvinteCatalogo {
+
+    private static final int CAPACIDADE_INICIAL = 64;
+    private static final int[] SEM_TAGS = new int[0];
+
+    private final Map<Midia, Integer> linhaPorMidia = new IdentityHashMap<>();
+
+    // Colunas (a capacidade é sempre múltipla de 64)
+    private Midia[] midias = new Midia[CAPACIDADE_INICIAL];
+    private final double[][] colunas = new double[CampoNumerico.values().length][CAPACIDADE_INICIAL];
+    private long[] dlcs = new long[CAPACIDADE_INICIAL / 64];
+    private long[] destaques = new long[CAPACIDADE_INICIAL / 64];
+    private int[][] generosDaLinha = new int[CAPACIDADE_INICIAL][];
+    private int[][] plataformasDaLinha = new int[CAPACIDADE_INICIAL][];
+    private int linhas;
+
+    // Linhas de cada classe de gênero e de plataforma
+    // (vetores criados e aumentados conforme a necessidade; o que falta vale zero)
+    private long[][] linhasPorGenero = new long[0][];
+    private long[][] linhasPorPlataforma = new long[0][];
+
+    // --- OuvinteCatalogo ---
+
+    @Override
+    public void aoIncluir(Midia midia) {
+        if (linhaPorMidia.containsKey(midia)) {
+            return;
+        }
+        if (linhas == midias.length) {
+            aumentar();
+        }
+        int linha = linhas++;
+        midias[linha] = midia;
+        linhaPorMidia.put(midia, linha);
+        preencher(linha, midia);
+    }
+
+    @Override
+    public void aoExcluir(Midia midia) {
+        Integer linha = linhaPorMidia.remove(midia);
+        if (linha == null) {
+            return;
+        }
+        esvaziar(linha);
+        int ultima = --linhas;
+        if (linha != ultima) {
+            Midia movida = midias[ultima];
+            esvaziar(ultima);
+            midias[linha] = movida;
+            linhaPorMidia.put(movida, linha);
+            preencher(linha, movida);
+        }
+        midias[ultima] = null;
+    }
+
+    @Override
+    public void aoAlterar(Midia midia) {
+        Integer linha = linhaPorMidia.get(midia);
+        if (linha != null) {
+            esvaziar(linha);
+            preencher(linha, midia);
+        }
+    }
+
+    /**
+     * @return Quantas mídias estão no catálogo.
+     */
+    public int tamanho() {
+        return linhas;
+    }
+
+    // --- Varreduras ---
+
+    /**
+     * @return Quantas mídias atendem ao filtro.
+     */
+    public int contar(FiltroColunar filtro) {
+        long[] mascara = mascara(filtro);
+        int total = 0;
+        for (long palavra : mascara) {
+            total += Long.bitCount(palavra);
+        }
+        return total;
+    }
+
+    /**
+     * Soma, mínimo, máximo e média de um atributo numérico sobre as mídias
+     * que atendem ao filtro.
+     */
+    public EstatisticasColuna estatisticas(CampoNumerico campo, FiltroColunar filtro) {
+        long[] mascara = mascara(filtro);
+        double[] coluna = colunas[campo.ordinal()];
+        int quantidade = 0;
+        double soma = 0;
+        double minimo = Double.POSITIVE_INFINITY;
+        double maximo = Double.NEGATIVE_INFINITY;
+
+        for (int p = 0; p < mascara.length; p++) {
+            long palavra = mascara[p];
+            int base = p << 6;
+            if (palavra == -1L) {
+                // Palavra cheia: leitura sequencial das 64 linhas
+                for (int i = base; i < base + 64; i++) {
+                    double valor = coluna[i];
+                    soma += valor;
+                    minimo = Math.min(minimo, valor);
+                    maximo = Math.max(maximo, valor);
+                }
+                quantidade += 64;
+                continue;
+            }
+            while (palavra != 0) {
+                double valor = coluna[base + Long.numberOfTrailingZeros(palavra)];
+                soma += valor;
+                minimo = Math.min(minimo, valor);
+                maximo = Math.max(maximo, valor);
+                quantidade++;
+                palavra &= palavra - 1;
+            }
+        }
+        return new EstatisticasColuna(quantidade, soma, minimo, maximo);
+    }
+
+    /**
+     * Quantas mídias que atendem ao filtro têm cada gênero.
+     *
+     * @return Gênero → quantidade (só os gêneros com alguma mídia), do mais
+     * comum para o menos comum.
+     */
+    public Map<String, Integer> contarPorGenero(FiltroColunar filtro) {
+        long[] mascara = mascara(filtro);
+        List<int[]> contagem = new ArrayList<>();
+        for (int classe = 0; classe < linhasPorGenero.length; classe++) {
+            long[] bits = linhasPorGenero[classe];
+            if (bits == null) {
+                continue;
+            }
+            int quantidade = 0;
+            int fim = Math.min(bits.length, mascara.length);
+            for (int p = 0; p < fim; p++) {
+                quantidade += Long.bitCount(bits[p] & mascara[p]);
+            }
+            if (quantidade > 0) {
+                contagem.add(new int[]{classe, quantidade});
+            }
+        }
+        contagem.sort((a, b) -> Integer.compare(b[1], a[1]));
+
+        Map<String, Integer> resultado = new LinkedHashMap<>();
+        for (int[] par : contagem) {
+            resultado.put(DicionarioTags.GENEROS.nomeDaClasse(par[0]), par[1]);
+        }
+        return resultado;
+    }
+
+    /**
+     * @param limite O número máximo de mídias devolvidas.
+     * @return As mídias que atendem ao filtro, na ordem das linhas.
+     */
+    public List<Midia> listar(FiltroColunar filtro, int limite) {
+        long[] mascara = mascara(filtro);
+        List<Midia> resultado = new ArrayList<>();
+        for (int p = 0; p < mascara.length && resultado.size() < limite; p++) {
+            long palavra = mascara[p];
+            while (palavra != 0 && resultado.size() < limite) {
+                resultado.add(midias[(p << 6) + Long.numberOfTrailingZeros(palavra)]);
+                palavra &= palavra - 1;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Uma palavra por 64 linhas, com o bit ligado nas linhas que atendem ao filtro.
+     */
+    private long[] mascara(FiltroColunar filtro) {
+        int palavras = (linhas + 63) >>> 6;
+        long[] mascara = new long[palavras];
+        if (palavras == 0) {
+            return mascara;
+        }
+        Arrays.fill(mascara, -1L);
+        if ((linhas & 63) != 0) {
+            mascara[palavras - 1] = (1L << (linhas & 63)) - 1;
+        }
+
+        if (filtro.getTipo() == FiltroColunar.Tipo.JOGOS) {
+            for (int p = 0; p < palavras; p++) {
+                mascara[p] &= ~dlcs[p];
+            }
+        } else if (filtro.getTipo() == FiltroColunar.Tipo.DLCS) {
+            for (int p = 0; p < palavras; p++) {
+                mascara[p] &= dlcs[p];
+            }
+        }
+        if (filtro.isSomenteDestaques()) {
+            for (int p = 0; p < palavras; p++) {
+                mascara[p] &= destaques[p];
+            }
+        }
+        for (String genero : filtro.getGeneros()) {
+            intersectar(mascara, linhasPorGenero, DicionarioTags.GENEROS.buscarClasse(genero));
+        }
+        for (String plataforma : filtro.getPlataformas()) {
+            intersectar(mascara, linhasPorPlataforma, DicionarioTags.PLATAFORMAS.buscarClasse(plataforma));
+        }
+        for (Map.Entry<CampoNumerico, Double[]> intervalo : filtro.getIntervalos().entrySet()) {
+            Double[] limites = intervalo.getValue();
+            double minimo = limites[0] != null ? limites[0] : Double.NEGATIVE_INFINITY;
+            double maximo = limites[1] != null ? limites[1] : Double.POSITIVE_INFINITY;
+            filtrarIntervalo(mascara, colunas[intervalo.getKey().ordinal()], minimo, maximo);
+        }
+        return mascara;
+    }
+
+    /**
+     * Mantém na máscara só as linhas da classe (nenhuma, se a classe não existir).
+     */
+    private static void intersectar(long[] mascara, long[][] linhasPorTag, int id) {
+        long[] bits = id >= 0 && id < linhasPorTag.length ? linhasPorTag[id] : null;
+        int fim = bits == null ? 0 : Math.min(bits.length, mascara.length);
+        for (int p = 0; p < fim; p++) {
+            mascara[p] &= bits[p];
+        }
+        Arrays.fill(mascara, fim, mascara.length, 0L);
+    }
+
+    /**
+     * Mantém na máscara só as linhas com o valor da coluna dentro do intervalo.
+     * As linhas de cada palavra são comparadas todas, sem desvio, e o
+     * resultado vira uma palavra de bits.
+     */
+    private static void filtrarIntervalo(long[] mascara, double[] coluna, double minimo, double maximo) {
+        for (int p = 0; p < mascara.length; p++) {
+            if (mascara[p] == 0) {
+                continue;
+            }
+            int base = p << 6;
+            long dentro = 0;
+            for (int i = 0; i < 64; i++) {
+                double valor = coluna[base + i];
+                dentro |= (valor >= minimo & valor <= maximo ? 1L : 0L) << i;
+            }
+            mascara[p] &= dentro;
+        }
+    }
+
+    // --- Linhas ---
+
+    private void preencher(int linha, Midia midia) {
+        for (CampoNumerico campo : CampoNumerico.values()) {
+            colunas[campo.ordinal()][linha] = campo.valorDe(midia);
+        }
+        boolean destaque = false;
+        if (midia instanceof DLC dlc) {
+            ligar(dlcs, linha);
+            destaque = dlc.isExpansao();
+        } else if (midia instanceof Jogo jogo) {
+            destaque = jogo.isMultiplayer();
+        }
+        if (destaque) {
+            ligar(destaques, linha);
+        }
+
+        int[] classesGeneros = classes(DicionarioTags.GENEROS, midia.getIdsGeneros());
+        for (int id : classesGeneros) {
+            linhasPorGenero = ligarTag(linhasPorGenero, id, linha);
+        }
+        generosDaLinha[linha] = classesGeneros;
+
+        int[] classesPlataformas = classes(DicionarioTags.PLATAFORMAS, midia.getIdsPlataformas());
+        for (int id : classesPlataformas) {
+            linhasPorPlataforma = ligarTag(linhasPorPlataforma, id, linha);
+        }
+        plataformasDaLinha[linha] = classesPlataformas;
+    }
+
+    /**
+     * Desliga todos os bits da linha (as colunas numéricas são sobrescritas depois).
+     */
+    private void esvaziar(int linha) {
+        desligar(dlcs, linha);
+        desligar(destaques, linha);
+        for (int id : generosDaLinha[linha]) {
+            desligar(linhasPorGenero[id], linha);
+        }
+        for (int id : plataformasDaLinha[linha]) {
+            desligar(linhasPorPlataforma[id], linha);
+        }
+        generosDaLinha[linha] = null;
+        plataformasDaLinha[linha] = null;
+    }
+
+    /**
+     * As classes dos ids, sem repetição (o vetor de ids é reaproveitado).
+     */
+    private static int[] classes(DicionarioTags dicionario, int[] ids) {
+        if (ids.length == 0) {
+            return SEM_TAGS;
+        }
+        int quantidade = 0;
+        for (int id : ids) {
+            int classe = dicionario.classeDe(id);
+            boolean repetida = false;
+            for (int i = 0; i < quantidade && !repetida; i++) {
+                repetida = ids[i] == classe;
+            }
+            if (!repetida) {
+                ids[quantidade++] = classe;
+            }
+        }
+        return quantidade == ids.length ? ids : Arrays.copyOf(ids, quantidade);
+    }
+
+    private void aumentar() {
+        int capacidade = midias.length * 2;
+        midias = Arrays.copyOf(midias, capacidade);
+        for (int c = 0; c < colunas.length; c++) {
+            colunas[c] = Arrays.copyOf(colunas[c], capacidade);
+        }
+        dlcs = Arrays.copyOf(dlcs, capacidade / 64);
+        destaques = Arrays.copyOf(destaques, capacidade / 64);
+        generosDaLinha = Arrays.copyOf(generosDaLinha, capacidade);
+        plataformasDaLinha = Arrays.copyOf(plataformasDaLinha, capacidade);
+    }
+
+    /**
+     * Liga o bit da linha no conjunto da tag, criando ou aumentando o que for preciso.
+     *
+     * @return O vetor de conjuntos (outro, se precisou crescer).
+     */
+    private long[][] ligarTag(long[][] linhasPorTag, int id, int linha) {
+        if (id >= linhasPorTag.length) {
+            linhasPorTag = Arrays.copyOf(linhasPorTag, Math.max(id + 1, linhasPorTag.length * 2));
+        }
+        int palavra = linha >>> 6;
+        long[] bits = linhasPorTag[id];
+        if (bits == null || palavra >= bits.length) {
+            int tamanho = Math.max(palavra + 1, Math.min(midias.length / 64, bits == null ? 1 : bits.length * 2));
+            linhasPorTag[id] = bits = bits == null ? new long[tamanho] : Arrays.copyOf(bits, tamanho);
+        }
+        bits[palavra] |= 1L << linha;
+        return linhasPorTag;
+    }
+
+    private static void ligar(long[] bits, int linha) {
+        bits[linha >>> 6] |= 1L << linha;
+    }
+
+    private static void desligar(long[] bits, int linha) {
+        int palavra = linha >>> 6;
+        if (palavra < bits.length) {
+            bits[palavra] &= ~(1L << linha);
+        }
+    }
+}
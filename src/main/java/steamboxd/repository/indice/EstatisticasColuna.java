@@ -0,0 +1,41 @@
+package steamboxd.repository.indice;
+
+/**
+ * Resumo de uma coluna numérica do {@link CatalogoColunar} sobre as
+ * mídias que atendem a um filtro. Sem mídias, mínimo, máximo e média
+ * são {@link Double#NaN}.
+ */
+public class EstatisticasColuna {
+
+    private final int quantidade;
+    private final double soma;
+    private final double minimo;
+    private final double maximo;
+
+    public EstatisticasColuna(int quantidade, double soma, double minimo, double maximo) {
+        this.quantidade = quantidade;
+        this.soma = soma;
+        this.minimo = quantidade > 0 ? minimo : Double.NaN;
+        this.maximo = quantidade > 0 ? maximo : Double.NaN;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public double getSoma() {
+        return soma;
+    }
+
+    public double getMinimo() {
+        return minimo;
+    }
+
+    public double getMaximo() {
+        return maximo;
+    }
+
+    public double getMedia() {
+        return quantidade > 0 ? soma / quantidade : Double.NaN;
+    }
+}
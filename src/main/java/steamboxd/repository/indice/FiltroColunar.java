@@ -0,0 +1,100 @@
+package steamboxd.repository.indice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import steamboxd.repository.CampoNumerico;
+
+/**
+ * Critérios de uma varredura do {@link CatalogoColunar}. Todos os
+ * critérios precisam ser atendidos (interseção). Exemplo:
+ *
+ * <pre>
+ * // Jogos multiplayer de RPG no PC, lançados a partir de 2015
+ * new FiltroColunar()
+ *         .somenteJogos()
+ *         .somenteDestaques()
+ *         .comGenero("RPG")
+ *         .comPlataforma("PC")
+ *         .entre(CampoNumerico.ANO_LANCAMENTO, 2015.0, null);
+ * </pre>
+ */
+public class FiltroColunar {
+
+    /**
+     * Que tipo de mídia entra na varredura.
+     */
+    public enum Tipo {
+        TODOS, JOGOS, DLCS
+    }
+
+    private Tipo tipo = Tipo.TODOS;
+    private boolean somenteDestaques;
+    private final List<String> generos = new ArrayList<>();
+    private final List<String> plataformas = new ArrayList<>();
+    private final Map<CampoNumerico, Double[]> intervalos = new EnumMap<>(CampoNumerico.class);
+
+    public FiltroColunar somenteJogos() {
+        this.tipo = Tipo.JOGOS;
+        return this;
+    }
+
+    public FiltroColunar somenteDLCs() {
+        this.tipo = Tipo.DLCS;
+        return this;
+    }
+
+    /**
+     * Só jogos multiplayer e DLCs que são expansões.
+     */
+    public FiltroColunar somenteDestaques() {
+        this.somenteDestaques = true;
+        return this;
+    }
+
+    public FiltroColunar comGenero(String genero) {
+        generos.add(genero);
+        return this;
+    }
+
+    public FiltroColunar comPlataforma(String plataforma) {
+        plataformas.add(plataforma);
+        return this;
+    }
+
+    /**
+     * Restringe um atributo numérico a um intervalo fechado.
+     *
+     * @param minimo O menor valor aceito ({@code null} = sem limite).
+     * @param maximo O maior valor aceito ({@code null} = sem limite).
+     */
+    public FiltroColunar entre(CampoNumerico campo, Double minimo, Double maximo) {
+        intervalos.put(campo, new Double[]{minimo, maximo});
+        return this;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public boolean isSomenteDestaques() {
+        return somenteDestaques;
+    }
+
+    public List<String> getGeneros() {
+        return Collections.unmodifiableList(generos);
+    }
+
+    public List<String> getPlataformas() {
+        return Collections.unmodifiableList(plataformas);
+    }
+
+    /**
+     * @return Os intervalos pedidos: {mínimo, máximo} por campo ({@code null} = sem limite).
+     */
+    public Map<CampoNumerico, Double[]> getIntervalos() {
+        return Collections.unmodifiableMap(intervalos);
+    }
+}
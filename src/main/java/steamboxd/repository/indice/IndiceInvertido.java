@@ -0,0 +1,107 @@
+package steamboxd.repository.indice;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import steamboxd.util.ChaveUtil;
+
+/**
+ * Índice invertido de um atributo de texto: valor normalizado → itens.
+ *
+ * <p>Usado pelos repositórios para responder "quais itens têm o gênero X"
+ * sem percorrer a lista toda. Os valores passam pelo mesmo
+ * {@link ChaveUtil#normalizar(String)} das chaves dos repositórios (e por
+ * {@code trim}), então "Ação", "acao" e " AÇÃO " caem na mesma entrada.</p>
+ *
+ * <p>Os itens são comparados por identidade ({@code Midia} não sobrescreve
+ * {@code equals}), e cada entrada guarda a ordem em que foram indexados.</p>
+ *
+ * <p>No modo concorrente as entradas são {@link ConcurrentHashMap}s (sem
+ * a ordem de indexação): leituras não bloqueiam e itens de valores
+ * diferentes não disputam trava. Cada entrada é criada e descartada de
+ * forma atômica por {@code compute}.</p>
+ *
+ * @param <T> O tipo dos itens indexados.
+ */
+public class IndiceInvertido<T> {
+
+    private final Map<String, Set<T>> entradas;
+    private final boolean concorrente;
+
+    public IndiceInvertido() {
+        this(false);
+    }
+
+    /**
+     * @param concorrente Se o índice será alterado por várias threads.
+     */
+    public IndiceInvertido(boolean concorrente) {
+        this.concorrente = concorrente;
+        this.entradas = concorrente ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
+
+    /**
+     * Registra o item sob cada um dos valores (nulos e vazios são ignorados).
+     */
+    public void indexar(T item, Collection<String> valores) {
+        for (String valor : valores) {
+            indexar(item, valor);
+        }
+    }
+
+    public void indexar(T item, String valor) {
+        String chave = chave(valor);
+        if (chave != null) {
+            entradas.compute(chave, (k, itens) -> {
+                if (itens == null) {
+                    itens = concorrente ? ConcurrentHashMap.newKeySet() : new LinkedHashSet<>();
+                }
+                itens.add(item);
+                return itens;
+            });
+        }
+    }
+
+    /**
+     * Retira o item de cada um dos valores.
+     */
+    public void desindexar(T item, Collection<String> valores) {
+        for (String valor : valores) {
+            desindexar(item, valor);
+        }
+    }
+
+    public void desindexar(T item, String valor) {
+        String chave = chave(valor);
+        if (chave == null) {
+            return;
+        }
+        entradas.computeIfPresent(chave, (k, itens) -> {
+            itens.remove(item);
+            return itens.isEmpty() ? null : itens;
+        });
+    }
+
+    /**
+     * @return Os itens com o valor (visão somente leitura, vazia se não houver).
+     */
+    public Set<T> buscar(String valor) {
+        Set<T> itens = entradas.get(chave(valor));
+        return itens == null ? Collections.emptySet() : Collections.unmodifiableSet(itens);
+    }
+
+    public void limpar() {
+        entradas.clear();
+    }
+
+    private static String chave(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        return ChaveUtil.normalizar(valor.trim());
+    }
+}
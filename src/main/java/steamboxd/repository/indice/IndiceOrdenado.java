@@ -0,0 +1,128 @@
+package steamboxd.repository.indice;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Índice ordenado de um atributo numérico: valor → itens, em ordem de valor.
+ *
+ * <p>Responde a consultas por intervalo (O(log n) para achar o início, e
+ * depois só os itens do intervalo são visitados) e permite percorrer os
+ * itens já ordenados, sem ordenar a lista a cada consulta.</p>
+ *
+ * <p>O valor é lido do item no momento da inclusão e no da remoção, então
+ * o atributo só pode mudar entre um {@link #desindexar} e um
+ * {@link #indexar} (ver {@code RepositorioIndexado#atualizar}).</p>
+ *
+ * <p>No modo concorrente as entradas ficam em um
+ * {@link ConcurrentSkipListMap} e os conjuntos são concorrentes, então
+ * leituras não bloqueiam e nada é travado. Como o mapa não cria e descarta
+ * entradas de forma atômica, um valor que fica sem itens continua como
+ * entrada vazia (são poucos: preços, anos e notas se repetem muito).</p>
+ *
+ * @param <T> O tipo dos itens indexados.
+ */
+public class IndiceOrdenado<T> {
+
+    private final NavigableMap<Double, Set<T>> entradas;
+    private final ToDoubleFunction<? super T> extrator;
+    private final boolean concorrente;
+
+    public IndiceOrdenado(ToDoubleFunction<? super T> extrator) {
+        this(extrator, false);
+    }
+
+    /**
+     * @param concorrente Se o índice será alterado por várias threads.
+     */
+    public IndiceOrdenado(ToDoubleFunction<? super T> extrator, boolean concorrente) {
+        this.extrator = extrator;
+        this.concorrente = concorrente;
+        this.entradas = concorrente ? new ConcurrentSkipListMap<>() : new TreeMap<>();
+    }
+
+    public void indexar(T item) {
+        entradas.computeIfAbsent(chave(item),
+                k -> concorrente ? ConcurrentHashMap.newKeySet() : new LinkedHashSet<>()).add(item);
+    }
+
+    public void desindexar(T item) {
+        Double valor = chave(item);
+        Set<T> itens = entradas.get(valor);
+        if (itens != null) {
+            itens.remove(item);
+            if (itens.isEmpty() && !concorrente) {
+                entradas.remove(valor);
+            }
+        }
+    }
+
+    public void limpar() {
+        entradas.clear();
+    }
+
+    /**
+     * Itens com valor entre {@code minimo} e {@code maximo} (inclusive),
+     * percorridos em ordem de valor. A visão é preguiçosa: nada é copiado.
+     *
+     * @param minimo O menor valor aceito, ou {@code null} para sem limite.
+     * @param maximo O maior valor aceito, ou {@code null} para sem limite.
+     * @param decrescente Se a ordem é do maior para o menor.
+     */
+    public Iterable<T> intervalo(Double minimo, Double maximo, boolean decrescente) {
+        if (minimo != null && maximo != null && minimo > maximo) {
+            return Collections.emptyList();
+        }
+        NavigableMap<Double, Set<T>> faixa = entradas;
+        if (minimo != null) {
+            faixa = faixa.tailMap(minimo, true);
+        }
+        if (maximo != null) {
+            faixa = faixa.headMap(maximo, true);
+        }
+        NavigableMap<Double, Set<T>> ordenada = decrescente ? faixa.descendingMap() : faixa;
+        return () -> new Achatador<>(ordenada.values().iterator());
+    }
+
+    private Double chave(T item) {
+        // Soma zero para que -0.0 e 0.0 caiam na mesma entrada
+        return extrator.applyAsDouble(item) + 0.0;
+    }
+
+    /**
+     * Percorre os conjuntos de cada valor como uma única sequência.
+     */
+    private static class Achatador<T> implements Iterator<T> {
+
+        private final Iterator<Set<T>> conjuntos;
+        private Iterator<T> atual = Collections.emptyIterator();
+
+        Achatador(Iterator<Set<T>> conjuntos) {
+            this.conjuntos = conjuntos;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!atual.hasNext() && conjuntos.hasNext()) {
+                atual = conjuntos.next().iterator();
+            }
+            return atual.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return atual.next();
+        }
+    }
+}
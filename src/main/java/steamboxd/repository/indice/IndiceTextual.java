@@ -0,0 +1,447 @@
+package steamboxd.repository.indice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import steamboxd.model.Jogo;
+import steamboxd.model.Midia;
+import steamboxd.repository.OuvinteCatalogo;
+import steamboxd.util.ChaveUtil;
+
+/**
+ * Índice invertido de texto completo do catálogo, com ranqueamento BM25.
+ *
+ * <p>Cada mídia vira um documento com as palavras (normalizadas por
+ * {@link ChaveUtil#normalizar(String)}) do título, da desenvolvedora, dos
+ * gêneros e das plataformas. Uma palavra do título conta
+ * {@value #PESO_TITULO} vezes, da desenvolvedora {@value #PESO_DESENVOLVEDORA}
+ * e de gêneros e plataformas uma vez, então "souls" no título pesa mais
+ * que "souls" em um gênero. Para cada palavra há uma lista dos documentos
+ * (em ordem crescente de id) com a frequência dela em cada um.</p>
+ *
+ * <p>A busca percorre as listas das palavras da consulta ao mesmo tempo,
+ * documento a documento, e guarda os {@code k} melhores. Cada palavra tem
+ * um teto de pontuação; quando a soma dos tetos das palavras mais raras
+ * já não alcança o pior dos {@code k} melhores, essas listas deixam de
+ * gerar candidatos e só são consultadas (por busca binária) para os
+ * documentos que ainda podem entrar no resultado.</p>
+ *
+ * <p>Edições feitas por {@code atualizar} chegam por
+ * {@link #aoAlterar(Midia)}: só o documento da mídia editada é trocado.
+ * Documentos trocados ou removidos só são marcados, e as listas são limpas
+ * quando os marcados passam de um quarto do total. É mantido pelos
+ * repositórios como {@link OuvinteCatalogo} e deve ser usado por uma única
+ * thread.</p>
+ */
+public class IndiceTextual implements OuvinteCatalogo {
+
+    public static final int PESO_TITULO = 3;
+    public static final int PESO_DESENVOLVEDORA = 2;
+
+    // Parâmetros usuais do BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final double PROPORCAO_LIMPEZA = 0.25;
+    private static final int MINIMO_LIMPEZA = 1024;
+
+    private final Map<String, Postagens> postagens = new HashMap<>();
+    private final Map<Midia, Integer> idPorMidia = new IdentityHashMap<>();
+
+    // Documentos por id (mídia nula = documento removido)
+    private Midia[] midias = new Midia[16];
+    private String[][] termos = new String[16][];
+    private int[][] frequencias = new int[16][];
+    private int[] comprimento = new int[16];
+    private int proximoId;
+    private int removidos;
+
+    // Documentos vivos e soma dos seus comprimentos (para o comprimento médio)
+    private int vivos;
+    private long somaComprimentos;
+
+    /**
+     * Lista de documentos (ids em ordem crescente) que contêm uma palavra.
+     */
+    private static final class Postagens {
+
+        private int[] ids = new int[4];
+        private int[] frequencias = new int[4];
+        private int tamanho;
+        // Documentos vivos na lista; maior frequência e menor comprimento já vistos
+        private int vivos;
+        private int maiorFrequencia;
+        private int menorComprimento = Integer.MAX_VALUE;
+
+        void adicionar(int id, int frequencia, int comprimento) {
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho * 2);
+                frequencias = Arrays.copyOf(frequencias, tamanho * 2);
+            }
+            ids[tamanho] = id;
+            frequencias[tamanho] = frequencia;
+            tamanho++;
+            vivos++;
+            maiorFrequencia = Math.max(maiorFrequencia, frequencia);
+            menorComprimento = Math.min(menorComprimento, comprimento);
+        }
+    }
+
+    /**
+     * Um documento no meio da busca (o pior fica no topo da fila).
+     */
+    private static final class Candidato {
+
+        private final int id;
+        private final double pontuacao;
+
+        Candidato(int id, double pontuacao) {
+            this.id = id;
+            this.pontuacao = pontuacao;
+        }
+    }
+
+    // --- OuvinteCatalogo ---
+
+    @Override
+    public void aoIncluir(Midia midia) {
+        idPorMidia.put(midia, novoDocumento(midia));
+    }
+
+    @Override
+    public void aoExcluir(Midia midia) {
+        Integer id = idPorMidia.remove(midia);
+        if (id != null) {
+            removerDocumento(id);
+            talvezLimpar();
+        }
+    }
+
+    @Override
+    public void aoAlterar(Midia midia) {
+        Integer id = idPorMidia.get(midia);
+        if (id == null) {
+            return;
+        }
+        Map<String, Integer> contagem = contarTermos(midia);
+        if (mesmosTermos(id, contagem)) {
+            return;
+        }
+        removerDocumento(id);
+        idPorMidia.put(midia, novoDocumento(midia, contagem));
+        talvezLimpar();
+    }
+
+    /**
+     * @return Quantas mídias estão indexadas.
+     */
+    public int tamanho() {
+        return vivos;
+    }
+
+    // --- Busca ---
+
+    /**
+     * Busca as mídias mais relevantes para as palavras da consulta.
+     *
+     * @param consulta As palavras buscadas (ex: "souls ps5 fromsoftware").
+     * @param limite O número máximo de resultados.
+     * @return As mídias com pelo menos uma das palavras, da maior para a
+     * menor pontuação (empates em ordem alfabética).
+     */
+    public List<ResultadoRelevancia> buscar(String consulta, int limite) {
+        List<ResultadoRelevancia> resultado = new ArrayList<>();
+        if (consulta == null || limite <= 0 || vivos == 0) {
+            return resultado;
+        }
+
+        // Palavras da consulta que existem em algum documento vivo
+        List<Postagens> listasConsulta = new ArrayList<>();
+        for (String termo : new LinkedHashSet<>(tokens(ChaveUtil.normalizar(consulta)))) {
+            Postagens lista = postagens.get(termo);
+            if (lista != null && lista.vivos > 0) {
+                listasConsulta.add(lista);
+            }
+        }
+        int m = listasConsulta.size();
+        if (m == 0) {
+            return resultado;
+        }
+
+        double comprimentoMedio = somaComprimentos / (double) vivos;
+        double[] idfs = new double[m];
+        double[] teto = new double[m];
+        Integer[] ordem = new Integer[m];
+        for (int i = 0; i < m; i++) {
+            Postagens lista = listasConsulta.get(i);
+            double n = lista.vivos;
+            idfs[i] = Math.log(1 + (vivos - n + 0.5) / (n + 0.5));
+            // Maior frequência no menor documento: ninguém da lista passa disso
+            double f = lista.maiorFrequencia;
+            double normalizacao = K1 * (1 - B + B * lista.menorComprimento / comprimentoMedio);
+            teto[i] = idfs[i] * f * (K1 + 1) / (f + normalizacao);
+            ordem[i] = i;
+        }
+        // Do menor teto para o maior; acumulado[i] = soma dos tetos de 0 a i
+        Arrays.sort(ordem, Comparator.comparingDouble(i -> teto[i]));
+        Postagens[] listas = new Postagens[m];
+        double[] idf = new double[m];
+        double[] acumulado = new double[m];
+        for (int i = 0; i < m; i++) {
+            listas[i] = listasConsulta.get(ordem[i]);
+            idf[i] = idfs[ordem[i]];
+            acumulado[i] = teto[ordem[i]] + (i > 0 ? acumulado[i - 1] : 0);
+        }
+
+        PriorityQueue<Candidato> melhores = new PriorityQueue<>(
+                Comparator.comparingDouble((Candidato c) -> c.pontuacao)
+                        .thenComparing((Candidato c) -> midias[c.id].getChave(), Comparator.reverseOrder()));
+        int[] cursor = new int[m];
+        // Listas de 0 a essencial-1 não geram candidatos, só completam pontuações
+        int essencial = 0;
+        double limiar = 0;
+
+        while (essencial < m) {
+            int id = Integer.MAX_VALUE;
+            for (int i = essencial; i < m; i++) {
+                if (cursor[i] < listas[i].tamanho) {
+                    id = Math.min(id, listas[i].ids[cursor[i]]);
+                }
+            }
+            if (id == Integer.MAX_VALUE) {
+                break;
+            }
+
+            double pontuacao = 0;
+            for (int i = essencial; i < m; i++) {
+                Postagens lista = listas[i];
+                if (cursor[i] < lista.tamanho && lista.ids[cursor[i]] == id) {
+                    pontuacao += parcela(idf[i], lista.frequencias[cursor[i]], id, comprimentoMedio);
+                    cursor[i]++;
+                }
+            }
+            if (midias[id] == null) {
+                continue;
+            }
+            for (int i = essencial - 1; i >= 0 && pontuacao + acumulado[i] >= limiar; i--) {
+                Postagens lista = listas[i];
+                int posicao = Arrays.binarySearch(lista.ids, cursor[i], lista.tamanho, id);
+                if (posicao >= 0) {
+                    pontuacao += parcela(idf[i], lista.frequencias[posicao], id, comprimentoMedio);
+                    cursor[i] = posicao + 1;
+                } else {
+                    cursor[i] = -posicao - 1;
+                }
+            }
+
+            if (melhores.size() == limite && pontuacao < limiar) {
+                continue;
+            }
+            Candidato candidato = new Candidato(id, pontuacao);
+            if (melhores.size() < limite) {
+                melhores.add(candidato);
+            } else if (melhores.comparator().compare(candidato, melhores.peek()) > 0) {
+                melhores.poll();
+                melhores.add(candidato);
+            } else {
+                continue;
+            }
+            if (melhores.size() == limite) {
+                limiar = melhores.peek().pontuacao;
+                while (essencial < m && acumulado[essencial] < limiar) {
+                    essencial++;
+                }
+            }
+        }
+
+        while (!melhores.isEmpty()) {
+            Candidato candidato = melhores.poll();
+            resultado.add(new ResultadoRelevancia(midias[candidato.id], candidato.pontuacao));
+        }
+        Collections.reverse(resultado);
+        return resultado;
+    }
+
+    private double parcela(double idf, int frequencia, int id, double comprimentoMedio) {
+        double normalizacao = K1 * (1 - B + B * comprimento[id] / comprimentoMedio);
+        return idf * frequencia * (K1 + 1) / (frequencia + normalizacao);
+    }
+
+    // --- Documentos ---
+
+    private int novoDocumento(Midia midia) {
+        return novoDocumento(midia, contarTermos(midia));
+    }
+
+    private int novoDocumento(Midia midia, Map<String, Integer> contagem) {
+        if (proximoId == midias.length) {
+            int capacidade = midias.length * 2;
+            midias = Arrays.copyOf(midias, capacidade);
+            termos = Arrays.copyOf(termos, capacidade);
+            frequencias = Arrays.copyOf(frequencias, capacidade);
+            comprimento = Arrays.copyOf(comprimento, capacidade);
+        }
+        int id = proximoId++;
+        int total = 0;
+        for (int frequencia : contagem.values()) {
+            total += frequencia;
+        }
+        String[] termosDoc = new String[contagem.size()];
+        int[] frequenciasDoc = new int[contagem.size()];
+        int k = 0;
+        for (Map.Entry<String, Integer> entrada : contagem.entrySet()) {
+            termosDoc[k] = entrada.getKey();
+            frequenciasDoc[k] = entrada.getValue();
+            postagens.computeIfAbsent(entrada.getKey(), t -> new Postagens()).adicionar(id, entrada.getValue(), total);
+            k++;
+        }
+        midias[id] = midia;
+        termos[id] = termosDoc;
+        frequencias[id] = frequenciasDoc;
+        comprimento[id] = total;
+        vivos++;
+        somaComprimentos += total;
+        return id;
+    }
+
+    private void removerDocumento(int id) {
+        if (midias[id] == null) {
+            return;
+        }
+        for (String termo : termos[id]) {
+            postagens.get(termo).vivos--;
+        }
+        midias[id] = null;
+        termos[id] = null;
+        frequencias[id] = null;
+        vivos--;
+        somaComprimentos -= comprimento[id];
+        removidos++;
+    }
+
+    private boolean mesmosTermos(int id, Map<String, Integer> contagem) {
+        String[] termosDoc = termos[id];
+        if (termosDoc.length != contagem.size()) {
+            return false;
+        }
+        for (int k = 0; k < termosDoc.length; k++) {
+            Integer frequencia = contagem.get(termosDoc[k]);
+            if (frequencia == null || frequencia != frequencias[id][k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Renumera os documentos vivos e tira os removidos das listas.
+     * Os ids mantêm a ordem, então as listas continuam ordenadas.
+     */
+    private void talvezLimpar() {
+        if (removidos < MINIMO_LIMPEZA || removidos < proximoId * PROPORCAO_LIMPEZA) {
+            return;
+        }
+        int[] novoId = new int[proximoId];
+        int novos = 0;
+        for (int id = 0; id < proximoId; id++) {
+            if (midias[id] == null) {
+                novoId[id] = -1;
+                continue;
+            }
+            novoId[id] = novos;
+            midias[novos] = midias[id];
+            termos[novos] = termos[id];
+            frequencias[novos] = frequencias[id];
+            comprimento[novos] = comprimento[id];
+            novos++;
+        }
+        Arrays.fill(midias, novos, proximoId, null);
+        Arrays.fill(termos, novos, proximoId, null);
+        Arrays.fill(frequencias, novos, proximoId, null);
+        proximoId = novos;
+        removidos = 0;
+
+        Iterator<Postagens> listas = postagens.values().iterator();
+        while (listas.hasNext()) {
+            Postagens lista = listas.next();
+            int tamanho = 0;
+            int maior = 0;
+            int menor = Integer.MAX_VALUE;
+            for (int j = 0; j < lista.tamanho; j++) {
+                int id = novoId[lista.ids[j]];
+                if (id >= 0) {
+                    lista.ids[tamanho] = id;
+                    lista.frequencias[tamanho] = lista.frequencias[j];
+                    maior = Math.max(maior, lista.frequencias[j]);
+                    menor = Math.min(menor, comprimento[id]);
+                    tamanho++;
+                }
+            }
+            lista.tamanho = tamanho;
+            lista.maiorFrequencia = maior;
+            lista.menorComprimento = menor;
+            if (tamanho == 0) {
+                listas.remove();
+            }
+        }
+        idPorMidia.replaceAll((midia, id) -> novoId[id]);
+    }
+
+    // --- Palavras ---
+
+    /**
+     * Conta as palavras de uma mídia, já com o peso de cada campo.
+     */
+    private static Map<String, Integer> contarTermos(Midia midia) {
+        Map<String, Integer> contagem = new HashMap<>();
+        contar(contagem, midia.getChave(), PESO_TITULO);
+        if (midia instanceof Jogo) {
+            contar(contagem, ChaveUtil.normalizar(((Jogo) midia).getDesenvolvedora()), PESO_DESENVOLVEDORA);
+        }
+        for (String genero : midia.visaoGeneros()) {
+            contar(contagem, ChaveUtil.normalizar(genero), 1);
+        }
+        for (String plataforma : midia.visaoPlataformas()) {
+            contar(contagem, ChaveUtil.normalizar(plataforma), 1);
+        }
+        return contagem;
+    }
+
+    private static void contar(Map<String, Integer> contagem, String texto, int peso) {
+        for (String termo : tokens(texto)) {
+            contagem.merge(termo, peso, Integer::sum);
+        }
+    }
+
+    /**
+     * Palavras de um texto já normalizado (espaços e pontuação separam as palavras).
+     */
+    static List<String> tokens(String texto) {
+        List<String> tokens = new ArrayList<>();
+        if (texto == null) {
+            return tokens;
+        }
+        int i = 0;
+        while (i < texto.length()) {
+            while (i < texto.length() && !Character.isLetterOrDigit(texto.charAt(i))) {
+                i++;
+            }
+            int inicio = i;
+            while (i < texto.length() && Character.isLetterOrDigit(texto.charAt(i))) {
+                i++;
+            }
+            if (i > inicio) {
+                tokens.add(texto.substring(inicio, i));
+            }
+        }
+        return tokens;
+    }
+}
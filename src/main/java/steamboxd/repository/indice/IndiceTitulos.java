@@ -0,0 +1,236 @@
+package steamboxd.repository.indice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import steamboxd.model.Midia;
+import steamboxd.repository.OuvinteCatalogo;
+import steamboxd.util.ChaveUtil;
+
+/**
+ * Índice de prefixos dos títulos do catálogo (jogos e DLCs juntos),
+ * usado para sugerir títulos enquanto o usuário digita.
+ *
+ * <p>É uma árvore de prefixos compactada (radix): cada aresta guarda um
+ * trecho de título, e só existem nós onde os títulos se separam. Achar o
+ * prefixo custa O(tamanho do prefixo) e as {@code k} primeiras sugestões
+ * custam O(k × tamanho do título), independente do tamanho do catálogo.</p>
+ *
+ * <p>Os títulos são comparados sem acentos e sem diferenciar maiúsculas
+ * de minúsculas ("acao" encontra "Ação"). As sugestões saem em ordem
+ * alfabética dessa forma normalizada.</p>
+ *
+ * <p>É mantido pelos repositórios como {@link OuvinteCatalogo} e, assim
+ * como eles, deve ser usado por uma única thread.</p>
+ */
+public class IndiceTitulos implements OuvinteCatalogo {
+
+    private final No raiz = new No("");
+    private int tamanho;
+
+    private static final class No {
+
+        private String rotulo;
+        private char[] iniciais = new char[0];
+        private No[] filhos = new No[0];
+        private int quantidadeFilhos;
+        // Mídias cujo título termina neste nó (nulo se nenhuma)
+        private List<Midia> midias;
+
+        No(String rotulo) {
+            this.rotulo = rotulo;
+        }
+
+        /**
+         * Busca binária pelo filho que começa com o caractere.
+         * @return A posição, ou {@code -(posição de inserção) - 1}.
+         */
+        int buscarFilho(char inicial) {
+            return Arrays.binarySearch(iniciais, 0, quantidadeFilhos, inicial);
+        }
+
+        void inserirFilho(int posicao, No filho) {
+            if (quantidadeFilhos == filhos.length) {
+                int capacidade = Math.max(2, quantidadeFilhos * 2);
+                iniciais = Arrays.copyOf(iniciais, capacidade);
+                filhos = Arrays.copyOf(filhos, capacidade);
+            }
+            System.arraycopy(iniciais, posicao, iniciais, posicao + 1, quantidadeFilhos - posicao);
+            System.arraycopy(filhos, posicao, filhos, posicao + 1, quantidadeFilhos - posicao);
+            iniciais[posicao] = filho.rotulo.charAt(0);
+            filhos[posicao] = filho;
+            quantidadeFilhos++;
+        }
+
+        void removerFilho(int posicao) {
+            quantidadeFilhos--;
+            System.arraycopy(iniciais, posicao + 1, iniciais, posicao, quantidadeFilhos - posicao);
+            System.arraycopy(filhos, posicao + 1, filhos, posicao, quantidadeFilhos - posicao);
+            filhos[quantidadeFilhos] = null;
+        }
+    }
+
+    @Override
+    public void aoIncluir(Midia midia) {
+        inserir(midia.getChave(), midia);
+        tamanho++;
+    }
+
+    @Override
+    public void aoExcluir(Midia midia) {
+        if (remover(midia.getChave(), midia)) {
+            tamanho--;
+        }
+    }
+
+    /**
+     * @return Quantas mídias estão indexadas.
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Sugere mídias cujo título começa com o prefixo.
+     *
+     * @param prefixo O que foi digitado até agora.
+     * @param limite O número máximo de sugestões.
+     * @return As sugestões em ordem alfabética (vazia se o prefixo for vazio).
+     */
+    public List<Midia> completar(String prefixo, int limite) {
+        List<Midia> sugestoes = new ArrayList<>();
+        String chave = chave(prefixo);
+        if (chave == null || chave.isEmpty() || limite <= 0) {
+            return sugestoes;
+        }
+
+        No no = raiz;
+        int posicao = 0;
+        while (posicao < chave.length()) {
+            int i = no.buscarFilho(chave.charAt(posicao));
+            if (i < 0) {
+                return sugestoes;
+            }
+            No filho = no.filhos[i];
+            int comum = prefixoComum(filho.rotulo, chave, posicao);
+            if (posicao + comum == chave.length()) {
+                // O prefixo termina nesta aresta: toda a subárvore serve
+                no = filho;
+                break;
+            }
+            if (comum < filho.rotulo.length()) {
+                return sugestoes;
+            }
+            no = filho;
+            posicao += comum;
+        }
+
+        coletar(no, limite, sugestoes);
+        return sugestoes;
+    }
+
+    /**
+     * Percorre a subárvore em ordem alfabética até juntar o limite.
+     */
+    private static void coletar(No no, int limite, List<Midia> sugestoes) {
+        if (no.midias != null) {
+            for (Midia midia : no.midias) {
+                if (sugestoes.size() >= limite) {
+                    return;
+                }
+                sugestoes.add(midia);
+            }
+        }
+        for (int i = 0; i < no.quantidadeFilhos && sugestoes.size() < limite; i++) {
+            coletar(no.filhos[i], limite, sugestoes);
+        }
+    }
+
+    private void inserir(String chave, Midia midia) {
+        No no = raiz;
+        int posicao = 0;
+        while (posicao < chave.length()) {
+            int i = no.buscarFilho(chave.charAt(posicao));
+            if (i < 0) {
+                No folha = new No(chave.substring(posicao));
+                folha.midias = new ArrayList<>(1);
+                folha.midias.add(midia);
+                no.inserirFilho(-i - 1, folha);
+                return;
+            }
+            No filho = no.filhos[i];
+            int comum = prefixoComum(filho.rotulo, chave, posicao);
+            if (comum < filho.rotulo.length()) {
+                // Divide a aresta no ponto em que os títulos se separam
+                No meio = new No(filho.rotulo.substring(0, comum));
+                filho.rotulo = filho.rotulo.substring(comum);
+                meio.inserirFilho(0, filho);
+                no.filhos[i] = meio;
+                filho = meio;
+            }
+            no = filho;
+            posicao += comum;
+        }
+        if (no.midias == null) {
+            no.midias = new ArrayList<>(1);
+        }
+        no.midias.add(midia);
+    }
+
+    private boolean remover(String chave, Midia midia) {
+        List<No> caminho = new ArrayList<>();
+        List<Integer> posicoes = new ArrayList<>();
+        No no = raiz;
+        int posicao = 0;
+        while (posicao < chave.length()) {
+            int i = no.buscarFilho(chave.charAt(posicao));
+            if (i < 0 || !chave.startsWith(no.filhos[i].rotulo, posicao)) {
+                return false;
+            }
+            caminho.add(no);
+            posicoes.add(i);
+            no = no.filhos[i];
+            posicao += no.rotulo.length();
+        }
+        if (no.midias == null || !no.midias.remove(midia)) {
+            return false;
+        }
+        if (no.midias.isEmpty()) {
+            no.midias = null;
+        }
+
+        // Desfaz nós que ficaram vazios ou com um único filho
+        for (int k = caminho.size() - 1; k >= 0 && no.midias == null; k--) {
+            No pai = caminho.get(k);
+            int i = posicoes.get(k);
+            if (no.quantidadeFilhos == 0) {
+                pai.removerFilho(i);
+            } else if (no.quantidadeFilhos == 1) {
+                No unico = no.filhos[0];
+                unico.rotulo = no.rotulo + unico.rotulo;
+                pai.filhos[i] = unico;
+                break;
+            } else {
+                break;
+            }
+            no = pai;
+            if (no == raiz) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    private static int prefixoComum(String rotulo, String chave, int inicio) {
+        int limite = Math.min(rotulo.length(), chave.length() - inicio);
+        int i = 0;
+        while (i < limite && rotulo.charAt(i) == chave.charAt(inicio + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String chave(String titulo) {
+        return ChaveUtil.normalizar(titulo);
+    }
+}
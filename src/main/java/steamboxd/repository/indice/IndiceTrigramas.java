@@ -0,0 +1,655 @@
+package steamboxd.repository.indice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import steamboxd.model.Jogo;
+import steamboxd.model.Midia;
+import steamboxd.repository.OuvinteCatalogo;
+import steamboxd.util.ChaveUtil;
+
+/**
+ * Índice de trigramas para busca aproximada de títulos e desenvolvedoras
+ * ("Hollow Night" encontra "Hollow Knight", "Spiderman" encontra "Spider-Man").
+ *
+ * <p>Cada texto (normalizado por {@link ChaveUtil#normalizar(String)}) é
+ * quebrado em palavras e cada palavra, com um espaço antes e um depois,
+ * em trigramas (sequências de 3 caracteres). Um trigrama como "  h" (só a
+ * letra inicial) diria pouco e teria listas enormes, por isso a margem é
+ * de um espaço só. A semelhança entre a busca e
+ * um texto é a proporção de trigramas em comum:
+ * {@code comuns / (trigramas da busca + trigramas do texto - comuns)}.</p>
+ *
+ * <p>A busca não compara a consulta com todos os textos. As entradas são
+ * agrupadas pelo número de trigramas, cada grupo com a sua numeração e as
+ * suas listas, e a busca percorre os grupos do mais promissor para o menos
+ * promissor: um texto de {@code t} trigramas tem semelhança de no máximo
+ * {@code min(q, t) / max(q, t)} com uma busca de {@code q} trigramas, então
+ * os grupos que não alcançam a semelhança mínima {@code s} nem são
+ * visitados. No grupo {@code t}, o texto precisa ter pelo menos
+ * {@code o = ceil(s × (q + t) / (1 + s))} trigramas em comum, e por isso
+ * aparece obrigatoriamente em uma das {@code q - o + 1} listas mais curtas
+ * do grupo. Só essas listas geram candidatos, e só enquanto somam até
+ * {@value #MAXIMO_CANDIDATOS} ids: as listas que passariam disso (trigramas
+ * muito comuns no grupo) ficam para a conferência. Nas listas restantes,
+ * cada lista é percorrida ou consultada candidato a candidato (o que custar
+ * menos), e saem os candidatos que não alcançam mais {@code o}. Como os ids
+ * de um grupo são próximos, a contagem dos candidatos cabe no cache.</p>
+ *
+ * <p>O limite de candidatos torna a busca aproximada: um texto que só tem
+ * em comum com a busca trigramas muito comuns pode ficar de fora, mesmo
+ * com semelhança suficiente. Na prática são os resultados de semelhança
+ * baixa, empatados entre muitos textos parecidos; o mais parecido quase
+ * sempre é encontrado. As consultas usam um mapa de bits nas listas densas
+ * (um bit por id do grupo, no máximo 32 vezes o número de ids, ou seja,
+ * não mais que a própria lista) e, nas outras, uma busca binária perto da
+ * posição estimada pelo valor do id.</p>
+ *
+ * <p>Como só os {@code limite} melhores interessam, a semelhança mínima
+ * sobe para a do pior dos {@code limite} melhores já encontrados (guardados
+ * em um heap): os grupos e os candidatos seguintes são filtrados com esse
+ * valor.</p>
+ *
+ * <p>Entradas removidas só são marcadas, e as listas de um grupo são limpas
+ * quando as marcadas passam de um quarto do grupo. É mantido pelos
+ * repositórios como {@link OuvinteCatalogo} e deve ser usado por uma única
+ * thread.</p>
+ */
+public class IndiceTrigramas implements OuvinteCatalogo {
+
+    private static final double PROPORCAO_LIMPEZA = 0.25;
+    private static final int MINIMO_LIMPEZA = 1024;
+    public static long T_TRI, T_BUSCA, T_ADD;
+    private static final Postagens VAZIA = new Postagens();
+    private static final Postagens[] NENHUMA = new Postagens[0];
+    // Quantas postagens um grupo varre, no máximo, para gerar candidatos
+    private static final int MAXIMO_CANDIDATOS = 512;
+    // Listas a partir deste tamanho, com pelo menos um id a cada 32, ganham mapa de bits
+    private static final int MINIMO_MAPA = 64;
+    private static final int DENSIDADE_MAPA = 32;
+    // Espalha os trigramas (que diferem quase só nos bits baixos) na chave do mapa
+    private static final long ESPALHAMENTO = 0x9E3779B97F4A7C15L;
+
+    // Listas de cada trigrama, por grupo (número de trigramas da entrada)
+    private final Map<Long, Postagens[]> postagens = new HashMap<>();
+    // Entradas de cada número de trigramas (nulo = grupo ainda vazio)
+    private Grupo[] grupos = new Grupo[0];
+    // Entradas de cada mídia: {grupo e id do título, grupo e id da desenvolvedora}; grupo 0 = sem entrada
+    private final Map<Midia, int[]> entradasPorMidia = new IdentityHashMap<>();
+
+    // Trigramas em comum por id do grupo (zero = não é candidato) e os candidatos de uma busca
+    private int[] contagem = new int[16];
+    private int[] candidatos = new int[16];
+
+    private double semelhancaMinima = 0.3;
+
+    /**
+     * Lista de ids (em ordem crescente) das entradas de um grupo que têm um
+     * trigrama.
+     */
+    private static final class Postagens {
+
+        private int[] ids = new int[4];
+        private int tamanho;
+        // Um bit por id, só nas listas densas (onde não ocupa mais que os ids)
+        private long[] mapa;
+
+        void adicionar(int id) {
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho * 2);
+            }
+            ids[tamanho++] = id;
+            if (mapa == null) {
+                montarMapa();
+            } else if (!densa()) {
+                mapa = null;
+            } else {
+                if (id >>> 6 >= mapa.length) {
+                    mapa = Arrays.copyOf(mapa, Math.max((id >>> 6) + 1, mapa.length + mapa.length / 2));
+                }
+                mapa[id >>> 6] |= 1L << id;
+            }
+        }
+
+        private boolean densa() {
+            return (long) tamanho * DENSIDADE_MAPA > ids[tamanho - 1];
+        }
+
+        /**
+         * Monta (ou descarta) o mapa de bits conforme a densidade atual.
+         */
+        void montarMapa() {
+            mapa = null;
+            if (tamanho >= MINIMO_MAPA && densa()) {
+                mapa = new long[(ids[tamanho - 1] >>> 6) + 1];
+                for (int j = 0; j < tamanho; j++) {
+                    mapa[ids[j] >>> 6] |= 1L << ids[j];
+                }
+            }
+        }
+
+        /**
+         * Os ids de uma lista ficam espalhados por todo o grupo, então a
+         * posição de {@code id} é estimada pela proporção entre ele e o
+         * último id; a busca binária fica restrita ao trecho em volta da
+         * estimativa, achado em saltos que dobram.
+         */
+        boolean contem(int id) {
+            if (mapa != null) {
+                return id >>> 6 < mapa.length && (mapa[id >>> 6] & 1L << id) != 0;
+            }
+            if (tamanho == 0 || id > ids[tamanho - 1]) {
+                return false;
+            }
+            int estimativa = (int) ((long) id * (tamanho - 1) / Math.max(1, ids[tamanho - 1]));
+            int inicio = estimativa;
+            int fim = estimativa;
+            int salto = 1;
+            if (ids[estimativa] < id) {
+                while (fim < tamanho - 1 && ids[fim] < id) {
+                    inicio = fim + 1;
+                    fim = Math.min(tamanho - 1, fim + salto);
+                    salto <<= 1;
+                }
+            } else {
+                while (inicio > 0 && ids[inicio] > id) {
+                    fim = inicio - 1;
+                    inicio = Math.max(0, inicio - salto);
+                    salto <<= 1;
+                }
+            }
+            return Arrays.binarySearch(ids, inicio, fim + 1, id) >= 0;
+        }
+    }
+
+    /**
+     * As {@code limite} maiores semelhanças já aceitas em uma busca, em um
+     * heap de mínimo. Cada mídia entra uma vez, com a semelhança de quando foi
+     * aceita, então o mínimo nunca passa da semelhança do
+     * {@code limite}-ésimo melhor resultado.
+     */
+    private static final class Corte {
+
+        private final int limite;
+        private double[] heap;
+        private int tamanho;
+
+        Corte(int limite) {
+            this.limite = limite;
+            heap = new double[Math.min(limite, 16)];
+        }
+
+        /**
+         * @return A semelhança que um resultado precisa ter para entrar.
+         */
+        double minimo(double semelhancaMinima) {
+            return tamanho == limite ? Math.max(semelhancaMinima, heap[0]) : semelhancaMinima;
+        }
+
+        void registrar(double semelhanca) {
+            int i;
+            if (tamanho < limite) {
+                if (tamanho == heap.length) {
+                    heap = Arrays.copyOf(heap, (int) Math.min(limite, tamanho * 2L));
+                }
+                // Sobe a partir da nova folha
+                i = tamanho++;
+                while (i > 0 && heap[(i - 1) / 2] > semelhanca) {
+                    heap[i] = heap[(i - 1) / 2];
+                    i = (i - 1) / 2;
+                }
+            } else if (semelhanca > heap[0]) {
+                // Desce a partir da raiz, no lugar do menor
+                i = 0;
+                while (2 * i + 1 < tamanho) {
+                    int filho = 2 * i + 1;
+                    if (filho + 1 < tamanho && heap[filho + 1] < heap[filho]) {
+                        filho++;
+                    }
+                    if (heap[filho] >= semelhanca) {
+                        break;
+                    }
+                    heap[i] = heap[filho];
+                    i = filho;
+                }
+            } else {
+                return;
+            }
+            heap[i] = semelhanca;
+        }
+    }
+
+    /**
+     * Entradas com o mesmo número de trigramas, por id (mídia nula = entrada
+     * removida).
+     */
+    private static final class Grupo {
+
+        private Midia[] midias = new Midia[16];
+        private String[] textos = new String[16];
+        private boolean[] desenvolvedora = new boolean[16];
+        private int proximoId;
+        private int removidas;
+    }
+
+    // --- OuvinteCatalogo ---
+
+    @Override
+    public void aoIncluir(Midia midia) {
+        int[] entradas = new int[4];
+        novaEntrada(midia, midia.getChave(), false, entradas, 0);
+        String dev = chaveDesenvolvedora(midia);
+        if (dev != null) {
+            novaEntrada(midia, dev, true, entradas, 2);
+        }
+        entradasPorMidia.put(midia, entradas);
+    }
+
+    @Override
+    public void aoExcluir(Midia midia) {
+        int[] entradas = entradasPorMidia.remove(midia);
+        if (entradas != null) {
+            removerEntrada(entradas[0], entradas[1]);
+            removerEntrada(entradas[2], entradas[3]);
+            talvezLimpar(entradas[0]);
+            talvezLimpar(entradas[2]);
+        }
+    }
+
+    @Override
+    public void aoAlterar(Midia midia) {
+        int[] entradas = entradasPorMidia.get(midia);
+        if (entradas == null) {
+            return;
+        }
+        String dev = chaveDesenvolvedora(midia);
+        String atual = entradas[2] == 0 ? null : grupos[entradas[2]].textos[entradas[3]];
+        if (!Objects.equals(dev, atual)) {
+            int grupoAnterior = entradas[2];
+            removerEntrada(entradas[2], entradas[3]);
+            talvezLimpar(grupoAnterior);
+            entradas[2] = 0;
+            if (dev != null) {
+                novaEntrada(midia, dev, true, entradas, 2);
+            }
+        }
+    }
+
+    // --- Busca ---
+
+    /**
+     * Busca as mídias cujo título (ou desenvolvedora) se parece com o texto.
+     *
+     * @param texto O texto digitado, possivelmente com erros.
+     * @param limite O número máximo de resultados.
+     * @return Os resultados com semelhança de pelo menos
+     * {@link #getSemelhancaMinima()}, do mais parecido para o menos parecido
+     * (cada mídia aparece uma vez, com a sua melhor semelhança).
+     */
+    public List<ResultadoAproximado> buscar(String texto, int limite) {
+        List<ResultadoAproximado> resultado = new ArrayList<>();
+        long[] consulta = trigramas(ChaveUtil.normalizar(texto));
+        int q = consulta.length;
+        if (q == 0 || limite <= 0) {
+            return resultado;
+        }
+
+        Postagens[][] porGrupo = new Postagens[q][];
+        for (int i = 0; i < q; i++) {
+            porGrupo[i] = postagens.getOrDefault(consulta[i] * ESPALHAMENTO, NENHUMA);
+        }
+        Map<Midia, ResultadoAproximado> melhores = new IdentityHashMap<>();
+        long[] ordem = new long[q];
+        Postagens[] listas = new Postagens[q];
+        Corte corte = new Corte(limite);
+        // Próximos grupos a visitar, abaixo e acima de q
+        int menor = q;
+        int maior = q + 1;
+        while (true) {
+            double s = corte.minimo(semelhancaMinima);
+            double tetoMenor = menor > 0 ? menor / (double) q : 0;
+            double tetoMaior = maior < grupos.length ? q / (double) maior : 0;
+            int t;
+            if (tetoMenor >= tetoMaior) {
+                if (tetoMenor < s) {
+                    break;
+                }
+                t = menor--;
+            } else {
+                if (tetoMaior < s) {
+                    break;
+                }
+                t = maior++;
+            }
+            if (t < grupos.length && grupos[t] != null) {
+                buscarNoGrupo(porGrupo, t, corte, ordem, listas, melhores);
+            }
+        }
+
+        resultado.addAll(melhores.values());
+        resultado.sort(Comparator.comparingDouble(ResultadoAproximado::getSemelhanca).reversed()
+                .thenComparing(r -> r.getMidia().getChave()));
+        if (resultado.size() > limite) {
+            return new ArrayList<>(resultado.subList(0, limite));
+        }
+        return resultado;
+    }
+
+    /**
+     * Avalia as entradas de {@code t} trigramas, guardando em
+     * {@code melhores} as que chegam ao corte.
+     */
+    private void buscarNoGrupo(Postagens[][] porGrupo, int t, Corte corte, long[] ordem, Postagens[] listas,
+                               Map<Midia, ResultadoAproximado> melhores) {
+        int q = porGrupo.length;
+        double s = corte.minimo(semelhancaMinima);
+        // c / (q + t - c) >= s  <=>  c >= s × (q + t) / (1 + s)
+        int necessarios = Math.max(1, (int) Math.ceil(s * (q + t) / (1 + s) - 1e-9));
+        if (necessarios > Math.min(q, t)) {
+            return;
+        }
+        // Listas do grupo da mais curta para a mais longa: ordena (tamanho, posição)
+        int naoVazias = 0;
+        for (int i = 0; i < q; i++) {
+            Postagens lista = t < porGrupo[i].length ? porGrupo[i][t] : null;
+            int tamanho = lista == null ? 0 : lista.tamanho;
+            ordem[i] = (long) tamanho << 32 | i;
+            if (tamanho > 0) {
+                naoVazias++;
+            }
+        }
+        if (naoVazias < necessarios) {
+            return;
+        }
+        Arrays.sort(ordem);
+        for (int k = 0; k < q; k++) {
+            int i = (int) ordem[k];
+            Postagens lista = t < porGrupo[i].length ? porGrupo[i][t] : null;
+            listas[k] = lista == null ? VAZIA : lista;
+        }
+        int listasDeCandidatos = q - necessarios + 1;
+        Grupo grupo = grupos[t];
+        if (contagem.length < grupo.proximoId) {
+            contagem = new int[Math.max(grupo.proximoId, contagem.length * 2)];
+        }
+
+        // Candidatos: quem aparece em alguma das listas mais curtas (contagem
+        // zero = não é candidato; ao sair, a contagem volta a zero)
+        int quantidadeCandidatos = 0;
+        int geradas = 0;
+        int usadas = 0;
+        for (int i = 0; i < listasDeCandidatos; i++) {
+            Postagens lista = listas[i];
+            if (geradas + lista.tamanho > MAXIMO_CANDIDATOS) {
+                break;
+            }
+            geradas += lista.tamanho;
+            usadas++;
+            for (int j = 0; j < lista.tamanho; j++) {
+                int id = lista.ids[j];
+                if (contagem[id]++ == 0) {
+                    if (quantidadeCandidatos == candidatos.length) {
+                        candidatos = Arrays.copyOf(candidatos, quantidadeCandidatos * 2);
+                    }
+                    candidatos[quantidadeCandidatos++] = id;
+                }
+            }
+        }
+
+        // Conferência nas listas restantes
+        for (int i = usadas; i < q && quantidadeCandidatos > 0; i++) {
+            Postagens lista = listas[i];
+            int restantes = q - i - 1;
+            // Varre a lista ou consulta cada candidato nela, o que sair mais barato
+            boolean varrer = lista.mapa != null
+                    ? lista.tamanho * 4L <= quantidadeCandidatos
+                    : lista.tamanho <= 4L * quantidadeCandidatos * (32 - Integer.numberOfLeadingZeros(lista.tamanho));
+            if (varrer) {
+                for (int j = 0; j < lista.tamanho; j++) {
+                    int id = lista.ids[j];
+                    if (contagem[id] != 0) {
+                        contagem[id]++;
+                    }
+                }
+            } else {
+                for (int c = 0; c < quantidadeCandidatos; c++) {
+                    int id = candidatos[c];
+                    if (contagem[id] + restantes + 1 >= necessarios && lista.contem(id)) {
+                        contagem[id]++;
+                    }
+                }
+            }
+            if (necessarios - restantes <= 1) {
+                continue;
+            }
+            int vivos = 0;
+            for (int c = 0; c < quantidadeCandidatos; c++) {
+                int id = candidatos[c];
+                if (contagem[id] + restantes >= necessarios) {
+                    candidatos[vivos++] = id;
+                } else {
+                    contagem[id] = 0;
+                }
+            }
+            quantidadeCandidatos = vivos;
+        }
+
+        for (int c = 0; c < quantidadeCandidatos; c++) {
+            int id = candidatos[c];
+            int comuns = contagem[id];
+            contagem[id] = 0;
+            double semelhanca = comuns / (double) (q + t - comuns);
+            Midia midia = grupo.midias[id];
+            if (semelhanca < corte.minimo(semelhancaMinima) || midia == null) {
+                continue;
+            }
+            ResultadoAproximado anterior = melhores.get(midia);
+            if (anterior == null || anterior.getSemelhanca() < semelhanca) {
+                melhores.put(midia, new ResultadoAproximado(midia, semelhanca, grupo.desenvolvedora[id]));
+                if (anterior == null) {
+                    corte.registrar(semelhanca);
+                }
+            }
+        }
+    }
+
+    public double getSemelhancaMinima() {
+        return semelhancaMinima;
+    }
+
+    public void setSemelhancaMinima(double semelhancaMinima) {
+        if (semelhancaMinima <= 0 || semelhancaMinima > 1) {
+            throw new IllegalArgumentException("A semelhança mínima deve estar entre 0 (exclusive) e 1.");
+        }
+        this.semelhancaMinima = semelhancaMinima;
+    }
+
+    // --- Entradas ---
+
+    /**
+     * Cria a entrada e guarda o seu grupo e id em
+     * {@code entradas[posicao]} e {@code entradas[posicao + 1]}.
+     */
+    private void novaEntrada(Midia midia, String texto, boolean daDesenvolvedora, int[] entradas, int posicao) {
+        long x0 = System.nanoTime();
+        long[] trigramas = trigramas(texto);
+        T_TRI += System.nanoTime() - x0;
+        int t = trigramas.length;
+        if (t == 0) {
+            return;
+        }
+        if (t >= grupos.length) {
+            grupos = Arrays.copyOf(grupos, t + 1);
+        }
+        if (grupos[t] == null) {
+            grupos[t] = new Grupo();
+        }
+        Grupo grupo = grupos[t];
+        if (grupo.proximoId == grupo.midias.length) {
+            int capacidade = grupo.midias.length * 2;
+            grupo.midias = Arrays.copyOf(grupo.midias, capacidade);
+            grupo.textos = Arrays.copyOf(grupo.textos, capacidade);
+            grupo.desenvolvedora = Arrays.copyOf(grupo.desenvolvedora, capacidade);
+        }
+        int id = grupo.proximoId++;
+        grupo.midias[id] = midia;
+        grupo.textos[id] = texto;
+        grupo.desenvolvedora[id] = daDesenvolvedora;
+        for (long trigrama : trigramas) {
+            long x1 = System.nanoTime();
+            Postagens[] porGrupo = postagens.getOrDefault(trigrama * ESPALHAMENTO, NENHUMA);
+            long x2 = System.nanoTime();
+            T_BUSCA += x2 - x1;
+            if (porGrupo.length <= t) {
+                porGrupo = Arrays.copyOf(porGrupo, t + 1);
+                postagens.put(trigrama * ESPALHAMENTO, porGrupo);
+            }
+            if (porGrupo[t] == null) {
+                porGrupo[t] = new Postagens();
+            }
+            porGrupo[t].adicionar(id);
+            T_ADD += System.nanoTime() - x2;
+        }
+        entradas[posicao] = t;
+        entradas[posicao + 1] = id;
+    }
+
+    private void removerEntrada(int t, int id) {
+        if (t == 0) {
+            return;
+        }
+        Grupo grupo = grupos[t];
+        if (grupo.midias[id] != null) {
+            grupo.midias[id] = null;
+            grupo.textos[id] = null;
+            grupo.removidas++;
+        }
+    }
+
+    /**
+     * Renumera as entradas vivas do grupo e tira as removidas das listas.
+     * Os ids mantêm a ordem, então as listas continuam ordenadas.
+     */
+    private void talvezLimpar(int t) {
+        if (t == 0) {
+            return;
+        }
+        Grupo grupo = grupos[t];
+        if (grupo.removidas < MINIMO_LIMPEZA || grupo.removidas < grupo.proximoId * PROPORCAO_LIMPEZA) {
+            return;
+        }
+        int[] novoId = new int[grupo.proximoId];
+        int vivas = 0;
+        for (int id = 0; id < grupo.proximoId; id++) {
+            if (grupo.midias[id] == null) {
+                novoId[id] = -1;
+                continue;
+            }
+            novoId[id] = vivas;
+            grupo.midias[vivas] = grupo.midias[id];
+            grupo.textos[vivas] = grupo.textos[id];
+            grupo.desenvolvedora[vivas] = grupo.desenvolvedora[id];
+            entradasPorMidia.get(grupo.midias[vivas])[grupo.desenvolvedora[vivas] ? 3 : 1] = vivas;
+            vivas++;
+        }
+        Arrays.fill(grupo.midias, vivas, grupo.proximoId, null);
+        Arrays.fill(grupo.textos, vivas, grupo.proximoId, null);
+        grupo.proximoId = vivas;
+        grupo.removidas = 0;
+
+        Iterator<Postagens[]> listas = postagens.values().iterator();
+        while (listas.hasNext()) {
+            Postagens[] porGrupo = listas.next();
+            if (t >= porGrupo.length || porGrupo[t] == null) {
+                continue;
+            }
+            Postagens lista = porGrupo[t];
+            int tamanho = 0;
+            for (int j = 0; j < lista.tamanho; j++) {
+                int id = novoId[lista.ids[j]];
+                if (id >= 0) {
+                    lista.ids[tamanho++] = id;
+                }
+            }
+            lista.tamanho = tamanho;
+            lista.montarMapa();
+            if (tamanho == 0) {
+                porGrupo[t] = null;
+                if (semListas(porGrupo)) {
+                    listas.remove();
+                }
+            }
+        }
+    }
+
+    private static boolean semListas(Postagens[] porGrupo) {
+        for (Postagens lista : porGrupo) {
+            if (lista != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String chaveDesenvolvedora(Midia midia) {
+        if (midia instanceof Jogo) {
+            String dev = ((Jogo) midia).getDesenvolvedora();
+            if (dev != null && !dev.isBlank()) {
+                return ChaveUtil.normalizar(dev);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Trigramas distintos de um texto já normalizado, em ordem crescente.
+     * Cada trigrama é guardado em um {@code long} (16 bits por caractere).
+     */
+    static long[] trigramas(String texto) {
+        if (texto == null) {
+            return new long[0];
+        }
+        long[] trigramas = new long[texto.length() * 2 + 2];
+        int quantidade = 0;
+        int i = 0;
+        while (i < texto.length()) {
+            // Pula separadores: espaços e pontuação dividem as palavras
+            while (i < texto.length() && !Character.isLetterOrDigit(texto.charAt(i))) {
+                i++;
+            }
+            int inicio = i;
+            while (i < texto.length() && Character.isLetterOrDigit(texto.charAt(i))) {
+                i++;
+            }
+            if (i == inicio) {
+                break;
+            }
+            // Palavra com " " antes e " " depois
+            long a = ' ';
+            long b = texto.charAt(inicio);
+            for (int j = inicio + 1; j <= i; j++) {
+                long c = j < i ? texto.charAt(j) : ' ';
+                if (quantidade == trigramas.length) {
+                    trigramas = Arrays.copyOf(trigramas, quantidade * 2);
+                }
+                trigramas[quantidade++] = (a << 32) | (b << 16) | c;
+                a = b;
+                b = c;
+            }
+        }
+        Arrays.sort(trigramas, 0, quantidade);
+        int distintos = 0;
+        for (int j = 0; j < quantidade; j++) {
+            if (distintos == 0 || trigramas[distintos - 1] != trigramas[j]) {
+                trigramas[distintos++] = trigramas[j];
+            }
+        }
+        return Arrays.copyOf(trigramas, distintos);
+    }
+}
@@ -0,0 +1,37 @@
+package steamboxd.repository.indice;
+
+import steamboxd.model.Midia;
+
+/**
+ * Uma mídia encontrada pela busca aproximada ({@link IndiceTrigramas}).
+ */
+public class ResultadoAproximado {
+
+    private final Midia midia;
+    private final double semelhanca;
+    private final boolean pelaDesenvolvedora;
+
+    public ResultadoAproximado(Midia midia, double semelhanca, boolean pelaDesenvolvedora) {
+        this.midia = midia;
+        this.semelhanca = semelhanca;
+        this.pelaDesenvolvedora = pelaDesenvolvedora;
+    }
+
+    public Midia getMidia() {
+        return midia;
+    }
+
+    /**
+     * @return A semelhança com o texto buscado, de 0 a 1 (1 = mesmos trigramas).
+     */
+    public double getSemelhanca() {
+        return semelhanca;
+    }
+
+    /**
+     * @return {@code true} se a semelhança veio do nome da desenvolvedora, e não do título.
+     */
+    public boolean isPelaDesenvolvedora() {
+        return pelaDesenvolvedora;
+    }
+}
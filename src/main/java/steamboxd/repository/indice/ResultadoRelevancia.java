@@ -0,0 +1,28 @@
+package steamboxd.repository.indice;
+
+import steamboxd.model.Midia;
+
+/**
+ * Uma mídia encontrada pela busca textual ({@link IndiceTextual}).
+ */
+public class ResultadoRelevancia {
+
+    private final Midia midia;
+    private final double pontuacao;
+
+    public ResultadoRelevancia(Midia midia, double pontuacao) {
+        this.midia = midia;
+        this.pontuacao = pontuacao;
+    }
+
+    public Midia getMidia() {
+        return midia;
+    }
+
+    /**
+     * @return A pontuação BM25 da mídia para a busca (maior = mais relevante).
+     */
+    public double getPontuacao() {
+        return pontuacao;
+    }
+}
@@ -0,0 +1,108 @@
+package steamboxd.service;
+
+import steamboxd.data.Sistema;
+import steamboxd.model.Midia;
+import steamboxd.repository.DLCRepository;
+import steamboxd.repository.CampoNumerico;
+import steamboxd.repository.JogoRepository;
+import steamboxd.repository.indice.CatalogoColunar;
+import steamboxd.repository.indice.EstatisticasColuna;
+import steamboxd.repository.indice.FiltroColunar;
+import steamboxd.repository.indice.IndiceTextual;
+import steamboxd.repository.indice.IndiceTitulos;
+import steamboxd.repository.indice.IndiceTrigramas;
+import steamboxd.repository.indice.ResultadoAproximado;
+import steamboxd.repository.indice.ResultadoRelevancia;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Busca de mídias no catálogo inteiro (jogos e DLCs juntos).
+ */
+public class BuscaService {
+
+    private IndiceTitulos indiceTitulos;
+    private IndiceTrigramas indiceTrigramas;
+    private IndiceTextual indiceTextual;
+    private CatalogoColunar catalogoColunar;
+    private JogoRepository jogoRepository;
+    private DLCRepository dlcRepository;
+
+    public BuscaService() {
+        this(Sistema.getInstance().getIndiceTitulos(),
+                Sistema.getInstance().getIndiceTrigramas(),
+                Sistema.getInstance().getIndiceTextual(),
+                Sistema.getInstance().getCatalogoColunar(),
+                Sistema.getInstance().getJogoRepository(),
+                Sistema.getInstance().getDlcRepository());
+    }
+
+    public BuscaService(IndiceTitulos indiceTitulos, IndiceTrigramas indiceTrigramas,
+                        IndiceTextual indiceTextual, CatalogoColunar catalogoColunar,
+                        JogoRepository jogoRepository, DLCRepository dlcRepository) {
+        this.indiceTitulos = indiceTitulos;
+        this.indiceTrigramas = indiceTrigramas;
+        this.indiceTextual = indiceTextual;
+        this.catalogoColunar = catalogoColunar;
+        this.jogoRepository = jogoRepository;
+        this.dlcRepository = dlcRepository;
+    }
+
+    /**
+     * Sugere mídias cujo título começa com o que foi digitado
+     * (sem diferenciar acentos nem maiúsculas de minúsculas).
+     */
+    public List<Midia> sugerirTitulos(String prefixo, int limite) {
+        return indiceTitulos.completar(prefixo, limite);
+    }
+
+    /**
+     * Busca mídias com título ou desenvolvedora parecidos com o texto,
+     * tolerando erros de digitação ("Hollow Night" → "Hollow Knight").
+     */
+    public List<ResultadoAproximado> buscarAproximado(String texto, int limite) {
+        return indiceTrigramas.buscar(texto, limite);
+    }
+
+    /**
+     * Busca mídias pelas palavras do título, da desenvolvedora, dos gêneros
+     * e das plataformas, das mais relevantes para as menos relevantes.
+     */
+    public List<ResultadoRelevancia> buscarTexto(String consulta, int limite) {
+        return indiceTextual.buscar(consulta, limite);
+    }
+
+    /**
+     * Conta as mídias do catálogo que atendem ao filtro.
+     */
+    public int contar(FiltroColunar filtro) {
+        return catalogoColunar.contar(filtro);
+    }
+
+    /**
+     * Soma, mínimo, máximo e média de preço, ano ou nota das mídias que
+     * atendem ao filtro.
+     */
+    public EstatisticasColuna estatisticas(CampoNumerico campo, FiltroColunar filtro) {
+        return catalogoColunar.estatisticas(campo, filtro);
+    }
+
+    /**
+     * Quantas mídias que atendem ao filtro têm cada gênero, do mais comum
+     * para o menos comum.
+     */
+    public Map<String, Integer> contarPorGenero(FiltroColunar filtro) {
+        return catalogoColunar.contarPorGenero(filtro);
+    }
+
+    /**
+     * Busca uma mídia pelo título exato: primeiro entre os jogos, depois entre as DLCs.
+     */
+    public Midia buscarMidia(String titulo) {
+        Midia midia = jogoRepository.buscar(titulo);
+        if (midia == null) {
+            midia = dlcRepository.buscar(titulo);
+        }
+        return midia;
+    }
+}
@@ -1,10 +1,19 @@
 package steamboxd.service;
 
 import steamboxd.data.Sistema;
+import steamboxd.data.diario.Mutacao;
+import steamboxd.data.diario.OuvinteMutacoes;
+import steamboxd.data.diario.TipoMutacao;
 import steamboxd.model.DLC;
 import steamboxd.model.Jogo;
+import steamboxd.repository.Consulta;
+import steamboxd.repository.Pagina;
 import steamboxd.repository.DLCRepository;
 import steamboxd.repository.JogoRepository;
+import steamboxd.repository.RelatorioLote;
+import steamboxd.repository.SituacaoLote;
+import steamboxd.repository.UsuarioRepository;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -16,14 +25,78 @@ public class DLCService implements MidiaService<DLC> {
 
     private DLCRepository repository;
     private JogoRepository jogoRepository;
+    private UsuarioRepository usuarioRepository;
+    private OuvinteMutacoes ouvinte;
 
     public DLCService() {
-        this.repository = Sistema.getInstance().getDlcRepository();
-        this.jogoRepository = Sistema.getInstance().getJogoRepository();
+        this(Sistema.getInstance().getDlcRepository(),
+                Sistema.getInstance().getJogoRepository(),
+                Sistema.getInstance().getUsuarioRepository(),
+                Sistema.getInstance().getOuvinteMutacoes());
     }
 
+    /**
+     * Construtor com os repositórios e o ouvinte das alterações explícitos
+     * (usado, por exemplo, para reaplicar o diário).
+     */
+    public DLCService(DLCRepository repository, JogoRepository jogoRepository,
+                      UsuarioRepository usuarioRepository, OuvinteMutacoes ouvinte) {
+        this.repository = repository;
+        this.jogoRepository = jogoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.ouvinte = ouvinte;
+    }
+
+    @Override
+    public boolean adicionar(DLC dlc) {
+        validar(dlc);
+        if (!repository.adicionar(dlc)) {
+            return false;
+        }
+        vincularAoJogoBase(dlc);
+        ouvinte.aoMutar(new Mutacao(TipoMutacao.ADICIONAR_DLC, dlc));
+        return true;
+    }
+
+    /**
+     * Valida todo o lote e inclui as DLCs válidas de uma só vez
+     * (ver {@link DLCRepository#adicionarTodos}).
+     */
     @Override
-    public void adicionar(DLC dlc) {
+    public RelatorioLote adicionarTodos(List<DLC> dlcs) {
+        RelatorioLote relatorio = new RelatorioLote(dlcs.size());
+        List<DLC> validas = new ArrayList<>(dlcs.size());
+        int[] posicoes = new int[dlcs.size()];
+        for (int i = 0; i < dlcs.size(); i++) {
+            try {
+                validar(dlcs.get(i));
+                posicoes[validas.size()] = i;
+                validas.add(dlcs.get(i));
+            } catch (IllegalArgumentException e) {
+                relatorio.registrar(i, SituacaoLote.INVALIDO, e.getMessage());
+            }
+        }
+
+        RelatorioLote incluidas = repository.adicionarTodos(validas);
+        relatorio.incorporar(incluidas, posicoes);
+        for (int i = 0; i < validas.size(); i++) {
+            if (incluidas.getSituacao(i) == SituacaoLote.ADICIONADO) {
+                vincularAoJogoBase(validas.get(i));
+                ouvinte.aoMutar(new Mutacao(TipoMutacao.ADICIONAR_DLC, validas.get(i)));
+            }
+        }
+        return relatorio;
+    }
+
+    /**
+     * Normaliza os campos de texto da DLC e confere as regras de cadastro.
+     *
+     * @throws IllegalArgumentException Se a DLC não puder ser cadastrada.
+     */
+    private void validar(DLC dlc) {
+        if (dlc == null) {
+            throw new IllegalArgumentException("A DLC é obrigatória.");
+        }
         if (dlc.getTitulo() != null) {
             dlc.setTitulo(dlc.getTitulo().trim());
         }
@@ -42,9 +115,12 @@ public class DLCService implements MidiaService<DLC> {
         if (dlc.getPreco() < 0) {
             throw new IllegalArgumentException("O preço não pode ser negativo.");
         }
+    }
 
-        repository.adicionar(dlc);
-
+    /**
+     * Inclui a DLC na lista de DLCs do jogo base, se ele estiver cadastrado.
+     */
+    private void vincularAoJogoBase(DLC dlc) {
         String jogoTitulo = dlc.getJogoBaseTitulo();
         if (jogoTitulo != null && !jogoTitulo.isBlank()) {
             Jogo jogo = jogoRepository.buscar(jogoTitulo);
@@ -77,7 +153,8 @@ public class DLCService implements MidiaService<DLC> {
                     jogo.setDlcTitulos(dlcTitulos);
                 }
             }
-            Sistema.getInstance().getUsuarioRepository().removerMidiaDeTodos(titulo);
+            usuarioRepository.removerMidiaDeTodos(titulo);
+            ouvinte.aoMutar(new Mutacao(TipoMutacao.REMOVER_DLC, titulo));
         }
         return removido;
     }
@@ -92,6 +169,16 @@ public class DLCService implements MidiaService<DLC> {
         return repository.listarTodos();
     }
 
+    @Override
+    public Pagina<DLC> listarPagina(String cursor, int tamanho) {
+        return repository.listarPagina(cursor, tamanho);
+    }
+
+    @Override
+    public List<DLC> consultar(Consulta<DLC> consulta) {
+        return repository.consultar(consulta);
+    }
+
     @Override
     public boolean editarAno(String titulo, int novoAno) {
         if (novoAno > 2025) {
@@ -101,9 +188,9 @@ public class DLCService implements MidiaService<DLC> {
             throw new IllegalArgumentException("Ano inválido (muito antigo).");
         }
 
-        DLC dlc = repository.buscar(titulo);
+        DLC dlc = repository.atualizar(titulo, m -> m.setAnoLancamento(novoAno));
         if (dlc != null) {
-            dlc.setAnoLancamento(novoAno);
+            ouvinte.aoMutar(new Mutacao(TipoMutacao.EDITAR_ANO_DLC, titulo, novoAno));
             return true;
         }
         return false;
@@ -115,9 +202,9 @@ public class DLCService implements MidiaService<DLC> {
             throw new IllegalArgumentException("O preço não pode ser negativo.");
         }
 
-        DLC dlc = repository.buscar(titulo);
+        DLC dlc = repository.atualizar(titulo, m -> m.setPreco(novoPreco));
         if (dlc != null) {
-            dlc.setPreco(novoPreco);
+            ouvinte.aoMutar(new Mutacao(TipoMutacao.EDITAR_PRECO_DLC, titulo, novoPreco));
             return true;
         }
         return false;
@@ -157,13 +244,14 @@ public class DLCService implements MidiaService<DLC> {
         }
 
         dlc.setJogoBaseTitulo(novoJogoBaseTitulo == null ? "" : novoJogoBaseTitulo);
+        ouvinte.aoMutar(new Mutacao(TipoMutacao.EDITAR_JOGO_BASE, tituloDlc, novoJogoBaseTitulo));
         return true;
     }
 
     public boolean editarExpansao(String titulo, boolean novaExpansao) {
-        DLC dlc = repository.buscar(titulo);
+        DLC dlc = repository.atualizar(titulo, m -> m.setExpansao(novaExpansao));
         if (dlc != null) {
-            dlc.setExpansao(novaExpansao);
+            ouvinte.aoMutar(new Mutacao(TipoMutacao.EDITAR_EXPANSAO, titulo, novaExpansao));
             return true;
         }
         return false;
@@ -177,13 +265,16 @@ public class DLCService implements MidiaService<DLC> {
         if (genero == null || genero.isBlank()) {
             return false;
         }
-        DLC dlc = repository.buscar(titulo);
+        String novo = genero;
+        DLC dlc = repository.atualizar(titulo, m -> {
+            List<String> generosAtuais = m.getGeneros();
+            generosAtuais.add(novo);
+            m.setGeneros(generosAtuais);
+        });
         if (dlc == null) {
             return false;
         }
-        List<String> generosAtuais = dlc.getGeneros();
-        generosAtuais.add(genero);
-        dlc.setGeneros(generosAtuais);
+        ouvinte.aoMutar(new Mutacao(TipoMutacao.ADICIONAR_GENERO_DLC, titulo, genero));
         return true;
     }
 
@@ -195,29 +286,32 @@ public class DLCService implements MidiaService<DLC> {
         if (plataforma == null || plataforma.isBlank()) {
             return false;
         }
-        DLC dlc = repository.buscar(titulo);
+        String novo = plataforma;
+        DLC dlc = repository.atualizar(titulo, m -> {
+            List<String> plataformasAtuais = m.getPlataformas();
+            plataformasAtuais.add(novo);
+            m.setPlataformas(plataformasAtuais);
+        });
         if (dlc == null) {
             return false;
         }
-        List<String> plataformasAtuais = dlc.getPlataformas();
-        plataformasAtuais.add(plataforma);
-        dlc.setPlataformas(plataformasAtuais);
+        ouvinte.aoMutar(new Mutacao(TipoMutacao.ADICIONAR_PLATAFORMA_DLC, titulo, plataforma));
         return true;
     }
 
     public boolean atualizarGeneros(String titulo, List<String> novosGeneros) {
-        var midia = repository.buscar(titulo);
+        var midia = repository.atualizar(titulo, m -> m.setGeneros(novosGeneros));
         if (midia != null) {
-            midia.setGeneros(novosGeneros);
+            ouvinte.aoMutar(new Mutacao(TipoMutacao.ATUALIZAR_GENEROS_DLC, titulo, midia.getGeneros()));
             return true;
         }
         return false;
     }
 
     public boolean atualizarPlataformas(String titulo, List<String> novasPlataformas) {
-        var midia = repository.buscar(titulo);
+        var midia = repository.atualizar(titulo, m -> m.setPlataformas(novasPlataformas));
         if (midia != null) {
-            midia.setPlataformas(novasPlataformas);
+            ouvinte.aoMutar(new Mutacao(TipoMutacao.ATUALIZAR_PLATAFORMAS_DLC, titulo, midia.getPlataformas()));
             return true;
         }
         return false;
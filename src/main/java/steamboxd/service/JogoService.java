@@ -1,8 +1,17 @@
 package steamboxd.service;
 
 import steamboxd.data.Sistema;
+import steamboxd.data.diario.Mutacao;
+import steamboxd.data.diario.OuvinteMutacoes;
+import steamboxd.data.diario.TipoMutacao;
 import steamboxd.model.Jogo;
+import steamboxd.repository.Consulta;
+import steamboxd.repository.Pagina;
 import steamboxd.repository.JogoRepository;
+import steamboxd.repository.RelatorioLote;
+import steamboxd.repository.SituacaoLote;
+import steamboxd.repository.UsuarioRepository;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -13,13 +22,73 @@ import java.util.List;
 public class JogoService implements MidiaService<Jogo> {
 
     private JogoRepository repository;
+    private UsuarioRepository usuarioRepository;
+    private OuvinteMutacoes ouvinte;
 
     public JogoService() {
-        this.repository = Sistema.getInstance().getJogoRepository();
+        this(Sistema.getInstance().getJogoRepository(),
+                Sistema.getInstance().getUsuarioRepository(),
+                Sistema.getInstance().getOuvinteMutacoes());
+    }
+
+    /**
+     * Construtor com os repositórios e o ouvinte das alterações explícitos
+     * (usado, por exemplo, para reaplicar o diário).
+     */
+    public JogoService(JogoRepository repository, UsuarioRepository usuarioRepository, OuvinteMutacoes ouvinte) {
+        this.repository = repository;
+        this.usuarioRepository = usuarioRepository;
+        this.ouvinte = ouvinte;
     }
 
     @Override
-    public void adicionar(Jogo jogo) {
+    public boolean adicionar(Jogo jogo) {
+        validar(jogo);
+        if (!repository.adicionar(jogo)) {
+            return false;
+        }
+        ouvinte.aoMutar(new Mutacao(TipoMutacao.ADICIONAR_JOGO, jogo));
+        return true;
+    }
+
+    /**
+     * Valida todo o lote e inclui os jogos válidos de uma só vez
+     * (ver {@link JogoRepository#adicionarTodos}).
+     */
+    @Override
+    public RelatorioLote adicionarTodos(List<Jogo> jogos) {
+        RelatorioLote relatorio = new RelatorioLote(jogos.size());
+        List<Jogo> validos = new ArrayList<>(jogos.size());
+        int[] posicoes = new int[jogos.size()];
+        for (int i = 0; i < jogos.size(); i++) {
+            try {
+                validar(jogos.get(i));
+                posicoes[validos.size()] = i;
+                validos.add(jogos.get(i));
+            } catch (IllegalArgumentException e) {
+                relatorio.registrar(i, SituacaoLote.INVALIDO, e.getMessage());
+            }
+        }
+
+        RelatorioLote incluidos = repository.adicionarTodos(validos);
+        relatorio.incorporar(incluidos, posicoes);
+        for (int i = 0; i < validos.size(); i++) {
+            if (incluidos.getSituacao(i) == SituacaoLote.ADICIONADO) {
+                ouvinte.aoMutar(new Mutacao(TipoMutacao.ADICIONAR_JOGO, validos.get(i)));
+            }
+        }
+        return relatorio;
+    }
+
+    /**
+     * Normaliza os campos de texto do jogo e confere as regras de cadastro.
+     *
+     * @throws IllegalArgumentException Se o jogo não puder ser cadastrado.
+     */
+    private void validar(Jogo jogo) {
+        if (jogo == null) {
+            throw new IllegalArgumentException("O jogo é obrigatório.");
+        }
         if (jogo.getTitulo() != null) {
             jogo.setTitulo(jogo.getTitulo().trim());
         }
@@ -38,7 +107,6 @@ public class JogoService implements MidiaService<Jogo> {
         if (jogo.getPreco() < 0) {
             throw new IllegalArgumentException("O preço não pode ser negativo.");
         }
-        repository.adicionar(jogo);
     }
 
     @Override
@@ -46,7 +114,8 @@ public class JogoService implements MidiaService<Jogo> {
         boolean removido = repository.remover(titulo);
 
         if (removido) {
-            Sistema.getInstance().getUsuarioRepository().removerMidiaDeTodos(titulo);
+            usuarioRepository.removerMidiaDeTodos(titulo);
+            ouvinte.aoMutar(new Mutacao(TipoMutacao.REMOVER_JOGO, titulo));
         }
         return removido;
     }
@@ -61,6 +130,16 @@ public class JogoService implements MidiaService<Jogo> {
         return repository.listarTodos();
     }
 
+    @Override
+    public Pagina<Jogo> listarPagina(String cursor, int tamanho) {
+        return repository.listarPagina(cursor, tamanho);
+    }
+
+    @Override
+    public List<Jogo> consultar(Consulta<Jogo> consulta) {
+        return repository.consultar(consulta);
+    }
+
     @Override
     public boolean editarAno(String titulo, int novoAno) {
         if (novoAno > 2025) {
@@ -70,9 +149,9 @@ public class JogoService implements MidiaService<Jogo> {
             throw new IllegalArgumentException("Ano inválido (muito antigo).");
         }
 
-        Jogo jogo = repository.buscar(titulo);
+        Jogo jogo = repository.atualizar(titulo, m -> m.setAnoLancamento(novoAno));
         if (jogo != null) {
-            jogo.setAnoLancamento(novoAno);
+            ouvinte.aoMutar(new Mutacao(TipoMutacao.EDITAR_ANO_JOGO, titulo, novoAno));
             return true;
         }
         return false;
@@ -84,31 +163,33 @@ public class JogoService implements MidiaService<Jogo> {
             throw new IllegalArgumentException("O preço não pode ser negativo.");
         }
 
-        Jogo jogo = repository.buscar(titulo);
+        Jogo jogo = repository.atualizar(titulo, m -> m.setPreco(novoPreco));
         if (jogo != null) {
-            jogo.setPreco(novoPreco);
+            ouvinte.aoMutar(new Mutacao(TipoMutacao.EDITAR_PRECO_JOGO, titulo, novoPreco));
             return true;
         }
         return false;
     }
 
     public boolean editarDesenvolvedora(String titulo, String novaDev) {
-        Jogo jogo = repository.buscar(titulo);
-        if (jogo != null) {
+        Jogo jogo = repository.atualizar(titulo, m -> {
             if (novaDev == null || novaDev.isBlank()) {
-                jogo.setDesenvolvedora("");
+                m.setDesenvolvedora("");
             } else {
-                jogo.setDesenvolvedora(novaDev.trim());
+                m.setDesenvolvedora(novaDev.trim());
             }
+        });
+        if (jogo != null) {
+            ouvinte.aoMutar(new Mutacao(TipoMutacao.EDITAR_DESENVOLVEDORA, titulo, novaDev));
             return true;
         }
         return false;
     }
 
     public boolean editarMultiplayer(String titulo, boolean novoStatus) {
-        Jogo jogo = repository.buscar(titulo);
+        Jogo jogo = repository.atualizar(titulo, m -> m.setMultiplayer(novoStatus));
         if (jogo != null) {
-            jogo.setMultiplayer(novoStatus);
+            ouvinte.aoMutar(new Mutacao(TipoMutacao.EDITAR_MULTIPLAYER, titulo, novoStatus));
             return true;
         }
         return false;
@@ -122,13 +203,16 @@ public class JogoService implements MidiaService<Jogo> {
         if (genero == null || genero.isBlank()) {
             return false;
         }
-        Jogo jogo = repository.buscar(titulo);
+        String novo = genero;
+        Jogo jogo = repository.atualizar(titulo, m -> {
+            List<String> generosAtuais = m.getGeneros();
+            generosAtuais.add(novo);
+            m.setGeneros(generosAtuais);
+        });
         if (jogo == null) {
             return false;
         }
-        List<String> generosAtuais = jogo.getGeneros();
-        generosAtuais.add(genero);
-        jogo.setGeneros(generosAtuais);
+        ouvinte.aoMutar(new Mutacao(TipoMutacao.ADICIONAR_GENERO_JOGO, titulo, genero));
         return true;
     }
 
@@ -140,29 +224,32 @@ public class JogoService implements MidiaService<Jogo> {
         if (plataforma == null || plataforma.isBlank()) {
             return false;
         }
-        Jogo jogo = repository.buscar(titulo);
+        String novo = plataforma;
+        Jogo jogo = repository.atualizar(titulo, m -> {
+            List<String> plataformasAtuais = m.getPlataformas();
+            plataformasAtuais.add(novo);
+            m.setPlataformas(plataformasAtuais);
+        });
         if (jogo == null) {
             return false;
         }
-        List<String> plataformasAtuais = jogo.getPlataformas();
-        plataformasAtuais.add(plataforma);
-        jogo.setPlataformas(plataformasAtuais);
+        ouvinte.aoMutar(new Mutacao(TipoMutacao.ADICIONAR_PLATAFORMA_JOGO, titulo, plataforma));
         return true;
     }
 
     public boolean atualizarGeneros(String titulo, List<String> novosGeneros) {
-        var midia = repository.buscar(titulo);
+        var midia = repository.atualizar(titulo, m -> m.setGeneros(novosGeneros));
         if (midia != null) {
-            midia.setGeneros(novosGeneros);
+            ouvinte.aoMutar(new Mutacao(TipoMutacao.ATUALIZAR_GENEROS_JOGO, titulo, midia.getGeneros()));
             return true;
         }
         return false;
     }
 
     public boolean atualizarPlataformas(String titulo, List<String> novasPlataformas) {
-        var midia = repository.buscar(titulo);
+        var midia = repository.atualizar(titulo, m -> m.setPlataformas(novasPlataformas));
         if (midia != null) {
-            midia.setPlataformas(novasPlataformas);
+            ouvinte.aoMutar(new Mutacao(TipoMutacao.ATUALIZAR_PLATAFORMAS_JOGO, titulo, midia.getPlataformas()));
             return true;
         }
         return false;
@@ -1,5 +1,8 @@
 package steamboxd.service;
 
+import steamboxd.repository.Consulta;
+import steamboxd.repository.Pagina;
+import steamboxd.repository.RelatorioLote;
 import java.util.List;
 
 /**
@@ -14,7 +17,21 @@ import java.util.List;
  */
 public interface MidiaService<T> {
 
-    void adicionar(T item);
+    /**
+     * Valida e inclui o item.
+     *
+     * @return {@code false} se já existir item com o mesmo título (nada muda).
+     * @throws IllegalArgumentException Se o item não puder ser cadastrado.
+     */
+    boolean adicionar(T item);
+
+    /**
+     * Valida e inclui um lote de uma só vez. Itens inválidos ou repetidos
+     * não interrompem o lote: ficam registrados no relatório.
+     *
+     * @return A situação de cada item, na ordem do lote.
+     */
+    RelatorioLote adicionarTodos(List<T> itens);
 
     boolean remover(String titulo);
 
@@ -22,6 +39,18 @@ public interface MidiaService<T> {
 
     List<T> listarTodos();
 
+    /**
+     * Lista aos poucos: cada chamada devolve uma página e o cursor da próxima
+     * (ver {@link steamboxd.repository.Repository#listarPagina}).
+     */
+    Pagina<T> listarPagina(String cursor, int tamanho);
+
+    /**
+     * Busca pelos índices de gênero, plataforma (e desenvolvedora, nos jogos),
+     * combinados por interseção, sem copiar nem percorrer o catálogo inteiro.
+     */
+    List<T> consultar(Consulta<T> consulta);
+
     boolean editarAno(String titulo, int novoAno);
 
     boolean editarPreco(String titulo, double novoPreco);
@@ -1,12 +1,22 @@
 package steamboxd.service;
 
 import steamboxd.data.Sistema;
+import steamboxd.data.diario.Mutacao;
+import steamboxd.data.diario.OuvinteMutacoes;
+import steamboxd.data.diario.TipoMutacao;
 import steamboxd.model.DLC;
+import steamboxd.model.ItemBiblioteca;
 import steamboxd.model.Jogo;
 import steamboxd.model.Usuario;
 import steamboxd.model.Midia;
+import steamboxd.repository.DLCRepository;
+import steamboxd.repository.JogoRepository;
+import steamboxd.repository.Pagina;
+import steamboxd.repository.RelatorioLote;
+import steamboxd.repository.SituacaoLote;
 import steamboxd.repository.UsuarioRepository;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,12 +27,81 @@ import java.util.List;
 public class UsuarioService {
 
     private UsuarioRepository repository;
+    private JogoRepository jogoRepository;
+    private DLCRepository dlcRepository;
+    private OuvinteMutacoes ouvinte;
 
     public UsuarioService() {
-        this.repository = Sistema.getInstance().getUsuarioRepository();
+        this(Sistema.getInstance().getUsuarioRepository(),
+                Sistema.getInstance().getJogoRepository(),
+                Sistema.getInstance().getDlcRepository(),
+                Sistema.getInstance().getOuvinteMutacoes());
+    }
+
+    /**
+     * Construtor com os repositórios e o ouvinte das alterações explícitos
+     * (usado, por exemplo, para reaplicar o diário). Os repositórios da loja
+     * são os que os itens das bibliotecas referenciam.
+     */
+    public UsuarioService(UsuarioRepository repository, JogoRepository jogoRepository,
+                          DLCRepository dlcRepository, OuvinteMutacoes ouvinte) {
+        this.repository = repository;
+        this.jogoRepository = jogoRepository;
+        this.dlcRepository = dlcRepository;
+        this.ouvinte = ouvinte;
     }
 
     public boolean adicionarUsuario(Usuario usuario) {
+        validar(usuario);
+
+        if (!repository.adicionar(usuario)) {
+            return false;
+        }
+        ouvinte.aoMutar(new Mutacao(TipoMutacao.ADICIONAR_USUARIO, usuario.getNome(), usuario.getEmail()));
+        return true;
+    }
+
+    /**
+     * Valida todo o lote e inclui os usuários válidos de uma só vez
+     * (ver {@link UsuarioRepository#adicionarTodos}). Emails repetidos,
+     * no repositório ou no próprio lote, ficam como duplicados.
+     *
+     * @return A situação de cada usuário, na ordem do lote.
+     */
+    public RelatorioLote adicionarUsuarios(List<Usuario> usuarios) {
+        RelatorioLote relatorio = new RelatorioLote(usuarios.size());
+        List<Usuario> validos = new ArrayList<>(usuarios.size());
+        int[] posicoes = new int[usuarios.size()];
+        for (int i = 0; i < usuarios.size(); i++) {
+            try {
+                validar(usuarios.get(i));
+                posicoes[validos.size()] = i;
+                validos.add(usuarios.get(i));
+            } catch (IllegalArgumentException e) {
+                relatorio.registrar(i, SituacaoLote.INVALIDO, e.getMessage());
+            }
+        }
+
+        RelatorioLote incluidos = repository.adicionarTodos(validos);
+        relatorio.incorporar(incluidos, posicoes);
+        for (int i = 0; i < validos.size(); i++) {
+            if (incluidos.getSituacao(i) == SituacaoLote.ADICIONADO) {
+                Usuario usuario = validos.get(i);
+                ouvinte.aoMutar(new Mutacao(TipoMutacao.ADICIONAR_USUARIO, usuario.getNome(), usuario.getEmail()));
+            }
+        }
+        return relatorio;
+    }
+
+    /**
+     * Normaliza o nome e o email do usuário e confere as regras de cadastro.
+     *
+     * @throws IllegalArgumentException Se o usuário não puder ser cadastrado.
+     */
+    private void validar(Usuario usuario) {
+        if (usuario == null) {
+            throw new IllegalArgumentException("O usuário é obrigatório.");
+        }
         if (usuario.getNome() != null) {
             usuario.setNome(usuario.getNome().trim());
         }
@@ -44,16 +123,14 @@ public class UsuarioService {
         if (usuario.getEmail().contains(" ")) {
             throw new IllegalArgumentException("O email não pode conter espaços.");
         }
-
-        if (repository.existe(usuario.getEmail())) {
-            return false;
-        }
-        repository.adicionar(usuario);
-        return true;
     }
 
     public boolean removerUsuario(String email) {
-        return repository.remover(email);
+        boolean removido = repository.remover(email);
+        if (removido) {
+            ouvinte.aoMutar(new Mutacao(TipoMutacao.REMOVER_USUARIO, email));
+        }
+        return removido;
     }
 
     public Usuario buscarUsuario(String email) {
@@ -64,12 +141,26 @@ public class UsuarioService {
         return repository.listarTodos();
     }
 
+    public Pagina<Usuario> listarUsuariosPagina(String cursor, int tamanho) {
+        return repository.listarPagina(cursor, tamanho);
+    }
+
     public boolean editarUsuario(String emailAtual, String novoNome, String novoEmail) {
         Usuario user = repository.buscar(emailAtual);
         if (user == null) {
             return false;
         }
 
+        // O nome pode mudar mesmo quando o email é recusado depois,
+        // então a chamada é registrada em qualquer caso
+        try {
+            return aplicarEdicao(user, emailAtual, novoNome, novoEmail);
+        } finally {
+            ouvinte.aoMutar(new Mutacao(TipoMutacao.EDITAR_USUARIO, emailAtual, novoNome, novoEmail));
+        }
+    }
+
+    private boolean aplicarEdicao(Usuario user, String emailAtual, String novoNome, String novoEmail) {
         if (novoNome != null) {
             novoNome = novoNome.trim();
             if (novoNome.isBlank()) {
@@ -81,7 +172,10 @@ public class UsuarioService {
             user.setNome(novoNome);
         }
 
-        if (novoEmail != null && !novoEmail.equalsIgnoreCase(emailAtual)) {
+        // Qualquer diferença no texto é aplicada (inclusive só de acentos ou
+        // de maiúsculas); a chave normalizada serve só para ver, no
+        // repositório, se o novo email pertence a outro usuário
+        if (novoEmail != null && !novoEmail.trim().equals(user.getEmail())) {
             novoEmail = novoEmail.trim();
             if (novoEmail.isBlank()) {
                 throw new IllegalArgumentException("O novo email não pode ser vazio.");
@@ -93,10 +187,10 @@ public class UsuarioService {
                 throw new IllegalArgumentException("O email não pode conter espaços.");
             }
 
-            if (repository.existe(novoEmail)) {
-                return false;
-            }
-            user.setEmail(novoEmail);
+            // A conferência de que o email está livre e a troca acontecem
+            // juntas no repositório, então duas edições simultâneas para o
+            // mesmo email não sobrescrevem uma à outra
+            return repository.alterarEmail(emailAtual, novoEmail);
         }
         return true;
     }
@@ -105,37 +199,44 @@ public class UsuarioService {
         Usuario user = repository.buscar(email);
         if (user != null && midia != null) {
 
-            List<Midia> bibliotecaAtual = user.getBiblioteca();
-            for (Midia m : bibliotecaAtual) {
-                if (m.getTitulo().equalsIgnoreCase(midia.getTitulo())) {
-                    return false;
-                }
-            }
-
-            Midia midiaClone;
-
-            if (midia instanceof Jogo) {
-                midiaClone = new Jogo((Jogo) midia);
-            } else if (midia instanceof DLC) {
-                midiaClone = new DLC((DLC) midia);
-            } else {
-                throw new IllegalArgumentException("Tipo de Mídia desconhecido para clonagem: " + midia.getClass());
+            if (user.temNaBiblioteca(midia.getTitulo())) {
+                return false;
             }
 
-            List<Midia> biblioteca = user.getBiblioteca();
-            biblioteca.add(midiaClone);
-            user.setBiblioteca(biblioteca);
+            ItemBiblioteca novo = new ItemBiblioteca(midiaDaLoja(midia), midia.getNota(), midia.getPreco());
+            user.adicionarNaBiblioteca(novo);
+            repository.registrarPosse(user, novo);
+            ouvinte.aoMutar(new Mutacao(TipoMutacao.ADICIONAR_MIDIA_USUARIO, email, midia));
             return true;
         }
         return false;
     }
 
+    /**
+     * A mídia da loja com o mesmo título e tipo, que o item vai referenciar.
+     * Só se ela não estiver na loja (ex: ao reaplicar o diário) o item
+     * recebe uma cópia própria.
+     */
+    private Midia midiaDaLoja(Midia midia) {
+        if (midia instanceof Jogo) {
+            Jogo daLoja = jogoRepository.buscar(midia.getTitulo());
+            return daLoja != null ? daLoja : new Jogo((Jogo) midia);
+        }
+        if (midia instanceof DLC) {
+            DLC daLoja = dlcRepository.buscar(midia.getTitulo());
+            return daLoja != null ? daLoja : new DLC((DLC) midia);
+        }
+        throw new IllegalArgumentException("Tipo de Mídia desconhecido: " + midia.getClass());
+    }
+
     public boolean removerMidia(String email, String tituloMidia) {
         Usuario user = repository.buscar(email);
         if (user != null) {
-            List<Midia> biblioteca = user.getBiblioteca();
-            boolean removido = biblioteca.removeIf(midia -> midia.getTitulo().equalsIgnoreCase(tituloMidia));
-            user.setBiblioteca(biblioteca);
+            boolean removido = user.removerDaBiblioteca(tituloMidia);
+            if (removido) {
+                repository.removerPosse(user, tituloMidia);
+                ouvinte.aoMutar(new Mutacao(TipoMutacao.REMOVER_MIDIA_USUARIO, email, tituloMidia));
+            }
             return removido;
         }
         return false;
@@ -146,15 +247,16 @@ public class UsuarioService {
         if (user == null){
             return false;
         }
-        Midia midia = buscarMidia(email, titulo);
+        ItemBiblioteca item = user.buscarNaBiblioteca(titulo);
 
-        if (midia == null) {
+        if (item == null) {
             return false;
         }
 
         if (novaNota != null) {
             if (novaNota >= 0 && novaNota <= 10) {
-                midia.setNota(novaNota);
+                item.setNota(novaNota);
+                ouvinte.aoMutar(new Mutacao(TipoMutacao.EDITAR_MIDIA_USUARIO, email, titulo, novaNota));
             } else {
                 return false;
             }
@@ -162,23 +264,20 @@ public class UsuarioService {
         return true;
     }
 
-    public Midia buscarMidia(String email, String tituloMidia) {
+    public ItemBiblioteca buscarMidia(String email, String tituloMidia) {
         Usuario user = repository.buscar(email);
-        if (user != null) {
-            for (Midia midia : user.getBiblioteca()) {
-                if (midia.getTitulo().equalsIgnoreCase(tituloMidia)) {
-                    return midia;
-                }
-            }
-        }
-        return null;
+        return user != null ? user.buscarNaBiblioteca(tituloMidia) : null;
     }
 
-    public List<Midia> listarBiblioteca(String email) {
+    /**
+     * @return A biblioteca do usuário, somente leitura e sem cópia
+     * (ver {@link Usuario#visaoBiblioteca()}), ou uma lista vazia se ele não existir.
+     */
+    public Collection<ItemBiblioteca> listarBiblioteca(String email) {
         Usuario user = repository.buscar(email);
         if (user == null) {
             return List.of();
         }
-        return new ArrayList<>(user.getBiblioteca());
+        return user.visaoBiblioteca();
     }
 }
@@ -0,0 +1,78 @@
+package steamboxd.util;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Classe utilitária estática para gravações seguras em disco.
+ *
+ * <p>Um arquivo escrito "por cima" fica pela metade se o programa cair
+ * durante a escrita. Aqui o conteúdo é escrito em um arquivo temporário,
+ * forçado para o disco ({@code fsync}) e só então renomeado para o nome
+ * final, o que substitui o arquivo antigo de uma vez só.</p>
+ *
+ * <p>Por ser uma classe puramente utilitária, ela não pode ser instanciada.</p>
+ */
+public class ArquivoUtil {
+
+    public static final String EXTENSAO_TEMPORARIA = ".tmp";
+
+    /**
+     * Escreve o conteúdo de um arquivo a partir do seu caminho.
+     */
+    @FunctionalInterface
+    public interface Escrita {
+        void escrever(String caminho) throws Exception;
+    }
+
+    /**
+     * Construtor privado.
+     * Impede que esta classe utilitária seja instanciada.
+     */
+    private ArquivoUtil() {
+    }
+
+    /**
+     * Grava um arquivo de forma atômica: ou o arquivo final fica com o
+     * conteúdo novo completo, ou continua com o conteúdo antigo.
+     *
+     * @param destino O arquivo final.
+     * @param escrita Quem escreve o conteúdo (recebe o caminho do temporário).
+     */
+    public static void escreverAtomicamente(String destino, Escrita escrita) throws Exception {
+        Path temporario = Path.of(destino + EXTENSAO_TEMPORARIA);
+        try {
+            escrita.escrever(temporario.toString());
+            sincronizar(temporario);
+            mover(temporario, Path.of(destino));
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    /**
+     * Força a gravação em disco do conteúdo de um arquivo ({@code fsync}).
+     */
+    public static void sincronizar(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.force(true);
+        }
+    }
+
+    /**
+     * Renomeia um arquivo substituindo o destino, de forma atômica
+     * quando o sistema de arquivos permite.
+     */
+    public static void mover(Path origem, Path destino) throws IOException {
+        try {
+            Files.move(origem, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(origem, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
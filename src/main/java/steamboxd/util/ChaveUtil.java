@@ -0,0 +1,91 @@
+package steamboxd.util;
+
+import java.text.Normalizer;
+import java.util.regex.Pattern;
+
+/**
+ * Classe utilitária estática para normalizar as chaves usadas nos repositórios.
+ *
+ * <p>Os repositórios comparam títulos e emails sem diferenciar acentos nem
+ * maiúsculas de minúsculas. Em vez de comparar item por item, cada chave é
+ * convertida uma única vez para uma forma canônica, que pode ser usada
+ * diretamente como chave de um {@link java.util.Map}.</p>
+ *
+ * <p>Por ser uma classe puramente utilitária, ela não pode ser instanciada.</p>
+ */
+public class ChaveUtil {
+
+    // Marcas combinantes (acentos, cedilha, til) separadas pela decomposição NFD
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+    /**
+     * Construtor privado.
+     * Impede que esta classe utilitária seja instanciada.
+     */
+    private ChaveUtil() {
+    }
+
+    /**
+     * Converte um texto para a sua forma canônica de chave.
+     *
+     * <p>Remove os acentos ({@link #removerAcentos(String)}) e aplica,
+     * caractere a caractere, a mesma regra de
+     * {@link String#equalsIgnoreCase(String)}. Assim "Ação", "ação",
+     * "ACAO" e "acao" têm a mesma chave.</p>
+     *
+     * <p>Deve ser aplicado uma única vez a cada texto armazenado (as
+     * entidades guardam a própria chave, ver {@code Midia#getChave()}); nas
+     * buscas, só o texto procurado é normalizado.</p>
+     *
+     * @param texto O texto original (título, email, gênero...).
+     * @return A chave normalizada, ou {@code null} se o texto for nulo.
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        texto = removerAcentos(texto);
+
+        // Caminho rápido: a maioria das chaves já está normalizada
+        int i = 0;
+        while (i < texto.length() && dobrar(texto.charAt(i)) == texto.charAt(i)) {
+            i++;
+        }
+        if (i == texto.length()) {
+            return texto;
+        }
+
+        char[] chars = texto.toCharArray();
+        for (; i < chars.length; i++) {
+            chars[i] = dobrar(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static char dobrar(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Remove os acentos de um texto ("Ação" → "Acao").
+     *
+     * <p>O texto é decomposto (Unicode NFD), separando cada letra das suas
+     * marcas, e as marcas são descartadas. Textos só com ASCII são
+     * devolvidos sem cópia.</p>
+     *
+     * @return O texto sem acentos, ou {@code null} se o texto for nulo.
+     */
+    public static String removerAcentos(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        int i = 0;
+        while (i < texto.length() && texto.charAt(i) < 0x80) {
+            i++;
+        }
+        if (i == texto.length()) {
+            return texto;
+        }
+        return MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+    }
+}
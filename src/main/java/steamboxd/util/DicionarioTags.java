@@ -0,0 +1,261 @@
+package steamboxd.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dicionário de rótulos (gêneros, plataformas): dá a cada rótulo um
+ * número inteiro pequeno, sequencial a partir de zero.
+ *
+ * <p>Há dois números por rótulo:</p>
+ * <ul>
+ *     <li>o <b>id</b>, um por texto distinto (após {@code trim}): as mídias
+ *     guardam ids, e o texto de cada id é guardado uma única vez aqui, não
+ *     importa em quantas mídias ele apareça;</li>
+ *     <li>a <b>classe</b>, uma por rótulo normalizado
+ *     ({@link ChaveUtil#normalizar(String)}): "Ação", "acao" e "AÇÃO" têm
+ *     ids diferentes (cada mídia mostra o rótulo como foi digitado), mas a
+ *     mesma classe, que é o que os filtros comparam.</li>
+ * </ul>
+ *
+ * <p>Filtros por vários rótulos viram uma máscara de bits das classes
+ * ({@link #mascaraDeTodos}, {@link #mascaraDeAlgum}), conferida contra os
+ * ids de uma mídia por {@link #contemTodas} e {@link #contemAlguma} sem
+ * criar objetos.</p>
+ *
+ * <p>Os números nunca são reaproveitados, mesmo que o rótulo deixe de ser
+ * usado. Há um dicionário global para gêneros ({@link #GENEROS}) e outro
+ * para plataformas ({@link #PLATAFORMAS}); ambos podem ser usados por
+ * várias threads: consultas não bloqueiam e só o registro de um rótulo
+ * novo é sincronizado.</p>
+ */
+public class DicionarioTags {
+
+    public static final DicionarioTags GENEROS = new DicionarioTags();
+    public static final DicionarioTags PLATAFORMAS = new DicionarioTags();
+
+    private static final int[] SEM_IDS = new int[0];
+
+    private final Map<String, Integer> idPorRotulo = new ConcurrentHashMap<>();
+    private final Map<String, Integer> classePorChave = new ConcurrentHashMap<>();
+
+    // Por id: o texto e a classe. Por classe: o primeiro texto registrado.
+    // Cada posição é escrita antes de o número ser publicado nos mapas, e
+    // os vetores só são trocados (ao crescer) depois de copiados
+    private volatile String[] nomes = new String[16];
+    private volatile int[] classes = new int[16];
+    private volatile String[] nomesDasClasses = new String[16];
+    private volatile int tamanho;
+    private volatile int quantidadeClasses;
+
+    /**
+     * @return O id do rótulo, criado agora se ele ainda não existia,
+     * ou -1 se o rótulo for nulo ou vazio.
+     */
+    public int idDe(String rotulo) {
+        if (rotulo == null || rotulo.isBlank()) {
+            return -1;
+        }
+        String texto = rotulo.trim();
+        Integer id = idPorRotulo.get(texto);
+        return id != null ? id : registrar(texto);
+    }
+
+    /**
+     * Os ids dos rótulos, na mesma ordem (nulos e vazios são ignorados;
+     * repetidos são mantidos).
+     */
+    public int[] idsDe(Collection<String> rotulos) {
+        if (rotulos == null || rotulos.isEmpty()) {
+            return SEM_IDS;
+        }
+        int[] ids = new int[rotulos.size()];
+        int quantidade = 0;
+        for (String rotulo : rotulos) {
+            int id = idDe(rotulo);
+            if (id >= 0) {
+                ids[quantidade++] = id;
+            }
+        }
+        if (quantidade == 0) {
+            return SEM_IDS;
+        }
+        return quantidade == ids.length ? ids : Arrays.copyOf(ids, quantidade);
+    }
+
+    private synchronized int registrar(String texto) {
+        Integer existente = idPorRotulo.get(texto);
+        if (existente != null) {
+            return existente;
+        }
+
+        String chave = ChaveUtil.normalizar(texto);
+        Integer classe = classePorChave.get(chave);
+        if (classe == null) {
+            classe = quantidadeClasses;
+            String[] nomesAtuais = nomesDasClasses;
+            if (classe == nomesAtuais.length) {
+                nomesAtuais = Arrays.copyOf(nomesAtuais, classe * 2);
+            }
+            nomesAtuais[classe] = texto;
+            nomesDasClasses = nomesAtuais;
+            quantidadeClasses = classe + 1;
+            classePorChave.put(chave, classe);
+        }
+
+        int id = tamanho;
+        String[] nomesAtuais = nomes;
+        int[] classesAtuais = classes;
+        if (id == nomesAtuais.length) {
+            nomesAtuais = Arrays.copyOf(nomesAtuais, id * 2);
+            classesAtuais = Arrays.copyOf(classesAtuais, id * 2);
+        }
+        nomesAtuais[id] = texto;
+        classesAtuais[id] = classe;
+        nomes = nomesAtuais;
+        classes = classesAtuais;
+        tamanho = id + 1;
+        idPorRotulo.put(texto, id);
+        return id;
+    }
+
+    /**
+     * @return O texto do rótulo com esse id.
+     */
+    public String nome(int id) {
+        return nomes[id];
+    }
+
+    /**
+     * @return A classe (rótulo normalizado) do id.
+     */
+    public int classeDe(int id) {
+        return classes[id];
+    }
+
+    /**
+     * @return A classe do rótulo, ou -1 se nenhum rótulo equivalente foi registrado.
+     */
+    public int buscarClasse(String rotulo) {
+        if (rotulo == null || rotulo.isBlank()) {
+            return -1;
+        }
+        String texto = rotulo.trim();
+        Integer id = idPorRotulo.get(texto);
+        if (id != null) {
+            return classes[id];
+        }
+        Integer classe = classePorChave.get(ChaveUtil.normalizar(texto));
+        return classe != null ? classe : -1;
+    }
+
+    /**
+     * @return O primeiro texto registrado para a classe.
+     */
+    public String nomeDaClasse(int classe) {
+        return nomesDasClasses[classe];
+    }
+
+    /**
+     * @return Quantos textos distintos já foram registrados.
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * @return Quantas classes (rótulos normalizados distintos) já foram registradas.
+     */
+    public int quantidadeClasses() {
+        return quantidadeClasses;
+    }
+
+    // --- Máscaras de classes ---
+
+    /**
+     * Máscara com as classes de todos os rótulos, para exigir todos eles
+     * ({@link #contemTodas}). Rótulos nulos e vazios são ignorados.
+     *
+     * @return A máscara, ou {@code null} se algum rótulo nunca foi
+     * registrado (nenhuma mídia pode ter todos).
+     */
+    public long[] mascaraDeTodos(Collection<String> rotulos) {
+        long[] mascara = new long[0];
+        for (String rotulo : rotulos) {
+            if (rotulo == null || rotulo.isBlank()) {
+                continue;
+            }
+            int classe = buscarClasse(rotulo);
+            if (classe < 0) {
+                return null;
+            }
+            mascara = ligar(mascara, classe);
+        }
+        return mascara;
+    }
+
+    /**
+     * Máscara com as classes dos rótulos já registrados, para exigir pelo
+     * menos um deles ({@link #contemAlguma}). Os demais são ignorados.
+     */
+    public long[] mascaraDeAlgum(Collection<String> rotulos) {
+        long[] mascara = new long[0];
+        for (String rotulo : rotulos) {
+            int classe = buscarClasse(rotulo);
+            if (classe >= 0) {
+                mascara = ligar(mascara, classe);
+            }
+        }
+        return mascara;
+    }
+
+    /**
+     * @return Se os ids cobrem todas as classes da máscara (uma máscara vazia é sempre coberta).
+     */
+    public boolean contemTodas(int[] ids, long[] mascara) {
+        int[] classesAtuais = classes;
+        for (int palavra = 0; palavra < mascara.length; palavra++) {
+            long exigidas = mascara[palavra];
+            if (exigidas == 0) {
+                continue;
+            }
+            long presentes = 0;
+            for (int id : ids) {
+                int classe = classesAtuais[id];
+                if (classe >>> 6 == palavra) {
+                    presentes |= 1L << classe;
+                }
+            }
+            if ((presentes & exigidas) != exigidas) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Se algum dos ids tem uma classe da máscara.
+     */
+    public boolean contemAlguma(int[] ids, long[] mascara) {
+        int[] classesAtuais = classes;
+        for (int id : ids) {
+            int classe = classesAtuais[id];
+            int palavra = classe >>> 6;
+            if (palavra < mascara.length && (mascara[palavra] & (1L << classe)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long[] ligar(long[] mascara, int classe) {
+        int palavra = classe >>> 6;
+        if (palavra >= mascara.length) {
+            mascara = Arrays.copyOf(mascara, palavra + 1);
+        }
+        mascara[palavra] |= 1L << classe;
+        return mascara;
+    }
+}
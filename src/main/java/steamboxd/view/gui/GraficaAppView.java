@@ -59,8 +59,8 @@ public class GraficaAppView implements IAppView {
                 JFileChooser fileChooser = new JFileChooser();
                 fileChooser.setDialogTitle("Selecione o arquivo de dados");
 
-                // Filtro para arquivos .txt
-                fileChooser.setFileFilter(new FileNameExtensionFilter("Arquivos de Texto (*.txt)", "txt"));
+                // Filtro para arquivos .txt e binários (.sbxd)
+                fileChooser.setFileFilter(new FileNameExtensionFilter("Arquivos de Dados (*.txt, *.sbxd)", "txt", "sbxd"));
 
                 int resultado = fileChooser.showOpenDialog(frame);
 
@@ -114,19 +114,19 @@ public class GraficaAppView implements IAppView {
             frame.add(tabbedPane);
 
             // Lógica de "Salvar ao Sair"
+            // (as alterações já são salvas automaticamente, então não há
+            // como descartá-las: sair grava o que ainda estiver pendente)
             frame.addWindowListener(new WindowAdapter() {
                 @Override
                 public void windowClosing(WindowEvent e) {
                     int resp = JOptionPane.showConfirmDialog(frame,
-                            "Deseja salvar os dados antes de sair?",
+                            "As alterações são salvas automaticamente. Deseja sair?",
                             "Sair",
-                            JOptionPane.YES_NO_CANCEL_OPTION,
+                            JOptionPane.OK_CANCEL_OPTION,
                             JOptionPane.QUESTION_MESSAGE);
 
-                    if (resp == JOptionPane.YES_OPTION) {
-                        sistema.salvarDados(); //
-                        System.exit(0);
-                    } else if (resp == JOptionPane.NO_OPTION) {
+                    if (resp == JOptionPane.OK_OPTION) {
+                        sistema.salvarDados();
                         System.exit(0);
                     }
                 }
@@ -17,6 +17,10 @@ public class PainelDLCs extends JPanel {
     private final DLCController dlcController;
     private final JTable tabela;
     private final DefaultTableModel tableModel;
+    private final RolagemPaginada<DLC> paginacao;
+
+    // Linhas carregadas por vez ao rolar a tabela
+    private static final int TAMANHO_PAGINA = 50;
 
     public PainelDLCs() {
         this.dlcController = new DLCController();
@@ -31,7 +35,9 @@ public class PainelDLCs extends JPanel {
         };
         tabela = new JTable(tableModel);
         tabela.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-        add(new JScrollPane(tabela), BorderLayout.CENTER);
+        JScrollPane rolagem = new JScrollPane(tabela);
+        add(rolagem, BorderLayout.CENTER);
+        paginacao = new RolagemPaginada<>(rolagem, TAMANHO_PAGINA, dlcController::listarDLCsPagina, this::adicionarLinha);
 
         // --- Painel de Botões ---
         JPanel painelBotoes = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
@@ -54,34 +60,37 @@ public class PainelDLCs extends JPanel {
 
     private void atualizarTabela() {
         tableModel.setRowCount(0);
-        List<DLC> dlcs = dlcController.listarDLCs();
-        for (DLC dlc : dlcs) {
-            String generos = dlc.getGeneros().isEmpty() ? "N/A" : String.join(", ", dlc.getGeneros());
-            String plataformas = dlc.getPlataformas().isEmpty() ? "N/A" : String.join(", ", dlc.getPlataformas());
+        paginacao.reiniciar();
+    }
 
-            Object anoExibicao = (dlc.getAnoLancamento() == 0) ? "N/A" : dlc.getAnoLancamento();
+    private void adicionarLinha(DLC dlc) {
+        List<String> listaGeneros = dlc.visaoGeneros();
+        String generos = listaGeneros.isEmpty() ? "N/A" : String.join(", ", listaGeneros);
+        List<String> listaPlataformas = dlc.visaoPlataformas();
+        String plataformas = listaPlataformas.isEmpty() ? "N/A" : String.join(", ", listaPlataformas);
 
-            Object precoExibicao;
-            if (dlc.getPreco() == 0.0) {
-                precoExibicao = "Grátis";
-            } else {
-                precoExibicao = String.format("R$ %.2f", dlc.getPreco());
-            }
+        Object anoExibicao = (dlc.getAnoLancamento() == 0) ? "N/A" : dlc.getAnoLancamento();
 
-            String jogoBaseExibicao = (dlc.getJogoBaseTitulo() == null || dlc.getJogoBaseTitulo().isBlank())
-                    ? "N/A"
-                    : dlc.getJogoBaseTitulo();
-
-            tableModel.addRow(new Object[]{
-                    dlc.getTitulo(),
-                    jogoBaseExibicao,
-                    anoExibicao,
-                    precoExibicao,
-                    dlc.isExpansao() ? "Sim" : "Não",
-                    generos,
-                    plataformas
-            });
+        Object precoExibicao;
+        if (dlc.getPreco() == 0.0) {
+            precoExibicao = "Grátis";
+        } else {
+            precoExibicao = String.format("R$ %.2f", dlc.getPreco());
         }
+
+        String jogoBaseExibicao = (dlc.getJogoBaseTitulo() == null || dlc.getJogoBaseTitulo().isBlank())
+                ? "N/A"
+                : dlc.getJogoBaseTitulo();
+
+        tableModel.addRow(new Object[]{
+                dlc.getTitulo(),
+                jogoBaseExibicao,
+                anoExibicao,
+                precoExibicao,
+                dlc.isExpansao() ? "Sim" : "Não",
+                generos,
+                plataformas
+        });
     }
 
     private DLC getDLCSelecionada() {
@@ -106,10 +115,10 @@ public class PainelDLCs extends JPanel {
         JCheckBox chkExpansao = new JCheckBox("É uma expansão?", dlc != null && dlc.isExpansao());
 
         // Listas (separadas por vírgula)
-        String generosStr = dlc != null ? String.join(", ", dlc.getGeneros()) : "";
+        String generosStr = dlc != null ? String.join(", ", dlc.visaoGeneros()) : "";
         JTextField txtGeneros = new JTextField(generosStr);
 
-        String platStr = dlc != null ? String.join(", ", dlc.getPlataformas()) : "";
+        String platStr = dlc != null ? String.join(", ", dlc.visaoPlataformas()) : "";
         JTextField txtPlataformas = new JTextField(platStr);
 
         // Bloqueia título na edição
@@ -189,7 +198,10 @@ public class PainelDLCs extends JPanel {
                     .map(String::trim).filter(s -> !s.isEmpty()).collect(Collectors.toList());
 
             if (isAdicao) {
-                dlcController.adicionarDLC(titulo, 0.0, ano, generos, plataformas, txtJogoBase.getText(), chkExpansao.isSelected(), preco);
+                if (!dlcController.adicionarDLC(titulo, 0.0, ano, generos, plataformas, txtJogoBase.getText(), chkExpansao.isSelected(), preco)) {
+                    JOptionPane.showMessageDialog(this, "Erro: Já existe uma DLC com este título.", "Aviso", JOptionPane.WARNING_MESSAGE);
+                    return;
+                }
             } else {
                 // MODO EDIÇÃO: Atualiza tudo
                 dlcController.editarAno(titulo, ano);
@@ -17,6 +17,10 @@ public class PainelJogos extends JPanel {
     private final JogoController jogoController;
     private final JTable tabela;
     private final DefaultTableModel tableModel;
+    private final RolagemPaginada<Jogo> paginacao;
+
+    // Linhas carregadas por vez ao rolar a tabela
+    private static final int TAMANHO_PAGINA = 50;
 
     public PainelJogos() {
         this.jogoController = new JogoController();
@@ -31,7 +35,9 @@ public class PainelJogos extends JPanel {
         };
         tabela = new JTable(tableModel);
         tabela.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-        add(new JScrollPane(tabela), BorderLayout.CENTER);
+        JScrollPane rolagem = new JScrollPane(tabela);
+        add(rolagem, BorderLayout.CENTER);
+        paginacao = new RolagemPaginada<>(rolagem, TAMANHO_PAGINA, jogoController::listarJogosPagina, this::adicionarLinha);
 
         // --- Painel de Botões ---
         JPanel painelBotoes = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
@@ -54,36 +60,37 @@ public class PainelJogos extends JPanel {
 
     public void atualizarTabela() {
         tableModel.setRowCount(0);
-        List<Jogo> jogos = jogoController.listarJogos();
-        for (Jogo jogo : jogos) {
-            // Filtra listas vazias para N/A
-            List<String> listaGeneros = jogo.getGeneros();
-            String generos = listaGeneros.isEmpty() ? "N/A" : String.join(", ", listaGeneros);
+        paginacao.reiniciar();
+    }
 
-            List<String> listaPlataformas = jogo.getPlataformas();
-            String plataformas = listaPlataformas.isEmpty() ? "N/A" : String.join(", ", listaPlataformas);
+    private void adicionarLinha(Jogo jogo) {
+        // Filtra listas vazias para N/A
+        List<String> listaGeneros = jogo.visaoGeneros();
+        String generos = listaGeneros.isEmpty() ? "N/A" : String.join(", ", listaGeneros);
 
-            Object anoExibicao = (jogo.getAnoLancamento() == 0) ? "N/A" : jogo.getAnoLancamento();
-            String devExibicao = jogo.getDesenvolvedora().isEmpty() ? "N/A" : jogo.getDesenvolvedora();
+        List<String> listaPlataformas = jogo.visaoPlataformas();
+        String plataformas = listaPlataformas.isEmpty() ? "N/A" : String.join(", ", listaPlataformas);
 
-            Object precoExibicao;
-            if (jogo.getPreco() == 0.0) {
-                precoExibicao = "Grátis";
-            } else {
-                precoExibicao = String.format("R$ %.2f", jogo.getPreco());
-            }
+        Object anoExibicao = (jogo.getAnoLancamento() == 0) ? "N/A" : jogo.getAnoLancamento();
+        String devExibicao = jogo.getDesenvolvedora().isEmpty() ? "N/A" : jogo.getDesenvolvedora();
 
-            tableModel.addRow(new Object[]{
-                    jogo.getTitulo(),
-                    anoExibicao,
-                    precoExibicao,
-                    devExibicao,
-                    jogo.isMultiplayer() ? "Sim" : "Não",
-                    generos,
-                    plataformas,
-                    jogo.getDlcTitulos().size()
-            });
+        Object precoExibicao;
+        if (jogo.getPreco() == 0.0) {
+            precoExibicao = "Grátis";
+        } else {
+            precoExibicao = String.format("R$ %.2f", jogo.getPreco());
         }
+
+        tableModel.addRow(new Object[]{
+                jogo.getTitulo(),
+                anoExibicao,
+                precoExibicao,
+                devExibicao,
+                jogo.isMultiplayer() ? "Sim" : "Não",
+                generos,
+                plataformas,
+                jogo.getDlcTitulos().size()
+        });
     }
 
     private Jogo getJogoSelecionado() {
@@ -109,10 +116,10 @@ public class PainelJogos extends JPanel {
         JCheckBox chkMulti = new JCheckBox("Multiplayer?", jogo != null && jogo.isMultiplayer());
 
         // Converte listas para String (vírgula)
-        String generosStr = jogo != null ? String.join(", ", jogo.getGeneros()) : "";
+        String generosStr = jogo != null ? String.join(", ", jogo.visaoGeneros()) : "";
         JTextField txtGeneros = new JTextField(generosStr);
 
-        String platStr = jogo != null ? String.join(", ", jogo.getPlataformas()) : "";
+        String platStr = jogo != null ? String.join(", ", jogo.visaoPlataformas()) : "";
         JTextField txtPlataformas = new JTextField(platStr);
 
         // Bloqueia título na edição
@@ -196,7 +203,10 @@ public class PainelJogos extends JPanel {
                     .map(String::trim).filter(s -> !s.isEmpty()).collect(Collectors.toList());
 
             if (isAdicao) {
-                jogoController.adicionarJogo(titulo, 0.0, ano, generos, plataformas, txtDev.getText(), chkMulti.isSelected(), preco);
+                if (!jogoController.adicionarJogo(titulo, 0.0, ano, generos, plataformas, txtDev.getText(), chkMulti.isSelected(), preco)) {
+                    JOptionPane.showMessageDialog(this, "Erro: Já existe um jogo com este título.", "Aviso", JOptionPane.WARNING_MESSAGE);
+                    return;
+                }
             } else {
                 // MODO EDIÇÃO: Atualiza tudo
                 jogoController.editarAno(titulo, ano);
@@ -1,13 +1,19 @@
 package steamboxd.view.gui;
 
-import steamboxd.controller.JogoController;
-import steamboxd.controller.DLCController;
+import steamboxd.controller.BuscaController;
 import steamboxd.controller.UsuarioController;
+import steamboxd.model.ItemBiblioteca;
 import steamboxd.model.Midia; //
 import steamboxd.model.Usuario; //
+import steamboxd.repository.indice.ResultadoAproximado;
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -16,11 +22,15 @@ import java.util.List;
 public class PainelUsuarios extends JPanel {
 
     private final UsuarioController usuarioController;
-    private final JogoController jogoController;
-    private final DLCController dlcController;
+    private final BuscaController buscaController;
+
+    private static final int LIMITE_SUGESTOES = 10;
+    // Linhas carregadas por vez ao rolar a tabela de usuários
+    private static final int TAMANHO_PAGINA = 50;
 
     private final JTable tabelaUsuarios;
     private final DefaultTableModel modelUsuarios;
+    private final RolagemPaginada<Usuario> paginacaoUsuarios;
     private final JTable tabelaBiblioteca;
     private final DefaultTableModel modelBiblioteca;
     private JLabel lblBibliotecaDe;
@@ -29,8 +39,7 @@ public class PainelUsuarios extends JPanel {
 
     public PainelUsuarios() {
         this.usuarioController = new UsuarioController();
-        this.jogoController = new JogoController();
-        this.dlcController = new DLCController();
+        this.buscaController = new BuscaController();
 
         // Layout principal
         setLayout(new BorderLayout());
@@ -46,7 +55,10 @@ public class PainelUsuarios extends JPanel {
         };
         tabelaUsuarios = new JTable(modelUsuarios);
         tabelaUsuarios.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-        painelSuperior.add(new JScrollPane(tabelaUsuarios), BorderLayout.CENTER);
+        JScrollPane rolagemUsuarios = new JScrollPane(tabelaUsuarios);
+        painelSuperior.add(rolagemUsuarios, BorderLayout.CENTER);
+        paginacaoUsuarios = new RolagemPaginada<>(rolagemUsuarios, TAMANHO_PAGINA,
+                usuarioController::listarUsuariosPagina, this::adicionarLinhaUsuario);
 
         JPanel botoesUsuarios = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
         JButton btnAddUser = new JButton("Add Usuário");
@@ -114,26 +126,27 @@ public class PainelUsuarios extends JPanel {
     // --- Métodos de Atualização ---
     public void atualizarTabelaUsuarios() {
         modelUsuarios.setRowCount(0);
-        List<Usuario> usuarios = usuarioController.listarUsuarios();
-        for (Usuario u : usuarios) {
-            modelUsuarios.addRow(new Object[]{
-                    u.getNome(),
-                    u.getEmail(),
-                    u.getBiblioteca().size()
-            });
-        }
+        paginacaoUsuarios.reiniciar();
+    }
+
+    private void adicionarLinhaUsuario(Usuario u) {
+        modelUsuarios.addRow(new Object[]{
+                u.getNome(),
+                u.getEmail(),
+                u.tamanhoBiblioteca()
+        });
     }
 
     private void atualizarTabelaBiblioteca() {
         modelBiblioteca.setRowCount(0);
         if (usuarioSelecionado != null) {
             lblBibliotecaDe.setText("Biblioteca de: " + usuarioSelecionado.getNome());
-            List<Midia> bib = usuarioSelecionado.getBiblioteca();
-            for (Midia m : bib) {
+            Collection<ItemBiblioteca> bib = usuarioSelecionado.visaoBiblioteca();
+            for (ItemBiblioteca item : bib) {
                 modelBiblioteca.addRow(new Object[]{
-                        m.getTitulo(),
-                        m.getTipo(),
-                        m.getNota()
+                        item.getTitulo(),
+                        item.getTipo(),
+                        item.getNota()
                 });
             }
         } else {
@@ -251,18 +264,23 @@ public class PainelUsuarios extends JPanel {
             return;
         }
 
-        String titulo = JOptionPane.showInputDialog(this, "Digite o título da Mídia (da Loja) para adicionar:");
+        String titulo = escolherTituloDaLoja();
 
         if (titulo == null || titulo.isBlank()) return;
         titulo = titulo.trim();
 
-        Midia midia = jogoController.buscarJogo(titulo);
-        if (midia == null) {
-            midia = dlcController.buscarDLC(titulo);
-        }
+        Midia midia = buscaController.buscarMidia(titulo);
 
         if (midia == null) {
-            JOptionPane.showMessageDialog(this, "Mídia não encontrada na Loja.", "Erro", JOptionPane.ERROR_MESSAGE);
+            StringBuilder mensagem = new StringBuilder("Mídia não encontrada na Loja.");
+            List<ResultadoAproximado> parecidos = buscaController.buscarAproximado(titulo, LIMITE_SUGESTOES);
+            if (!parecidos.isEmpty()) {
+                mensagem.append("\nVocê quis dizer:");
+                for (ResultadoAproximado parecido : parecidos) {
+                    mensagem.append("\n  - ").append(parecido.getMidia().getTitulo());
+                }
+            }
+            JOptionPane.showMessageDialog(this, mensagem.toString(), "Erro", JOptionPane.ERROR_MESSAGE);
         } else {
             boolean sucesso = usuarioController.adicionarMidiaAoUsuario(usuarioSelecionado.getEmail(), midia);
 
@@ -276,6 +294,55 @@ public class PainelUsuarios extends JPanel {
         }
     }
 
+    /**
+     * Caixa de diálogo com sugestões de títulos da Loja enquanto o usuário digita.
+     * Um clique na sugestão preenche o campo.
+     *
+     * @return O título digitado, ou {@code null} se cancelou.
+     */
+    private String escolherTituloDaLoja() {
+        JTextField txtTitulo = new JTextField(30);
+        DefaultListModel<String> sugestoes = new DefaultListModel<>();
+        JList<String> listaSugestoes = new JList<>(sugestoes);
+        listaSugestoes.setVisibleRowCount(LIMITE_SUGESTOES);
+        listaSugestoes.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+
+        txtTitulo.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { atualizar(); }
+            @Override
+            public void removeUpdate(DocumentEvent e) { atualizar(); }
+            @Override
+            public void changedUpdate(DocumentEvent e) { atualizar(); }
+
+            private void atualizar() {
+                sugestoes.clear();
+                for (Midia m : buscaController.sugerirTitulos(txtTitulo.getText().trim(), LIMITE_SUGESTOES)) {
+                    sugestoes.addElement(m.getTitulo());
+                }
+            }
+        });
+
+        listaSugestoes.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                String escolhido = listaSugestoes.getSelectedValue();
+                if (escolhido != null) {
+                    txtTitulo.setText(escolhido);
+                }
+            }
+        });
+
+        JPanel painel = new JPanel(new BorderLayout(0, 5));
+        painel.add(new JLabel("Digite o título da Mídia (da Loja) para adicionar:"), BorderLayout.NORTH);
+        painel.add(txtTitulo, BorderLayout.CENTER);
+        painel.add(new JScrollPane(listaSugestoes), BorderLayout.SOUTH);
+
+        int result = JOptionPane.showConfirmDialog(this, painel, "Adicionar Mídia",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        return result == JOptionPane.OK_OPTION ? txtTitulo.getText() : null;
+    }
+
     private void acaoEditarMidia() {
         if (usuarioSelecionado == null) {
             JOptionPane.showMessageDialog(this, "Selecione um usuário primeiro.");
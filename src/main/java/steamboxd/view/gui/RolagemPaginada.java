@@ -0,0 +1,79 @@
+package steamboxd.view.gui;
+
+import steamboxd.repository.Pagina;
+import javax.swing.*;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Carrega uma tabela aos poucos, uma página por vez, conforme o usuário
+ * rola até o fim dela (em vez de montar todas as linhas de uma só vez).
+ *
+ * @param <T> O tipo dos itens listados.
+ */
+public class RolagemPaginada<T> {
+
+    // Quantos pixels antes do fim da rolagem a próxima página é pedida
+    private static final int MARGEM_CARREGAMENTO = 50;
+
+    private final JScrollPane rolagem;
+    private final int tamanhoPagina;
+    private final BiFunction<String, Integer, Pagina<T>> buscarPagina;
+    private final Consumer<T> adicionarLinha;
+
+    private String proximoCursor;
+    private boolean terminou = true;
+
+    /**
+     * @param rolagem        O painel de rolagem da tabela.
+     * @param tamanhoPagina  Itens por página.
+     * @param buscarPagina   Busca a página a partir de um cursor ({@code null} = início).
+     * @param adicionarLinha Inclui um item como linha da tabela.
+     */
+    public RolagemPaginada(JScrollPane rolagem, int tamanhoPagina,
+                           BiFunction<String, Integer, Pagina<T>> buscarPagina,
+                           Consumer<T> adicionarLinha) {
+        this.rolagem = rolagem;
+        this.tamanhoPagina = tamanhoPagina;
+        this.buscarPagina = buscarPagina;
+        this.adicionarLinha = adicionarLinha;
+
+        rolagem.getVerticalScrollBar().addAdjustmentListener(e -> {
+            if (!e.getValueIsAdjusting() && pertoDoFim()) {
+                carregarProxima();
+            }
+        });
+    }
+
+    /**
+     * Volta ao início da listagem e carrega a primeira página.
+     * A tabela deve ter sido esvaziada antes.
+     */
+    public void reiniciar() {
+        proximoCursor = null;
+        terminou = false;
+        carregarProxima();
+    }
+
+    private void carregarProxima() {
+        if (terminou) {
+            return;
+        }
+        Pagina<T> pagina = buscarPagina.apply(proximoCursor, tamanhoPagina);
+        pagina.getItens().forEach(adicionarLinha);
+        proximoCursor = pagina.getProximoCursor();
+        terminou = pagina.isUltima();
+
+        // Se a página não bastou para encher a tela, não haverá rolagem: pede a próxima
+        SwingUtilities.invokeLater(() -> {
+            if (pertoDoFim()) {
+                carregarProxima();
+            }
+        });
+    }
+
+    private boolean pertoDoFim() {
+        JScrollBar barra = rolagem.getVerticalScrollBar();
+        return barra.getValue() + barra.getVisibleAmount() >= barra.getMaximum() - MARGEM_CARREGAMENTO;
+    }
+}
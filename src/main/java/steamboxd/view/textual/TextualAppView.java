@@ -1,5 +1,6 @@
 package steamboxd.view.textual;
 
+import steamboxd.controller.BuscaController;
 import steamboxd.controller.DLCController;
 import steamboxd.controller.JogoController;
 import steamboxd.controller.UsuarioController;
@@ -9,7 +10,10 @@ import steamboxd.view.IAppView;
 import java.util.List;
 import steamboxd.model.Jogo;
 import steamboxd.model.DLC;
+import steamboxd.model.ItemBiblioteca;
 import steamboxd.model.Midia;
+import steamboxd.repository.indice.ResultadoAproximado;
+import steamboxd.repository.indice.ResultadoRelevancia;
 
 /**
  * Produto Concreto.
@@ -23,6 +27,12 @@ public class TextualAppView implements IAppView {
     private final JogoController jogoController;
     private final DLCController dlcController;
     private final UsuarioController usuarioController;
+    private final BuscaController buscaController;
+
+    private static final int LIMITE_SUGESTOES = 5;
+    private static final int LIMITE_RESULTADOS_BUSCA = 10;
+    // Itens por página nas listagens
+    private static final int TAMANHO_PAGINA = 20;
 
     /**
      * A View precisa acessar o Sistema para Salvar/Carregar.
@@ -33,6 +43,7 @@ public class TextualAppView implements IAppView {
         this.jogoController = new JogoController();
         this.dlcController = new DLCController();
         this.usuarioController = new UsuarioController();
+        this.buscaController = new BuscaController();
         this.sistema = Sistema.getInstance();
     }
 
@@ -71,6 +82,9 @@ public class TextualAppView implements IAppView {
                 case 4:
                     sistema.salvarDados();
                     break;
+                case 5:
+                    buscarNoCatalogo();
+                    break;
                 case 0:
                     executando = false;
                     break;
@@ -84,6 +98,21 @@ public class TextualAppView implements IAppView {
         System.out.println("Até logo!");
     }
 
+    /**
+     * Mostra os títulos da loja parecidos com o que foi digitado,
+     * para ajudar quando o título tem erro de digitação.
+     */
+    private void sugerirTitulosParecidos(String titulo) {
+        List<ResultadoAproximado> parecidos = buscaController.buscarAproximado(titulo, LIMITE_SUGESTOES);
+        if (!parecidos.isEmpty()) {
+            System.out.println("Você quis dizer:");
+            for (ResultadoAproximado parecido : parecidos) {
+                Midia midia = parecido.getMidia();
+                System.out.println("  - " + midia.getTitulo() + " (" + midia.getTipo() + ")");
+            }
+        }
+    }
+
     /**
      * Menu Principal
      */
@@ -93,7 +122,28 @@ public class TextualAppView implements IAppView {
         System.out.println("2. Gerenciar DLCs");
         System.out.println("3. Gerenciar Usuários");
         System.out.println("4. Salvar Dados Manualmente");
-        System.out.println("0. Sair e Salvar");
+        System.out.println("5. Buscar no Catálogo");
+        System.out.println("0. Sair (as alterações são salvas automaticamente)");
+    }
+
+    /**
+     * Busca jogos e DLCs pelas palavras do título, da desenvolvedora,
+     * dos gêneros e das plataformas, dos mais relevantes para os menos.
+     */
+    private void buscarNoCatalogo() {
+        System.out.println("\n-> Buscar no Catálogo");
+        String consulta = ConsoleUtil.lerString("Palavras (ex: souls ps5): ");
+        List<ResultadoRelevancia> resultados = buscaController.buscarTexto(consulta, LIMITE_RESULTADOS_BUSCA);
+
+        if (resultados.isEmpty()) {
+            System.out.println("Nenhuma mídia encontrada.");
+            sugerirTitulosParecidos(consulta);
+            return;
+        }
+        for (ResultadoRelevancia resultado : resultados) {
+            Midia midia = resultado.getMidia();
+            System.out.println(String.format("  - %s (%s) [%.2f]", midia.getTitulo(), midia.getTipo(), resultado.getPontuacao()));
+        }
     }
 
     /**
@@ -143,8 +193,11 @@ public class TextualAppView implements IAppView {
         boolean multi = ConsoleUtil.lerBoolean("Tem multiplayer (s/n): ");
 
         try {
-            jogoController.adicionarJogo(titulo, 0.0, ano, generos, plataformas, dev, multi, preco);
-            System.out.println("\nJogo '" + titulo.trim() + "' adicionado com sucesso!");
+            if (jogoController.adicionarJogo(titulo, 0.0, ano, generos, plataformas, dev, multi, preco)) {
+                System.out.println("\nJogo '" + titulo.trim() + "' adicionado com sucesso!");
+            } else {
+                System.out.println("\nErro: Já existe um jogo com este título.");
+            }
         } catch (IllegalArgumentException e) {
             System.out.println("\nErro de Validação: " + e.getMessage());
         }
@@ -155,38 +208,45 @@ public class TextualAppView implements IAppView {
      */
     private void listarJogos() {
         System.out.println("\n--- Lista de Jogos ---");
-        var jogos = jogoController.listarJogos();
+        var pagina = jogoController.listarJogosPagina(null, TAMANHO_PAGINA);
 
-        if (jogos.isEmpty()) {
+        if (pagina.getItens().isEmpty()) {
             System.out.println("Nenhum jogo cadastrado.");
             return;
         }
 
-        for (var jogo : jogos) {
-            String anoStr = (jogo.getAnoLancamento() == 0) ? "N/A" : String.valueOf(jogo.getAnoLancamento());
+        while (true) {
+            for (var jogo : pagina.getItens()) {
+                String anoStr = (jogo.getAnoLancamento() == 0) ? "N/A" : String.valueOf(jogo.getAnoLancamento());
 
-            String precoStr;
-            if (jogo.getPreco() == 0.0) {
-                precoStr = "Grátis";
-            } else {
-                precoStr = String.format("R$ %.2f", jogo.getPreco());
-            }
+                String precoStr;
+                if (jogo.getPreco() == 0.0) {
+                    precoStr = "Grátis";
+                } else {
+                    precoStr = String.format("R$ %.2f", jogo.getPreco());
+                }
 
-            System.out.println("--------------------");
-            System.out.println("Título: " + jogo.getTitulo() + " (" + anoStr + ")");
-            System.out.println("Preço: " + precoStr);
-            System.out.println("Desenvolvedora: " + (jogo.getDesenvolvedora().isEmpty() ? "N/A" : jogo.getDesenvolvedora()));
+                System.out.println("--------------------");
+                System.out.println("Título: " + jogo.getTitulo() + " (" + anoStr + ")");
+                System.out.println("Preço: " + precoStr);
+                System.out.println("Desenvolvedora: " + (jogo.getDesenvolvedora().isEmpty() ? "N/A" : jogo.getDesenvolvedora()));
+
+                String generosStr = jogo.visaoGeneros().isEmpty() ? "N/A" : String.join(", ", jogo.visaoGeneros());
+                System.out.println("Gêneros: " + generosStr);
 
-            String generosStr = jogo.getGeneros().isEmpty() ? "N/A" : String.join(", ", jogo.getGeneros());
-            System.out.println("Gêneros: " + generosStr);
+                String platStr = jogo.visaoPlataformas().isEmpty() ? "N/A" : String.join(", ", jogo.visaoPlataformas());
+                System.out.println("Plataformas: " + platStr);
 
-            String platStr = jogo.getPlataformas().isEmpty() ? "N/A" : String.join(", ", jogo.getPlataformas());
-            System.out.println("Plataformas: " + platStr);
+                System.out.println("Multiplayer: " + (jogo.isMultiplayer() ? "Sim" : "Não"));
+                System.out.println("DLCs cadastradas: " + jogo.getDlcTitulos().size());
+            }
+            System.out.println("--------------------");
 
-            System.out.println("Multiplayer: " + (jogo.isMultiplayer() ? "Sim" : "Não"));
-            System.out.println("DLCs cadastradas: " + jogo.getDlcTitulos().size());
+            if (pagina.isUltima() || !ConsoleUtil.lerBoolean("Mostrar mais? (s/n): ")) {
+                return;
+            }
+            pagina = jogoController.listarJogosPagina(pagina.getProximoCursor(), TAMANHO_PAGINA);
         }
-        System.out.println("--------------------");
     }
 
     /**
@@ -200,6 +260,7 @@ public class TextualAppView implements IAppView {
 
         if (jogo == null) {
             System.out.println("Erro: Jogo não encontrado.");
+            sugerirTitulosParecidos(titulo);
             return;
         }
 
@@ -280,6 +341,7 @@ public class TextualAppView implements IAppView {
                 System.out.println("Jogo removido com sucesso.");
             } else {
                 System.out.println("Erro: Jogo não encontrado.");
+                sugerirTitulosParecidos(titulo);
             }
         } else {
             System.out.println("Remoção cancelada.");
@@ -333,8 +395,11 @@ public class TextualAppView implements IAppView {
         boolean ex = ConsoleUtil.lerBoolean("Tem expansão (s/n): ");
 
         try {
-            dlcController.adicionarDLC(titulo, 0.0, ano, generos, plataformas, jogoBaseTitulo, ex, preco);
-            System.out.println("DLC '" + titulo + "' adicionada com sucesso!");
+            if (dlcController.adicionarDLC(titulo, 0.0, ano, generos, plataformas, jogoBaseTitulo, ex, preco)) {
+                System.out.println("DLC '" + titulo + "' adicionada com sucesso!");
+            } else {
+                System.out.println("\nErro: Já existe uma DLC com este título.");
+            }
         } catch (IllegalArgumentException e) {
             System.out.println("\nErro de Validação: " + e.getMessage());
         }
@@ -345,37 +410,44 @@ public class TextualAppView implements IAppView {
      */
     private void listarDLCs() {
         System.out.println("\n--- Lista de DLCs ---");
-        var dlcs = dlcController.listarDLCs();
+        var pagina = dlcController.listarDLCsPagina(null, TAMANHO_PAGINA);
 
-        if (dlcs.isEmpty()) {
+        if (pagina.getItens().isEmpty()) {
             System.out.println("Nenhuma DLC cadastrada.");
             return;
         }
 
-        for (var dlc : dlcs) {
-            String anoStr = (dlc.getAnoLancamento() == 0) ? "N/A" : String.valueOf(dlc.getAnoLancamento());
+        while (true) {
+            for (var dlc : pagina.getItens()) {
+                String anoStr = (dlc.getAnoLancamento() == 0) ? "N/A" : String.valueOf(dlc.getAnoLancamento());
 
-            String precoStr;
-            if (dlc.getPreco() == 0.0) {
-                precoStr = "Grátis";
-            } else {
-                precoStr = String.format("R$ %.2f", dlc.getPreco());
-            }
+                String precoStr;
+                if (dlc.getPreco() == 0.0) {
+                    precoStr = "Grátis";
+                } else {
+                    precoStr = String.format("R$ %.2f", dlc.getPreco());
+                }
 
-            System.out.println("--------------------");
-            System.out.println("Título: " + dlc.getTitulo() + " (" + anoStr + ")");
-            System.out.println("Jogo Base: " + (dlc.getJogoBaseTitulo().isEmpty() ? "N/A" : dlc.getJogoBaseTitulo()));
-            System.out.println("Preço: " + precoStr);
+                System.out.println("--------------------");
+                System.out.println("Título: " + dlc.getTitulo() + " (" + anoStr + ")");
+                System.out.println("Jogo Base: " + (dlc.getJogoBaseTitulo().isEmpty() ? "N/A" : dlc.getJogoBaseTitulo()));
+                System.out.println("Preço: " + precoStr);
+
+                String generosStr = dlc.visaoGeneros().isEmpty() ? "N/A" : String.join(", ", dlc.visaoGeneros());
+                System.out.println("Gêneros: " + generosStr);
 
-            String generosStr = dlc.getGeneros().isEmpty() ? "N/A" : String.join(", ", dlc.getGeneros());
-            System.out.println("Gêneros: " + generosStr);
+                String platStr = dlc.visaoPlataformas().isEmpty() ? "N/A" : String.join(", ", dlc.visaoPlataformas());
+                System.out.println("Plataformas: " + platStr);
 
-            String platStr = dlc.getPlataformas().isEmpty() ? "N/A" : String.join(", ", dlc.getPlataformas());
-            System.out.println("Plataformas: " + platStr);
+                System.out.println("Expansão: " + (dlc.isExpansao() ? "Sim" : "Não"));
+            }
+            System.out.println("--------------------");
 
-            System.out.println("Expansão: " + (dlc.isExpansao() ? "Sim" : "Não"));
+            if (pagina.isUltima() || !ConsoleUtil.lerBoolean("Mostrar mais? (s/n): ")) {
+                return;
+            }
+            pagina = dlcController.listarDLCsPagina(pagina.getProximoCursor(), TAMANHO_PAGINA);
         }
-        System.out.println("--------------------");
     }
 
     /**
@@ -389,6 +461,7 @@ public class TextualAppView implements IAppView {
 
         if (dlc == null) {
             System.out.println("Erro: DLC não encontrada.");
+            sugerirTitulosParecidos(titulo);
             return;
         }
 
@@ -469,6 +542,7 @@ public class TextualAppView implements IAppView {
                 System.out.println("DLC removida com sucesso.");
             } else {
                 System.out.println("Erro: DLC não encontrada.");
+                sugerirTitulosParecidos(titulo);
             }
         } else {
             System.out.println("Remoção cancelada.");
@@ -537,20 +611,27 @@ public class TextualAppView implements IAppView {
      */
     private void listarUsuarios() {
         System.out.println("\n--- Lista de Usuários ---");
-        var usuarios = usuarioController.listarUsuarios();
+        var pagina = usuarioController.listarUsuariosPagina(null, TAMANHO_PAGINA);
 
-        if (usuarios.isEmpty()) {
+        if (pagina.getItens().isEmpty()) {
             System.out.println("Nenhum usuário cadastrado.");
             return;
         }
 
-        for (var usuario : usuarios) {
+        while (true) {
+            for (var usuario : pagina.getItens()) {
+                System.out.println("--------------------");
+                System.out.println("Nome: " + usuario.getNome());
+                System.out.println("Email: " + usuario.getEmail());
+                System.out.println("Mídias na biblioteca: " + usuario.tamanhoBiblioteca());
+            }
             System.out.println("--------------------");
-            System.out.println("Nome: " + usuario.getNome());
-            System.out.println("Email: " + usuario.getEmail());
-            System.out.println("Mídias na biblioteca: " + usuario.getBiblioteca().size());
+
+            if (pagina.isUltima() || !ConsoleUtil.lerBoolean("Mostrar mais? (s/n): ")) {
+                return;
+            }
+            pagina = usuarioController.listarUsuariosPagina(pagina.getProximoCursor(), TAMANHO_PAGINA);
         }
-        System.out.println("--------------------");
     }
 
     /**
@@ -694,6 +775,7 @@ public class TextualAppView implements IAppView {
 
         if (midiaParaAdicionar == null) {
             System.out.println("Erro: Mídia não encontrada na loja.");
+            sugerirTitulosParecidos(titulo);
             return;
         }
 
@@ -719,9 +801,11 @@ public class TextualAppView implements IAppView {
             return;
         }
 
-        for (var midia : biblioteca) {
+        for (var item : biblioteca) {
             System.out.println("--------------------");
 
+            // Os dados da mídia vêm da loja; a nota e o preço pago são do usuário
+            var midia = item.getMidia();
             if (midia instanceof Jogo) {
                 var jogo = (Jogo) midia;
 
@@ -737,10 +821,11 @@ public class TextualAppView implements IAppView {
                 System.out.println("Tipo: Jogo");
                 System.out.println("Título: " + jogo.getTitulo() + " (" + anoStr + ")");
                 System.out.println("Preço: " + precoStr);
-                System.out.println("Nota: " + jogo.getNota());
+                imprimirPrecoPago(item);
+                System.out.println("Nota: " + item.getNota());
                 System.out.println("Desenvolvedora: " + (jogo.getDesenvolvedora().isEmpty() ? "N/A" : jogo.getDesenvolvedora()));
-                System.out.println("Gêneros: " + (jogo.getGeneros().isEmpty() ? "N/A" : String.join(", ", jogo.getGeneros())));
-                System.out.println("Plataformas: " + (jogo.getPlataformas().isEmpty() ? "N/A" : String.join(", ", jogo.getPlataformas())));
+                System.out.println("Gêneros: " + (jogo.visaoGeneros().isEmpty() ? "N/A" : String.join(", ", jogo.visaoGeneros())));
+                System.out.println("Plataformas: " + (jogo.visaoPlataformas().isEmpty() ? "N/A" : String.join(", ", jogo.visaoPlataformas())));
                 System.out.println("Multiplayer: " + (jogo.isMultiplayer() ? "Sim" : "Não"));
 
             } else if (midia instanceof DLC) {
@@ -758,10 +843,11 @@ public class TextualAppView implements IAppView {
                 System.out.println("Tipo: DLC");
                 System.out.println("Título: " + dlc.getTitulo() + " (" + anoStr + ")");
                 System.out.println("Jogo Base: " + dlc.getJogoBaseTitulo());
-                System.out.println("Preço: R$ " + precoStr);
-                System.out.println("Nota: " + dlc.getNota());
-                System.out.println("Gêneros: " + (dlc.getGeneros().isEmpty() ? "N/A" : String.join(", ", dlc.getGeneros())));
-                System.out.println("Plataformas: " + (dlc.getPlataformas().isEmpty() ? "N/A" : String.join(", ", dlc.getPlataformas())));
+                System.out.println("Preço: " + precoStr);
+                imprimirPrecoPago(item);
+                System.out.println("Nota: " + item.getNota());
+                System.out.println("Gêneros: " + (dlc.visaoGeneros().isEmpty() ? "N/A" : String.join(", ", dlc.visaoGeneros())));
+                System.out.println("Plataformas: " + (dlc.visaoPlataformas().isEmpty() ? "N/A" : String.join(", ", dlc.visaoPlataformas())));
                 System.out.println("Expansão: " + (dlc.isExpansao() ? "Sim" : "Não"));
 
             } else {
@@ -772,6 +858,16 @@ public class TextualAppView implements IAppView {
         System.out.println("--------------------");
     }
 
+    /**
+     * Mostra o preço pago pelo item, se ele for diferente do preço atual da loja.
+     */
+    private void imprimirPrecoPago(ItemBiblioteca item) {
+        double pago = item.getPrecoPago();
+        if (Double.compare(pago, item.getMidia().getPreco()) != 0) {
+            System.out.println("Preço pago: " + (pago == 0.0 ? "Grátis" : String.format("R$ %.2f", pago)));
+        }
+    }
+
     /**
      * Gerencia o fluxo de interface para editar mídia da biblioteca do usuário cadastrado.
      */
@@ -0,0 +1,208 @@
+package steamboxd.data.diario;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import steamboxd.data.DadosSistema;
+import steamboxd.data.Sistema;
+import steamboxd.data.dao.TxtMapeadoDAO;
+import steamboxd.model.Jogo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recuperação do {@link Diario} depois de uma queda ou falha no meio da
+ * escrita, de um diário corrompido ou de outra base, e a reaplicação do
+ * diário sobre a base pelo {@link Sistema}.
+ */
+class DiarioTest {
+
+    private static final int REGISTROS = 10;
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    void registroCortadoNoMeioEhDescartadoEOArquivoEhTruncado() throws IOException {
+        Path base = pasta.resolve("steamboxd.txt");
+        Files.writeString(base, "JOGO;Hades\n");
+        Path arquivoDiario = Path.of(base + Diario.EXTENSAO);
+
+        Diario diario = new Diario();
+        diario.abrir(base.toString());
+        for (int i = 1; i < REGISTROS; i++) {
+            diario.aoMutar(mutacao(i));
+        }
+        diario.gravarPendentes();
+        long fimDoPenultimo = Files.size(arquivoDiario);
+
+        diario.aoMutar(mutacao(REGISTROS));
+        diario.gravarPendentes();
+        long fimDoUltimo = Files.size(arquivoDiario);
+
+        // Simula a queda: o último registro fica pela metade
+        try (FileChannel canal = FileChannel.open(arquivoDiario, StandardOpenOption.WRITE)) {
+            canal.truncate((fimDoPenultimo + fimDoUltimo) / 2);
+        }
+
+        Diario reaberto = new Diario();
+        reaberto.abrir(base.toString());
+        List<Mutacao> recuperadas = reaberto.recuperar();
+
+        assertEquals(REGISTROS - 1, recuperadas.size());
+        for (int i = 0; i < recuperadas.size(); i++) {
+            assertEquals(TipoMutacao.ADICIONAR_USUARIO, recuperadas.get(i).getTipo());
+            assertEquals(email(i + 1), recuperadas.get(i).getTexto(1));
+        }
+        assertEquals(fimDoPenultimo, Files.size(arquivoDiario));
+    }
+
+    @Test
+    void falhaNoMeioDoLoteDesfazAEscritaEMantemAsPendentes() throws IOException {
+        Path base = pasta.resolve("steamboxd.txt");
+        Files.writeString(base, "JOGO;Hades\n");
+        Path arquivoDiario = Path.of(base + Diario.EXTENSAO);
+
+        boolean[] falhar = {false};
+        Diario diario = new Diario() {
+            @Override
+            void escreverLote(FileChannel canal, ByteBuffer bytes) throws IOException {
+                if (falhar[0]) {
+                    // Metade do lote chega ao disco antes da falha
+                    bytes.limit(bytes.position() + bytes.remaining() / 2);
+                    super.escreverLote(canal, bytes);
+                    throw new IOException("Disco cheio");
+                }
+                super.escreverLote(canal, bytes);
+            }
+        };
+        diario.abrir(base.toString());
+        for (int i = 1; i <= 3; i++) {
+            diario.aoMutar(mutacao(i));
+        }
+        diario.gravarPendentes();
+        long fimDoPrimeiroLote = Files.size(arquivoDiario);
+
+        for (int i = 4; i <= 6; i++) {
+            diario.aoMutar(mutacao(i));
+        }
+        falhar[0] = true;
+        assertThrows(IOException.class, diario::gravarPendentes);
+        assertEquals(fimDoPrimeiroLote, Files.size(arquivoDiario));
+        assertTrue(diario.possuiPendentes());
+
+        // A próxima tentativa grava o lote inteiro, e o que vem depois continua válido
+        falhar[0] = false;
+        diario.gravarPendentes();
+        for (int i = 7; i <= REGISTROS; i++) {
+            diario.aoMutar(mutacao(i));
+        }
+        diario.gravarPendentes();
+
+        Diario reaberto = new Diario();
+        reaberto.abrir(base.toString());
+        List<Mutacao> recuperadas = reaberto.recuperar();
+
+        assertEquals(REGISTROS, recuperadas.size());
+        for (int i = 0; i < recuperadas.size(); i++) {
+            assertEquals(email(i + 1), recuperadas.get(i).getTexto(1));
+        }
+    }
+
+    @Test
+    void registroComCrcErradoNoMeioCortaODiarioAli() throws IOException {
+        Path base = pasta.resolve("steamboxd.txt");
+        Files.writeString(base, "JOGO;Hades\n");
+        Path arquivoDiario = Path.of(base + Diario.EXTENSAO);
+
+        Diario diario = new Diario();
+        diario.abrir(base.toString());
+        long[] fimDoRegistro = new long[REGISTROS + 1];
+        for (int i = 1; i <= REGISTROS; i++) {
+            diario.aoMutar(mutacao(i));
+            diario.gravarPendentes();
+            fimDoRegistro[i] = Files.size(arquivoDiario);
+        }
+
+        // Troca um byte do conteúdo do quinto registro (depois do tamanho e do CRC)
+        byte[] dados = Files.readAllBytes(arquivoDiario);
+        dados[(int) fimDoRegistro[4] + 2 * Integer.BYTES + 1] ^= 0x20;
+        Files.write(arquivoDiario, dados);
+
+        Diario reaberto = new Diario();
+        reaberto.abrir(base.toString());
+        List<Mutacao> recuperadas = reaberto.recuperar();
+
+        assertEquals(4, recuperadas.size());
+        assertEquals(email(4), recuperadas.get(3).getTexto(1));
+        assertEquals(fimDoRegistro[4], Files.size(arquivoDiario));
+    }
+
+    @Test
+    void diarioDeOutraBaseEhDescartado() throws IOException {
+        Path base = pasta.resolve("steamboxd.txt");
+        Files.writeString(base, "JOGO;Hades\n");
+        Path arquivoDiario = Path.of(base + Diario.EXTENSAO);
+
+        Diario diario = new Diario();
+        diario.abrir(base.toString());
+        for (int i = 1; i <= REGISTROS; i++) {
+            diario.aoMutar(mutacao(i));
+        }
+        diario.gravarPendentes();
+
+        // A base é reescrita por fora: o diário não pertence mais a ela
+        Files.writeString(base, "JOGO;Celeste\n");
+
+        Diario reaberto = new Diario();
+        reaberto.abrir(base.toString());
+
+        assertTrue(reaberto.recuperar().isEmpty());
+        assertFalse(Files.exists(arquivoDiario));
+    }
+
+    @Test
+    void sistemaReaplicaODiarioSobreABase() throws Exception {
+        Path base = pasta.resolve("steamboxd.txt");
+        List<Jogo> jogos = new ArrayList<>();
+        jogos.add(new Jogo("Hades"));
+        new TxtMapeadoDAO().salvar(new DadosSistema(jogos, new ArrayList<>(), new ArrayList<>()), base.toString());
+
+        Diario diario = new Diario();
+        diario.abrir(base.toString());
+        diario.aoMutar(new Mutacao(TipoMutacao.ADICIONAR_JOGO, new Jogo("Celeste")));
+        // Registro válido no diário, mas com um argumento do tipo errado: é pulado
+        diario.aoMutar(new Mutacao(TipoMutacao.EDITAR_ANO_JOGO, "Hades", "dois mil"));
+        diario.aoMutar(new Mutacao(TipoMutacao.EDITAR_PRECO_JOGO, "Hades", 19.9));
+        diario.aoMutar(new Mutacao(TipoMutacao.ADICIONAR_USUARIO, "Ana", "ana@gmail.com"));
+        diario.gravarPendentes();
+
+        Sistema sistema = Sistema.getInstance();
+        sistema.carregarDados(base.toString());
+
+        assertEquals(2, sistema.getJogoRepository().listarTodos().size());
+        assertNotNull(sistema.getJogoRepository().buscar("Celeste"));
+        assertEquals(19.9, sistema.getJogoRepository().buscar("Hades").getPreco());
+        assertNotNull(sistema.getUsuarioRepository().buscar("ana@gmail.com"));
+    }
+
+    private static Mutacao mutacao(int numero) {
+        return new Mutacao(TipoMutacao.ADICIONAR_USUARIO, "Usuário " + numero, email(numero));
+    }
+
+    private static String email(int numero) {
+        return "usuario" + numero + "@steamboxd.com";
+    }
+}
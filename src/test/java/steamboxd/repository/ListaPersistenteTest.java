@@ -0,0 +1,135 @@
+package steamboxd.repository;
+
+import org.junit.jupiter.api.Test;
+import steamboxd.model.Jogo;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Versões da {@link ListaPersistente} contra cópias ordenadas tiradas no
+ * momento em que cada versão foi criada: uma versão antiga não pode mudar
+ * quando outras são criadas a partir dela.
+ */
+class ListaPersistenteTest {
+
+    private static final int OPERACOES = 5000;
+
+    private final Random aleatorio = new Random(18);
+
+    @Test
+    void versoesAntigasNaoMudamComInclusoesERemocoes() {
+        List<ListaPersistente<String>> versoes = new ArrayList<>();
+        List<List<String>> copias = new ArrayList<>();
+        TreeMap<Long, String> atual = new TreeMap<>();
+        ListaPersistente<String> lista = ListaPersistente.vazia();
+        long proxima = 0;
+
+        for (int i = 0; i < OPERACOES; i++) {
+            int operacao = aleatorio.nextInt(10);
+            if (operacao < 5) {
+                // Chaves fora de ordem também entram na posição certa
+                long chave = aleatorio.nextBoolean() ? proxima++ : -1 - aleatorio.nextInt(1_000_000);
+                if (!atual.containsKey(chave)) {
+                    lista = lista.com(chave, "item " + chave);
+                    atual.put(chave, "item " + chave);
+                }
+            } else if (operacao < 6) {
+                List<String> lote = new ArrayList<>();
+                for (int k = aleatorio.nextInt(40); k > 0; k--) {
+                    atual.put(proxima, "item " + proxima);
+                    lote.add("item " + proxima++);
+                }
+                lista = lista.comTodos(proxima - lote.size(), lote);
+            } else if (!atual.isEmpty()) {
+                Long[] chaves = atual.keySet().toArray(new Long[0]);
+                long removida = chaves[aleatorio.nextInt(chaves.length)];
+                lista = lista.sem(removida);
+                atual.remove(removida);
+            }
+            if (i % 50 == 0) {
+                versoes.add(lista);
+                copias.add(new ArrayList<>(atual.values()));
+            }
+        }
+
+        for (int v = 0; v < versoes.size(); v++) {
+            ListaPersistente<String> versao = versoes.get(v);
+            List<String> copia = copias.get(v);
+            assertEquals(copia.size(), versao.size());
+            // Iteração e acesso por posição
+            assertEquals(copia, new ArrayList<>(versao));
+            for (int k = 0; k < 20 && !copia.isEmpty(); k++) {
+                int posicao = aleatorio.nextInt(copia.size());
+                assertEquals(copia.get(posicao), versao.get(posicao));
+            }
+        }
+    }
+
+    @Test
+    void remocaoDeChaveAusenteDevolveAMesmaVersao() {
+        ListaPersistente<String> lista = ListaPersistente.<String>vazia().com(1, "a").com(2, "b");
+        assertSame(lista, lista.sem(3));
+        assertSame(lista, lista.comTodos(10, List.of()));
+    }
+
+    @Test
+    void proximaChaveNaoVoltaAtrasComRemocoes() {
+        ListaPersistente<String> lista = ListaPersistente.<String>vazia().comTodos(0, List.of("a", "b", "c"));
+        assertEquals(3, lista.proximaChave());
+        lista = lista.sem(2).sem(1);
+        assertEquals(3, lista.proximaChave());
+        assertEquals(List.of("a"), lista);
+        assertEquals(8, lista.com(7, "d").proximaChave());
+    }
+
+    @Test
+    void naoPodeSerAlteradaPorFora() {
+        ListaPersistente<String> lista = ListaPersistente.<String>vazia().com(0, "a");
+        assertThrows(UnsupportedOperationException.class, () -> lista.add("b"));
+        assertThrows(UnsupportedOperationException.class, () -> lista.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> lista.set(0, "b"));
+        assertThrows(UnsupportedOperationException.class, lista::clear);
+        assertThrows(UnsupportedOperationException.class, () -> lista.iterator().remove());
+        assertThrows(IndexOutOfBoundsException.class, () -> lista.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> lista.get(-1));
+
+        Iterator<String> iterador = lista.iterator();
+        iterador.next();
+        assertFalse(iterador.hasNext());
+        assertThrows(NoSuchElementException.class, iterador::next);
+    }
+
+    @Test
+    void listarTodosDevolveUmaFotoQueNaoMuda() {
+        JogoRepository repository = new JogoRepository();
+        repository.adicionar(new Jogo("Hades"));
+        repository.adicionar(new Jogo("Celeste"));
+        List<Jogo> foto = repository.listarTodos();
+
+        repository.adicionar(new Jogo("Inside"));
+        repository.remover("Hades");
+        repository.carregarDados(List.of(new Jogo("Limbo")));
+
+        assertEquals(List.of("Hades", "Celeste"), titulos(foto));
+        assertEquals(List.of("Limbo"), titulos(repository.listarTodos()));
+        assertThrows(UnsupportedOperationException.class, () -> foto.add(new Jogo("Portal")));
+    }
+
+    private static List<String> titulos(List<Jogo> jogos) {
+        List<String> titulos = new ArrayList<>();
+        for (Jogo jogo : jogos) {
+            titulos.add(jogo.getTitulo());
+        }
+        return titulos;
+    }
+}
@@ -0,0 +1,220 @@
+package steamboxd.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import steamboxd.data.diario.OuvinteMutacoes;
+import steamboxd.model.DLC;
+import steamboxd.model.Jogo;
+import steamboxd.service.JogoService;
+import steamboxd.util.ChaveUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Consultas do {@link MidiaRepository} pelos índices (invertidos e
+ * ordenados) contra o filtro da listagem inteira, depois de inclusões,
+ * edições e remoções.
+ */
+class MidiaRepositoryTest {
+
+    private static final String[] GENEROS = {"Ação", "Aventura", "RPG", "Estratégia", "Puzzle", "Terror", "Indie", "Corrida"};
+    private static final String[] PLATAFORMAS = {"PC", "PS5", "Xbox Series", "Switch", "Linux"};
+    private static final String[] DESENVOLVEDORAS = {"Supergiant", "Team Cherry", "FromSoftware", "Mojang", "Capcom", "Valve"};
+    private static final int JOGOS = 2000;
+    private static final int CONSULTAS = 300;
+
+    private final Random aleatorio = new Random(11);
+    private JogoRepository repository;
+    private JogoService service;
+
+    @BeforeEach
+    void preparar() {
+        repository = new JogoRepository();
+        service = new JogoService(repository, new UsuarioRepository(), OuvinteMutacoes.NENHUM);
+        for (int i = 0; i < JOGOS; i++) {
+            repository.adicionar(new Jogo("Jogo " + i, sortear(GENEROS, 1 + aleatorio.nextInt(3)),
+                    aleatorio.nextInt(101) / 10.0, 1990 + aleatorio.nextInt(35), sortear(PLATAFORMAS, 1 + aleatorio.nextInt(3)),
+                    DESENVOLVEDORAS[aleatorio.nextInt(DESENVOLVEDORAS.length)], aleatorio.nextBoolean(),
+                    aleatorio.nextInt(30_000) / 100.0));
+        }
+        // Edições e remoções passam pelos índices
+        for (int i = 0; i < JOGOS; i++) {
+            String titulo = "Jogo " + i;
+            switch (aleatorio.nextInt(8)) {
+                case 0 -> repository.remover(titulo);
+                case 1 -> service.editarDesenvolvedora(titulo, DESENVOLVEDORAS[aleatorio.nextInt(DESENVOLVEDORAS.length)]);
+                case 2 -> service.atualizarGeneros(titulo, sortear(GENEROS, 1 + aleatorio.nextInt(3)));
+                case 3 -> service.adicionarPlataforma(titulo, PLATAFORMAS[aleatorio.nextInt(PLATAFORMAS.length)]);
+                case 4 -> service.editarPreco(titulo, aleatorio.nextInt(30_000) / 100.0);
+                case 5 -> service.editarAno(titulo, 1990 + aleatorio.nextInt(35));
+                default -> {
+                }
+            }
+        }
+    }
+
+    @Test
+    void consultasPorGeneroPlataformaEDesenvolvedoraBatemComOFiltro() {
+        for (int c = 0; c < CONSULTAS; c++) {
+            Consulta<Jogo> consulta = new Consulta<>();
+            List<Predicate<Jogo>> criterios = new ArrayList<>();
+            for (String genero : sortear(GENEROS, aleatorio.nextInt(3))) {
+                // Os rótulos são comparados sem acentos nem maiúsculas
+                consulta.comGenero(aleatorio.nextBoolean() ? genero : ChaveUtil.normalizar(genero).toUpperCase(Locale.ROOT));
+                criterios.add(jogo -> contem(jogo.getGeneros(), genero));
+            }
+            if (aleatorio.nextBoolean()) {
+                String plataforma = PLATAFORMAS[aleatorio.nextInt(PLATAFORMAS.length)];
+                consulta.comPlataforma(plataforma);
+                criterios.add(jogo -> contem(jogo.getPlataformas(), plataforma));
+            }
+            if (aleatorio.nextInt(3) == 0) {
+                String[] alternativas = sortear(GENEROS, 2).toArray(new String[0]);
+                consulta.comAlgumGenero(alternativas);
+                criterios.add(jogo -> contem(jogo.getGeneros(), alternativas[0]) || contem(jogo.getGeneros(), alternativas[1]));
+            }
+            if (aleatorio.nextBoolean()) {
+                String desenvolvedora = DESENVOLVEDORAS[aleatorio.nextInt(DESENVOLVEDORAS.length)];
+                consulta.daDesenvolvedora(desenvolvedora);
+                criterios.add(jogo -> jogo.getDesenvolvedora().equals(desenvolvedora));
+            }
+            if (aleatorio.nextInt(4) == 0) {
+                consulta.onde(Jogo::isMultiplayer);
+                criterios.add(Jogo::isMultiplayer);
+            }
+
+            assertEquals(chaves(filtrar(criterios)), chaves(repository.consultar(consulta)));
+        }
+    }
+
+    @Test
+    void consultasPorIntervaloEOrdenadasBatemComOFiltro() {
+        for (int c = 0; c < CONSULTAS; c++) {
+            Consulta<Jogo> consulta = new Consulta<>();
+            List<Predicate<Jogo>> criterios = new ArrayList<>();
+            for (CampoNumerico campo : CampoNumerico.values()) {
+                if (aleatorio.nextBoolean()) {
+                    Double minimo = aleatorio.nextBoolean() ? null : limite(campo);
+                    Double maximo = aleatorio.nextBoolean() ? null : limite(campo);
+                    consulta.entre(campo, minimo, maximo);
+                    criterios.add(jogo -> (minimo == null || campo.valorDe(jogo) >= minimo)
+                            && (maximo == null || campo.valorDe(jogo) <= maximo));
+                }
+            }
+            if (aleatorio.nextInt(3) == 0) {
+                String genero = GENEROS[aleatorio.nextInt(GENEROS.length)];
+                consulta.comGenero(genero);
+                criterios.add(jogo -> contem(jogo.getGeneros(), genero));
+            }
+            CampoNumerico ordenacao = null;
+            boolean decrescente = aleatorio.nextBoolean();
+            if (aleatorio.nextBoolean()) {
+                ordenacao = CampoNumerico.values()[aleatorio.nextInt(CampoNumerico.values().length)];
+                consulta.ordenarPor(ordenacao, decrescente);
+            }
+            int limite = aleatorio.nextBoolean() ? Integer.MAX_VALUE : aleatorio.nextInt(50);
+            if (limite != Integer.MAX_VALUE) {
+                consulta.limitar(limite);
+            }
+
+            List<Jogo> esperados = filtrar(criterios);
+            List<Jogo> resultado = repository.consultar(consulta);
+            assertEquals(Math.min(limite, esperados.size()), resultado.size());
+            for (Jogo jogo : resultado) {
+                assertTrue(esperados.contains(jogo));
+            }
+            if (ordenacao == null) {
+                if (limite == Integer.MAX_VALUE) {
+                    assertEquals(chaves(esperados), chaves(resultado));
+                }
+                continue;
+            }
+            // Empates podem sair em qualquer ordem: confere a sequência de valores
+            CampoNumerico campo = ordenacao;
+            Comparator<Jogo> ordem = Comparator.comparingDouble(campo::valorDe);
+            esperados.sort(decrescente ? ordem.reversed() : ordem);
+            assertEquals(valores(esperados.subList(0, resultado.size()), campo), valores(resultado, campo));
+        }
+    }
+
+    @Test
+    void semCriteriosDevolveOCatalogoNaOrdemDeInclusao() {
+        assertEquals(repository.listarTodos(), repository.consultar(new Consulta<>()));
+    }
+
+    @Test
+    void rotuloInexistenteNaoEncontraNada() {
+        assertEquals(List.of(), repository.consultar(new Consulta<Jogo>().comGenero("Visual Novel")));
+        assertEquals(List.of(), repository.consultar(new Consulta<Jogo>().daDesenvolvedora("Nintendo")));
+    }
+
+    @Test
+    void catalogoDeDlcsNaoTemDesenvolvedora() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DLCRepository().consultar(new Consulta<DLC>().daDesenvolvedora("Valve")));
+    }
+
+    private double limite(CampoNumerico campo) {
+        return switch (campo) {
+            case PRECO -> aleatorio.nextInt(30_000) / 100.0;
+            case ANO_LANCAMENTO -> 1990 + aleatorio.nextInt(35);
+            case NOTA -> aleatorio.nextInt(101) / 10.0;
+        };
+    }
+
+    private static List<Double> valores(List<Jogo> jogos, CampoNumerico campo) {
+        List<Double> valores = new ArrayList<>();
+        for (Jogo jogo : jogos) {
+            valores.add(campo.valorDe(jogo));
+        }
+        return valores;
+    }
+
+    private List<Jogo> filtrar(List<Predicate<Jogo>> criterios) {
+        List<Jogo> resultado = new ArrayList<>();
+        for (Jogo jogo : repository.listarTodos()) {
+            if (criterios.stream().allMatch(criterio -> criterio.test(jogo))) {
+                resultado.add(jogo);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * As chaves em ordem alfabética: sem ordenação pedida, a ordem do
+     * resultado depende do índice de onde os candidatos saíram.
+     */
+    private static List<String> chaves(List<Jogo> jogos) {
+        List<String> chaves = new ArrayList<>();
+        for (Jogo jogo : jogos) {
+            chaves.add(jogo.getChave());
+        }
+        chaves.sort(null);
+        return chaves;
+    }
+
+    private static boolean contem(List<String> rotulos, String rotulo) {
+        for (String r : rotulos) {
+            if (r.equals(rotulo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<String> sortear(String[] opcoes, int quantidade) {
+        List<String> embaralhadas = new ArrayList<>(List.of(opcoes));
+        Collections.shuffle(embaralhadas, aleatorio);
+        return new ArrayList<>(embaralhadas.subList(0, quantidade));
+    }
+}
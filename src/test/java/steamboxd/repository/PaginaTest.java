@@ -0,0 +1,131 @@
+package steamboxd.repository;
+
+import org.junit.jupiter.api.Test;
+import steamboxd.data.diario.OuvinteMutacoes;
+import steamboxd.model.Jogo;
+import steamboxd.service.JogoService;
+import steamboxd.service.MidiaService;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Listagem por cursor com inclusões e remoções entre uma página e outra:
+ * quem existiu durante toda a listagem aparece uma vez, ninguém se repete
+ * e os incluídos no meio só aparecem no fim.
+ */
+class PaginaTest {
+
+    private static final int JOGOS = 500;
+    private static final int LISTAGENS = 50;
+
+    private final Random aleatorio = new Random(19);
+
+    @Test
+    void inclusoesERemocoesEntrePaginasNaoRepetemNemPulamItens() {
+        JogoRepository repository = new JogoRepository();
+        int proximo = 0;
+        for (; proximo < JOGOS; proximo++) {
+            repository.adicionar(new Jogo("Jogo " + proximo));
+        }
+
+        for (int l = 0; l < LISTAGENS; l++) {
+            Set<String> noInicio = titulos(repository.listarTodos());
+            Set<String> removidos = new HashSet<>();
+            List<String> listados = new ArrayList<>();
+            // Páginas bem maiores que as inclusões entre elas, para a listagem chegar ao fim
+            int tamanho = 8 + aleatorio.nextInt(40);
+            String cursor = null;
+            do {
+                Pagina<Jogo> pagina = repository.listarPagina(cursor, tamanho);
+                assertTrue(pagina.getItens().size() <= tamanho);
+                for (Jogo jogo : pagina.getItens()) {
+                    listados.add(jogo.getTitulo());
+                }
+                cursor = pagina.getProximoCursor();
+
+                for (int k = aleatorio.nextInt(6); k > 0; k--) {
+                    List<Jogo> todos = repository.listarTodos();
+                    if (aleatorio.nextBoolean() && !todos.isEmpty()) {
+                        String titulo = todos.get(aleatorio.nextInt(todos.size())).getTitulo();
+                        repository.remover(titulo);
+                        removidos.add(titulo);
+                    } else {
+                        repository.adicionar(new Jogo("Jogo " + proximo++));
+                    }
+                }
+            } while (cursor != null);
+
+            assertEquals(listados.size(), new HashSet<>(listados).size());
+            for (String titulo : noInicio) {
+                assertTrue(removidos.contains(titulo) || listados.contains(titulo), titulo);
+            }
+            // A ordem de inserção segue o número do título
+            for (int i = 1; i < listados.size(); i++) {
+                assertTrue(numero(listados.get(i - 1)) < numero(listados.get(i)));
+            }
+        }
+    }
+
+    @Test
+    void servicoListaOCatalogoInteiroEmPaginas() {
+        JogoRepository repository = new JogoRepository();
+        MidiaService<Jogo> service = new JogoService(repository, new UsuarioRepository(), OuvinteMutacoes.NENHUM);
+        for (int i = 0; i < 12; i++) {
+            repository.adicionar(new Jogo("Jogo " + i));
+        }
+
+        List<Jogo> listados = new ArrayList<>();
+        Pagina<Jogo> pagina = null;
+        int paginas = 0;
+        do {
+            pagina = service.listarPagina(pagina == null ? null : pagina.getProximoCursor(), 4);
+            listados.addAll(pagina.getItens());
+            paginas++;
+        } while (!pagina.isUltima());
+
+        assertEquals(repository.listarTodos(), listados);
+        // Doze itens em páginas de quatro: a terceira já é a última
+        assertEquals(3, paginas);
+    }
+
+    @Test
+    void repositorioVazioTemUmaPaginaVazia() {
+        Pagina<Jogo> pagina = new JogoRepository().listarPagina(null, 10);
+        assertTrue(pagina.getItens().isEmpty());
+        assertTrue(pagina.isUltima());
+        assertNull(pagina.getProximoCursor());
+    }
+
+    @Test
+    void cursorOuTamanhoInvalidoSaoRecusados() {
+        JogoRepository repository = new JogoRepository();
+        repository.adicionar(new Jogo("Hades"));
+
+        assertThrows(IllegalArgumentException.class, () -> repository.listarPagina(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> repository.listarPagina("não é cursor", 10));
+        assertThrows(IllegalArgumentException.class, () -> repository.listarPagina("AAAA", 10));
+        assertThrows(UnsupportedOperationException.class,
+                () -> repository.listarPagina("", 10).getItens().add(new Jogo("Celeste")));
+    }
+
+    private static Set<String> titulos(List<Jogo> jogos) {
+        Set<String> titulos = new HashSet<>();
+        for (Jogo jogo : jogos) {
+            titulos.add(jogo.getTitulo());
+        }
+        return titulos;
+    }
+
+    private static int numero(String titulo) {
+        return Integer.parseInt(titulo.substring("Jogo ".length()));
+    }
+}
@@ -0,0 +1,218 @@
+package steamboxd.repository;
+
+import org.junit.jupiter.api.Test;
+import steamboxd.model.Jogo;
+import steamboxd.model.Usuario;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testes de estresse das variantes concorrentes dos repositórios: várias
+ * threads disputam as mesmas chaves, e no fim o índice, a listagem e os
+ * próprios itens precisam concordar.
+ */
+class RepositorioConcorrenteStressTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void duasTrocasParaOMesmoEmailNuncaSobrescrevemUmUsuario() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int rodada = 0; rodada < 2000; rodada++) {
+                UsuarioRepositoryConcorrente repository = new UsuarioRepositoryConcorrente();
+                Usuario ana = new Usuario("Ana", "ana@gmail.com");
+                Usuario bia = new Usuario("Bia", "bia@gmail.com");
+                repository.adicionar(ana);
+                repository.adicionar(bia);
+
+                CountDownLatch largada = new CountDownLatch(1);
+                Future<Boolean> trocaAna = executor.submit(() -> {
+                    largada.await();
+                    return repository.alterarEmail("ana@gmail.com", "alvo@gmail.com");
+                });
+                Future<Boolean> trocaBia = executor.submit(() -> {
+                    largada.await();
+                    return repository.alterarEmail("bia@gmail.com", "ALVO@gmail.com");
+                });
+                largada.countDown();
+
+                assertNotEquals(trocaAna.get(), trocaBia.get(), "Só uma das trocas pode vencer.");
+                assertEquals(2, repository.tamanho());
+                assertEquals(2, repository.listarTodos().size());
+                assertSame(ana, repository.buscar(ana.getEmail()));
+                assertSame(bia, repository.buscar(bia.getEmail()));
+                assertNotEquals(ana.getChave(), bia.getChave());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void trocasDeEmailAoAcasoMantemIndiceEListagemCoerentes() throws Exception {
+        int usuarios = 64;
+        int emailsPossiveis = 96;
+        UsuarioRepositoryConcorrente repository = new UsuarioRepositoryConcorrente();
+        List<Usuario> todos = new ArrayList<>();
+        for (int i = 0; i < usuarios; i++) {
+            Usuario usuario = new Usuario("Usuário", email(i));
+            todos.add(usuario);
+            repository.adicionar(usuario);
+        }
+
+        AtomicInteger trocas = new AtomicInteger();
+        emParalelo(() -> {
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+            for (int i = 0; i < 20_000; i++) {
+                Usuario usuario = todos.get(aleatorio.nextInt(usuarios));
+                if (repository.alterarEmail(usuario.getEmail(), email(aleatorio.nextInt(emailsPossiveis)))) {
+                    trocas.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        assertTrue(trocas.get() > 0);
+        assertEquals(usuarios, repository.tamanho());
+        assertEquals(usuarios, repository.listarTodos().size());
+        Set<String> chaves = new HashSet<>();
+        for (Usuario usuario : todos) {
+            assertSame(usuario, repository.buscar(usuario.getEmail()));
+            assertTrue(chaves.add(usuario.getChave()), "Dois usuários com o mesmo email.");
+        }
+        for (int i = 0; i < emailsPossiveis; i++) {
+            Usuario encontrado = repository.buscar(email(i));
+            assertTrue(encontrado == null || encontrado.getChave().equals(email(i)));
+        }
+    }
+
+    @Test
+    void inclusoesDoMesmoTituloEntramUmaUnicaVez() throws Exception {
+        int titulos = 5000;
+        JogoRepositoryConcorrente repository = new JogoRepositoryConcorrente();
+        AtomicInteger incluidos = new AtomicInteger();
+
+        emParalelo(() -> {
+            for (int i = 0; i < titulos; i++) {
+                if (repository.adicionar(new Jogo("Jogo " + i, List.of("RPG"), List.of("PC")))) {
+                    incluidos.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        assertEquals(titulos, incluidos.get());
+        assertEquals(titulos, repository.tamanho());
+        assertEquals(titulos, repository.listarTodos().size());
+    }
+
+    @Test
+    void inclusoesERemocoesDeChavesDiferentesNaoSePerdem() throws Exception {
+        int porThread = 5000;
+        UsuarioRepositoryConcorrente repository = new UsuarioRepositoryConcorrente();
+        AtomicInteger proximaThread = new AtomicInteger();
+
+        emParalelo(() -> {
+            int thread = proximaThread.getAndIncrement();
+            for (int i = 0; i < porThread; i++) {
+                assertTrue(repository.adicionar(new Usuario("Usuário", "t" + thread + "-" + i + "@gmail.com")));
+            }
+            for (int i = 0; i < porThread; i += 2) {
+                assertTrue(repository.remover("t" + thread + "-" + i + "@gmail.com"));
+            }
+            return null;
+        });
+
+        int esperados = THREADS * porThread / 2;
+        assertEquals(esperados, repository.tamanho());
+        assertEquals(esperados, repository.listarTodos().size());
+        for (Usuario usuario : repository.listarTodos()) {
+            assertSame(usuario, repository.buscar(usuario.getEmail()));
+        }
+    }
+
+    @Test
+    void paginacaoPorCursorNaoPulaInclusoesConcorrentes() throws Exception {
+        int porThread = 500;
+        AtomicInteger leituras = new AtomicInteger();
+        for (int rodada = 0; rodada < 300; rodada++) {
+            JogoRepositoryConcorrente repository = new JogoRepositoryConcorrente();
+            AtomicInteger proximaThread = new AtomicInteger();
+            AtomicInteger terminadas = new AtomicInteger();
+
+            emParalelo(() -> {
+                int thread = proximaThread.getAndIncrement();
+                if (thread > 0) {
+                    for (int i = 0; i < porThread; i++) {
+                        repository.adicionar(new Jogo("Jogo " + thread + "-" + i, List.of("RPG"), List.of("PC")));
+                    }
+                    terminadas.incrementAndGet();
+                    return null;
+                }
+                // Uma thread pagina do começo ao fim enquanto as outras incluem:
+                // o que ela viu tem de ser o começo da listagem, sem buracos
+                while (terminadas.get() < THREADS - 1) {
+                    List<Jogo> paginados = new ArrayList<>();
+                    String cursor = null;
+                    Pagina<Jogo> pagina;
+                    do {
+                        pagina = repository.listarPagina(cursor, 4);
+                        paginados.addAll(pagina.getItens());
+                        cursor = pagina.getProximoCursor();
+                    } while (!pagina.isUltima());
+                    List<Jogo> listagem = repository.listarTodos();
+                    assertEquals(listagem.subList(0, paginados.size()), paginados, "A paginação pulou um item.");
+                    leituras.incrementAndGet();
+                }
+                return null;
+            });
+
+            assertEquals((THREADS - 1) * porThread, repository.listarTodos().size());
+        }
+        assertTrue(leituras.get() > 0);
+    }
+
+    /**
+     * Roda a tarefa em {@link #THREADS} threads, todas largando juntas, e
+     * repassa a primeira falha.
+     */
+    private static void emParalelo(Callable<Void> tarefa) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<Void>> execucoes = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                execucoes.add(executor.submit(() -> {
+                    largada.await();
+                    return tarefa.call();
+                }));
+            }
+            largada.countDown();
+            for (Future<Void> execucao : execucoes) {
+                execucao.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String email(int numero) {
+        return "usuario" + numero + "@gmail.com";
+    }
+}
@@ -0,0 +1,239 @@
+package steamboxd.repository.indice;
+
+import org.junit.jupiter.api.Test;
+import steamboxd.model.DLC;
+import steamboxd.model.Jogo;
+import steamboxd.model.Midia;
+import steamboxd.util.ChaveUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ranqueamento do {@link IndiceTextual} contra o BM25 calculado documento a
+ * documento, depois de inclusões, edições e remoções suficientes para as
+ * listas serem limpas algumas vezes.
+ */
+class IndiceTextualTest {
+
+    private static final String[] PALAVRAS = {"dark", "souls", "hollow", "knight", "dead", "cells", "ori", "blind",
+            "forest", "hades", "celeste", "inside", "limbo", "portal", "half", "life"};
+    private static final String[] GENEROS = {"Ação", "Aventura", "RPG", "Souls-like", "Metroidvania", "Plataforma"};
+    private static final String[] PLATAFORMAS = {"PC", "PS5", "Xbox Series", "Switch"};
+    private static final String[] DESENVOLVEDORAS = {"FromSoftware", "Team Cherry", "Motion Twin", "Supergiant", "Dark Forest Games"};
+    private static final int MIDIAS = 6000;
+    private static final int BUSCAS = 400;
+    private static final double TOLERANCIA = 1e-9;
+
+    // Parâmetros do BM25 usados pelo índice
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Random aleatorio = new Random(16);
+
+    @Test
+    void ranqueamentoBateComOBm25CalculadoDocumentoADocumento() {
+        IndiceTextual indice = new IndiceTextual();
+        List<Midia> presentes = new ArrayList<>();
+        for (int i = 0; i < MIDIAS; i++) {
+            Midia midia = midia();
+            indice.aoIncluir(midia);
+            presentes.add(midia);
+            switch (aleatorio.nextInt(6)) {
+                case 0 -> indice.aoExcluir(presentes.remove(aleatorio.nextInt(presentes.size())));
+                case 1 -> {
+                    // Edição de um campo que vira palavras do documento
+                    Midia editada = presentes.get(aleatorio.nextInt(presentes.size()));
+                    editada.setGeneros(sortear(GENEROS, 1 + aleatorio.nextInt(2)));
+                    indice.aoAlterar(editada);
+                }
+                case 2 -> {
+                    // Edição que não muda as palavras
+                    Midia editada = presentes.get(aleatorio.nextInt(presentes.size()));
+                    editada.setNota(aleatorio.nextInt(101) / 10.0);
+                    indice.aoAlterar(editada);
+                }
+                default -> {
+                }
+            }
+        }
+        assertEquals(presentes.size(), indice.tamanho());
+
+        List<Map<String, Integer>> documentos = new ArrayList<>();
+        for (Midia midia : presentes) {
+            documentos.add(documento(midia));
+        }
+        for (int b = 0; b < BUSCAS; b++) {
+            String consulta = String.join(" ", sortear(PALAVRAS, 1 + aleatorio.nextInt(4)));
+            if (aleatorio.nextBoolean()) {
+                consulta += " " + PLATAFORMAS[aleatorio.nextInt(PLATAFORMAS.length)].toUpperCase();
+            }
+            int limite = 1 + aleatorio.nextInt(30);
+
+            Map<Midia, Double> esperadas = pontuar(presentes, documentos, consulta);
+            List<Double> pontuacoes = new ArrayList<>(esperadas.values());
+            pontuacoes.sort((a, c) -> Double.compare(c, a));
+            List<ResultadoRelevancia> resultado = indice.buscar(consulta, limite);
+
+            assertEquals(Math.min(limite, pontuacoes.size()), resultado.size(), consulta);
+            for (int r = 0; r < resultado.size(); r++) {
+                ResultadoRelevancia relevancia = resultado.get(r);
+                assertEquals(pontuacoes.get(r), relevancia.getPontuacao(), TOLERANCIA, consulta);
+                assertEquals(esperadas.get(relevancia.getMidia()), relevancia.getPontuacao(), TOLERANCIA, consulta);
+            }
+        }
+    }
+
+    @Test
+    void palavraNoTituloPesaMaisQueNoGenero() {
+        IndiceTextual indice = new IndiceTextual();
+        Jogo noGenero = new Jogo("Elden Ring", List.of("Souls"), List.of("PC"));
+        Jogo noTitulo = new Jogo("Souls", List.of("RPG"), List.of("PC"));
+        indice.aoIncluir(noGenero);
+        indice.aoIncluir(noTitulo);
+        indice.aoIncluir(new Jogo("Celeste", List.of("Plataforma"), List.of("Switch")));
+
+        List<ResultadoRelevancia> resultado = indice.buscar("SOULS", 10);
+        assertEquals(2, resultado.size());
+        assertEquals(noTitulo, resultado.get(0).getMidia());
+        assertEquals(noGenero, resultado.get(1).getMidia());
+        assertTrue(resultado.get(0).getPontuacao() > resultado.get(1).getPontuacao());
+    }
+
+    @Test
+    void empateSaiEmOrdemAlfabeticaEEdicaoTrocaODocumento() {
+        IndiceTextual indice = new IndiceTextual();
+        Jogo limbo = new Jogo("Limbo", List.of("Puzzle"), List.of("PC"));
+        Jogo inside = new Jogo("Inside", List.of("Puzzle"), List.of("PC"));
+        indice.aoIncluir(limbo);
+        indice.aoIncluir(inside);
+
+        List<ResultadoRelevancia> resultado = indice.buscar("puzzle", 10);
+        assertEquals(List.of(inside, limbo), List.of(resultado.get(0).getMidia(), resultado.get(1).getMidia()));
+
+        limbo.setGeneros(List.of("Terror"));
+        indice.aoAlterar(limbo);
+        assertEquals(inside, indice.buscar("puzzle", 10).get(0).getMidia());
+        assertEquals(1, indice.buscar("puzzle", 10).size());
+        assertEquals(limbo, indice.buscar("terror", 10).get(0).getMidia());
+    }
+
+    @Test
+    void consultaSemPalavrasConhecidasNaoEncontraNada() {
+        IndiceTextual indice = new IndiceTextual();
+        Jogo hades = new Jogo("Hades");
+        indice.aoIncluir(hades);
+
+        assertTrue(indice.buscar("celeste", 10).isEmpty());
+        assertTrue(indice.buscar("  ;; ", 10).isEmpty());
+        assertTrue(indice.buscar(null, 10).isEmpty());
+        assertTrue(indice.buscar("hades", 0).isEmpty());
+
+        indice.aoExcluir(hades);
+        assertTrue(indice.buscar("hades", 10).isEmpty());
+        assertEquals(0, indice.tamanho());
+    }
+
+    /**
+     * A pontuação BM25 de cada mídia com pelo menos uma palavra da consulta.
+     */
+    private static Map<Midia, Double> pontuar(List<Midia> presentes, List<Map<String, Integer>> documentos,
+                                              String consulta) {
+        long soma = 0;
+        Map<String, Integer> documentosPorTermo = new HashMap<>();
+        for (Map<String, Integer> documento : documentos) {
+            for (int frequencia : documento.values()) {
+                soma += frequencia;
+            }
+            for (String termo : documento.keySet()) {
+                documentosPorTermo.merge(termo, 1, Integer::sum);
+            }
+        }
+        double comprimentoMedio = soma / (double) presentes.size();
+        Set<String> termos = new LinkedHashSet<>(IndiceTextual.tokens(ChaveUtil.normalizar(consulta)));
+
+        Map<Midia, Double> pontuacoes = new IdentityHashMap<>();
+        for (int d = 0; d < presentes.size(); d++) {
+            Map<String, Integer> documento = documentos.get(d);
+            int comprimento = 0;
+            for (int frequencia : documento.values()) {
+                comprimento += frequencia;
+            }
+            double pontuacao = 0;
+            boolean encontrou = false;
+            for (String termo : termos) {
+                Integer frequencia = documento.get(termo);
+                if (frequencia == null) {
+                    continue;
+                }
+                encontrou = true;
+                double n = documentosPorTermo.get(termo);
+                double idf = Math.log(1 + (presentes.size() - n + 0.5) / (n + 0.5));
+                double normalizacao = K1 * (1 - B + B * comprimento / comprimentoMedio);
+                pontuacao += idf * frequencia * (K1 + 1) / (frequencia + normalizacao);
+            }
+            if (encontrou) {
+                pontuacoes.put(presentes.get(d), pontuacao);
+            }
+        }
+        return pontuacoes;
+    }
+
+    /**
+     * As palavras de uma mídia com o peso de cada campo.
+     */
+    private static Map<String, Integer> documento(Midia midia) {
+        Map<String, Integer> documento = new HashMap<>();
+        for (String termo : IndiceTextual.tokens(midia.getChave())) {
+            documento.merge(termo, IndiceTextual.PESO_TITULO, Integer::sum);
+        }
+        if (midia instanceof Jogo) {
+            for (String termo : IndiceTextual.tokens(ChaveUtil.normalizar(((Jogo) midia).getDesenvolvedora()))) {
+                documento.merge(termo, IndiceTextual.PESO_DESENVOLVEDORA, Integer::sum);
+            }
+        }
+        List<String> rotulos = new ArrayList<>(midia.getGeneros());
+        rotulos.addAll(midia.getPlataformas());
+        for (String rotulo : rotulos) {
+            for (String termo : IndiceTextual.tokens(ChaveUtil.normalizar(rotulo))) {
+                documento.merge(termo, 1, Integer::sum);
+            }
+        }
+        return documento;
+    }
+
+    private Midia midia() {
+        StringBuilder titulo = new StringBuilder();
+        int palavras = 1 + aleatorio.nextInt(3);
+        for (int p = 0; p < palavras; p++) {
+            // Palavras repetidas no título aumentam a frequência
+            titulo.append(p > 0 ? " " : "").append(PALAVRAS[aleatorio.nextInt(PALAVRAS.length)]);
+        }
+        List<String> generos = sortear(GENEROS, 1 + aleatorio.nextInt(3));
+        List<String> plataformas = sortear(PLATAFORMAS, 1 + aleatorio.nextInt(2));
+        if (aleatorio.nextInt(4) == 0) {
+            DLC dlc = new DLC(titulo.toString(), "Base");
+            dlc.setGeneros(generos);
+            dlc.setPlataformas(plataformas);
+            return dlc;
+        }
+        return new Jogo(titulo.toString(), generos, aleatorio.nextInt(101) / 10.0, 2000 + aleatorio.nextInt(25),
+                plataformas, DESENVOLVEDORAS[aleatorio.nextInt(DESENVOLVEDORAS.length)], aleatorio.nextBoolean(), 59.9);
+    }
+
+    private List<String> sortear(String[] opcoes, int quantidade) {
+        List<String> embaralhadas = new ArrayList<>(List.of(opcoes));
+        Collections.shuffle(embaralhadas, aleatorio);
+        return new ArrayList<>(embaralhadas.subList(0, quantidade));
+    }
+}
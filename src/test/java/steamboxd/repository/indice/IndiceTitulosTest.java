@@ -0,0 +1,106 @@
+package steamboxd.repository.indice;
+
+import org.junit.jupiter.api.Test;
+import steamboxd.model.DLC;
+import steamboxd.model.Jogo;
+import steamboxd.model.Midia;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sugestões do {@link IndiceTitulos} contra o filtro de todos os títulos
+ * por prefixo, com títulos que compartilham prefixos longos e que entram e
+ * saem várias vezes (o que divide e junta as arestas da árvore).
+ */
+class IndiceTitulosTest {
+
+    private static final int TITULOS = 3000;
+    private static final int BUSCAS = 500;
+
+    private final Random aleatorio = new Random(13);
+
+    @Test
+    void sugestoesBatemComOFiltroPorPrefixoDepoisDeInclusoesERemocoes() {
+        IndiceTitulos indice = new IndiceTitulos();
+        // Na ordem de inclusão, como as mídias com o mesmo título ficam no índice
+        List<Midia> presentes = new ArrayList<>();
+        for (int i = 0; i < TITULOS; i++) {
+            String titulo = titulo();
+            // Jogo e DLC podem ter o mesmo título
+            Midia midia = aleatorio.nextInt(4) == 0 ? new DLC(titulo, "Base") : new Jogo(titulo);
+            indice.aoIncluir(midia);
+            presentes.add(midia);
+            if (aleatorio.nextInt(3) == 0) {
+                Midia removida = presentes.remove(aleatorio.nextInt(presentes.size()));
+                indice.aoExcluir(removida);
+            }
+        }
+        assertEquals(presentes.size(), indice.tamanho());
+
+        for (int b = 0; b < BUSCAS; b++) {
+            String base = presentes.get(aleatorio.nextInt(presentes.size())).getTitulo();
+            String prefixo = aleatorio.nextInt(5) == 0 ? titulo() : base.substring(0, 1 + aleatorio.nextInt(base.length()));
+            int limite = 1 + aleatorio.nextInt(20);
+
+            List<Midia> esperadas = new ArrayList<>();
+            for (Midia midia : presentes) {
+                if (midia.getChave().startsWith(prefixo.toLowerCase())) {
+                    esperadas.add(midia);
+                }
+            }
+            esperadas.sort(Comparator.comparing(Midia::getChave));
+            List<Midia> sugestoes = indice.completar(prefixo.toUpperCase(), limite);
+
+            assertEquals(esperadas.subList(0, Math.min(limite, esperadas.size())), sugestoes, prefixo);
+        }
+    }
+
+    @Test
+    void prefixoSemAcentoEncontraTituloAcentuado() {
+        IndiceTitulos indice = new IndiceTitulos();
+        Jogo jogo = new Jogo("Ação Total");
+        indice.aoIncluir(jogo);
+        indice.aoIncluir(new Jogo("Acabou"));
+
+        assertEquals(List.of(jogo), indice.completar("acao", 10));
+        assertEquals(2, indice.completar("AÇA", 10).size());
+        assertTrue(indice.completar("", 10).isEmpty());
+        assertTrue(indice.completar("acao", 0).isEmpty());
+    }
+
+    @Test
+    void remocaoDeMidiaAusenteNaoMudaNada() {
+        IndiceTitulos indice = new IndiceTitulos();
+        Jogo hades = new Jogo("Hades");
+        indice.aoIncluir(hades);
+        indice.aoExcluir(new Jogo("Hades"));
+        indice.aoExcluir(new Jogo("Hollow Knight"));
+
+        assertEquals(1, indice.tamanho());
+        assertEquals(List.of(hades), indice.completar("ha", 10));
+    }
+
+    /**
+     * Palavras curtas de poucas letras, para muitos prefixos em comum.
+     */
+    private String titulo() {
+        StringBuilder titulo = new StringBuilder();
+        int palavras = 1 + aleatorio.nextInt(3);
+        for (int p = 0; p < palavras; p++) {
+            if (p > 0) {
+                titulo.append(' ');
+            }
+            int letras = 1 + aleatorio.nextInt(4);
+            for (int l = 0; l < letras; l++) {
+                titulo.append("abc".charAt(aleatorio.nextInt(3)));
+            }
+        }
+        return titulo.toString();
+    }
+}
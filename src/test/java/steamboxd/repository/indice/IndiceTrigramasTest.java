@@ -0,0 +1,146 @@
+package steamboxd.repository.indice;
+
+import org.junit.jupiter.api.Test;
+import steamboxd.model.Jogo;
+import steamboxd.model.Midia;
+import steamboxd.util.ChaveUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Resultados do {@link IndiceTrigramas} contra a comparação com todos os
+ * textos, em um catálogo pequeno (onde o limite de candidatos não corta
+ * nada) que passa por remoções e trocas de desenvolvedora.
+ */
+class IndiceTrigramasTest {
+
+    private static final int PALAVRAS = 80;
+    private static final int TITULOS = 3000;
+    private static final int BUSCAS = 200;
+
+    private final Random aleatorio = new Random(15);
+    private final String[] palavras = new String[PALAVRAS];
+
+    @Test
+    void buscaComErroDeDigitacaoEncontraOMesmoQueACompararComTodos() {
+        for (int i = 0; i < PALAVRAS; i++) {
+            palavras[i] = palavra();
+        }
+        IndiceTrigramas indice = new IndiceTrigramas();
+        List<Jogo> catalogo = new ArrayList<>();
+        while (catalogo.size() < TITULOS) {
+            Jogo jogo = new Jogo(palavras[aleatorio.nextInt(PALAVRAS)] + " " + palavras[aleatorio.nextInt(PALAVRAS)]
+                    + " " + catalogo.size());
+            if (catalogo.size() % 3 == 0) {
+                jogo.setDesenvolvedora(palavras[aleatorio.nextInt(PALAVRAS)] + " Studios");
+            }
+            catalogo.add(jogo);
+            indice.aoIncluir(jogo);
+        }
+
+        // Remove um terço, troca desenvolvedoras e devolve parte dos removidos
+        List<Jogo> vivos = new ArrayList<>();
+        List<Jogo> removidos = new ArrayList<>();
+        for (Jogo jogo : catalogo) {
+            if (aleatorio.nextInt(3) == 0) {
+                indice.aoExcluir(jogo);
+                removidos.add(jogo);
+            } else {
+                if (aleatorio.nextInt(5) == 0) {
+                    jogo.setDesenvolvedora(aleatorio.nextBoolean() ? null : palavras[aleatorio.nextInt(PALAVRAS)] + " Games");
+                    indice.aoAlterar(jogo);
+                }
+                vivos.add(jogo);
+            }
+        }
+        for (int i = 0; i < removidos.size(); i += 2) {
+            indice.aoIncluir(removidos.get(i));
+            vivos.add(removidos.get(i));
+        }
+
+        for (int b = 0; b < BUSCAS; b++) {
+            Jogo alvo = vivos.get(aleatorio.nextInt(vivos.size()));
+            String busca = comErro(alvo.getTitulo());
+
+            List<String> esperados = comparandoComTodos(vivos, busca);
+            assertEquals(esperados, descrever(indice.buscar(busca, Integer.MAX_VALUE)), busca);
+            assertEquals(esperados.subList(0, Math.min(5, esperados.size())),
+                    descrever(indice.buscar(busca, 5)), busca);
+        }
+    }
+
+    private static List<String> comparandoComTodos(List<Jogo> vivos, String busca) {
+        long[] consulta = IndiceTrigramas.trigramas(ChaveUtil.normalizar(busca));
+        Map<Midia, Double> melhores = new IdentityHashMap<>();
+        for (Jogo jogo : vivos) {
+            double semelhanca = semelhanca(consulta, IndiceTrigramas.trigramas(jogo.getChave()));
+            if (jogo.getDesenvolvedora() != null) {
+                semelhanca = Math.max(semelhanca,
+                        semelhanca(consulta, IndiceTrigramas.trigramas(ChaveUtil.normalizar(jogo.getDesenvolvedora()))));
+            }
+            if (semelhanca >= 0.3) {
+                melhores.put(jogo, semelhanca);
+            }
+        }
+        List<Map.Entry<Midia, Double>> ordenados = new ArrayList<>(melhores.entrySet());
+        ordenados.sort(Map.Entry.<Midia, Double>comparingByValue().reversed()
+                .thenComparing(e -> e.getKey().getChave()));
+        List<String> descritos = new ArrayList<>();
+        for (Map.Entry<Midia, Double> e : ordenados) {
+            descritos.add(e.getKey().getChave() + " " + e.getValue());
+        }
+        return descritos;
+    }
+
+    private static double semelhanca(long[] a, long[] b) {
+        int comuns = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                comuns++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return comuns == 0 ? 0 : comuns / (double) (a.length + b.length - comuns);
+    }
+
+    private static List<String> descrever(List<ResultadoAproximado> resultados) {
+        List<String> descritos = new ArrayList<>();
+        for (ResultadoAproximado r : resultados) {
+            descritos.add(r.getMidia().getChave() + " " + r.getSemelhanca());
+        }
+        return descritos;
+    }
+
+    private String palavra() {
+        String consoantes = "bcdfghklmnprstvz";
+        String vogais = "aeiou";
+        StringBuilder palavra = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            String letras = i % 2 == 0 ? consoantes : vogais;
+            palavra.append(letras.charAt(aleatorio.nextInt(letras.length())));
+        }
+        return palavra.toString();
+    }
+
+    /**
+     * Troca uma letra do título por outra.
+     */
+    private String comErro(String titulo) {
+        StringBuilder texto = new StringBuilder(titulo);
+        int posicao = aleatorio.nextInt(5);
+        texto.setCharAt(posicao, texto.charAt(posicao) == 'x' ? 'y' : 'x');
+        return texto.toString();
+    }
+}
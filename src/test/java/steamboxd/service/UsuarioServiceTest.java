@@ -0,0 +1,77 @@
+package steamboxd.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import steamboxd.data.diario.OuvinteMutacoes;
+import steamboxd.model.Jogo;
+import steamboxd.model.Usuario;
+import steamboxd.repository.DLCRepository;
+import steamboxd.repository.JogoRepository;
+import steamboxd.repository.UsuarioRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Chaves sem acento e sem diferenciar maiúsculas nos repositórios, e a
+ * troca de email (que muda a chave do usuário) pelo {@link UsuarioService}.
+ */
+class UsuarioServiceTest {
+
+    private UsuarioRepository usuarios;
+    private JogoRepository jogos;
+    private UsuarioService service;
+    private Usuario jose;
+
+    @BeforeEach
+    void preparar() {
+        usuarios = new UsuarioRepository();
+        jogos = new JogoRepository();
+        service = new UsuarioService(usuarios, jogos, new DLCRepository(), OuvinteMutacoes.NENHUM);
+        jose = new Usuario("José", "jose@gmail.com");
+        assertTrue(service.adicionarUsuario(jose));
+        assertTrue(service.adicionarUsuario(new Usuario("Ana", "ana@gmail.com")));
+    }
+
+    @Test
+    void buscasEDuplicatasIgnoramAcentosEMaiusculas() {
+        Jogo pokemon = new Jogo("Pokémon Red");
+        assertTrue(jogos.adicionar(pokemon));
+
+        assertSame(pokemon, jogos.buscar("POKEMON RED"));
+        assertTrue(jogos.existe("pokemon red"));
+        assertFalse(jogos.adicionar(new Jogo("Pokemon Red")));
+        assertSame(jose, service.buscarUsuario("JOSÉ@gmail.com"));
+        assertFalse(service.adicionarUsuario(new Usuario("Outro", "JOSÉ@gmail.com")));
+    }
+
+    @Test
+    void trocaSoDeMaiusculasOuAcentosMudaOTextoEMantemAChave() {
+        assertTrue(service.editarUsuario("jose@gmail.com", null, "José@gmail.com"));
+
+        assertEquals("José@gmail.com", jose.getEmail());
+        assertSame(jose, service.buscarUsuario("jose@gmail.com"));
+        assertEquals(2, usuarios.listarTodos().size());
+    }
+
+    @Test
+    void trocaParaOutroEmailMudaAChave() {
+        assertTrue(service.editarUsuario("jose@gmail.com", null, "jose.silva@gmail.com"));
+
+        assertSame(jose, service.buscarUsuario("JOSE.SILVA@gmail.com"));
+        assertNull(service.buscarUsuario("jose@gmail.com"));
+        assertEquals(2, usuarios.listarTodos().size());
+    }
+
+    @Test
+    void emailDeOutroUsuarioComOutraGrafiaERecusado() {
+        assertFalse(service.editarUsuario("jose@gmail.com", null, "ANA@gmail.com"));
+
+        assertEquals("jose@gmail.com", jose.getEmail());
+        assertSame(jose, service.buscarUsuario("jose@gmail.com"));
+        assertEquals("Ana", service.buscarUsuario("ana@gmail.com").getNome());
+    }
+}
@@ -0,0 +1,42 @@
+package steamboxd.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Forma canônica das chaves: sem acentos e sem diferenciar maiúsculas.
+ */
+class ChaveUtilTest {
+
+    @Test
+    void variacoesDeAcentoEMaiusculasTemAMesmaChave() {
+        String chave = ChaveUtil.normalizar("acao");
+        for (String variacao : new String[]{"Ação", "ação", "AÇÃO", "ACAO", "Acao", "ÁÇÄÕ"}) {
+            assertEquals(chave, ChaveUtil.normalizar(variacao), variacao);
+        }
+        assertEquals(ChaveUtil.normalizar("pokemon"), ChaveUtil.normalizar("Pokémon"));
+        assertEquals(ChaveUtil.normalizar("jose@gmail.com"), ChaveUtil.normalizar("José@Gmail.com"));
+    }
+
+    @Test
+    void acentoCompostoEPreCompostoTemAMesmaChave() {
+        // "é" pré-composto (U+00E9) e "e" + acento agudo combinante (U+0301)
+        assertEquals(ChaveUtil.normalizar("caf\u00e9"), ChaveUtil.normalizar("cafe\u0301"));
+    }
+
+    @Test
+    void textoJaNormalizadoNaoECopiado() {
+        String chave = "hollow knight";
+        assertSame(chave, ChaveUtil.normalizar(chave));
+        assertSame(chave, ChaveUtil.removerAcentos(chave));
+    }
+
+    @Test
+    void nuloContinuaNulo() {
+        assertNull(ChaveUtil.normalizar(null));
+        assertNull(ChaveUtil.removerAcentos(null));
+    }
+}